@@ -0,0 +1,74 @@
+package com.paklog.wes.pack.benchmark;
+
+import com.paklog.wes.pack.domain.entity.PackingInstruction;
+import com.paklog.wes.pack.domain.service.CartonSelector;
+import com.paklog.wes.pack.domain.valueobject.CartonSelection;
+import com.paklog.wes.pack.domain.valueobject.Dimensions;
+import com.paklog.wes.pack.domain.valueobject.Priority;
+import com.paklog.wes.pack.domain.valueobject.Weight;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 3D carton selection for one order (target: under 2 ms at 50 items).
+ * Orders are random with a fixed seed; {@code maxSide} controls how large the
+ * items are and therefore which carton the search ends at.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CartonSelectorBenchmark {
+
+    private static final int ORDERS = 64;
+
+    @Param({"10", "50"})
+    private int items;
+
+    @Param({"4", "8", "12"})
+    private int maxSide;
+
+    private final CartonSelector cartonSelector = new CartonSelector();
+    private List<List<PackingInstruction>> orders;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        orders = new ArrayList<>(ORDERS);
+        for (int o = 0; o < ORDERS; o++) {
+            List<PackingInstruction> order = new ArrayList<>(items);
+            for (int i = 0; i < items; i++) {
+                order.add(new PackingInstruction(
+                        "INST-" + i,
+                        "SKU-" + i,
+                        "Item " + i,
+                        1,
+                        new Weight(0.1 + random.nextDouble(), Weight.WeightUnit.LB),
+                        new Dimensions(
+                                1 + random.nextInt(maxSide),
+                                1 + random.nextInt(maxSide),
+                                1 + random.nextInt(maxSide),
+                                Dimensions.DimensionUnit.IN),
+                        "ORDER-" + o,
+                        Priority.NORMAL
+                ));
+            }
+            orders.add(order);
+        }
+    }
+
+    @Benchmark
+    public Optional<CartonSelection> selectCarton() {
+        List<PackingInstruction> order = orders.get(cursor);
+        cursor = cursor + 1 == ORDERS ? 0 : cursor + 1;
+        return cartonSelector.selectCarton(order);
+    }
+}
@@ -0,0 +1,107 @@
+package com.paklog.wes.pack.benchmark;
+
+import com.paklog.wes.pack.domain.entity.Container;
+import com.paklog.wes.pack.domain.entity.PackingInstruction;
+import com.paklog.wes.pack.domain.service.CartonSelector;
+import com.paklog.wes.pack.domain.service.ContainerOptimizationService;
+import com.paklog.wes.pack.domain.valueobject.ContainerPlan;
+import com.paklog.wes.pack.domain.valueobject.Dimensions;
+import com.paklog.wes.pack.domain.valueobject.Priority;
+import com.paklog.wes.pack.domain.valueobject.Weight;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Multi-container planning for one order (target: under 20 ms at 200 lines)
+ * against the previous behaviour of opening containers one instruction at a
+ * time with first-fit. First-fit only checks weight and per-item size, so it is
+ * cheaper but its containers are not guaranteed to physically hold their items.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContainerPlanBenchmark {
+
+    private static final int ORDERS = 16;
+
+    @Param({"50", "200"})
+    private int lines;
+
+    @Param({"4", "12"})
+    private int maxSide;
+
+    private final ContainerOptimizationService service = new ContainerOptimizationService(new CartonSelector());
+    private List<List<PackingInstruction>> orders;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        orders = new ArrayList<>(ORDERS);
+        for (int o = 0; o < ORDERS; o++) {
+            List<PackingInstruction> order = new ArrayList<>(lines);
+            for (int i = 0; i < lines; i++) {
+                order.add(new PackingInstruction(
+                        "INST-" + i,
+                        "SKU-" + i,
+                        "Item " + i,
+                        1 + random.nextInt(3),
+                        new Weight(0.1 + random.nextDouble() * 3, Weight.WeightUnit.LB),
+                        new Dimensions(
+                                1 + random.nextInt(maxSide),
+                                1 + random.nextInt(maxSide),
+                                1 + random.nextInt(maxSide),
+                                Dimensions.DimensionUnit.IN),
+                        "ORDER-" + o,
+                        Priority.NORMAL
+                ));
+            }
+            orders.add(order);
+        }
+    }
+
+    @Benchmark
+    public ContainerPlan planContainers() {
+        return service.planContainers(nextOrder());
+    }
+
+    /**
+     * What packing the order item by item did before: reuse the first open
+     * container that can take the instruction, else open the recommended one
+     */
+    @Benchmark
+    public List<Container> firstFit() {
+        List<PackingInstruction> order = nextOrder();
+        List<Container> containers = new ArrayList<>();
+        for (PackingInstruction instruction : order) {
+            Weight weight = new Weight(
+                    instruction.getItemWeight().toPounds() * instruction.getExpectedQuantity(), Weight.WeightUnit.LB);
+            Container container = null;
+            for (Container candidate : containers) {
+                if (candidate.canHold(weight) && instruction.getItemDimensions().fitsInside(candidate.getDimensions())) {
+                    container = candidate;
+                    break;
+                }
+            }
+            if (container == null) {
+                container = Container.create(service.recommendContainer(List.of(instruction)));
+                containers.add(container);
+            }
+            container.addItem(instruction.getInstructionId(), weight);
+        }
+        return containers;
+    }
+
+    private List<PackingInstruction> nextOrder() {
+        List<PackingInstruction> order = orders.get(cursor);
+        cursor = cursor + 1 == ORDERS ? 0 : cursor + 1;
+        return order;
+    }
+}
@@ -0,0 +1,92 @@
+package com.paklog.wes.pack.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoDatabase;
+import com.paklog.wes.pack.infrastructure.outbox.OutboxWriter;
+import com.paklog.wes.pack.infrastructure.persistence.PackingSessionRepositoryCustomImpl;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * Embedded mongod for persistence benchmarks, with the network counters and
+ * stored document sizes the layout benchmarks report
+ */
+final class EmbeddedMongo implements AutoCloseable {
+
+    private final TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+    private final MongoClient client;
+    private final MongoDatabase database;
+    private final MongoTemplate template;
+    private final PackingSessionRepositoryCustomImpl scanRepository;
+
+    private EmbeddedMongo(String databaseName) {
+        mongod = Mongod.instance().start(Version.Main.V6_0);
+        ServerAddress address = mongod.current().getServerAddress();
+        client = MongoClients.create("mongodb://" + address.getHost() + ":" + address.getPort());
+        database = client.getDatabase(databaseName);
+        template = new MongoTemplate(client, databaseName);
+        scanRepository = new PackingSessionRepositoryCustomImpl(
+                template, new OutboxWriter(template, new ObjectMapper().findAndRegisterModules()));
+    }
+
+    static EmbeddedMongo start(String databaseName) {
+        return new EmbeddedMongo(databaseName);
+    }
+
+    MongoDatabase database() {
+        return database;
+    }
+
+    MongoTemplate template() {
+        return template;
+    }
+
+    PackingSessionRepositoryCustomImpl scanRepository() {
+        return scanRepository;
+    }
+
+    /**
+     * Bytes the server has received since it started (requests, including documents written)
+     */
+    long bytesIn() {
+        return networkCounter("bytesIn");
+    }
+
+    /**
+     * Bytes the server has sent since it started (responses, including documents read)
+     */
+    long bytesOut() {
+        return networkCounter("bytesOut");
+    }
+
+    /**
+     * Total BSON size of the matching documents in a collection
+     */
+    long storedBytes(String collection, Bson filter) {
+        long bytes = 0;
+        for (RawBsonDocument document : database.getCollection(collection, RawBsonDocument.class).find(filter)) {
+            bytes += document.getByteBuffer().remaining();
+        }
+        return bytes;
+    }
+
+    @Override
+    public void close() {
+        client.close();
+        mongod.close();
+    }
+
+    private long networkCounter(String name) {
+        Document status = client.getDatabase("admin").runCommand(new Document("serverStatus", 1));
+        return ((Number) status.get("network", Document.class).get(name)).longValue();
+    }
+}
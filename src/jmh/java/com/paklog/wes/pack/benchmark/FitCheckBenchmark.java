@@ -0,0 +1,109 @@
+package com.paklog.wes.pack.benchmark;
+
+import com.paklog.wes.pack.domain.entity.Container;
+import com.paklog.wes.pack.domain.entity.PackingInstruction;
+import com.paklog.wes.pack.domain.service.CartonSelector;
+import com.paklog.wes.pack.domain.service.ContainerOptimizationService;
+import com.paklog.wes.pack.domain.valueobject.ContainerType;
+import com.paklog.wes.pack.domain.valueobject.Dimensions;
+import com.paklog.wes.pack.domain.valueobject.Priority;
+import com.paklog.wes.pack.domain.valueobject.Weight;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Weight and dimension checks run inside the container-selection loops.
+ * Fit checks should not allocate; run with the GC profiler to confirm
+ * gc.alloc.rate.norm is 0 B/op:
+ * {@code mvn -Pjmh verify -Djmh.args="FitCheck -prof gc"}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FitCheckBenchmark {
+
+    private static final int ITEMS = 256;
+
+    /** Open containers scanned by selectBestContainer */
+    @Param({"4", "16", "64"})
+    private int containerCount;
+
+    private final ContainerOptimizationService service = new ContainerOptimizationService(new CartonSelector());
+    private PackingInstruction[] items;
+    private Dimensions[] itemDimensions;
+    private Weight[] itemWeights;
+    private List<Container> containers;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        items = new PackingInstruction[ITEMS];
+        itemDimensions = new Dimensions[ITEMS];
+        itemWeights = new Weight[ITEMS];
+        for (int i = 0; i < ITEMS; i++) {
+            // Mixed units so conversions are on the measured path
+            Dimensions.DimensionUnit unit = i % 2 == 0 ? Dimensions.DimensionUnit.IN : Dimensions.DimensionUnit.CM;
+            itemDimensions[i] = new Dimensions(
+                    1 + random.nextInt(30), 1 + random.nextInt(30), 1 + random.nextInt(30), unit);
+            itemWeights[i] = new Weight(0.1 + random.nextDouble() * 5,
+                    i % 3 == 0 ? Weight.WeightUnit.KG : Weight.WeightUnit.LB);
+            items[i] = new PackingInstruction(
+                    "INST-" + i, "SKU-" + i, "Item " + i, 1,
+                    itemWeights[i], itemDimensions[i], "ORDER-1", Priority.NORMAL);
+            items[i].setPackedQuantity(1 + random.nextInt(3));
+        }
+
+        containers = new ArrayList<>(containerCount);
+        ContainerType[] types = {ContainerType.SMALL_BOX, ContainerType.MEDIUM_BOX, ContainerType.LARGE_BOX};
+        for (int c = 0; c < containerCount; c++) {
+            Container container = Container.create(types[c % types.length]);
+            container.addItem("SEED-" + c, new Weight(random.nextDouble() * 15, Weight.WeightUnit.LB));
+            containers.add(container);
+        }
+    }
+
+    @Benchmark
+    public boolean dimensionsFitInside() {
+        int i = next();
+        return itemDimensions[i].fitsInside(containers.get(i % containerCount).getDimensions());
+    }
+
+    @Benchmark
+    public boolean containerCanHold() {
+        int i = next();
+        return containers.get(i % containerCount).canHold(itemWeights[i]);
+    }
+
+    /**
+     * Allocates the one Weight it returns
+     */
+    @Benchmark
+    public Weight weightAdd() {
+        int i = next();
+        return itemWeights[i].add(itemWeights[(i + 1) % ITEMS]);
+    }
+
+    @Benchmark
+    public boolean canItemFitInContainer() {
+        int i = next();
+        return service.canItemFitInContainer(items[i], containers.get(i % containerCount));
+    }
+
+    @Benchmark
+    public Container selectBestContainer() {
+        return service.selectBestContainer(items[next()], containers);
+    }
+
+    private int next() {
+        cursor = cursor + 1 == ITEMS ? 0 : cursor + 1;
+        return cursor;
+    }
+}
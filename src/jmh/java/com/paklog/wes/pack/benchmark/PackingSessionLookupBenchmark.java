@@ -0,0 +1,101 @@
+package com.paklog.wes.pack.benchmark;
+
+import com.paklog.wes.pack.domain.aggregate.PackingSession;
+import com.paklog.wes.pack.domain.entity.ItemToScan;
+import com.paklog.wes.pack.domain.entity.PackingInstruction;
+import com.paklog.wes.pack.domain.valueobject.Dimensions;
+import com.paklog.wes.pack.domain.valueobject.Priority;
+import com.paklog.wes.pack.domain.valueobject.Weight;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Barcode and instruction lookup inside PackingSession: linear stream scan
+ * (previous implementation) versus the aggregate's transient hash indexes
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PackingSessionLookupBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int lines;
+
+    private PackingSession session;
+    private String[] barcodes;
+    private String[] instructionIds;
+    private int cursor;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        List<PackingInstruction> instructions = new ArrayList<>(lines);
+        barcodes = new String[lines];
+        instructionIds = new String[lines];
+        for (int i = 0; i < lines; i++) {
+            PackingInstruction instruction = new PackingInstruction(
+                    "INST-" + i,
+                    "SKU-" + i,
+                    "Item " + i,
+                    Integer.MAX_VALUE,
+                    new Weight(0.5, Weight.WeightUnit.LB),
+                    new Dimensions(6, 4, 2, Dimensions.DimensionUnit.IN),
+                    "ORDER-BENCH",
+                    Priority.NORMAL
+            );
+            instruction.setBarcode("BARCODE-" + i);
+            instructions.add(instruction);
+            barcodes[i] = "BARCODE-" + i;
+            instructionIds[i] = "INST-" + i;
+        }
+
+        session = PackingSession.create("PICK-BENCH", "ORDER-BENCH", "WORKER-BENCH", "WH-BENCH", instructions);
+        session.initializeItemsToScan();
+        cursor = 0;
+    }
+
+    private int next() {
+        int i = cursor;
+        cursor = i + 1 == lines ? 0 : i + 1;
+        return i;
+    }
+
+    @Benchmark
+    public ItemToScan barcodeLookupLinear() {
+        String barcode = barcodes[next()];
+        return session.getItemsToScan().stream()
+                .filter(item -> item.getBarcode().equals(barcode))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Benchmark
+    public PackingInstruction instructionLookupLinear() {
+        String instructionId = instructionIds[next()];
+        return session.getPackingInstructions().stream()
+                .filter(i -> i.getInstructionId().equals(instructionId))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Benchmark
+    public PackingInstruction instructionLookupIndexed() {
+        return session.getInstruction(instructionIds[next()]);
+    }
+
+    @Benchmark
+    public void scanItemIndexed(Blackhole blackhole) {
+        int i = next();
+        if (i == 0) {
+            session.getScannedItems().clear(); // keep the scan log bounded across the iteration
+        }
+        session.scanItem(barcodes[i]);
+        blackhole.consume(session.getStatus());
+    }
+}
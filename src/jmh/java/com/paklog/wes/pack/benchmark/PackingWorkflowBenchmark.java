@@ -0,0 +1,126 @@
+package com.paklog.wes.pack.benchmark;
+
+import com.paklog.wes.pack.adapter.rest.dto.PackingSessionResponse;
+import com.paklog.wes.pack.domain.aggregate.PackingSession;
+import com.paklog.wes.pack.domain.entity.Container;
+import com.paklog.wes.pack.domain.entity.PackingInstruction;
+import com.paklog.wes.pack.domain.service.CartonSelector;
+import com.paklog.wes.pack.domain.service.ContainerOptimizationService;
+import com.paklog.wes.pack.domain.valueobject.ContainerType;
+import com.paklog.wes.pack.domain.valueobject.Dimensions;
+import com.paklog.wes.pack.domain.valueobject.Priority;
+import com.paklog.wes.pack.domain.valueobject.Weight;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Station-side work per order by order size and container count: packing
+ * every line, mapping the session to its REST response, and the container
+ * recommendation for the whole order. Unit scans are measured in
+ * {@link PackingSessionLookupBenchmark}.
+ * <p>
+ * {@code packOrder} needs a fresh session per call, so it is timed per whole
+ * order with the session built in an invocation-level setup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PackingWorkflowBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int lines;
+
+    @Param({"1", "4", "16"})
+    private int containers;
+
+    private final ContainerOptimizationService service = new ContainerOptimizationService(new CartonSelector());
+    private List<PackingInstruction> order;
+    private PackingSession packedSession;
+    private PackingSession freshSession;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        order = instructions(new Random(42));
+        packedSession = newSession();
+        pack(packedSession);
+    }
+
+    @Setup(Level.Invocation)
+    public void newFreshSession() {
+        freshSession = newSession();
+    }
+
+    @Benchmark
+    public PackingSession packOrder() {
+        pack(freshSession);
+        return freshSession;
+    }
+
+    @Benchmark
+    public PackingSessionResponse toResponse() {
+        return PackingSessionResponse.from(packedSession);
+    }
+
+    @Benchmark
+    public ContainerType recommendContainer() {
+        return service.recommendContainer(order);
+    }
+
+    private void pack(PackingSession session) {
+        List<Container> opened = session.getContainers();
+        for (int i = 0; i < lines; i++) {
+            PackingInstruction instruction = session.getPackingInstructions().get(i);
+            session.packItem(instruction.getInstructionId(), opened.get(i % containers).getContainerId(),
+                    instruction.getExpectedQuantity());
+        }
+    }
+
+    private PackingSession newSession() {
+        List<PackingInstruction> copy = new ArrayList<>(lines);
+        for (PackingInstruction instruction : order) {
+            copy.add(new PackingInstruction(
+                    instruction.getInstructionId(),
+                    instruction.getItemSku(),
+                    instruction.getItemDescription(),
+                    instruction.getExpectedQuantity(),
+                    instruction.getItemWeight(),
+                    instruction.getItemDimensions(),
+                    instruction.getOrderId(),
+                    instruction.getPriority()
+            ));
+        }
+        PackingSession session = PackingSession.create(
+                "PICK-BENCH", "ORDER-BENCH", "WORKER-BENCH", "WH-BENCH", copy);
+        session.start();
+        for (int c = 0; c < containers; c++) {
+            // Pallets, so that the largest order fits one container by weight
+            session.addContainer(Container.create(ContainerType.PALLET));
+        }
+        return session;
+    }
+
+    private List<PackingInstruction> instructions(Random random) {
+        List<PackingInstruction> instructions = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            instructions.add(new PackingInstruction(
+                    "INST-" + i,
+                    "SKU-" + i,
+                    "Item " + i,
+                    1 + random.nextInt(2),
+                    new Weight(0.1 + random.nextDouble() * 0.8, Weight.WeightUnit.LB),
+                    new Dimensions(1 + random.nextInt(6), 1 + random.nextInt(6), 1 + random.nextInt(6),
+                            Dimensions.DimensionUnit.IN),
+                    "ORDER-BENCH",
+                    Priority.NORMAL
+            ));
+        }
+        return instructions;
+    }
+}
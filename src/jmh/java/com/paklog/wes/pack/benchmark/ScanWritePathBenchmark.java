@@ -0,0 +1,117 @@
+package com.paklog.wes.pack.benchmark;
+
+import com.paklog.wes.pack.domain.aggregate.PackingSession;
+import com.paklog.wes.pack.domain.entity.PackingInstruction;
+import com.paklog.wes.pack.domain.valueobject.Dimensions;
+import com.paklog.wes.pack.domain.valueobject.Priority;
+import com.paklog.wes.pack.domain.valueobject.Weight;
+import com.paklog.wes.pack.infrastructure.persistence.PackingSessionRepositoryCustomImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit-scan write path against embedded MongoDB: findById + scanItem + save
+ * (full document rewrite) versus the in-place findAndModify of
+ * {@link PackingSessionRepositoryCustomImpl#applyScan}.
+ * <p>
+ * Latency percentiles (p99) come from SampleTime mode. Bytes sent to the server per
+ * scan are taken from the serverStatus network.bytesIn delta and printed after each
+ * iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScanWritePathBenchmark {
+
+    @Param({"50", "500"})
+    private int lines;
+
+    private EmbeddedMongo mongo;
+    private MongoTemplate mongoTemplate;
+    private PackingSessionRepositoryCustomImpl scanRepository;
+
+    private String sessionId;
+    private String[] barcodes;
+    private int cursor;
+    private long scans;
+    private long bytesInAtStart;
+
+    @Setup(Level.Trial)
+    public void startMongo() {
+        mongo = EmbeddedMongo.start("pack_ship_bench");
+        mongoTemplate = mongo.template();
+        scanRepository = mongo.scanRepository();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopMongo() {
+        mongo.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void insertSession() {
+        mongoTemplate.dropCollection(PackingSession.class);
+
+        List<PackingInstruction> instructions = new ArrayList<>(lines);
+        barcodes = new String[lines];
+        for (int i = 0; i < lines; i++) {
+            PackingInstruction instruction = new PackingInstruction(
+                    "INST-" + i,
+                    "SKU-" + i,
+                    "Item " + i,
+                    1_000_000, // never completes within an iteration
+                    new Weight(0.5, Weight.WeightUnit.LB),
+                    new Dimensions(6, 4, 2, Dimensions.DimensionUnit.IN),
+                    "ORDER-BENCH",
+                    Priority.NORMAL
+            );
+            instruction.setBarcode("BARCODE-" + i);
+            instructions.add(instruction);
+            barcodes[i] = "BARCODE-" + i;
+        }
+
+        PackingSession session = PackingSession.create("PICK-BENCH", "ORDER-BENCH", "WORKER-BENCH", "WH-BENCH", instructions);
+        session.initializeItemsToScan();
+        sessionId = mongoTemplate.save(session).getSessionId();
+
+        cursor = 0;
+        scans = 0;
+        bytesInAtStart = mongo.bytesIn();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportBytesWritten() {
+        if (scans > 0) {
+            System.out.printf("%n[lines=%d] scans=%d, bytes sent to server per scan=%d%n",
+                    lines, scans, (mongo.bytesIn() - bytesInAtStart) / scans);
+        }
+    }
+
+    @Benchmark
+    public Object fullDocumentSave() {
+        PackingSession session = mongoTemplate.findById(sessionId, PackingSession.class);
+        session.scanItem(nextBarcode());
+        scans++;
+        return mongoTemplate.save(session);
+    }
+
+    @Benchmark
+    public Object inPlaceUpdate() {
+        Object result = scanRepository.applyScan(sessionId, nextBarcode());
+        scans++;
+        return result;
+    }
+
+    private String nextBarcode() {
+        String barcode = barcodes[cursor];
+        cursor = cursor + 1 == lines ? 0 : cursor + 1;
+        return barcode;
+    }
+}
@@ -0,0 +1,348 @@
+package com.paklog.wes.pack.benchmark;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import com.paklog.wes.pack.domain.aggregate.PackingSession;
+import com.paklog.wes.pack.domain.entity.Container;
+import com.paklog.wes.pack.domain.entity.ItemToScan;
+import com.paklog.wes.pack.domain.entity.PackingInstruction;
+import com.paklog.wes.pack.domain.valueobject.ContainerType;
+import com.paklog.wes.pack.domain.valueobject.Dimensions;
+import com.paklog.wes.pack.domain.valueobject.Priority;
+import com.paklog.wes.pack.domain.valueobject.Weight;
+import com.paklog.wes.pack.infrastructure.outbox.OutboxEvent;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Candidate MongoDB layouts for a packing session. Line {@code i} is
+ * instruction {@code i} and item-to-scan {@code i}; each layout implements the
+ * writes the service makes per scan and per packed line, and a full load.
+ * <ul>
+ *   <li>EMBEDDED - today's {@code packing_sessions} document, written the way the
+ *       service writes it: in-place {@code applyScan}, findById + save per packed
+ *       line, loaded and mapped to {@link PackingSession}. Its writes include the
+ *       outbox events {@code applyScan} records for completed lines.</li>
+ *   <li>BUCKETED_SCANS - the same document without {@code scannedItems}; scans go
+ *       to bucket documents of {@value #SCAN_BUCKET_SIZE}</li>
+ *   <li>SPLIT_LINES - a header document plus one document per line and one per
+ *       scan</li>
+ *   <li>COMPACT - one document with short field names and each line as a
+ *       positional array</li>
+ * </ul>
+ * The alternative layouts load raw documents without entity mapping, and do
+ * not read scan history on load; nothing on the packing path reads it.
+ */
+public enum SessionLayout {
+
+    EMBEDDED {
+        @Override
+        void reset(EmbeddedMongo mongo) {
+            mongo.template().dropCollection(PackingSession.class);
+            mongo.template().dropCollection(OutboxEvent.class);
+        }
+
+        @Override
+        void insert(EmbeddedMongo mongo, PackingSession session) {
+            mongo.template().insert(session);
+        }
+
+        @Override
+        Object load(EmbeddedMongo mongo, String sessionId) {
+            return mongo.template().findById(sessionId, PackingSession.class);
+        }
+
+        @Override
+        void scan(EmbeddedMongo mongo, String sessionId, int line, String barcode) {
+            mongo.scanRepository().applyScan(sessionId, barcode);
+        }
+
+        @Override
+        void pack(EmbeddedMongo mongo, String sessionId, int line, String containerId, int quantity) {
+            PackingSession session = mongo.template().findById(sessionId, PackingSession.class);
+            PackingInstruction instruction = session.getPackingInstructions().get(line);
+            instruction.setPackedQuantity(quantity);
+            instruction.setStatus(PackingInstruction.InstructionStatus.PACKED);
+            instruction.setContainerId(containerId);
+            instruction.setPackedAt(LocalDateTime.now());
+            mongo.template().save(session);
+        }
+
+        @Override
+        long storedBytes(EmbeddedMongo mongo, String sessionId) {
+            return mongo.storedBytes(SESSIONS, Filters.eq("_id", sessionId));
+        }
+    },
+
+    BUCKETED_SCANS {
+        private static final String HEADERS = "layout_bucketed_sessions";
+        private static final String BUCKETS = "layout_bucketed_scans";
+
+        @Override
+        void reset(EmbeddedMongo mongo) {
+            mongo.database().getCollection(HEADERS).drop();
+            mongo.database().getCollection(BUCKETS).drop();
+            mongo.database().getCollection(BUCKETS).createIndex(Indexes.ascending("sessionId", "count"));
+        }
+
+        @Override
+        void insert(EmbeddedMongo mongo, PackingSession session) {
+            Document header = toDocument(mongo, session);
+            header.remove("scannedItems");
+            mongo.database().getCollection(HEADERS).insertOne(header);
+        }
+
+        @Override
+        Object load(EmbeddedMongo mongo, String sessionId) {
+            return mongo.database().getCollection(HEADERS).find(Filters.eq("_id", sessionId)).first();
+        }
+
+        @Override
+        void scan(EmbeddedMongo mongo, String sessionId, int line, String barcode) {
+            mongo.database().getCollection(HEADERS).updateOne(Filters.eq("_id", sessionId),
+                    Updates.inc("itemsToScan." + line + ".scannedQuantity", 1));
+            mongo.database().getCollection(BUCKETS).updateOne(
+                    Filters.and(Filters.eq("sessionId", sessionId), Filters.lt("count", SCAN_BUCKET_SIZE)),
+                    Updates.combine(
+                            Updates.push("scans", new Document("barcode", barcode).append("scannedAt", new Date())),
+                            Updates.inc("count", 1)),
+                    new UpdateOptions().upsert(true));
+        }
+
+        @Override
+        void pack(EmbeddedMongo mongo, String sessionId, int line, String containerId, int quantity) {
+            mongo.database().getCollection(HEADERS).updateOne(Filters.eq("_id", sessionId),
+                    packUpdate("packingInstructions." + line + ".", containerId, quantity));
+        }
+
+        @Override
+        long storedBytes(EmbeddedMongo mongo, String sessionId) {
+            return mongo.storedBytes(HEADERS, Filters.eq("_id", sessionId))
+                    + mongo.storedBytes(BUCKETS, Filters.eq("sessionId", sessionId));
+        }
+    },
+
+    SPLIT_LINES {
+        private static final String HEADERS = "layout_split_sessions";
+        private static final String LINES = "layout_split_lines";
+        private static final String SCANS = "layout_split_scans";
+
+        @Override
+        void reset(EmbeddedMongo mongo) {
+            for (String collection : List.of(HEADERS, LINES, SCANS)) {
+                mongo.database().getCollection(collection).drop();
+            }
+            mongo.database().getCollection(LINES).createIndex(Indexes.ascending("sessionId", "line"));
+            mongo.database().getCollection(SCANS).createIndex(Indexes.ascending("sessionId"));
+        }
+
+        @Override
+        void insert(EmbeddedMongo mongo, PackingSession session) {
+            Document header = toDocument(mongo, session);
+            List<?> instructions = (List<?>) header.remove("packingInstructions");
+            List<?> items = (List<?>) header.remove("itemsToScan");
+            header.remove("scannedItems");
+
+            List<Document> lines = new ArrayList<>(instructions.size());
+            for (int i = 0; i < instructions.size(); i++) {
+                lines.add(new Document("_id", session.getSessionId() + ":" + i)
+                        .append("sessionId", session.getSessionId())
+                        .append("line", i)
+                        .append("instruction", instructions.get(i))
+                        .append("item", items.get(i)));
+            }
+            mongo.database().getCollection(HEADERS).insertOne(header);
+            mongo.database().getCollection(LINES).insertMany(lines);
+        }
+
+        @Override
+        Object load(EmbeddedMongo mongo, String sessionId) {
+            Document header = mongo.database().getCollection(HEADERS).find(Filters.eq("_id", sessionId)).first();
+            List<Document> lines = mongo.database().getCollection(LINES)
+                    .find(Filters.eq("sessionId", sessionId))
+                    .sort(Sorts.ascending("line"))
+                    .into(new ArrayList<>());
+            return new Object[]{header, lines};
+        }
+
+        @Override
+        void scan(EmbeddedMongo mongo, String sessionId, int line, String barcode) {
+            mongo.database().getCollection(LINES).updateOne(Filters.eq("_id", sessionId + ":" + line),
+                    Updates.inc("item.scannedQuantity", 1));
+            mongo.database().getCollection(SCANS).insertOne(new Document("sessionId", sessionId)
+                    .append("barcode", barcode)
+                    .append("scannedAt", new Date()));
+        }
+
+        @Override
+        void pack(EmbeddedMongo mongo, String sessionId, int line, String containerId, int quantity) {
+            mongo.database().getCollection(LINES).updateOne(Filters.eq("_id", sessionId + ":" + line),
+                    packUpdate("instruction.", containerId, quantity));
+        }
+
+        @Override
+        long storedBytes(EmbeddedMongo mongo, String sessionId) {
+            return mongo.storedBytes(HEADERS, Filters.eq("_id", sessionId))
+                    + mongo.storedBytes(LINES, Filters.eq("sessionId", sessionId))
+                    + mongo.storedBytes(SCANS, Filters.eq("sessionId", sessionId));
+        }
+    },
+
+    COMPACT {
+        private static final String DOCUMENTS = "layout_compact_sessions";
+
+        // Positions within a line array
+        private static final int PACKED_QUANTITY = 4;
+        private static final int STATUS = 5;
+        private static final int CONTAINER_ID = 10;
+        private static final int SCANNED_QUANTITY = 11;
+
+        @Override
+        void reset(EmbeddedMongo mongo) {
+            mongo.database().getCollection(DOCUMENTS).drop();
+        }
+
+        @Override
+        void insert(EmbeddedMongo mongo, PackingSession session) {
+            List<PackingInstruction> instructions = session.getPackingInstructions();
+            List<ItemToScan> items = session.getItemsToScan();
+            List<List<Object>> lines = new ArrayList<>(instructions.size());
+            for (int i = 0; i < instructions.size(); i++) {
+                PackingInstruction instruction = instructions.get(i);
+                Dimensions dimensions = instruction.getItemDimensions();
+                List<Object> line = new ArrayList<>(12);
+                line.add(instruction.getInstructionId());
+                line.add(instruction.getItemSku());
+                line.add(instruction.getBarcode());
+                line.add(instruction.getExpectedQuantity());
+                line.add(instruction.getPackedQuantity());
+                line.add(instruction.getStatus().ordinal());
+                line.add(instruction.getItemWeight().toPounds());
+                line.add(dimensions.longestSideInches());
+                line.add(dimensions.middleSideInches());
+                line.add(dimensions.shortestSideInches());
+                line.add(instruction.getContainerId());
+                line.add(items.get(i).getScannedQuantity());
+                lines.add(line);
+            }
+            List<List<Object>> containers = new ArrayList<>();
+            for (Container container : session.getContainers()) {
+                containers.add(List.of(container.getContainerId(), container.getType().ordinal()));
+            }
+
+            mongo.database().getCollection(DOCUMENTS).insertOne(new Document("_id", session.getSessionId())
+                    .append("p", session.getPickSessionId())
+                    .append("o", session.getOrderId())
+                    .append("w", session.getWorkerId())
+                    .append("wh", session.getWarehouseId())
+                    .append("st", session.getStatus().name())
+                    .append("c", new Date())
+                    .append("l", lines)
+                    .append("k", containers)
+                    .append("h", List.of()));
+        }
+
+        @Override
+        Object load(EmbeddedMongo mongo, String sessionId) {
+            return mongo.database().getCollection(DOCUMENTS)
+                    .find(Filters.eq("_id", sessionId))
+                    .projection(new Document("h", 0))
+                    .first();
+        }
+
+        @Override
+        void scan(EmbeddedMongo mongo, String sessionId, int line, String barcode) {
+            mongo.database().getCollection(DOCUMENTS).updateOne(Filters.eq("_id", sessionId), Updates.combine(
+                    Updates.inc("l." + line + "." + SCANNED_QUANTITY, 1),
+                    Updates.push("h", List.of(line, System.currentTimeMillis()))));
+        }
+
+        @Override
+        void pack(EmbeddedMongo mongo, String sessionId, int line, String containerId, int quantity) {
+            String prefix = "l." + line + ".";
+            mongo.database().getCollection(DOCUMENTS).updateOne(Filters.eq("_id", sessionId), Updates.combine(
+                    Updates.set(prefix + PACKED_QUANTITY, quantity),
+                    Updates.set(prefix + STATUS, PackingInstruction.InstructionStatus.PACKED.ordinal()),
+                    Updates.set(prefix + CONTAINER_ID, containerId)));
+        }
+
+        @Override
+        long storedBytes(EmbeddedMongo mongo, String sessionId) {
+            return mongo.storedBytes(DOCUMENTS, Filters.eq("_id", sessionId));
+        }
+    };
+
+    static final int SCAN_BUCKET_SIZE = 200;
+
+    private static final String SESSIONS = "packing_sessions";
+
+    /**
+     * Drop the layout's collections and create its indexes
+     */
+    abstract void reset(EmbeddedMongo mongo);
+
+    /**
+     * Store a session that has its items to scan initialized
+     */
+    abstract void insert(EmbeddedMongo mongo, PackingSession session);
+
+    abstract Object load(EmbeddedMongo mongo, String sessionId);
+
+    abstract void scan(EmbeddedMongo mongo, String sessionId, int line, String barcode);
+
+    abstract void pack(EmbeddedMongo mongo, String sessionId, int line, String containerId, int quantity);
+
+    /**
+     * BSON bytes stored for the session across the layout's collections
+     */
+    abstract long storedBytes(EmbeddedMongo mongo, String sessionId);
+
+    /**
+     * A SCANNING session with one container; barcodes are {@code BARCODE-<line>}
+     */
+    static PackingSession newSession(String orderId, int lines, IntUnaryOperator quantityOfLine) {
+        List<PackingInstruction> instructions = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            PackingInstruction instruction = new PackingInstruction(
+                    "INST-" + i,
+                    "SKU-" + i,
+                    "Item " + i,
+                    quantityOfLine.applyAsInt(i),
+                    new Weight(0.5, Weight.WeightUnit.LB),
+                    new Dimensions(6, 4, 2, Dimensions.DimensionUnit.IN),
+                    orderId,
+                    Priority.NORMAL
+            );
+            instruction.setBarcode("BARCODE-" + i);
+            instructions.add(instruction);
+        }
+        PackingSession session = PackingSession.create(
+                "PICK-" + orderId, orderId, "WORKER-BENCH", "WH-BENCH", instructions);
+        session.addContainer(Container.create(ContainerType.PALLET));
+        session.initializeItemsToScan();
+        return session;
+    }
+
+    private static Document toDocument(EmbeddedMongo mongo, PackingSession session) {
+        Document document = new Document();
+        mongo.template().getConverter().write(session, document);
+        return document;
+    }
+
+    private static Bson packUpdate(String prefix, String containerId, int quantity) {
+        return Updates.combine(
+                Updates.set(prefix + "packedQuantity", quantity),
+                Updates.set(prefix + "status", PackingInstruction.InstructionStatus.PACKED.name()),
+                Updates.set(prefix + "containerId", containerId),
+                Updates.set(prefix + "packedAt", new Date()));
+    }
+}
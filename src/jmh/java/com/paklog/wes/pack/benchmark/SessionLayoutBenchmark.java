@@ -0,0 +1,100 @@
+package com.paklog.wes.pack.benchmark;
+
+import com.paklog.wes.pack.domain.aggregate.PackingSession;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-operation cost of each {@link SessionLayout} by order size: a full
+ * session load, one unit scan and one packed line, against embedded MongoDB.
+ * <p>
+ * Latency percentiles come from SampleTime mode. After each iteration the
+ * bytes exchanged with the server per operation (serverStatus network
+ * counters) and the BSON stored for the session are printed. Expected
+ * quantities never complete, so scans keep hitting the same session.
+ * {@code mvn -Pjmh verify -Djmh.args="SessionLayout -p lines=1000"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SessionLayoutBenchmark {
+
+    @Param({"EMBEDDED", "BUCKETED_SCANS", "SPLIT_LINES", "COMPACT"})
+    private SessionLayout layout;
+
+    @Param({"10", "100", "1000"})
+    private int lines;
+
+    private EmbeddedMongo mongo;
+    private String sessionId;
+    private String containerId;
+    private int cursor;
+    private long operations;
+    private long bytesInAtStart;
+    private long bytesOutAtStart;
+
+    @Setup(Level.Trial)
+    public void startMongo() {
+        mongo = EmbeddedMongo.start("pack_ship_bench");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopMongo() {
+        mongo.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void insertSession() {
+        layout.reset(mongo);
+        PackingSession session = SessionLayout.newSession("ORDER-BENCH", lines, line -> 1_000_000);
+        containerId = session.getContainers().get(0).getContainerId();
+        sessionId = session.getSessionId();
+        layout.insert(mongo, session);
+
+        cursor = 0;
+        operations = 0;
+        bytesInAtStart = mongo.bytesIn();
+        bytesOutAtStart = mongo.bytesOut();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportBytes() {
+        if (operations > 0) {
+            System.out.printf("%n[%s lines=%d] ops=%d, bytes to server/op=%d, bytes from server/op=%d, stored=%d%n",
+                    layout, lines, operations,
+                    (mongo.bytesIn() - bytesInAtStart) / operations,
+                    (mongo.bytesOut() - bytesOutAtStart) / operations,
+                    layout.storedBytes(mongo, sessionId));
+        }
+    }
+
+    @Benchmark
+    public Object load() {
+        operations++;
+        return layout.load(mongo, sessionId);
+    }
+
+    @Benchmark
+    public void scan() {
+        int line = nextLine();
+        layout.scan(mongo, sessionId, line, "BARCODE-" + line);
+        operations++;
+    }
+
+    @Benchmark
+    public void pack() {
+        // Alternate the quantity so that every write changes the stored line
+        layout.pack(mongo, sessionId, nextLine(), containerId, 1 + (int) (operations & 1));
+        operations++;
+    }
+
+    private int nextLine() {
+        int line = cursor;
+        cursor = cursor + 1 == lines ? 0 : cursor + 1;
+        return line;
+    }
+}
@@ -0,0 +1,94 @@
+package com.paklog.wes.pack.benchmark;
+
+import com.paklog.wes.pack.domain.aggregate.PackingSession;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole session lifecycle per {@link SessionLayout}: insert, scan every unit,
+ * pack every line, load. One lifecycle per measured call.
+ * <p>
+ * After each iteration the bytes sent to the server per lifecycle, the BSON
+ * stored for the finished session and their ratio (write amplification) are
+ * printed.
+ * {@code mvn -Pjmh verify -Djmh.args="SessionLifecycle -p layout=EMBEDDED,COMPACT"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SessionLifecycleBenchmark {
+
+    @Param({"EMBEDDED", "BUCKETED_SCANS", "SPLIT_LINES", "COMPACT"})
+    private SessionLayout layout;
+
+    @Param({"10", "100", "1000"})
+    private int lines;
+
+    private EmbeddedMongo mongo;
+    private PackingSession session;
+    private String containerId;
+    private int lifecycle;
+    private long bytesInAtStart;
+    private long bytesSent;
+    private long storedBytes;
+    private int lifecycles;
+
+    @Setup(Level.Trial)
+    public void startMongo() {
+        mongo = EmbeddedMongo.start("pack_ship_bench");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopMongo() {
+        mongo.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void newSession() {
+        layout.reset(mongo);
+        // One to three units per line
+        session = SessionLayout.newSession("ORDER-" + lifecycle++, lines, line -> 1 + line % 3);
+        containerId = session.getContainers().get(0).getContainerId();
+        bytesInAtStart = mongo.bytesIn();
+    }
+
+    @TearDown(Level.Invocation)
+    public void measureSession() {
+        bytesSent += mongo.bytesIn() - bytesInAtStart;
+        storedBytes += layout.storedBytes(mongo, session.getSessionId());
+        lifecycles++;
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportBytes() {
+        if (lifecycles > 0) {
+            System.out.printf("%n[%s lines=%d] bytes to server/lifecycle=%d, stored=%d, write amplification=%.1f%n",
+                    layout, lines, bytesSent / lifecycles, storedBytes / lifecycles,
+                    (double) bytesSent / storedBytes);
+        }
+        bytesSent = 0;
+        storedBytes = 0;
+        lifecycles = 0;
+    }
+
+    @Benchmark
+    public Object lifecycle() {
+        String sessionId = session.getSessionId();
+        layout.insert(mongo, session);
+        for (int line = 0; line < lines; line++) {
+            int units = session.getPackingInstructions().get(line).getExpectedQuantity();
+            for (int unit = 0; unit < units; unit++) {
+                layout.scan(mongo, sessionId, line, "BARCODE-" + line);
+            }
+        }
+        for (int line = 0; line < lines; line++) {
+            layout.pack(mongo, sessionId, line, containerId,
+                    session.getPackingInstructions().get(line).getExpectedQuantity());
+        }
+        return layout.load(mongo, sessionId);
+    }
+}
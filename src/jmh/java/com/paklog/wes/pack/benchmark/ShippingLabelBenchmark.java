@@ -0,0 +1,70 @@
+package com.paklog.wes.pack.benchmark;
+
+import com.paklog.wes.pack.domain.entity.ShippingLabel;
+import com.paklog.wes.pack.domain.service.ShippingLabelService;
+import com.paklog.wes.pack.domain.service.TrackingNumberFormat;
+import com.paklog.wes.pack.domain.service.TrackingNumberGenerator;
+import com.paklog.wes.pack.domain.valueobject.Address;
+import com.paklog.wes.pack.domain.valueobject.CarrierType;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Label rendering and tracking number generation, once per shipped container.
+ * <p>
+ * Rendering into a reused buffer should stay under 20 µs with
+ * gc.alloc.rate.norm at 0 B/op; rendering to an array allocates only the label.
+ * Tracking numbers come from leased blocks; the in-memory counter stands in for
+ * Mongo, which is hit once per block, and wraps so long runs do not exhaust
+ * the UPS and USPS serials:
+ * {@code mvn -Pjmh verify -Djmh.args="ShippingLabel -prof gc"}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShippingLabelBenchmark {
+
+    @Param({"UPS", "FEDEX", "USPS"})
+    private CarrierType carrier;
+
+    @Param({"ZPL", "EPL"})
+    private ShippingLabel.LabelFormat format;
+
+    private final AtomicLong counter = new AtomicLong();
+    private final ShippingLabelService service = new ShippingLabelService(new TrackingNumberGenerator(
+            (carrier, blockSize) -> counter.getAndAdd(blockSize) % TrackingNumberFormat.capacity(carrier), 10_000,
+            new TrackingNumberFormat("0PK001", "900000001")));
+    private final Address address = new Address(
+            "1200 Commerce Way", "Dock 4", "Reno", "NV", "89502", "US");
+    private final Address fromAddress = new Address(
+            "400 Fulfillment Blvd", "Sparks", "NV", "89431", "US");
+    private final ByteBuffer buffer = ByteBuffer.allocate(4096);
+    private String trackingNumber;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        trackingNumber = service.generateTrackingNumber(carrier);
+    }
+
+    @Benchmark
+    public int renderIntoBuffer() {
+        buffer.clear();
+        return service.renderLabel(carrier, format, trackingNumber, address, fromAddress, 12.5, buffer);
+    }
+
+    @Benchmark
+    public ShippingLabel generateLabel() {
+        return service.generateLabel(carrier, trackingNumber, address, fromAddress, 12.5);
+    }
+
+    @Benchmark
+    public String generateTrackingNumber() {
+        return service.generateTrackingNumber(carrier);
+    }
+}
@@ -0,0 +1,171 @@
+package com.paklog.wes.pack.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.paklog.wes.pack.domain.aggregate.PackingSession;
+import com.paklog.wes.pack.domain.entity.PackingInstruction;
+import com.paklog.wes.pack.domain.valueobject.Dimensions;
+import com.paklog.wes.pack.domain.valueobject.Priority;
+import com.paklog.wes.pack.domain.valueobject.Weight;
+import com.paklog.wes.pack.infrastructure.outbox.OutboxWriter;
+import com.paklog.wes.pack.infrastructure.persistence.PackingSessionRepositoryCustomImpl;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Station traffic served by a Tomcat-sized platform thread pool versus one
+ * virtual thread per request, against embedded MongoDB.
+ * <p>
+ * Each invocation runs {@code stations} concurrent stations in a closed loop; every
+ * station request is a unit scan (findAndModify) followed by a session read, i.e.
+ * the two blocking round trips of a typical PackingSessionController call. The score
+ * is the time to serve all requests; throughput and p99 request latency are printed
+ * after each iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.tracePinnedThreads=short")
+public class StationThreadModelBenchmark {
+
+    private static final String COLLECTION = "packing_sessions";
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    private String threadModel;
+
+    @Param({"2000"})
+    private int stations;
+
+    /** Tomcat's default server.tomcat.threads.max */
+    @Param({"200"})
+    private int platformThreads;
+
+    @Param({"10"})
+    private int requestsPerStation;
+
+    @Param({"100"})
+    private int mongoPoolSize;
+
+    private TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private PackingSessionRepositoryCustomImpl scanRepository;
+    private String[] sessionIds;
+
+    private ExecutorService server;
+    private long[][] latencies;
+    private long elapsedNanos;
+
+    @Setup(Level.Trial)
+    public void startMongo() {
+        mongod = Mongod.instance().start(Version.Main.V6_0);
+        ServerAddress address = mongod.current().getServerAddress();
+        client = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString("mongodb://" + address.getHost() + ":" + address.getPort()))
+                .applyToConnectionPoolSettings(pool -> pool.maxSize(mongoPoolSize))
+                .build());
+        mongoTemplate = new MongoTemplate(client, "pack_ship_bench");
+        scanRepository = new PackingSessionRepositoryCustomImpl(
+                mongoTemplate, new OutboxWriter(mongoTemplate, new ObjectMapper().findAndRegisterModules()));
+
+        mongoTemplate.dropCollection(COLLECTION);
+        List<PackingSession> sessions = new ArrayList<>(stations);
+        sessionIds = new String[stations];
+        for (int i = 0; i < stations; i++) {
+            PackingInstruction instruction = new PackingInstruction(
+                    "INST-" + i,
+                    "SKU-" + i,
+                    "Item " + i,
+                    1_000_000, // never completes within the trial
+                    new Weight(0.5, Weight.WeightUnit.LB),
+                    new Dimensions(6, 4, 2, Dimensions.DimensionUnit.IN),
+                    "ORDER-" + i,
+                    Priority.NORMAL
+            );
+            instruction.setBarcode("BARCODE-" + i);
+            PackingSession session = PackingSession.create(
+                    "PICK-" + i, "ORDER-" + i, "WORKER-" + i, "WH-BENCH", List.of(instruction));
+            session.initializeItemsToScan();
+            sessions.add(session);
+            sessionIds[i] = session.getSessionId();
+        }
+        mongoTemplate.insertAll(sessions);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopMongo() {
+        client.close();
+        mongod.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void startServer() {
+        server = "VIRTUAL".equals(threadModel)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(platformThreads);
+        latencies = new long[stations][requestsPerStation];
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportIteration() {
+        server.shutdownNow();
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("%n[%s, stations=%d] throughput=%.0f req/s, p50=%.2f ms, p99=%.2f ms, max=%.2f ms%n",
+                threadModel, stations, all.length / seconds,
+                percentile(all, 0.50) / 1e6, percentile(all, 0.99) / 1e6, all[all.length - 1] / 1e6);
+    }
+
+    @Benchmark
+    public void serveStations() throws Exception {
+        long start = System.nanoTime();
+        // Stations are clients: cheap virtual threads regardless of the server model
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int s = 0; s < stations; s++) {
+                int station = s;
+                clients.submit(() -> runStation(station));
+            }
+        }
+        elapsedNanos = System.nanoTime() - start;
+    }
+
+    private Void runStation(int station) throws Exception {
+        String sessionId = sessionIds[station];
+        String barcode = "BARCODE-" + station;
+        for (int r = 0; r < requestsPerStation; r++) {
+            long requestStart = System.nanoTime();
+            Future<?> response = server.submit(() -> {
+                scanRepository.applyScan(sessionId, barcode);
+                return mongoTemplate.findById(sessionId, Document.class, COLLECTION);
+            });
+            response.get();
+            latencies[station][r] = System.nanoTime() - requestStart;
+        }
+        return null;
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
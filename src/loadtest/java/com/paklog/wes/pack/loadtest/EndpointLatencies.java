@@ -0,0 +1,173 @@
+package com.paklog.wes.pack.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms and error counts, recorded concurrently by
+ * every station. Endpoints are fixed up front so the report follows the flow.
+ */
+final class EndpointLatencies {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    // Set by writeBaseline only, so a hand-written baseline lacks it
+    private static final String MEASURED_AT = "measured.at";
+
+    private final Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+    EndpointLatencies(List<String> endpointNames) {
+        for (String name : endpointNames) {
+            endpoints.put(name, new Endpoint());
+        }
+    }
+
+    void record(String endpoint, long nanos) {
+        endpoint(endpoint).recorder.recordValue(Math.min(nanos, HIGHEST_TRACKABLE_NANOS));
+    }
+
+    void recordError(String endpoint) {
+        endpoint(endpoint).errors.increment();
+    }
+
+    /**
+     * Drop everything recorded so far (end of warm-up)
+     */
+    void reset() {
+        for (Endpoint endpoint : endpoints.values()) {
+            endpoint.recorder.reset();
+            endpoint.errors.reset();
+        }
+    }
+
+    /**
+     * Histograms recorded since the last reset, over the given wall-clock time
+     */
+    List<EndpointSummary> summarize(long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        List<EndpointSummary> summaries = new ArrayList<>(endpoints.size());
+        for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+            Histogram histogram = entry.getValue().recorder.getIntervalHistogram();
+            summaries.add(new EndpointSummary(
+                    entry.getKey(),
+                    histogram.getTotalCount(),
+                    entry.getValue().errors.sum(),
+                    histogram.getTotalCount() / seconds,
+                    histogram.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                    histogram.getValueAtPercentile(90) / NANOS_PER_MILLI,
+                    histogram.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                    histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                    histogram.getMaxValue() / NANOS_PER_MILLI
+            ));
+        }
+        return summaries;
+    }
+
+    static void print(List<EndpointSummary> summaries, PrintStream out) {
+        out.printf("%-40s %8s %6s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (EndpointSummary s : summaries) {
+            out.printf("%-40s %8d %6d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    s.endpoint(), s.count(), s.errors(), s.throughputPerSecond(),
+                    s.p50Millis(), s.p90Millis(), s.p99Millis(), s.p999Millis(), s.maxMillis());
+        }
+    }
+
+    /**
+     * Endpoints whose p99 exceeds the baseline by more than the tolerance.
+     * Endpoints without a baseline entry or without samples are not compared.
+     */
+    static List<String> regressions(List<EndpointSummary> summaries, Properties baseline, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        for (EndpointSummary s : summaries) {
+            String value = baseline.getProperty(baselineKey(s.endpoint()));
+            if (value == null || s.count() == 0) {
+                continue;
+            }
+            double limit = Double.parseDouble(value) * (1 + tolerance);
+            if (s.p99Millis() > limit) {
+                regressions.add(String.format(Locale.ROOT, "%s p99 %.2f ms > %.2f ms (baseline %s ms + %.0f%%)",
+                        s.endpoint(), s.p99Millis(), limit, value, tolerance * 100));
+            }
+        }
+        return regressions;
+    }
+
+    /**
+     * Whether the baseline was written by a run, rather than edited by hand
+     */
+    static boolean isMeasured(Properties baseline) {
+        return baseline.getProperty(MEASURED_AT) != null;
+    }
+
+    static Properties readBaseline(Path path) throws IOException {
+        Properties baseline = new Properties();
+        try (Reader reader = Files.newBufferedReader(path)) {
+            baseline.load(reader);
+        }
+        return baseline;
+    }
+
+    static void writeBaseline(Path path, List<EndpointSummary> summaries, String comment) throws IOException {
+        Properties baseline = new Properties();
+        for (EndpointSummary s : summaries) {
+            if (s.count() > 0) {
+                baseline.setProperty(baselineKey(s.endpoint()), String.format(Locale.ROOT, "%.2f", s.p99Millis()));
+            }
+        }
+        baseline.setProperty(MEASURED_AT, Instant.now().toString());
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(path)) {
+            baseline.store(writer, comment);
+        }
+    }
+
+    private static String baselineKey(String endpoint) {
+        return endpoint.replace(' ', '_') + ".p99.ms";
+    }
+
+    private Endpoint endpoint(String name) {
+        Endpoint endpoint = endpoints.get(name);
+        if (endpoint == null) {
+            throw new IllegalArgumentException("Unknown endpoint: " + name);
+        }
+        return endpoint;
+    }
+
+    private static final class Endpoint {
+        private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_NANOS, 3);
+        private final LongAdder errors = new LongAdder();
+    }
+
+    record EndpointSummary(
+            String endpoint,
+            long count,
+            long errors,
+            double throughputPerSecond,
+            double p50Millis,
+            double p90Millis,
+            double p99Millis,
+            double p999Millis,
+            double maxMillis
+    ) {
+    }
+}
@@ -0,0 +1,101 @@
+package com.paklog.wes.pack.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Number of lines per simulated order. Parsed from one of:
+ * <ul>
+ *   <li>{@code fixed:5} - every order has 5 lines</li>
+ *   <li>{@code uniform:1-20} - 1 to 20 lines, uniformly</li>
+ *   <li>{@code weighted:1=40,3=30,10=20,50=8,200=2} - sizes with relative weights</li>
+ * </ul>
+ */
+final class OrderSizeDistribution {
+
+    private final String spec;
+    private final int[] sizes;
+    private final long[] cumulativeWeights;
+    private final int uniformMin;
+    private final int uniformMax;
+
+    private OrderSizeDistribution(String spec, int[] sizes, long[] cumulativeWeights, int uniformMin, int uniformMax) {
+        this.spec = spec;
+        this.sizes = sizes;
+        this.cumulativeWeights = cumulativeWeights;
+        this.uniformMin = uniformMin;
+        this.uniformMax = uniformMax;
+    }
+
+    static OrderSizeDistribution parse(String spec) {
+        int colon = spec.indexOf(':');
+        if (colon < 0) {
+            throw new IllegalArgumentException("Order size distribution must be kind:values, got " + spec);
+        }
+        String kind = spec.substring(0, colon);
+        String values = spec.substring(colon + 1);
+
+        switch (kind) {
+            case "fixed" -> {
+                int size = positive(values, spec);
+                return new OrderSizeDistribution(spec, new int[]{size}, new long[]{1}, 0, 0);
+            }
+            case "uniform" -> {
+                String[] range = values.split("-");
+                if (range.length != 2) {
+                    throw new IllegalArgumentException("Uniform order size must be min-max, got " + spec);
+                }
+                int min = positive(range[0], spec);
+                int max = positive(range[1], spec);
+                if (max < min) {
+                    throw new IllegalArgumentException("Uniform order size max is below min: " + spec);
+                }
+                return new OrderSizeDistribution(spec, null, null, min, max);
+            }
+            case "weighted" -> {
+                String[] entries = values.split(",");
+                int[] sizes = new int[entries.length];
+                long[] cumulative = new long[entries.length];
+                long total = 0;
+                for (int i = 0; i < entries.length; i++) {
+                    String[] entry = entries[i].split("=");
+                    if (entry.length != 2) {
+                        throw new IllegalArgumentException("Weighted order size must be size=weight,..., got " + spec);
+                    }
+                    sizes[i] = positive(entry[0], spec);
+                    total += positive(entry[1], spec);
+                    cumulative[i] = total;
+                }
+                return new OrderSizeDistribution(spec, sizes, cumulative, 0, 0);
+            }
+            default -> throw new IllegalArgumentException("Unknown order size distribution: " + kind);
+        }
+    }
+
+    int sample(Random random) {
+        if (sizes == null) {
+            return uniformMin + random.nextInt(uniformMax - uniformMin + 1);
+        }
+        long pick = (long) (random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1]);
+        int index = Arrays.binarySearch(cumulativeWeights, pick + 1);
+        return sizes[index >= 0 ? index : -index - 1];
+    }
+
+    @Override
+    public String toString() {
+        return spec;
+    }
+
+    private static int positive(String value, String spec) {
+        int parsed;
+        try {
+            parsed = Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a number in order size distribution " + spec + ": " + value);
+        }
+        if (parsed < 1) {
+            throw new IllegalArgumentException("Order size distribution values must be positive: " + spec);
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,319 @@
+package com.paklog.wes.pack.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paklog.wes.pack.domain.aggregate.PackingSession;
+import com.paklog.wes.pack.domain.entity.PackingInstruction;
+import com.paklog.wes.pack.domain.repository.PackingSessionRepository;
+import com.paklog.wes.pack.domain.valueobject.Dimensions;
+import com.paklog.wes.pack.domain.valueobject.Priority;
+import com.paklog.wes.pack.domain.valueobject.Weight;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * One virtual pack station working through orders over the REST API.
+ * <p>
+ * Each order runs two sessions, because a session created over REST is
+ * already started and the scan workflow only begins from CREATED:
+ * <ol>
+ *   <li>scan leg - a CREATED session (seeded through the repository, as a
+ *       released wave would be) is scanned, gets a carton recommendation and
+ *       has the carton selected</li>
+ *   <li>pack leg - a session created over REST is packed to its stored
+ *       container plan, every container but the last is sealed (packing the
+ *       last line completes the session), and a shipment and label are
+ *       created for it</li>
+ * </ol>
+ * Weighing is not part of the flow: it moves a session to READY_TO_SHIP, from
+ * which it can neither complete nor ship.
+ */
+final class PackingStation implements Runnable {
+
+    static final String CREATE_SESSION = "POST /sessions";
+    static final String SCAN_INIT = "POST /sessions/{id}/scan/init";
+    static final String SCAN = "POST /sessions/{id}/scan";
+    static final String SCAN_BATCH = "POST /sessions/{id}/scan/batch";
+    static final String RECOMMEND_CARTON = "GET /sessions/{id}/carton/recommend";
+    static final String SELECT_CARTON = "POST /sessions/{id}/carton";
+    static final String PACK = "POST /sessions/{id}/pack";
+    static final String SEAL = "POST /sessions/{id}/seal/{containerId}";
+    static final String CREATE_SHIPMENT = "POST /shipments";
+    static final String GENERATE_LABEL = "POST /shipments/{id}/label";
+
+    static final List<String> ENDPOINTS = List.of(
+            CREATE_SESSION, SCAN_INIT, SCAN, SCAN_BATCH, RECOMMEND_CARTON, SELECT_CARTON,
+            PACK, SEAL, CREATE_SHIPMENT, GENERATE_LABEL);
+
+    private static final Map<String, Object> SHIP_TO = Map.of(
+            "street1", "1200 Commerce Way", "city", "Reno", "state", "NV", "zipCode", "89502", "country", "US");
+    private static final Map<String, Object> SHIP_FROM = Map.of(
+            "street1", "400 Distribution Dr", "city", "Sparks", "state", "NV", "zipCode", "89431", "country", "US");
+    private static final String[] CARRIERS = {"UPS", "FEDEX", "USPS"};
+
+    private final int station;
+    private final String phase;
+    private final int orders;
+    private final SimulationOptions options;
+    private final URI api;
+    private final HttpClient client;
+    private final ObjectMapper mapper;
+    private final PackingSessionRepository repository;
+    private final EndpointLatencies latencies;
+    private final Random random;
+    private int completedOrders;
+    private int failedOrders;
+    private String firstFailure;
+
+    PackingStation(int station, String phase, int orders, SimulationOptions options, URI api, HttpClient client,
+                   ObjectMapper mapper, PackingSessionRepository repository, EndpointLatencies latencies) {
+        this.station = station;
+        this.phase = phase;
+        this.orders = orders;
+        this.options = options;
+        this.api = api;
+        this.client = client;
+        this.mapper = mapper;
+        this.repository = repository;
+        this.latencies = latencies;
+        this.random = new Random(options.seed() * 31 + station + phase.hashCode());
+    }
+
+    @Override
+    public void run() {
+        for (int order = 0; order < orders; order++) {
+            String orderId = "LOAD-" + phase + "-" + station + "-" + order;
+            try {
+                List<PackingInstruction> lines = order(orderId, options.orderSize().sample(random));
+                scanLeg(orderId, lines);
+                packLeg(orderId, lines);
+                completedOrders++;
+            } catch (IOException e) {
+                if (failedOrders++ == 0) {
+                    firstFailure = e.getMessage();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    int getCompletedOrders() {
+        return completedOrders;
+    }
+
+    int getFailedOrders() {
+        return failedOrders;
+    }
+
+    String getFirstFailure() {
+        return firstFailure;
+    }
+
+    private void scanLeg(String orderId, List<PackingInstruction> lines) throws IOException, InterruptedException {
+        PackingSession session = PackingSession.create(
+                "PICK-SCAN-" + orderId, orderId, "STATION-" + station + "-SCAN", options.warehouseId(), lines);
+        String sessionId = repository.save(session).getSessionId();
+        String path = "/api/v1/packing/sessions/" + sessionId;
+
+        call(SCAN_INIT, post(path + "/scan/init", null));
+
+        List<String> barcodes = new ArrayList<>();
+        for (PackingInstruction line : lines) {
+            for (int unit = 0; unit < line.getExpectedQuantity(); unit++) {
+                barcodes.add(line.getBarcode());
+            }
+        }
+        if (options.batchScan()) {
+            call(SCAN_BATCH, post(path + "/scan/batch", Map.of("barcodes", barcodes)));
+        } else {
+            for (String barcode : barcodes) {
+                call(SCAN, post(path + "/scan", Map.of("barcode", barcode)));
+            }
+        }
+
+        String carton = call(RECOMMEND_CARTON, HttpRequest.newBuilder(api.resolve(path + "/carton/recommend")).GET());
+        call(SELECT_CARTON, post(path + "/carton", Map.of("cartonType", carton)));
+    }
+
+    private void packLeg(String orderId, List<PackingInstruction> lines) throws IOException, InterruptedException {
+        Map<String, Object> start = new LinkedHashMap<>();
+        start.put("pickSessionId", "PICK-" + orderId);
+        start.put("orderId", orderId);
+        start.put("workerId", "STATION-" + station);
+        start.put("warehouseId", options.warehouseId());
+        start.put("instructions", lines.stream().map(PackingStation::instruction).toList());
+        JsonNode session = mapper.readTree(call(CREATE_SESSION, post("/api/v1/packing/sessions", start)));
+        String sessionId = session.get("sessionId").asText();
+        String path = "/api/v1/packing/sessions/" + sessionId;
+
+        try {
+            packAndShip(orderId, sessionId, session, lines);
+        } catch (IOException e) {
+            // Free the station for its next order; an active session blocks new ones for the worker
+            cancelQuietly(path);
+            throw e;
+        }
+    }
+
+    private void packAndShip(String orderId, String sessionId, JsonNode session, List<PackingInstruction> lines)
+            throws IOException, InterruptedException {
+        String path = "/api/v1/packing/sessions/" + sessionId;
+        Map<String, PackingInstruction> linesById = new LinkedHashMap<>();
+        for (PackingInstruction line : lines) {
+            linesById.put(line.getInstructionId(), line);
+        }
+
+        // Pack to the stored plan; lines the plan left out go to the first container
+        List<String> containerIds = new ArrayList<>();
+        List<List<String>> containerLines = new ArrayList<>();
+        for (JsonNode container : session.get("containers")) {
+            List<String> planned = new ArrayList<>();
+            for (JsonNode instructionId : container.get("plannedInstructionIds")) {
+                if (linesById.containsKey(instructionId.asText())) {
+                    planned.add(instructionId.asText());
+                }
+            }
+            containerIds.add(container.get("containerId").asText());
+            containerLines.add(planned);
+        }
+        if (containerIds.isEmpty()) {
+            throw new StepFailedException(CREATE_SESSION, "no containers planned for " + orderId);
+        }
+        List<String> unplanned = new ArrayList<>(linesById.keySet());
+        containerLines.forEach(unplanned::removeAll);
+        containerLines.get(0).addAll(unplanned);
+
+        int lastContainer = containerLines.size() - 1;
+        while (lastContainer > 0 && containerLines.get(lastContainer).isEmpty()) {
+            lastContainer--;
+        }
+        for (int c = 0; c <= lastContainer; c++) {
+            String containerId = containerIds.get(c);
+            double weightLb = 0;
+            for (String instructionId : containerLines.get(c)) {
+                PackingInstruction line = linesById.get(instructionId);
+                Map<String, Object> pack = new LinkedHashMap<>();
+                pack.put("instructionId", instructionId);
+                pack.put("containerId", containerId);
+                pack.put("quantity", line.getExpectedQuantity());
+                call(PACK, post(path + "/pack", pack));
+                weightLb += line.getTotalWeightLb();
+            }
+            if (c < lastContainer && !containerLines.get(c).isEmpty()) {
+                call(SEAL, post(path + "/seal/" + containerId + "?weightLb=" + Math.max(0.1, weightLb), null));
+            }
+        }
+
+        Map<String, Object> shipment = new LinkedHashMap<>();
+        shipment.put("packingSessionId", sessionId);
+        shipment.put("shippingAddress", SHIP_TO);
+        shipment.put("carrier", CARRIERS[random.nextInt(CARRIERS.length)]);
+        shipment.put("shippingMethod", "GROUND");
+        String shipmentId = mapper.readTree(call(CREATE_SHIPMENT, post("/api/v1/shipments", shipment)))
+                .get("shipmentId").asText();
+        call(GENERATE_LABEL, post("/api/v1/shipments/" + shipmentId + "/label", Map.of("fromAddress", SHIP_FROM)));
+    }
+
+    private void cancelQuietly(String path) throws InterruptedException {
+        try {
+            client.send(post(path + "/cancel?reason=load-test-failure", null).build(),
+                    HttpResponse.BodyHandlers.discarding());
+        } catch (IOException e) {
+            // The order is already counted as failed
+        }
+    }
+
+    /**
+     * Sends one request, records its latency and returns the body. A non-2xx
+     * response is counted as an error and ends the order.
+     */
+    private String call(String endpoint, HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpRequest built = request.build();
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = client.send(built, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            latencies.recordError(endpoint);
+            throw e;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        if (response.statusCode() / 100 != 2) {
+            latencies.recordError(endpoint);
+            throw new StepFailedException(endpoint, response.statusCode() + " " + response.body());
+        }
+        latencies.record(endpoint, elapsed);
+        return response.body();
+    }
+
+    private HttpRequest.Builder post(String path, Object body) throws IOException {
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body));
+        return HttpRequest.newBuilder(api.resolve(path))
+                .header("Content-Type", "application/json")
+                .POST(publisher);
+    }
+
+    private List<PackingInstruction> order(String orderId, int lineCount) {
+        List<PackingInstruction> lines = new ArrayList<>(lineCount);
+        for (int i = 0; i < lineCount; i++) {
+            String sku = "SKU-" + random.nextInt(5000);
+            PackingInstruction line = new PackingInstruction(
+                    orderId + "-L" + i,
+                    sku,
+                    "Load item " + sku,
+                    1 + random.nextInt(options.maxUnitsPerLine()),
+                    new Weight(0.1 + random.nextDouble() * 1.9, Weight.WeightUnit.LB),
+                    new Dimensions(1 + random.nextInt(10), 1 + random.nextInt(8), 1 + random.nextInt(6),
+                            Dimensions.DimensionUnit.IN),
+                    orderId,
+                    Priority.NORMAL
+            );
+            // Barcodes are per line so that repeated SKUs within an order stay separate scan targets
+            line.setBarcode(orderId + "-B" + i);
+            lines.add(line);
+        }
+        return lines;
+    }
+
+    /**
+     * The instruction as the pick system sends it
+     */
+    private static Map<String, Object> instruction(PackingInstruction line) {
+        Map<String, Object> instruction = new LinkedHashMap<>();
+        instruction.put("instructionId", line.getInstructionId());
+        instruction.put("itemSku", line.getItemSku());
+        instruction.put("barcode", line.getBarcode());
+        instruction.put("itemDescription", line.getItemDescription());
+        instruction.put("expectedQuantity", line.getExpectedQuantity());
+        instruction.put("status", line.getStatus());
+        instruction.put("itemWeight", line.getItemWeight());
+        instruction.put("itemDimensions", line.getItemDimensions());
+        instruction.put("orderId", line.getOrderId());
+        instruction.put("priority", line.getPriority());
+        return instruction;
+    }
+
+    /**
+     * A step answered with a non-2xx status
+     */
+    static final class StepFailedException extends IOException {
+        StepFailedException(String endpoint, String detail) {
+            super(endpoint + " failed: " + detail);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.paklog.wes.pack.loadtest;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Station simulator settings, from {@code --name=value} arguments
+ */
+record SimulationOptions(
+        int stations,
+        int ordersPerStation,
+        int warmupOrdersPerStation,
+        OrderSizeDistribution orderSize,
+        int maxUnitsPerLine,
+        boolean batchScan,
+        String warehouseId,
+        long seed,
+        Path baseline,
+        double tolerance,
+        boolean updateBaseline
+) {
+
+    static SimulationOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            int equals = arg.indexOf('=');
+            if (equals < 0) {
+                values.put(arg.substring(2), "true");
+            } else {
+                values.put(arg.substring(2, equals), arg.substring(equals + 1));
+            }
+        }
+
+        SimulationOptions options = new SimulationOptions(
+                Integer.parseInt(values.getOrDefault("stations", "16")),
+                Integer.parseInt(values.getOrDefault("orders-per-station", "25")),
+                Integer.parseInt(values.getOrDefault("warmup-orders-per-station", "5")),
+                OrderSizeDistribution.parse(values.getOrDefault("order-size", "weighted:1=40,3=30,10=20,50=8,200=2")),
+                Integer.parseInt(values.getOrDefault("max-units-per-line", "3")),
+                "batch".equals(values.getOrDefault("scan-mode", "single")),
+                values.getOrDefault("warehouse-id", "WH-LOAD"),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Path.of(values.getOrDefault("baseline", "src/loadtest/baseline/p99-baseline.properties")),
+                Double.parseDouble(values.getOrDefault("tolerance", "0.25")),
+                Boolean.parseBoolean(values.getOrDefault("update-baseline", "false"))
+        );
+
+        if (options.stations() < 1 || options.ordersPerStation() < 1 || options.maxUnitsPerLine() < 1) {
+            throw new IllegalArgumentException("stations, orders-per-station and max-units-per-line must be positive");
+        }
+        if (options.warmupOrdersPerStation() < 0 || options.tolerance() < 0) {
+            throw new IllegalArgumentException("warmup-orders-per-station and tolerance cannot be negative");
+        }
+        return options;
+    }
+}
@@ -0,0 +1,176 @@
+package com.paklog.wes.pack.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paklog.wes.pack.PackShipServiceApplication;
+import com.paklog.wes.pack.domain.repository.PackingSessionRepository;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Station workload simulator: boots the service against an embedded MongoDB
+ * and drives N virtual pack stations through the REST flow concurrently,
+ * then reports per-endpoint throughput and latency percentiles.
+ * <p>
+ * Exits non-zero when any order failed, the baseline file is missing or an
+ * endpoint's p99 is worse than the committed baseline by more than the
+ * tolerance, and warns when the baseline was not written by a run. With
+ * {@code --update-baseline} the run writes the baseline instead of comparing.
+ * <p>
+ * {@code mvn -Ploadtest verify -DskipTests -Dloadtest.args="--stations=32 --order-size=uniform:1-20"}
+ * <ul>
+ *   <li>{@code --stations} virtual stations (16)</li>
+ *   <li>{@code --orders-per-station} measured orders per station (25)</li>
+ *   <li>{@code --warmup-orders-per-station} orders run before measuring (5)</li>
+ *   <li>{@code --order-size} lines per order, see {@link OrderSizeDistribution}</li>
+ *   <li>{@code --max-units-per-line} units per line, uniform from 1 (3)</li>
+ *   <li>{@code --scan-mode} {@code single} or {@code batch} scans (single)</li>
+ *   <li>{@code --baseline}, {@code --tolerance} (0.25), {@code --update-baseline}</li>
+ * </ul>
+ */
+public final class StationSimulator {
+
+    private StationSimulator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        SimulationOptions options = SimulationOptions.parse(args);
+
+        int exitCode;
+        try (TransitionWalker.ReachedState<RunningMongodProcess> mongod = Mongod.instance().start(Version.Main.V6_0)) {
+            ServerAddress address = mongod.current().getServerAddress();
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(PackShipServiceApplication.class)
+                    .properties(
+                            "server.port=0",
+                            "spring.data.mongodb.uri=mongodb://" + address.getHost() + ":" + address.getPort()
+                                    + "/pack_ship_loadtest",
+                            "spring.data.mongodb.database=pack_ship_loadtest",
+                            // Standalone mongod: no transactions; no broker: no relay or listeners
+                            "pack.outbox.transactional=false",
+                            "pack.outbox.relay.enabled=false",
+                            "spring.kafka.listener.auto-startup=false",
+                            "management.tracing.enabled=false",
+                            // Per-request INFO/DEBUG logging would dominate the measured latencies
+                            "logging.level.root=WARN",
+                            "logging.level.com.paklog=WARN",
+                            "logging.level.org.springframework.web=WARN"
+                    )
+                    .run();
+            try {
+                exitCode = run(options, context);
+            } finally {
+                context.close();
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    private static int run(SimulationOptions options, ConfigurableApplicationContext context) throws Exception {
+        URI api = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+        ObjectMapper mapper = context.getBean(ObjectMapper.class);
+        PackingSessionRepository repository = context.getBean(PackingSessionRepository.class);
+        EndpointLatencies latencies = new EndpointLatencies(PackingStation.ENDPOINTS);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(executor)
+                    .build();
+
+            System.out.printf("Simulating %d stations x %d orders (%d warm-up), order size %s, %s scans%n",
+                    options.stations(), options.ordersPerStation(), options.warmupOrdersPerStation(),
+                    options.orderSize(), options.batchScan() ? "batch" : "single");
+
+            if (options.warmupOrdersPerStation() > 0) {
+                runStations("W", options.warmupOrdersPerStation(), options, api, client, mapper, repository, latencies);
+                latencies.reset();
+            }
+
+            long start = System.nanoTime();
+            List<PackingStation> stations =
+                    runStations("M", options.ordersPerStation(), options, api, client, mapper, repository, latencies);
+            long elapsed = System.nanoTime() - start;
+
+            List<EndpointLatencies.EndpointSummary> summaries = latencies.summarize(elapsed);
+            int completed = stations.stream().mapToInt(PackingStation::getCompletedOrders).sum();
+            int failed = stations.stream().mapToInt(PackingStation::getFailedOrders).sum();
+
+            System.out.printf("%nCompleted %d orders (%d failed) in %.1f s, %.1f orders/s%n",
+                    completed, failed, elapsed / 1e9, completed / (elapsed / 1e9));
+            EndpointLatencies.print(summaries, System.out);
+
+            if (failed > 0) {
+                stations.stream()
+                        .map(PackingStation::getFirstFailure)
+                        .filter(Objects::nonNull)
+                        .findFirst()
+                        .ifPresent(message -> System.out.println("First failure: " + message));
+                return 1;
+            }
+            return checkBaseline(options, summaries);
+        }
+    }
+
+    private static List<PackingStation> runStations(
+            String phase, int orders, SimulationOptions options, URI api, HttpClient client,
+            ObjectMapper mapper, PackingSessionRepository repository, EndpointLatencies latencies
+    ) {
+        List<PackingStation> stations = new ArrayList<>(options.stations());
+        for (int station = 0; station < options.stations(); station++) {
+            stations.add(new PackingStation(
+                    station, phase, orders, options, api, client, mapper, repository, latencies));
+        }
+        // One virtual thread per station; closing the executor waits for every station
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            stations.forEach(executor::submit);
+        }
+        return stations;
+    }
+
+    private static int checkBaseline(SimulationOptions options, List<EndpointLatencies.EndpointSummary> summaries)
+            throws Exception {
+        if (options.updateBaseline()) {
+            EndpointLatencies.writeBaseline(options.baseline(), summaries, String.format(Locale.ROOT,
+                    "p99 per endpoint in ms: %d stations x %d orders, order size %s",
+                    options.stations(), options.ordersPerStation(), options.orderSize()));
+            System.out.println("Wrote baseline " + options.baseline());
+            return 0;
+        }
+        if (!Files.exists(options.baseline())) {
+            // A silently written baseline would pass whatever this run measured
+            System.out.println("No baseline at " + options.baseline() + "; run with --update-baseline to write one");
+            return 1;
+        }
+
+        Properties baseline = EndpointLatencies.readBaseline(options.baseline());
+        if (!EndpointLatencies.isMeasured(baseline)) {
+            System.out.println("Warning: " + options.baseline() + " holds hand-set budgets, not a measurement; "
+                    + "replace it with --update-baseline on the reference machine");
+        }
+        List<String> regressions = EndpointLatencies.regressions(summaries, baseline, options.tolerance());
+        if (regressions.isEmpty()) {
+            System.out.println("p99 within " + Math.round(options.tolerance() * 100) + "% of " + options.baseline());
+            return 0;
+        }
+        System.out.println("p99 regressions against " + options.baseline() + ":");
+        regressions.forEach(regression -> System.out.println("  " + regression));
+        return 1;
+    }
+}
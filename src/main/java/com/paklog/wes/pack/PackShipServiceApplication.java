@@ -2,12 +2,14 @@ package com.paklog.wes.pack;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Pack and Ship Service - WES
  * Handles packing operations, quality control, and shipping preparation
  */
 @SpringBootApplication
+@EnableScheduling
 public class PackShipServiceApplication {
 
     public static void main(String[] args) {
@@ -5,6 +5,8 @@ import com.paklog.wes.pack.application.command.*;
 import com.paklog.wes.pack.application.service.PackingSessionService;
 import com.paklog.wes.pack.domain.aggregate.PackingSession;
 import com.paklog.wes.pack.domain.entity.QualityCheck;
+import com.paklog.wes.pack.domain.valueobject.BatchScanResult;
+import com.paklog.wes.pack.domain.valueobject.ScanResult;
 import com.paklog.wes.pack.domain.valueobject.Weight;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
@@ -65,6 +67,20 @@ public class PackingSessionController {
         return ResponseEntity.ok(PackingSessionResponse.from(session));
     }
 
+    /**
+     * Claim a session released with a wave and start it
+     */
+    @PostMapping("/sessions/{id}/claim")
+    public ResponseEntity<PackingSessionResponse> claimSession(
+            @PathVariable String id,
+            @RequestParam String workerId
+    ) {
+        logger.info("Worker {} claiming packing session {}", workerId, id);
+
+        PackingSession session = packingSessionService.claimSession(id, workerId);
+        return ResponseEntity.ok(PackingSessionResponse.from(session));
+    }
+
     /**
      * Pack item into container
      */
@@ -175,16 +191,32 @@ public class PackingSessionController {
      * Scan an item
      */
     @PostMapping("/sessions/{id}/scan")
-    public ResponseEntity<PackingSessionResponse> scanItem(
+    public ResponseEntity<ScanItemResponse> scanItem(
             @PathVariable String id,
             @Valid @RequestBody ScanItemRequest request
     ) {
         logger.info("Scanning item {} in session {}", request.barcode(), id);
 
         ScanItemCommand command = new ScanItemCommand(id, request.barcode());
-        PackingSession session = packingSessionService.scanItem(command);
+        ScanResult result = packingSessionService.scanItem(command);
 
-        return ResponseEntity.ok(PackingSessionResponse.from(session));
+        return ResponseEntity.ok(ScanItemResponse.from(result));
+    }
+
+    /**
+     * Scan a batch of items
+     */
+    @PostMapping("/sessions/{id}/scan/batch")
+    public ResponseEntity<BatchScanResponse> scanItems(
+            @PathVariable String id,
+            @Valid @RequestBody BatchScanRequest request
+    ) {
+        logger.info("Scanning {} items in session {}", request.barcodes().size(), id);
+
+        ScanItemsCommand command = new ScanItemsCommand(id, request.barcodes());
+        BatchScanResult result = packingSessionService.scanItems(command);
+
+        return ResponseEntity.ok(BatchScanResponse.from(result));
     }
 
     // ========== Sprint 1: Carton Selection ==========
@@ -0,0 +1,163 @@
+package com.paklog.wes.pack.adapter.rest.controller;
+
+import com.paklog.wes.pack.adapter.rest.dto.BatchLabelResponse;
+import com.paklog.wes.pack.adapter.rest.dto.CreateShipmentRequest;
+import com.paklog.wes.pack.adapter.rest.dto.GenerateLabelRequest;
+import com.paklog.wes.pack.adapter.rest.dto.GenerateLabelsRequest;
+import com.paklog.wes.pack.adapter.rest.dto.PrintLabelResponse;
+import com.paklog.wes.pack.adapter.rest.dto.ShipmentResponse;
+import com.paklog.wes.pack.application.command.CreateShipmentCommand;
+import com.paklog.wes.pack.application.command.GenerateLabelCommand;
+import com.paklog.wes.pack.application.command.GenerateLabelsCommand;
+import com.paklog.wes.pack.application.service.ShipmentService;
+import com.paklog.wes.pack.domain.aggregate.Shipment;
+import com.paklog.wes.pack.domain.entity.ShippingLabel;
+import com.paklog.wes.pack.domain.valueobject.BatchLabelResult;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * REST controller for shipment operations
+ */
+@RestController
+@RequestMapping("/api/v1/shipments")
+public class ShipmentController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShipmentController.class);
+
+    private final ShipmentService shipmentService;
+
+    public ShipmentController(ShipmentService shipmentService) {
+        this.shipmentService = shipmentService;
+    }
+
+    /**
+     * Create shipment for a completed packing session
+     */
+    @PostMapping
+    public ResponseEntity<ShipmentResponse> createShipment(
+            @Valid @RequestBody CreateShipmentRequest request
+    ) {
+        logger.info("Creating shipment for packing session: {}", request.packingSessionId());
+
+        CreateShipmentCommand command = new CreateShipmentCommand(
+                request.packingSessionId(),
+                request.shippingAddress(),
+                request.carrier(),
+                request.shippingMethod()
+        );
+
+        Shipment shipment = shipmentService.createShipment(command);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ShipmentResponse.from(shipment));
+    }
+
+    /**
+     * Get shipment by ID
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ShipmentResponse> getShipment(@PathVariable String id) {
+        logger.debug("Getting shipment: {}", id);
+
+        Shipment shipment = shipmentService.getShipment(id);
+        return ResponseEntity.ok(ShipmentResponse.from(shipment));
+    }
+
+    /**
+     * Generate shipping label
+     */
+    @PostMapping("/{id}/label")
+    public ResponseEntity<ShipmentResponse> generateLabel(
+            @PathVariable String id,
+            @Valid @RequestBody GenerateLabelRequest request
+    ) {
+        logger.info("Generating label for shipment: {}", id);
+
+        GenerateLabelCommand command = new GenerateLabelCommand(id, request.fromAddress());
+        Shipment shipment = shipmentService.generateLabel(command);
+
+        return ResponseEntity.ok(ShipmentResponse.from(shipment));
+    }
+
+    /**
+     * Download the label bytes for printing
+     */
+    @GetMapping("/{id}/label")
+    public ResponseEntity<byte[]> getLabel(@PathVariable String id) {
+        logger.debug("Getting label for shipment: {}", id);
+
+        ShippingLabel label = shipmentService.getLabelForPrinting(id);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(label.getMimeType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                        .filename(label.getLabelId() + label.getFileExtension())
+                        .build()
+                        .toString())
+                .body(label.getContent());
+    }
+
+    /**
+     * Print the shipment's label; completes once a printer took the label
+     */
+    @PostMapping("/{id}/label/print")
+    public CompletableFuture<ResponseEntity<PrintLabelResponse>> printLabel(
+            @PathVariable String id,
+            @RequestParam String printerId
+    ) {
+        logger.info("Printing label for shipment {} on printer {}", id, printerId);
+
+        return shipmentService.printLabel(id, printerId)
+                .thenApply(receipt -> ResponseEntity.ok(PrintLabelResponse.from(id, receipt)));
+    }
+
+    /**
+     * Generate labels for a batch of shipments, returning per-shipment outcomes
+     */
+    @PostMapping(value = "/labels", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchLabelResponse> generateLabels(@Valid @RequestBody GenerateLabelsRequest request) {
+        logger.info("Generating labels for {} shipments", request.shipmentIds().size());
+
+        BatchLabelResult result = shipmentService.generateLabels(
+                new GenerateLabelsCommand(request.shipmentIds(), request.fromAddress()));
+        return ResponseEntity.ok(BatchLabelResponse.from(result));
+    }
+
+    /**
+     * Generate labels for a batch of shipments and stream the generated ZPL
+     * back-to-back in request order, ready to send to a printer. Shipments
+     * without a label are listed in the X-Labels-Failed header.
+     */
+    @PostMapping(value = "/labels", produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<StreamingResponseBody> generateLabelsZpl(@Valid @RequestBody GenerateLabelsRequest request) {
+        logger.info("Generating labels for {} shipments as ZPL", request.shipmentIds().size());
+
+        BatchLabelResult result = shipmentService.generateLabels(
+                new GenerateLabelsCommand(request.shipmentIds(), request.fromAddress()));
+        String failed = result.outcomes().stream()
+                .filter(outcome -> !outcome.isLabeled())
+                .map(BatchLabelResult.Outcome::shipmentId)
+                .collect(Collectors.joining(","));
+
+        StreamingResponseBody body = out -> {
+            for (ShippingLabel label : result.labels()) {
+                out.write(label.getContent());
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_PLAIN)
+                .header("X-Labels-Generated", String.valueOf(result.getLabeledCount()))
+                .header("X-Labels-Failed", failed)
+                .body(body);
+    }
+}
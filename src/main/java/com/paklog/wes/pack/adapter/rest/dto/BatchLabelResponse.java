@@ -0,0 +1,22 @@
+package com.paklog.wes.pack.adapter.rest.dto;
+
+import com.paklog.wes.pack.domain.valueobject.BatchLabelResult;
+
+import java.util.List;
+
+/**
+ * Response DTO for a batch of label generations
+ */
+public record BatchLabelResponse(
+        long labeledCount,
+        long failedCount,
+        List<BatchLabelResult.Outcome> outcomes
+) {
+    public static BatchLabelResponse from(BatchLabelResult result) {
+        return new BatchLabelResponse(
+                result.getLabeledCount(),
+                result.getFailedCount(),
+                result.outcomes()
+        );
+    }
+}
@@ -0,0 +1,15 @@
+package com.paklog.wes.pack.adapter.rest.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Request DTO to scan a burst of items (tunnel scanners, RF guns)
+ */
+public record BatchScanRequest(
+        @NotEmpty @Size(max = 500) List<@NotBlank String> barcodes
+) {
+}
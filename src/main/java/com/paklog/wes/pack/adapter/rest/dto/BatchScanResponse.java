@@ -0,0 +1,31 @@
+package com.paklog.wes.pack.adapter.rest.dto;
+
+import com.paklog.wes.pack.domain.valueobject.BatchScanResult;
+import com.paklog.wes.pack.domain.valueobject.PackingStatus;
+
+import java.util.List;
+
+/**
+ * Response DTO for a batch of item scans
+ */
+public record BatchScanResponse(
+        String sessionId,
+        PackingStatus status,
+        double scanningProgress,
+        String recommendedCarton,
+        long acceptedCount,
+        long rejectedCount,
+        List<BatchScanResult.Outcome> outcomes
+) {
+    public static BatchScanResponse from(BatchScanResult result) {
+        return new BatchScanResponse(
+                result.sessionId(),
+                result.sessionStatus(),
+                result.scanningProgress(),
+                result.recommendedCarton() != null ? result.recommendedCarton().cartonCode() : null,
+                result.getAcceptedCount(),
+                result.getRejectedCount(),
+                result.outcomes()
+        );
+    }
+}
@@ -0,0 +1,28 @@
+package com.paklog.wes.pack.adapter.rest.dto;
+
+import com.paklog.wes.pack.domain.entity.Container;
+import com.paklog.wes.pack.domain.valueobject.ContainerType;
+
+import java.util.List;
+
+/**
+ * Response DTO for a container opened in a packing session, with the
+ * instructions the container plan assigned to it
+ */
+public record ContainerResponse(
+        String containerId,
+        ContainerType containerType,
+        String cartonCode,
+        Container.ContainerStatus status,
+        List<String> plannedInstructionIds
+) {
+    public static ContainerResponse from(Container container, List<String> plannedInstructionIds) {
+        return new ContainerResponse(
+                container.getContainerId(),
+                container.getType(),
+                container.getCartonCode(),
+                container.getStatus(),
+                plannedInstructionIds
+        );
+    }
+}
@@ -0,0 +1,18 @@
+package com.paklog.wes.pack.adapter.rest.dto;
+
+import com.paklog.wes.pack.domain.valueobject.Address;
+import com.paklog.wes.pack.domain.valueobject.CarrierType;
+import com.paklog.wes.pack.domain.valueobject.ShippingMethod;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Request DTO to create a shipment for a completed packing session
+ */
+public record CreateShipmentRequest(
+        @NotBlank String packingSessionId,
+        @NotNull Address shippingAddress,
+        @NotNull CarrierType carrier,
+        @NotNull ShippingMethod shippingMethod
+) {
+}
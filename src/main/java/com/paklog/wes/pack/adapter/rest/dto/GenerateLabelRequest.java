@@ -0,0 +1,12 @@
+package com.paklog.wes.pack.adapter.rest.dto;
+
+import com.paklog.wes.pack.domain.valueobject.Address;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Request DTO to generate a shipping label
+ */
+public record GenerateLabelRequest(
+        @NotNull Address fromAddress
+) {
+}
@@ -0,0 +1,18 @@
+package com.paklog.wes.pack.adapter.rest.dto;
+
+import com.paklog.wes.pack.domain.valueobject.Address;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Request DTO to generate labels for a batch of shipments (manifest, wave pre-labelling)
+ */
+public record GenerateLabelsRequest(
+        @NotEmpty @Size(max = 1000) List<@NotBlank String> shipmentIds,
+        @NotNull Address fromAddress
+) {
+}
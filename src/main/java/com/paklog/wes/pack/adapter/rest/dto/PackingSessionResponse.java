@@ -1,8 +1,15 @@
 package com.paklog.wes.pack.adapter.rest.dto;
 
 import com.paklog.wes.pack.domain.aggregate.PackingSession;
+import com.paklog.wes.pack.domain.entity.Container;
+import com.paklog.wes.pack.domain.entity.PackingInstruction;
 import com.paklog.wes.pack.domain.valueobject.PackingStatus;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Response DTO for packing session
  */
@@ -17,7 +24,8 @@ public record PackingSessionResponse(
         int packedCount,
         int containerCount,
         double progress,
-        double accuracy
+        double accuracy,
+        List<ContainerResponse> containers
 ) {
     public static PackingSessionResponse from(PackingSession session) {
         return new PackingSessionResponse(
@@ -31,7 +39,34 @@ public record PackingSessionResponse(
                 session.getPackedInstructionCount(),
                 session.getContainers().size(),
                 session.getProgress(),
-                session.calculateAccuracy()
+                session.calculateAccuracy(),
+                containers(session)
         );
     }
+
+    /**
+     * Containers with their planned instructions, so a station packs to the
+     * stored container plan instead of cartonizing again
+     */
+    private static List<ContainerResponse> containers(PackingSession session) {
+        List<Container> containers = session.getContainers();
+        if (containers.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, List<String>> planned = new HashMap<>();
+        for (PackingInstruction instruction : session.getPackingInstructions()) {
+            if (instruction.getPlannedContainerId() != null) {
+                planned.computeIfAbsent(instruction.getPlannedContainerId(), id -> new ArrayList<>())
+                        .add(instruction.getInstructionId());
+            }
+        }
+
+        List<ContainerResponse> responses = new ArrayList<>(containers.size());
+        for (Container container : containers) {
+            responses.add(ContainerResponse.from(
+                    container, planned.getOrDefault(container.getContainerId(), List.of())));
+        }
+        return responses;
+    }
 }
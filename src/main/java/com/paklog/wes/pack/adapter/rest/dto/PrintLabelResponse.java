@@ -0,0 +1,24 @@
+package com.paklog.wes.pack.adapter.rest.dto;
+
+import com.paklog.wes.pack.domain.service.LabelPrinter;
+
+/**
+ * Response DTO for a printed label
+ */
+public record PrintLabelResponse(
+        String shipmentId,
+        String labelId,
+        String requestedPrinterId,
+        String printerId,
+        boolean failedOver
+) {
+    public static PrintLabelResponse from(String shipmentId, LabelPrinter.PrintReceipt receipt) {
+        return new PrintLabelResponse(
+                shipmentId,
+                receipt.labelId(),
+                receipt.requestedPrinterId(),
+                receipt.printerId(),
+                receipt.isFailedOver()
+        );
+    }
+}
@@ -0,0 +1,33 @@
+package com.paklog.wes.pack.adapter.rest.dto;
+
+import com.paklog.wes.pack.domain.valueobject.PackingStatus;
+import com.paklog.wes.pack.domain.valueobject.ScanResult;
+
+/**
+ * Response DTO for a single item scan
+ */
+public record ScanItemResponse(
+        String sessionId,
+        String barcode,
+        String itemSku,
+        int scannedQuantity,
+        int expectedQuantity,
+        int remainingQuantity,
+        boolean lineComplete,
+        PackingStatus status,
+        String recommendedCarton
+) {
+    public static ScanItemResponse from(ScanResult result) {
+        return new ScanItemResponse(
+                result.sessionId(),
+                result.barcode(),
+                result.itemSku(),
+                result.scannedQuantity(),
+                result.expectedQuantity(),
+                result.getRemainingQuantity(),
+                result.isLineComplete(),
+                result.sessionStatus(),
+                result.recommendedCarton() != null ? result.recommendedCarton().cartonCode() : null
+        );
+    }
+}
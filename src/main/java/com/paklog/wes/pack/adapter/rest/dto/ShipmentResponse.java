@@ -0,0 +1,40 @@
+package com.paklog.wes.pack.adapter.rest.dto;
+
+import com.paklog.wes.pack.domain.aggregate.Shipment;
+import com.paklog.wes.pack.domain.entity.ShippingLabel;
+import com.paklog.wes.pack.domain.valueobject.CarrierType;
+import com.paklog.wes.pack.domain.valueobject.ShippingMethod;
+import com.paklog.wes.pack.domain.valueobject.TrackingStatus;
+
+/**
+ * Response DTO for shipment. Label data is not included; printers fetch it
+ * separately.
+ */
+public record ShipmentResponse(
+        String shipmentId,
+        String packingSessionId,
+        String orderId,
+        String warehouseId,
+        CarrierType carrier,
+        ShippingMethod shippingMethod,
+        TrackingStatus trackingStatus,
+        String trackingNumber,
+        double weightLb,
+        ShippingLabel.LabelFormat labelFormat
+) {
+    public static ShipmentResponse from(Shipment shipment) {
+        ShippingLabel label = shipment.getShippingLabel();
+        return new ShipmentResponse(
+                shipment.getShipmentId(),
+                shipment.getPackingSessionId(),
+                shipment.getOrderId(),
+                shipment.getWarehouseId(),
+                shipment.getCarrier(),
+                shipment.getShippingMethod(),
+                shipment.getTrackingStatus(),
+                shipment.getTrackingNumber(),
+                shipment.getWeight().toPounds(),
+                label != null ? label.getFormat() : null
+        );
+    }
+}
@@ -0,0 +1,14 @@
+package com.paklog.wes.pack.application.command;
+
+import com.paklog.wes.pack.domain.valueobject.Address;
+
+import java.util.List;
+
+/**
+ * Command to generate shipping labels for a batch of shipments
+ */
+public record GenerateLabelsCommand(
+        List<String> shipmentIds,
+        Address fromAddress
+) {
+}
@@ -0,0 +1,12 @@
+package com.paklog.wes.pack.application.command;
+
+import java.util.List;
+
+/**
+ * Command to scan a batch of items in packing session
+ */
+public record ScanItemsCommand(
+        String sessionId,
+        List<String> barcodes
+) {
+}
@@ -0,0 +1,107 @@
+package com.paklog.wes.pack.application.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Dedicated pool for one kind of CPU-bound batch work. It is separate from the
+ * common ForkJoin pool and from the other stages, so a burst of one kind cannot
+ * take CPU from request threads or from the others, and its backlog is bounded:
+ * once full, further tasks run on the submitting thread, which slows the
+ * producer down instead of growing the queue.
+ */
+public abstract class BoundedStage {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoundedStage.class);
+
+    private final ForkJoinPool pool;
+    private final int maxQueuedTasks;
+
+    private final LongAdder tasksInPool = new LongAdder();
+    private final LongAdder tasksInline = new LongAdder();
+
+    /**
+     * @param name        prefix of the pool's thread names
+     * @param parallelism pool threads, 0 for half the cores
+     */
+    protected BoundedStage(String name, int parallelism, int maxQueuedTasks) {
+        int threads = parallelism > 0 ? parallelism : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.pool = new ForkJoinPool(threads, forkJoinPool -> newWorker(forkJoinPool, name), null, false);
+        this.maxQueuedTasks = maxQueuedTasks;
+        logger.info("Stage {} started with {} threads, backlog limit {} tasks", name, threads, maxQueuedTasks);
+    }
+
+    /**
+     * Run the task for every item on the pool and wait for all of them.
+     * Results are in the same order as the input.
+     */
+    public <T, R> List<R> runAll(List<T> items, Function<T, R> task) {
+        List<ForkJoinTask<R>> submitted = new ArrayList<>(items.size());
+        List<R> results = new ArrayList<>(items.size());
+        for (T item : items) {
+            if (getQueueDepth() < maxQueuedTasks) {
+                submitted.add(pool.submit(() -> task.apply(item)));
+                results.add(null);
+            } else {
+                submitted.add(null);
+                results.add(task.apply(item));
+                tasksInline.increment();
+            }
+        }
+
+        for (int i = 0; i < submitted.size(); i++) {
+            ForkJoinTask<R> pending = submitted.get(i);
+            if (pending != null) {
+                results.set(i, pending.join());
+                tasksInPool.increment();
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Tasks submitted to the pool and not yet started
+     */
+    public long getQueueDepth() {
+        return pool.getQueuedSubmissionCount() + pool.getQueuedTaskCount();
+    }
+
+    public int getActiveThreadCount() {
+        return pool.getActiveThreadCount();
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    public long getTasksInPool() {
+        return tasksInPool.sum();
+    }
+
+    /**
+     * Tasks run on the submitting thread because the backlog was full
+     */
+    public long getTasksInline() {
+        return tasksInline.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private static ForkJoinWorkerThread newWorker(ForkJoinPool pool, String name) {
+        ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        worker.setName(name + "-" + worker.getPoolIndex());
+        return worker;
+    }
+}
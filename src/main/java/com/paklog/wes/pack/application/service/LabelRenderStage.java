@@ -0,0 +1,43 @@
+package com.paklog.wes.pack.application.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Stage rendering labels for batch requests, so a wave of pre-labelling cannot
+ * take CPU from request threads or from pre-cartonization. Batches are capped
+ * in size and the backlog holds one full batch; beyond that, labels render on
+ * the request thread.
+ */
+@Component
+public class LabelRenderStage extends BoundedStage {
+
+    private final int maxBatchSize;
+
+    public LabelRenderStage(
+            @Value("${pack.labels.batch.parallelism:0}") int parallelism,
+            @Value("${pack.labels.batch.max-size:1000}") int maxBatchSize
+    ) {
+        super("label-render", parallelism, maxBatchSize);
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the batch is larger than the configured maximum
+     */
+    @Override
+    public <T, R> List<R> runAll(List<T> items, Function<T, R> task) {
+        if (items.size() > maxBatchSize) {
+            throw new IllegalArgumentException(
+                    "Label batch of " + items.size() + " exceeds the maximum of " + maxBatchSize);
+        }
+        return super.runAll(items, task);
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+}
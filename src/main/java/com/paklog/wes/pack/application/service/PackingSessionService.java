@@ -8,15 +8,24 @@ import com.paklog.wes.pack.domain.aggregate.PackingSession;
 import com.paklog.wes.pack.domain.entity.Container;
 import com.paklog.wes.pack.domain.entity.PackingInstruction;
 import com.paklog.wes.pack.domain.repository.PackingSessionRepository;
+import com.paklog.wes.pack.domain.repository.PackingSessionRepositoryCustom;
+import com.paklog.wes.pack.domain.service.CartonSelector;
 import com.paklog.wes.pack.domain.service.ContainerOptimizationService;
-import com.paklog.wes.pack.domain.valueobject.ContainerType;
+import com.paklog.wes.pack.domain.valueobject.BatchScanResult;
+import com.paklog.wes.pack.domain.valueobject.BulkSessionCreationResult;
+import com.paklog.wes.pack.domain.valueobject.Carton;
+import com.paklog.wes.pack.domain.valueobject.ContainerPlan;
 import com.paklog.wes.pack.domain.valueobject.PackingStatus;
+import com.paklog.wes.pack.domain.valueobject.Placement;
+import com.paklog.wes.pack.domain.valueobject.ScanResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -29,13 +38,19 @@ public class PackingSessionService {
 
     private final PackingSessionRepository sessionRepository;
     private final ContainerOptimizationService containerOptimizationService;
+    private final CartonSelector cartonSelector;
+    private final PreCartonizationStage preCartonizationStage;
 
     public PackingSessionService(
             PackingSessionRepository sessionRepository,
-            ContainerOptimizationService containerOptimizationService
+            ContainerOptimizationService containerOptimizationService,
+            CartonSelector cartonSelector,
+            PreCartonizationStage preCartonizationStage
     ) {
         this.sessionRepository = sessionRepository;
         this.containerOptimizationService = containerOptimizationService;
+        this.cartonSelector = cartonSelector;
+        this.preCartonizationStage = preCartonizationStage;
     }
 
     /**
@@ -67,17 +82,118 @@ public class PackingSessionService {
         // Start session
         session.start();
 
-        // Recommend initial container
-        ContainerType recommendedType = containerOptimizationService.recommendContainer(
-                command.instructions()
-        );
+        // Plan and open every container up front
+        ContainerPlan plan = containerOptimizationService.planContainers(
+                command.warehouseId(), command.instructions());
+        session.applyContainerPlan(plan);
+
+        logger.info("Created packing session: {} with {} planned containers",
+                session.getSessionId(), plan.getContainerCount());
+
+        return sessionRepository.save(session);
+    }
+
+    /**
+     * Create packing sessions for a batch of orders (wave release). The sessions
+     * are unassigned and stay CREATED until a packer claims one, so one picker
+     * completing several orders does not run into the one-active-session rule;
+     * the {@code workerId} of the commands is ignored. Container plans are
+     * computed in parallel on the pre-cartonization pool and stored on the
+     * sessions, so packers read them instead of cartonizing at the station. All
+     * sessions are written with one unordered bulk insert; a failing order does
+     * not affect the others.
+     */
+    public BulkSessionCreationResult createSessions(List<StartPackingSessionCommand> commands) {
+        logger.info("Creating {} packing sessions", commands.size());
+
+        List<PreparedSession> prepared = preCartonizationStage.runAll(commands, this::prepareSession);
+
+        BulkSessionCreationResult.Outcome[] outcomes = new BulkSessionCreationResult.Outcome[commands.size()];
+        List<PackingSession> toInsert = new ArrayList<>(commands.size());
+        List<Integer> positions = new ArrayList<>(commands.size());
+        for (int i = 0; i < prepared.size(); i++) {
+            PreparedSession candidate = prepared.get(i);
+            StartPackingSessionCommand command = candidate.command();
+            if (candidate.session() == null) {
+                outcomes[i] = BulkSessionCreationResult.Outcome.failed(
+                        command.orderId(), command.pickSessionId(), candidate.failureReason());
+                continue;
+            }
+
+            toInsert.add(candidate.session());
+            positions.add(i);
+        }
+
+        List<PackingSessionRepositoryCustom.InsertFailure> failures = sessionRepository.insertAll(toInsert);
+        for (PackingSessionRepositoryCustom.InsertFailure failure : failures) {
+            int position = positions.get(failure.index());
+            StartPackingSessionCommand command = commands.get(position);
+            // pickSessionId is unique: a duplicate key means the session was created by an earlier delivery
+            outcomes[position] = failure.duplicateKey()
+                    ? BulkSessionCreationResult.Outcome.alreadyExists(command.orderId(), command.pickSessionId())
+                    : BulkSessionCreationResult.Outcome.failed(command.orderId(), command.pickSessionId(), failure.message());
+        }
+        for (int i = 0; i < toInsert.size(); i++) {
+            int position = positions.get(i);
+            if (outcomes[position] == null) {
+                PackingSession session = toInsert.get(i);
+                outcomes[position] = BulkSessionCreationResult.Outcome.created(
+                        session.getOrderId(), session.getPickSessionId(), session.getSessionId());
+            }
+        }
+
+        BulkSessionCreationResult result = new BulkSessionCreationResult(List.of(outcomes));
+        logger.info("Created {} packing sessions, {} already existed, {} failed",
+                result.getCreatedCount(), result.getAlreadyExistingCount(), result.getFailedCount());
+        return result;
+    }
+
+    /**
+     * Build an unassigned session with its planned containers, without saving it
+     */
+    private PreparedSession prepareSession(StartPackingSessionCommand command) {
+        try {
+            PackingSession session = PackingSession.createUnassigned(
+                    command.pickSessionId(),
+                    command.orderId(),
+                    command.warehouseId(),
+                    command.instructions()
+            );
+
+            session.applyContainerPlan(containerOptimizationService.planContainers(
+                    command.warehouseId(), command.instructions()));
+
+            return new PreparedSession(command, session, null);
+        } catch (RuntimeException e) {
+            logger.warn("Cannot create packing session for order {}: {}", command.orderId(), e.getMessage());
+            return new PreparedSession(command, null,
+                    e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+    }
+
+    private record PreparedSession(
+            StartPackingSessionCommand command,
+            PackingSession session,
+            String failureReason
+    ) {
+    }
 
-        // Create initial container
-        Container initialContainer = Container.create(recommendedType);
-        session.addContainer(initialContainer);
+    /**
+     * Assign an unassigned session released with a wave to the worker and start it
+     */
+    @Transactional
+    public PackingSession claimSession(String sessionId, String workerId) {
+        logger.info("Worker {} claiming packing session {}", workerId, sessionId);
 
-        logger.info("Created packing session: {} with initial container: {}",
-                session.getSessionId(), initialContainer.getContainerId());
+        Optional<PackingSession> existingSession = sessionRepository.findActiveSessionByWorkerId(workerId);
+        if (existingSession.isPresent()) {
+            throw new IllegalStateException(
+                    "Worker already has active packing session: " + existingSession.get().getSessionId()
+            );
+        }
+
+        PackingSession session = findSessionById(sessionId);
+        session.claim(workerId);
 
         return sessionRepository.save(session);
     }
@@ -229,17 +345,39 @@ public class PackingSessionService {
 
     /**
      * Scan an item
+     * Applied as a single in-place update on the session document
      */
-    @Transactional
-    public PackingSession scanItem(ScanItemCommand command) {
+    public ScanResult scanItem(ScanItemCommand command) {
         logger.info("Scanning item {} in session {}", command.barcode(), command.sessionId());
 
+        ScanResult result = sessionRepository.applyScan(command.sessionId(), command.barcode());
+
+        logger.info("Item scanned successfully: {} ({}/{})",
+                command.barcode(), result.scannedQuantity(), result.expectedQuantity());
+
+        return result;
+    }
+
+    /**
+     * Scan a batch of items
+     * One aggregate load and one save for the whole batch
+     */
+    @Transactional
+    public BatchScanResult scanItems(ScanItemsCommand command) {
+        logger.info("Scanning {} items in session {}", command.barcodes().size(), command.sessionId());
+
         PackingSession session = findSessionById(command.sessionId());
-        session.scanItem(command.barcode());
+        BatchScanResult result = session.scanItems(
+                command.barcodes(), cartonSelector.getCatalog().forWarehouse(session.getWarehouseId()));
 
-        logger.info("Item scanned successfully: {}", command.barcode());
+        if (result.getAcceptedCount() > 0) {
+            sessionRepository.save(session);
+        }
 
-        return sessionRepository.save(session);
+        logger.info("Batch scan in session {}: {} accepted, {} rejected",
+                command.sessionId(), result.getAcceptedCount(), result.getRejectedCount());
+
+        return result;
     }
 
     // ========== Sprint 1: Carton Selection ==========
@@ -251,7 +389,19 @@ public class PackingSessionService {
         logger.debug("Recommending carton for session: {}", sessionId);
 
         PackingSession session = findSessionById(sessionId);
-        return session.recommendCarton();
+        String previousCarton = session.getRecommendedCarton();
+        List<Placement> previousPlacements = session.getCartonPlacements();
+
+        String recommendation = cartonSelector.selectCarton(session.getWarehouseId(), session.getPackingInstructions())
+                .map(session::recommendCarton)
+                .orElseGet(session::recommendCarton);
+
+        // Repeat requests for an unchanged session are read-only
+        if (!Objects.equals(previousCarton, recommendation)
+                || !Objects.equals(previousPlacements, session.getCartonPlacements())) {
+            sessionRepository.save(session);
+        }
+        return recommendation;
     }
 
     /**
@@ -318,17 +468,20 @@ public class PackingSessionService {
     private Container findOrCreateContainer(PackingSession session, String containerId, String instructionId) {
         // If specific container ID provided, use it
         if (containerId != null) {
-            return session.getContainers().stream()
-                    .filter(c -> c.getContainerId().equals(containerId))
-                    .findFirst()
-                    .orElseThrow(() -> new IllegalArgumentException("Container not found: " + containerId));
+            return session.getContainer(containerId);
         }
 
         // Auto-select container for instruction
-        PackingInstruction instruction = session.getPackingInstructions().stream()
-                .filter(i -> i.getInstructionId().equals(instructionId))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Instruction not found: " + instructionId));
+        PackingInstruction instruction = session.getInstruction(instructionId);
+
+        // Use the container planned for the instruction while it is still open
+        if (instruction.getPlannedContainerId() != null) {
+            Container planned = session.getContainer(instruction.getPlannedContainerId());
+            if (planned.getStatus() == Container.ContainerStatus.OPEN
+                    && containerOptimizationService.canItemFitInContainer(instruction, planned)) {
+                return planned;
+            }
+        }
 
         // Try to find existing suitable container
         Container suitable = containerOptimizationService.selectBestContainer(
@@ -341,10 +494,11 @@ public class PackingSessionService {
         }
 
         // Create new container
-        ContainerType recommendedType = containerOptimizationService.recommendContainer(
+        Carton recommended = containerOptimizationService.recommendCarton(
+                session.getWarehouseId(),
                 List.of(instruction)
         );
-        Container newContainer = Container.create(recommendedType);
+        Container newContainer = Container.create(recommended);
         session.addContainer(newContainer);
 
         logger.info("Created new container {} for item {}", newContainer.getContainerId(), instructionId);
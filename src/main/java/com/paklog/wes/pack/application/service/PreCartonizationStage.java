@@ -0,0 +1,20 @@
+package com.paklog.wes.pack.application.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stage cartonizing orders when their pick completes, ahead of the packer
+ * opening the session. Once its backlog is full, further orders are cartonized
+ * on the consumer thread, which slows consumption down during a wave release.
+ */
+@Component
+public class PreCartonizationStage extends BoundedStage {
+
+    public PreCartonizationStage(
+            @Value("${pack.cartonization.pre-cartonization.parallelism:0}") int parallelism,
+            @Value("${pack.cartonization.pre-cartonization.max-queued-orders:2000}") int maxQueuedOrders
+    ) {
+        super("pre-cartonization", parallelism, maxQueuedOrders);
+    }
+}
@@ -2,22 +2,37 @@ package com.paklog.wes.pack.application.service;
 
 import com.paklog.wes.pack.application.command.CreateShipmentCommand;
 import com.paklog.wes.pack.application.command.GenerateLabelCommand;
+import com.paklog.wes.pack.application.command.GenerateLabelsCommand;
 import com.paklog.wes.pack.domain.aggregate.PackingSession;
 import com.paklog.wes.pack.domain.aggregate.Shipment;
 import com.paklog.wes.pack.domain.entity.ShippingLabel;
+import com.paklog.wes.pack.domain.entity.ShippingLabelContent;
 import com.paklog.wes.pack.domain.repository.PackingSessionRepository;
+import com.paklog.wes.pack.domain.repository.ShippingLabelContentRepository;
 import com.paklog.wes.pack.domain.repository.ShipmentRepository;
+import com.paklog.wes.pack.domain.repository.ShipmentRepositoryCustom;
+import com.paklog.wes.pack.domain.service.LabelPrinter;
 import com.paklog.wes.pack.domain.service.ShippingLabelService;
+import com.paklog.wes.pack.domain.valueobject.BatchLabelResult;
 import com.paklog.wes.pack.domain.valueobject.Dimensions;
+import com.paklog.wes.pack.domain.valueobject.ShipmentSummary;
 import com.paklog.wes.pack.domain.valueobject.TrackingStatus;
 import com.paklog.wes.pack.domain.valueobject.Weight;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Application service for shipment operations
@@ -29,16 +44,28 @@ public class ShipmentService {
 
     private final ShipmentRepository shipmentRepository;
     private final PackingSessionRepository packingSessionRepository;
+    private final ShippingLabelContentRepository labelContentRepository;
     private final ShippingLabelService labelService;
+    private final LabelRenderStage labelRenderStage;
+    private final LabelPrinter labelPrinter;
+    private final Executor taskExecutor;
 
     public ShipmentService(
             ShipmentRepository shipmentRepository,
             PackingSessionRepository packingSessionRepository,
-            ShippingLabelService labelService
+            ShippingLabelContentRepository labelContentRepository,
+            ShippingLabelService labelService,
+            LabelRenderStage labelRenderStage,
+            LabelPrinter labelPrinter,
+            @Qualifier("applicationTaskExecutor") Executor taskExecutor
     ) {
         this.shipmentRepository = shipmentRepository;
         this.packingSessionRepository = packingSessionRepository;
+        this.labelContentRepository = labelContentRepository;
         this.labelService = labelService;
+        this.labelRenderStage = labelRenderStage;
+        this.labelPrinter = labelPrinter;
+        this.taskExecutor = taskExecutor;
     }
 
     /**
@@ -105,14 +132,103 @@ public class ShipmentService {
                 shipment.getWeight().toPounds()
         );
 
-        // Add label to shipment
+        // Add label to shipment; the bytes go to the label store, the shipment keeps the metadata
         shipment.generateLabel(label, trackingNumber);
+        labelContentRepository.save(new ShippingLabelContent(
+                label.getLabelId(), shipment.getShipmentId(), label.getFormat(), label.getContent()));
 
         logger.info("Generated shipping label with tracking number: {}", trackingNumber);
 
         return shipmentRepository.save(shipment);
     }
 
+    /**
+     * Generate labels for a batch of shipments: one $in load, labels rendered
+     * in parallel on the label pool, one bulk write. A shipment that cannot be
+     * labelled gets its outcome and does not stop the others, so the batch is
+     * not one transaction.
+     */
+    public BatchLabelResult generateLabels(GenerateLabelsCommand command) {
+        List<String> shipmentIds = command.shipmentIds().stream().distinct().toList();
+        logger.info("Generating labels for {} shipments", shipmentIds.size());
+
+        Map<String, Shipment> found = new HashMap<>();
+        shipmentRepository.findAllById(shipmentIds).forEach(shipment -> found.put(shipment.getShipmentId(), shipment));
+
+        List<BatchLabelResult.Outcome> outcomes = labelRenderStage.runAll(
+                shipmentIds, shipmentId -> labelShipment(shipmentId, found.get(shipmentId), command));
+
+        List<Shipment> labelled = new ArrayList<>();
+        List<Integer> labelledPositions = new ArrayList<>();
+        for (int i = 0; i < outcomes.size(); i++) {
+            if (outcomes.get(i).isLabeled()) {
+                labelled.add(found.get(outcomes.get(i).shipmentId()));
+                labelledPositions.add(i);
+            }
+        }
+
+        for (ShipmentRepositoryCustom.LabelWriteFailure failure : shipmentRepository.saveLabelled(labelled)) {
+            int position = labelledPositions.get(failure.index());
+            outcomes.set(position, new BatchLabelResult.Outcome(
+                    outcomes.get(position).shipmentId(), BatchLabelResult.OutcomeType.FAILED, null, failure.message()));
+        }
+
+        List<ShippingLabel> labels = new ArrayList<>(labelled.size());
+        for (BatchLabelResult.Outcome outcome : outcomes) {
+            if (outcome.isLabeled()) {
+                labels.add(found.get(outcome.shipmentId()).getShippingLabel());
+            }
+        }
+
+        BatchLabelResult result = new BatchLabelResult(outcomes, labels);
+        logger.info("Generated {} of {} labels", result.getLabeledCount(), shipmentIds.size());
+        return result;
+    }
+
+    /**
+     * Get the shipment's label with its bytes loaded for printing
+     */
+    public ShippingLabel getLabelForPrinting(String shipmentId) {
+        Shipment shipment = findShipmentById(shipmentId);
+        ShippingLabel label = shipment.getShippingLabel();
+        if (label == null) {
+            throw new IllegalStateException("Shipment has no label: " + shipmentId);
+        }
+
+        if (label.hasLegacyLabelData()) {
+            // Generated before label bytes moved out of the shipment document
+            label.attachContent(Base64.getDecoder().decode(label.getLabelData()));
+        } else {
+            ShippingLabelContent content = labelContentRepository.findById(label.getLabelId())
+                    .orElseThrow(() -> new IllegalStateException(
+                            "Label content not found: " + label.getLabelId()));
+            label.attachContent(content.getData());
+        }
+        return label;
+    }
+
+    /**
+     * Send the shipment's label to a printer (or a sibling if it is down) and
+     * record it as printed once the printer took it. The receipt stands even if
+     * recording fails: the label is already on its way to the printer.
+     */
+    public CompletableFuture<LabelPrinter.PrintReceipt> printLabel(String shipmentId, String printerId) {
+        logger.info("Printing label for shipment {} on printer {}", shipmentId, printerId);
+
+        ShippingLabel label = getLabelForPrinting(shipmentId);
+        // Record on an application thread, not the printer's sender thread, which would stall its queue
+        return labelPrinter.print(printerId, label)
+                .thenApplyAsync(receipt -> {
+                    try {
+                        recordLabelPrinted(shipmentId, label);
+                    } catch (RuntimeException e) {
+                        logger.warn("Label {} of shipment {} printed on {} but not recorded as printed: {}",
+                                label.getLabelId(), shipmentId, receipt.printerId(), e.getMessage());
+                    }
+                    return receipt;
+                }, taskExecutor);
+    }
+
     /**
      * Add shipment to carrier manifest
      */
@@ -186,7 +302,7 @@ public class ShipmentService {
     /**
      * Get shipments ready for manifest
      */
-    public List<Shipment> getShipmentsReadyForManifest(String carrier) {
+    public List<ShipmentSummary> getShipmentsReadyForManifest(String carrier) {
         return shipmentRepository.findShipmentsReadyForManifest(
                 com.paklog.wes.pack.domain.valueobject.CarrierType.valueOf(carrier)
         );
@@ -195,19 +311,56 @@ public class ShipmentService {
     /**
      * Get in-transit shipments
      */
-    public List<Shipment> getInTransitShipments() {
+    public List<ShipmentSummary> getInTransitShipments() {
         return shipmentRepository.findInTransitShipments();
     }
 
     /**
      * Get late shipments
      */
-    public List<Shipment> getLateShipments() {
+    public List<ShipmentSummary> getLateShipments() {
         return shipmentRepository.findLateShipments(java.time.LocalDateTime.now());
     }
 
     // Private helper methods
 
+    private void recordLabelPrinted(String shipmentId, ShippingLabel printed) {
+        // Reload: the shipment may have moved on (manifested) while the label was queued
+        Shipment shipment = findShipmentById(shipmentId);
+        ShippingLabel label = shipment.getShippingLabel();
+        if (label != null && label.getLabelId().equals(printed.getLabelId()) && !label.isPrinted()) {
+            label.markPrinted();
+            shipmentRepository.save(shipment);
+        }
+    }
+
+    private BatchLabelResult.Outcome labelShipment(String shipmentId, Shipment shipment, GenerateLabelsCommand command) {
+        if (shipment == null) {
+            return new BatchLabelResult.Outcome(
+                    shipmentId, BatchLabelResult.OutcomeType.NOT_FOUND, null, "Shipment not found: " + shipmentId);
+        }
+        try {
+            String trackingNumber = labelService.generateTrackingNumber(shipment.getCarrier());
+            ShippingLabel label = labelService.generateLabel(
+                    shipment.getCarrier(),
+                    trackingNumber,
+                    shipment.getShippingAddress(),
+                    command.fromAddress(),
+                    shipment.getWeight().toPounds()
+            );
+            shipment.generateLabel(label, trackingNumber);
+            return new BatchLabelResult.Outcome(shipmentId, BatchLabelResult.OutcomeType.LABELED, trackingNumber, null);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return new BatchLabelResult.Outcome(
+                    shipmentId, BatchLabelResult.OutcomeType.REJECTED, null, e.getMessage());
+        } catch (DataAccessException e) {
+            // e.g. leasing a tracking number block; the other shipments of the batch go on
+            logger.warn("Could not label shipment {}: {}", shipmentId, e.getMessage());
+            return new BatchLabelResult.Outcome(
+                    shipmentId, BatchLabelResult.OutcomeType.FAILED, null, e.getMessage());
+        }
+    }
+
     private Shipment findShipmentById(String shipmentId) {
         return shipmentRepository.findById(shipmentId)
                 .orElseThrow(() -> new IllegalArgumentException("Shipment not found: " + shipmentId));
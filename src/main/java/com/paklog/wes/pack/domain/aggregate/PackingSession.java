@@ -5,17 +5,26 @@ import com.paklog.wes.pack.domain.shared.DomainEvent;
 import com.paklog.wes.pack.domain.entity.*;
 import com.paklog.wes.pack.domain.event.*;
 import com.paklog.wes.pack.domain.exception.*;
+import com.paklog.wes.pack.domain.service.CartonFitIndex;
+import com.paklog.wes.pack.domain.valueobject.BatchScanResult;
+import com.paklog.wes.pack.domain.valueobject.Carton;
+import com.paklog.wes.pack.domain.valueobject.CartonSelection;
+import com.paklog.wes.pack.domain.valueobject.ContainerPlan;
 import com.paklog.wes.pack.domain.valueobject.ContainerType;
 import com.paklog.wes.pack.domain.valueobject.PackingStatus;
+import com.paklog.wes.pack.domain.valueobject.Placement;
 import com.paklog.wes.pack.domain.valueobject.Weight;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -50,10 +59,12 @@ public class PackingSession {
     private String packerId;
     private List<ItemToScan> itemsToScan;
     private List<ScannedItem> scannedItems;
+    private OnlineCartonState onlineCarton;
 
     // Sprint 1: Carton selection
     private String recommendedCarton;
     private String selectedCarton;
+    private List<Placement> cartonPlacements;
 
     // Sprint 1: Weight verification
     private Weight estimatedWeight;
@@ -65,8 +76,24 @@ public class PackingSession {
     // Sprint 1: Packing materials
     private List<PackingMaterial> packingMaterials;
 
+    // Running progress counters - kept in sync by the mutators
+    private int fullyScannedItemCount;
+    private int completedInstructionCount;
+    private int packedInstructionCount;
+    private double totalWeightLb;
+    private boolean countersInitialized;
+
+    @Transient
     private List<DomainEvent> domainEvents = new ArrayList<>();
 
+    // Lookup indexes - not persisted, rebuilt lazily after hydration
+    @Transient
+    private Map<String, ItemToScan> itemsByBarcode;
+    @Transient
+    private Map<String, PackingInstruction> instructionsById;
+    @Transient
+    private Map<String, Container> containersById;
+
     public PackingSession() {
         // For MongoDB/persistence
         this.packingInstructions = new ArrayList<>();
@@ -85,12 +112,36 @@ public class PackingSession {
             String workerId,
             String warehouseId,
             List<PackingInstruction> instructions
+    ) {
+        return newSession(pickSessionId, orderId,
+                Objects.requireNonNull(workerId, "Worker ID cannot be null"), warehouseId, instructions);
+    }
+
+    /**
+     * Create a packing session no worker is assigned to yet, as released with a
+     * wave. It stays CREATED until a packer claims it.
+     */
+    public static PackingSession createUnassigned(
+            String pickSessionId,
+            String orderId,
+            String warehouseId,
+            List<PackingInstruction> instructions
+    ) {
+        return newSession(pickSessionId, orderId, null, warehouseId, instructions);
+    }
+
+    private static PackingSession newSession(
+            String pickSessionId,
+            String orderId,
+            String workerId,
+            String warehouseId,
+            List<PackingInstruction> instructions
     ) {
         PackingSession session = new PackingSession();
         session.sessionId = generateSessionId();
         session.pickSessionId = Objects.requireNonNull(pickSessionId, "Pick session ID cannot be null");
         session.orderId = Objects.requireNonNull(orderId, "Order ID cannot be null");
-        session.workerId = Objects.requireNonNull(workerId, "Worker ID cannot be null");
+        session.workerId = workerId;
         session.warehouseId = Objects.requireNonNull(warehouseId, "Warehouse ID cannot be null");
         session.packingInstructions = new ArrayList<>(Objects.requireNonNull(instructions, "Instructions cannot be null"));
         session.containers = new ArrayList<>();
@@ -99,6 +150,7 @@ public class PackingSession {
         session.packingMaterials = new ArrayList<>();
         session.status = PackingStatus.CREATED;
         session.createdAt = LocalDateTime.now();
+        session.rebuildProgressCounters();
 
         if (session.packingInstructions.isEmpty()) {
             throw new IllegalArgumentException("Session must have at least one packing instruction");
@@ -126,6 +178,20 @@ public class PackingSession {
         ));
     }
 
+    /**
+     * Assign an unassigned session to the worker and start it
+     */
+    public void claim(String workerId) {
+        Objects.requireNonNull(workerId, "Worker ID cannot be null");
+        ensureStatus(PackingStatus.CREATED);
+        if (this.workerId != null) {
+            throw new IllegalStateException("Session " + sessionId + " is already assigned to worker " + this.workerId);
+        }
+
+        this.workerId = workerId;
+        start();
+    }
+
     /**
      * Pack item into container
      */
@@ -141,11 +207,15 @@ public class PackingSession {
         }
 
         // Pack the item
+        PackingInstruction.InstructionStatus previousStatus = instruction.getStatus();
         instruction.pack(containerId, quantity);
+        onInstructionStatusChanged(previousStatus, instruction.getStatus());
 
         // Add weight to container
         Weight itemWeight = instruction.getTotalWeight();
+        double previousWeightLb = container.getWeight().toPounds();
         container.addItem(instructionId, itemWeight);
+        onContainerWeightChanged(previousWeightLb, container.getWeight().toPounds());
 
         registerEvent(new ItemPackedEvent(
                 this.sessionId,
@@ -169,7 +239,9 @@ public class PackingSession {
         ensureStatus(PackingStatus.IN_PROGRESS);
 
         Container container = findContainer(containerId);
+        double previousWeightLb = container.getWeight().toPounds();
         container.seal(actualWeight);
+        onContainerWeightChanged(previousWeightLb, container.getWeight().toPounds());
 
         registerEvent(new ContainerSealedEvent(
                 this.sessionId,
@@ -187,7 +259,9 @@ public class PackingSession {
         ensureStatus(PackingStatus.IN_PROGRESS);
 
         PackingInstruction instruction = findInstruction(instructionId);
+        PackingInstruction.InstructionStatus previousStatus = instruction.getStatus();
         instruction.markMissing(reason);
+        onInstructionStatusChanged(previousStatus, instruction.getStatus());
 
         // Check if all items processed
         if (allInstructionsPacked()) {
@@ -202,7 +276,9 @@ public class PackingSession {
         ensureStatus(PackingStatus.IN_PROGRESS);
 
         PackingInstruction instruction = findInstruction(instructionId);
+        PackingInstruction.InstructionStatus previousStatus = instruction.getStatus();
         instruction.markDamaged(reason);
+        onInstructionStatusChanged(previousStatus, instruction.getStatus());
 
         // Check if all items processed
         if (allInstructionsPacked()) {
@@ -217,16 +293,24 @@ public class PackingSession {
      */
     public void initializeItemsToScan() {
         ensureStatus(PackingStatus.CREATED);
+        ensureProgressCounters();
 
         for (PackingInstruction instruction : packingInstructions) {
             ItemToScan item = new ItemToScan(
                     instruction.getItemSku(),
                     instruction.getBarcode(),
-                    instruction.getExpectedQuantity()
+                    instruction.getExpectedQuantity(),
+                    instruction.getItemWeight(),
+                    instruction.getItemDimensions()
             );
             itemsToScan.add(item);
+            itemIndex().putIfAbsent(item.getBarcode(), item);
+            if (item.isFullyScanned()) {
+                fullyScannedItemCount++;
+            }
         }
 
+        this.onlineCarton = new OnlineCartonState();
         this.status = PackingStatus.SCANNING;
 
         registerEvent(new PackingSessionStartedEvent(
@@ -244,12 +328,13 @@ public class PackingSession {
      */
     public void scanItem(String barcode) {
         ensureStatus(PackingStatus.SCANNING);
+        ensureProgressCounters();
 
         // Find the item to scan
-        ItemToScan itemToScan = itemsToScan.stream()
-                .filter(item -> item.getBarcode().equals(barcode))
-                .findFirst()
-                .orElseThrow(() -> new UnexpectedItemException(barcode));
+        ItemToScan itemToScan = itemIndex().get(barcode);
+        if (itemToScan == null) {
+            throw new UnexpectedItemException(barcode);
+        }
 
         // Check if already fully scanned
         if (itemToScan.isFullyScanned()) {
@@ -260,25 +345,89 @@ public class PackingSession {
             );
         }
 
+        recordScan(itemToScan, LocalDateTime.now());
+
+        // Check if all items scanned
+        if (allItemsScanned()) {
+            this.status = PackingStatus.READY_FOR_CARTON;
+        }
+    }
+
+    /**
+     * Scan a burst of barcodes in one pass
+     * Invalid barcodes are reported per barcode instead of aborting the batch
+     *
+     * @param cartons the warehouse's cartons, for the live carton recommendation
+     */
+    public BatchScanResult scanItems(List<String> barcodes, CartonFitIndex cartons) {
+        ensureStatus(PackingStatus.SCANNING);
+        ensureProgressCounters();
+        Objects.requireNonNull(barcodes, "Barcodes cannot be null");
+
+        LocalDateTime scannedAt = LocalDateTime.now();
+        List<BatchScanResult.Outcome> outcomes = new ArrayList<>(barcodes.size());
+
+        for (String barcode : barcodes) {
+            ItemToScan itemToScan = barcode != null ? itemIndex().get(barcode) : null;
+
+            if (itemToScan == null) {
+                outcomes.add(new BatchScanResult.Outcome(barcode, BatchScanResult.OutcomeType.UNEXPECTED, 0, 0));
+                continue;
+            }
+
+            BatchScanResult.OutcomeType type = BatchScanResult.OutcomeType.OVER_SCANNED;
+            if (!itemToScan.isFullyScanned()) {
+                recordScan(itemToScan, scannedAt);
+                type = BatchScanResult.OutcomeType.ACCEPTED;
+            }
+
+            outcomes.add(new BatchScanResult.Outcome(
+                    barcode,
+                    type,
+                    itemToScan.getScannedQuantity(),
+                    itemToScan.getExpectedQuantity()
+            ));
+        }
+
+        if (allItemsScanned()) {
+            this.status = PackingStatus.READY_FOR_CARTON;
+        }
+
+        return new BatchScanResult(this.sessionId, this.status, getScanningProgress(),
+                getLiveCartonRecommendation(cartons), outcomes);
+    }
+
+    private void recordScan(ItemToScan itemToScan, LocalDateTime scannedAt) {
+        // Before counting the unit, so a rebuilt state does not count it twice
+        OnlineCartonState carton = onlineCarton();
+
         // Mark as scanned
         itemToScan.markScanned();
+        if (itemToScan.isFullyScanned()) {
+            fullyScannedItemCount++;
+        }
+
+        carton.addUnits(itemToScan.getUnitWeightLb(), itemToScan.getUnitDimensions(), 1);
 
         // Record the scan
-        ScannedItem scannedItem = new ScannedItem(itemToScan, LocalDateTime.now());
+        ScannedItem scannedItem = new ScannedItem(itemToScan, scannedAt);
         scannedItem.setScannedBy(this.packerId != null ? this.packerId : this.workerId);
         scannedItems.add(scannedItem);
+    }
 
-        // Check if all items scanned
-        if (allItemsScanned()) {
-            this.status = PackingStatus.READY_FOR_CARTON;
-        }
+    /**
+     * Smallest of the warehouse's cartons the units scanned so far allow, updated on every scan
+     */
+    public Carton getLiveCartonRecommendation(CartonFitIndex cartons) {
+        return onlineCarton().getRecommendedCarton(cartons);
     }
 
     /**
      * Check if all items have been scanned
      */
     public boolean allItemsScanned() {
-        return itemsToScan.stream().allMatch(ItemToScan::isFullyScanned);
+        ensureProgressCounters();
+        return fullyScannedItemCount >= itemsToScan.size();
     }
 
     /**
@@ -288,10 +437,8 @@ public class PackingSession {
         if (itemsToScan.isEmpty()) {
             return 100.0;
         }
-        long scannedCount = itemsToScan.stream()
-                .filter(ItemToScan::isFullyScanned)
-                .count();
-        return (scannedCount / (double) itemsToScan.size()) * 100.0;
+        ensureProgressCounters();
+        return (fullyScannedItemCount / (double) itemsToScan.size()) * 100.0;
     }
 
     // ========== Sprint 1: Carton Selection ==========
@@ -318,6 +465,18 @@ public class PackingSession {
         return this.recommendedCarton;
     }
 
+    /**
+     * Record a carton chosen by 3D cartonization, with where each unit goes
+     */
+    public String recommendCarton(CartonSelection selection) {
+        ensureStatus(PackingStatus.READY_FOR_CARTON);
+
+        this.recommendedCarton = selection.containerType().name();
+        this.cartonPlacements = new ArrayList<>(selection.placements());
+
+        return this.recommendedCarton;
+    }
+
     /**
      * Select a carton for packing
      */
@@ -342,6 +501,15 @@ public class PackingSession {
      * Check if carton is suitable for items
      */
     public boolean isCartonSuitable(String cartonType) {
+        if (recommendedCarton != null && cartonPlacements != null && !cartonPlacements.isEmpty()) {
+            // The items are known to fit the recommended carton, so they fit any carton enclosing it
+            try {
+                return ContainerType.valueOf(cartonType).encloses(ContainerType.valueOf(recommendedCarton));
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+        }
+
         int totalItems = packingInstructions.stream()
                 .mapToInt(PackingInstruction::getExpectedQuantity)
                 .sum();
@@ -391,7 +559,7 @@ public class PackingSession {
         // Calculate estimated weight from instructions
         this.estimatedWeight = new Weight(
                 packingInstructions.stream()
-                        .mapToDouble(i -> i.getTotalWeight().toPounds())
+                        .mapToDouble(PackingInstruction::getTotalWeightLb)
                         .sum()
         );
 
@@ -493,9 +661,43 @@ public class PackingSession {
     public Container addContainer(Container container) {
         Objects.requireNonNull(container, "Container cannot be null");
         this.containers.add(container);
+        containerIndex().putIfAbsent(container.getContainerId(), container);
+        if (countersInitialized && container.getWeight() != null) {
+            totalWeightLb += container.getWeight().toPounds();
+        }
         return container;
     }
 
+    /**
+     * Open every container of the plan and record the planned container on each instruction
+     */
+    public List<Container> applyContainerPlan(ContainerPlan plan) {
+        Objects.requireNonNull(plan, "Container plan cannot be null");
+        List<Container> opened = new ArrayList<>(plan.getContainerCount());
+        for (ContainerPlan.PlannedContainer planned : plan.containers()) {
+            Container container = addContainer(Container.create(planned.carton()));
+            for (String instructionId : planned.instructionIds()) {
+                findInstruction(instructionId).setPlannedContainerId(container.getContainerId());
+            }
+            opened.add(container);
+        }
+        return opened;
+    }
+
+    /**
+     * Get instruction by ID
+     */
+    public PackingInstruction getInstruction(String instructionId) {
+        return findInstruction(instructionId);
+    }
+
+    /**
+     * Get container by ID
+     */
+    public Container getContainer(String containerId) {
+        return findContainer(containerId);
+    }
+
     /**
      * Get current (next) instruction to pack
      */
@@ -523,21 +725,16 @@ public class PackingSession {
         if (packingInstructions.isEmpty()) {
             return 100.0;
         }
-
-        long packedCount = packingInstructions.stream()
-                .filter(i -> i.getStatus() == PackingInstruction.InstructionStatus.PACKED)
-                .count();
-
-        return (packedCount / (double) packingInstructions.size()) * 100.0;
+        ensureProgressCounters();
+        return (packedInstructionCount / (double) packingInstructions.size()) * 100.0;
     }
 
     /**
      * Get total weight of all containers
      */
     public double getTotalWeight() {
-        return containers.stream()
-                .mapToDouble(c -> c.getWeight().toPounds())
-                .sum();
+        ensureProgressCounters();
+        return totalWeightLb;
     }
 
     /**
@@ -555,36 +752,173 @@ public class PackingSession {
      * Get packed instruction count
      */
     public int getPackedInstructionCount() {
-        return (int) packingInstructions.stream()
-                .filter(PackingInstruction::isComplete)
-                .count();
+        ensureProgressCounters();
+        return completedInstructionCount;
+    }
+
+    /**
+     * Rebuild progress counters from the item, instruction and container lists.
+     * Used for documents persisted before the counters existed.
+     */
+    public void rebuildProgressCounters() {
+        int scanned = 0;
+        for (ItemToScan item : itemsToScan) {
+            if (item.isFullyScanned()) {
+                scanned++;
+            }
+        }
+
+        int completed = 0;
+        int packed = 0;
+        for (PackingInstruction instruction : packingInstructions) {
+            if (instruction.isComplete()) {
+                completed++;
+            }
+            if (instruction.getStatus() == PackingInstruction.InstructionStatus.PACKED) {
+                packed++;
+            }
+        }
+
+        double weightLb = 0.0;
+        for (Container container : containers) {
+            if (container.getWeight() != null) {
+                weightLb += container.getWeight().toPounds();
+            }
+        }
+
+        this.fullyScannedItemCount = scanned;
+        this.completedInstructionCount = completed;
+        this.packedInstructionCount = packed;
+        this.totalWeightLb = weightLb;
+        this.countersInitialized = true;
     }
 
     // Private helper methods
 
     private boolean allInstructionsPacked() {
-        return packingInstructions.stream().allMatch(PackingInstruction::isComplete);
+        ensureProgressCounters();
+        return completedInstructionCount >= packingInstructions.size();
+    }
+
+    private void ensureProgressCounters() {
+        if (!countersInitialized) {
+            rebuildProgressCounters();
+        }
+    }
+
+    private void onInstructionStatusChanged(PackingInstruction.InstructionStatus before,
+                                            PackingInstruction.InstructionStatus after) {
+        if (!countersInitialized) {
+            return; // next read rebuilds from the lists
+        }
+        if (!isComplete(before) && isComplete(after)) {
+            completedInstructionCount++;
+        } else if (isComplete(before) && !isComplete(after)) {
+            completedInstructionCount--;
+        }
+        if (before != PackingInstruction.InstructionStatus.PACKED && after == PackingInstruction.InstructionStatus.PACKED) {
+            packedInstructionCount++;
+        } else if (before == PackingInstruction.InstructionStatus.PACKED && after != PackingInstruction.InstructionStatus.PACKED) {
+            packedInstructionCount--;
+        }
+    }
+
+    private void onContainerWeightChanged(double beforeLb, double afterLb) {
+        if (countersInitialized) {
+            totalWeightLb += afterLb - beforeLb;
+        }
+    }
+
+    private static boolean isComplete(PackingInstruction.InstructionStatus status) {
+        return status != null && status.isTerminal();
+    }
+
+    private OnlineCartonState onlineCarton() {
+        if (onlineCarton == null) {
+            // Sessions scanned before the online state existed have no unit data on their lines either
+            restoreUnitData();
+            onlineCarton = OnlineCartonState.of(itemsToScan);
+        }
+        return onlineCarton;
+    }
+
+    /**
+     * Copy unit weight and dimensions from the packing instructions onto lines
+     * stored without them. Lines are created one per instruction, in order.
+     */
+    private void restoreUnitData() {
+        for (int i = 0; i < itemsToScan.size() && i < packingInstructions.size(); i++) {
+            ItemToScan item = itemsToScan.get(i);
+            PackingInstruction instruction = packingInstructions.get(i);
+            if (item.getUnitDimensions() != null || !Objects.equals(item.getItemSku(), instruction.getItemSku())) {
+                continue;
+            }
+            item.setUnitDimensions(instruction.getItemDimensions());
+            if (instruction.getItemWeight() != null) {
+                item.setUnitWeightLb(instruction.getItemWeight().toPounds());
+            }
+        }
     }
 
     private Container findOrCreateContainer(String containerId) {
-        return containers.stream()
-                .filter(c -> c.getContainerId().equals(containerId))
-                .findFirst()
-                .orElse(null); // Will be null if new container needed
+        return containerIndex().get(containerId); // Will be null if new container needed
     }
 
     private Container findContainer(String containerId) {
-        return containers.stream()
-                .filter(c -> c.getContainerId().equals(containerId))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Container not found: " + containerId));
+        Container container = containerIndex().get(containerId);
+        if (container == null) {
+            throw new IllegalArgumentException("Container not found: " + containerId);
+        }
+        return container;
     }
 
     private PackingInstruction findInstruction(String instructionId) {
-        return packingInstructions.stream()
-                .filter(i -> i.getInstructionId().equals(instructionId))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Instruction not found: " + instructionId));
+        PackingInstruction instruction = instructionIndex().get(instructionId);
+        if (instruction == null) {
+            throw new IllegalArgumentException("Instruction not found: " + instructionId);
+        }
+        return instruction;
+    }
+
+    /**
+     * Barcode index over itemsToScan. First entry wins on duplicate barcodes,
+     * matching the previous linear-scan semantics.
+     */
+    private Map<String, ItemToScan> itemIndex() {
+        if (itemsByBarcode == null) {
+            Map<String, ItemToScan> index = new HashMap<>(capacityFor(itemsToScan.size()));
+            for (ItemToScan item : itemsToScan) {
+                index.putIfAbsent(item.getBarcode(), item);
+            }
+            itemsByBarcode = index;
+        }
+        return itemsByBarcode;
+    }
+
+    private Map<String, PackingInstruction> instructionIndex() {
+        if (instructionsById == null) {
+            Map<String, PackingInstruction> index = new HashMap<>(capacityFor(packingInstructions.size()));
+            for (PackingInstruction instruction : packingInstructions) {
+                index.putIfAbsent(instruction.getInstructionId(), instruction);
+            }
+            instructionsById = index;
+        }
+        return instructionsById;
+    }
+
+    private Map<String, Container> containerIndex() {
+        if (containersById == null) {
+            Map<String, Container> index = new HashMap<>(capacityFor(containers.size()));
+            for (Container container : containers) {
+                index.putIfAbsent(container.getContainerId(), container);
+            }
+            containersById = index;
+        }
+        return containersById;
+    }
+
+    private static int capacityFor(int size) {
+        return Math.max(16, (int) (size / 0.75f) + 1);
     }
 
     private void ensureStatus(PackingStatus... allowedStatuses) {
@@ -671,6 +1005,8 @@ public class PackingSession {
 
     public void setPackingInstructions(List<PackingInstruction> packingInstructions) {
         this.packingInstructions = packingInstructions;
+        this.instructionsById = null;
+        this.countersInitialized = false;
     }
 
     public List<Container> getContainers() {
@@ -679,6 +1015,8 @@ public class PackingSession {
 
     public void setContainers(List<Container> containers) {
         this.containers = containers;
+        this.containersById = null;
+        this.countersInitialized = false;
     }
 
     public LocalDateTime getCreatedAt() {
@@ -745,6 +1083,8 @@ public class PackingSession {
 
     public void setItemsToScan(List<ItemToScan> itemsToScan) {
         this.itemsToScan = itemsToScan;
+        this.itemsByBarcode = null;
+        this.countersInitialized = false;
     }
 
     public List<ScannedItem> getScannedItems() {
@@ -755,6 +1095,14 @@ public class PackingSession {
         this.scannedItems = scannedItems;
     }
 
+    public OnlineCartonState getOnlineCarton() {
+        return onlineCarton;
+    }
+
+    public void setOnlineCarton(OnlineCartonState onlineCarton) {
+        this.onlineCarton = onlineCarton;
+    }
+
     public String getRecommendedCarton() {
         return recommendedCarton;
     }
@@ -767,6 +1115,14 @@ public class PackingSession {
         return selectedCarton;
     }
 
+    public List<Placement> getCartonPlacements() {
+        return cartonPlacements;
+    }
+
+    public void setCartonPlacements(List<Placement> cartonPlacements) {
+        this.cartonPlacements = cartonPlacements;
+    }
+
     public void setSelectedCarton(String selectedCarton) {
         this.selectedCarton = selectedCarton;
     }
@@ -8,6 +8,7 @@ import com.paklog.wes.pack.domain.event.ShipmentDispatchedEvent;
 import com.paklog.wes.pack.domain.event.ShippingLabelGeneratedEvent;
 import com.paklog.wes.pack.domain.valueobject.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -51,6 +52,7 @@ public class Shipment {
     private String manifestId;
     private String notes;
 
+    @Transient
     private List<DomainEvent> domainEvents = new ArrayList<>();
 
     public Shipment() {
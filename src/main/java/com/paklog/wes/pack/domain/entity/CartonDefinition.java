@@ -0,0 +1,152 @@
+package com.paklog.wes.pack.domain.entity;
+
+import com.paklog.wes.pack.domain.valueobject.Carton;
+import com.paklog.wes.pack.domain.valueobject.ContainerType;
+import com.paklog.wes.pack.domain.valueobject.Dimensions;
+import com.paklog.wes.pack.domain.valueobject.Weight;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * A carton SKU stocked by one warehouse, as maintained in the carton catalog
+ */
+@Document(collection = CartonDefinition.COLLECTION)
+public class CartonDefinition {
+
+    public static final String COLLECTION = "carton_catalog";
+
+    @Id
+    private String id;
+
+    private String warehouseId;
+    private String cartonCode;
+    private ContainerType containerType;
+    private Dimensions innerDimensions;
+    private Weight maxWeight;
+    private String displayName;
+    private boolean active;
+    private LocalDateTime updatedAt;
+
+    public CartonDefinition() {
+        // For persistence
+    }
+
+    public CartonDefinition(String warehouseId, String cartonCode, ContainerType containerType,
+                            Dimensions innerDimensions, Weight maxWeight, String displayName) {
+        this.id = warehouseId + ":" + cartonCode;
+        this.warehouseId = Objects.requireNonNull(warehouseId, "Warehouse ID cannot be null");
+        this.cartonCode = Objects.requireNonNull(cartonCode, "Carton code cannot be null");
+        this.containerType = Objects.requireNonNull(containerType, "Container type cannot be null");
+        this.innerDimensions = Objects.requireNonNull(innerDimensions, "Inner dimensions cannot be null");
+        this.maxWeight = Objects.requireNonNull(maxWeight, "Max weight cannot be null");
+        this.displayName = displayName;
+        this.active = true;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * The carton in inches and pounds
+     */
+    public Carton toCarton() {
+        Dimensions inches = innerDimensions.convertTo(Dimensions.DimensionUnit.IN);
+        return new Carton(
+                cartonCode,
+                containerType,
+                inches.length(),
+                inches.width(),
+                inches.height(),
+                maxWeight.toPounds(),
+                displayName != null ? displayName : cartonCode
+        );
+    }
+
+    // Getters and setters
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getWarehouseId() {
+        return warehouseId;
+    }
+
+    public void setWarehouseId(String warehouseId) {
+        this.warehouseId = warehouseId;
+    }
+
+    public String getCartonCode() {
+        return cartonCode;
+    }
+
+    public void setCartonCode(String cartonCode) {
+        this.cartonCode = cartonCode;
+    }
+
+    public ContainerType getContainerType() {
+        return containerType;
+    }
+
+    public void setContainerType(ContainerType containerType) {
+        this.containerType = containerType;
+    }
+
+    public Dimensions getInnerDimensions() {
+        return innerDimensions;
+    }
+
+    public void setInnerDimensions(Dimensions innerDimensions) {
+        this.innerDimensions = innerDimensions;
+    }
+
+    public Weight getMaxWeight() {
+        return maxWeight;
+    }
+
+    public void setMaxWeight(Weight maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public void setDisplayName(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CartonDefinition that = (CartonDefinition) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -1,5 +1,6 @@
 package com.paklog.wes.pack.domain.entity;
 
+import com.paklog.wes.pack.domain.valueobject.Carton;
 import com.paklog.wes.pack.domain.valueobject.ContainerType;
 import com.paklog.wes.pack.domain.valueobject.Dimensions;
 import com.paklog.wes.pack.domain.valueobject.Weight;
@@ -25,6 +26,7 @@ public class Container {
 
     private String containerId;
     private ContainerType type;
+    private String cartonCode;
     private Dimensions dimensions;
     private Weight weight;
     private Weight maxWeight;
@@ -40,17 +42,26 @@ public class Container {
     }
 
     public static Container create(ContainerType type) {
+        return create(Carton.of(Objects.requireNonNull(type, "Container type cannot be null")));
+    }
+
+    /**
+     * Open a container of a catalog carton, sized and weight-limited by it
+     */
+    public static Container create(Carton carton) {
+        Objects.requireNonNull(carton, "Carton cannot be null");
         Container container = new Container();
         container.containerId = generateContainerId();
-        container.type = Objects.requireNonNull(type, "Container type cannot be null");
+        container.type = carton.containerType();
+        container.cartonCode = carton.cartonCode();
         container.dimensions = new Dimensions(
-                type.getLength(),
-                type.getWidth(),
-                type.getHeight(),
+                carton.length(),
+                carton.width(),
+                carton.height(),
                 Dimensions.DimensionUnit.IN
         );
         container.weight = new Weight(0.0, Weight.WeightUnit.LB);
-        container.maxWeight = new Weight(type.getMaxWeightLb(), Weight.WeightUnit.LB);
+        container.maxWeight = new Weight(carton.maxWeightLb(), Weight.WeightUnit.LB);
         container.status = ContainerStatus.OPEN;
         container.itemInstructionIds = new ArrayList<>();
         container.createdAt = LocalDateTime.now();
@@ -152,8 +163,14 @@ public class Container {
      * Check if container can hold additional weight
      */
     public boolean canHold(Weight additionalWeight) {
-        Weight newWeight = this.weight.add(additionalWeight);
-        return !newWeight.isGreaterThan(maxWeight);
+        return canHoldPounds(additionalWeight.toPounds());
+    }
+
+    /**
+     * Check if container can hold additional weight, given in pounds
+     */
+    public boolean canHoldPounds(double additionalLb) {
+        return weight.canAddWithin(additionalLb, maxWeight);
     }
 
     /**
@@ -185,6 +202,14 @@ public class Container {
         this.type = type;
     }
 
+    public String getCartonCode() {
+        return cartonCode;
+    }
+
+    public void setCartonCode(String cartonCode) {
+        this.cartonCode = cartonCode;
+    }
+
     public Dimensions getDimensions() {
         return dimensions;
     }
@@ -1,5 +1,8 @@
 package com.paklog.wes.pack.domain.entity;
 
+import com.paklog.wes.pack.domain.valueobject.Dimensions;
+import com.paklog.wes.pack.domain.valueobject.Weight;
+
 import java.util.Objects;
 
 /**
@@ -12,6 +15,8 @@ public class ItemToScan {
     private int expectedQuantity;
     private int scannedQuantity;
     private boolean scanned;
+    private double unitWeightLb;
+    private Dimensions unitDimensions;
 
     public ItemToScan() {
         // For persistence
@@ -25,6 +30,12 @@ public class ItemToScan {
         this.scanned = false;
     }
 
+    public ItemToScan(String itemSku, String barcode, int expectedQuantity, Weight unitWeight, Dimensions unitDimensions) {
+        this(itemSku, barcode, expectedQuantity);
+        this.unitWeightLb = unitWeight != null ? unitWeight.toPounds() : 0.0;
+        this.unitDimensions = unitDimensions;
+    }
+
     /**
      * Mark item as scanned
      */
@@ -98,6 +109,22 @@ public class ItemToScan {
         this.scanned = scanned;
     }
 
+    public double getUnitWeightLb() {
+        return unitWeightLb;
+    }
+
+    public void setUnitWeightLb(double unitWeightLb) {
+        this.unitWeightLb = unitWeightLb;
+    }
+
+    public Dimensions getUnitDimensions() {
+        return unitDimensions;
+    }
+
+    public void setUnitDimensions(Dimensions unitDimensions) {
+        this.unitDimensions = unitDimensions;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
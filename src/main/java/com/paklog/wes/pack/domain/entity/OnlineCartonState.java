@@ -0,0 +1,123 @@
+package com.paklog.wes.pack.domain.entity;
+
+import com.paklog.wes.pack.domain.service.CartonFitIndex;
+import com.paklog.wes.pack.domain.valueobject.Carton;
+import com.paklog.wes.pack.domain.valueobject.ContainerType;
+import com.paklog.wes.pack.domain.valueobject.Dimensions;
+
+import java.util.List;
+
+/**
+ * Running carton recommendation for the units scanned so far.
+ * <p>
+ * Keeps the scanned weight and volume and, per side, the largest unit (sides
+ * sorted shortest first); a scan costs O(1). The recommendation is the smallest
+ * carton of the warehouse's catalog those allow, looked up in its
+ * {@link CartonFitIndex} when asked for, so it follows catalog reloads. All of
+ * them only grow with each scan, so the recommendation never shrinks. It is a
+ * lower bound that the 3D packer confirms once scanning is complete.
+ */
+public class OnlineCartonState {
+
+    private static final Carton CUSTOM = Carton.of(ContainerType.CUSTOM);
+
+    private int units;
+    private double weightLb;
+    private double volumeCubicInches;
+    private double shortestSide;
+    private double middleSide;
+    private double longestSide;
+
+    public OnlineCartonState() {
+        // For persistence
+    }
+
+    /**
+     * Rebuild from the scanned quantities, for sessions scanned before this state existed.
+     * Lines without unit data only count as units, so restore it on them first.
+     */
+    public static OnlineCartonState of(List<ItemToScan> items) {
+        OnlineCartonState state = new OnlineCartonState();
+        for (ItemToScan item : items) {
+            state.addUnits(item.getUnitWeightLb(), item.getUnitDimensions(), item.getScannedQuantity());
+        }
+        return state;
+    }
+
+    /**
+     * Add scanned units of one item
+     *
+     * @param unitDimensions null if unknown; the units then only count by weight
+     */
+    public void addUnits(double unitWeightLb, Dimensions unitDimensions, int count) {
+        if (count <= 0) {
+            return;
+        }
+        units += count;
+        weightLb += unitWeightLb * count;
+        if (unitDimensions != null) {
+            volumeCubicInches += unitDimensions.getVolumeInCubicInches() * count;
+            shortestSide = Math.max(shortestSide, unitDimensions.shortestSideInches());
+            middleSide = Math.max(middleSide, unitDimensions.middleSideInches());
+            longestSide = Math.max(longestSide, unitDimensions.longestSideInches());
+        }
+    }
+
+    /**
+     * Smallest of the given cartons the scanned units allow, or the custom carton if none
+     */
+    public Carton getRecommendedCarton(CartonFitIndex cartons) {
+        Carton carton = cartons.smallestFitting(weightLb, volumeCubicInches, shortestSide, middleSide, longestSide);
+        return carton != null ? carton : CUSTOM;
+    }
+
+    // Getters and setters
+
+    public int getUnits() {
+        return units;
+    }
+
+    public void setUnits(int units) {
+        this.units = units;
+    }
+
+    public double getWeightLb() {
+        return weightLb;
+    }
+
+    public void setWeightLb(double weightLb) {
+        this.weightLb = weightLb;
+    }
+
+    public double getVolumeCubicInches() {
+        return volumeCubicInches;
+    }
+
+    public void setVolumeCubicInches(double volumeCubicInches) {
+        this.volumeCubicInches = volumeCubicInches;
+    }
+
+    public double getShortestSide() {
+        return shortestSide;
+    }
+
+    public void setShortestSide(double shortestSide) {
+        this.shortestSide = shortestSide;
+    }
+
+    public double getMiddleSide() {
+        return middleSide;
+    }
+
+    public void setMiddleSide(double middleSide) {
+        this.middleSide = middleSide;
+    }
+
+    public double getLongestSide() {
+        return longestSide;
+    }
+
+    public void setLongestSide(double longestSide) {
+        this.longestSide = longestSide;
+    }
+}
@@ -33,6 +33,7 @@ public class PackingInstruction {
     private int packedQuantity;
     private InstructionStatus status;
     private String containerId;
+    private String plannedContainerId;
     private Priority priority;
     private Weight itemWeight;
     private Dimensions itemDimensions;
@@ -142,6 +143,13 @@ public class PackingInstruction {
         return new Weight(itemWeight.value() * packedQuantity, itemWeight.unit());
     }
 
+    /**
+     * Packed weight in pounds, without creating a Weight
+     */
+    public double getTotalWeightLb() {
+        return itemWeight == null ? 0.0 : itemWeight.toPounds() * packedQuantity;
+    }
+
     // Getters and setters
 
     public String getInstructionId() {
@@ -208,6 +216,14 @@ public class PackingInstruction {
         this.containerId = containerId;
     }
 
+    public String getPlannedContainerId() {
+        return plannedContainerId;
+    }
+
+    public void setPlannedContainerId(String plannedContainerId) {
+        this.plannedContainerId = plannedContainerId;
+    }
+
     public Priority getPriority() {
         return priority;
     }
@@ -1,12 +1,17 @@
 package com.paklog.wes.pack.domain.entity;
 
 import com.paklog.wes.pack.domain.valueobject.CarrierType;
+import org.springframework.data.annotation.Transient;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
 
 /**
  * Shipping label entity
+ * <p>
+ * Embedded in the shipment as metadata only. The label bytes live in
+ * {@link ShippingLabelContent} under the same label ID and are attached
+ * when a label is generated or loaded for printing.
  */
 public class ShippingLabel {
 
@@ -21,7 +26,10 @@ public class ShippingLabel {
     private String trackingNumber;
     private CarrierType carrier;
     private LabelFormat format;
-    private String labelData; // Base64 encoded or raw format data
+    private String labelData; // Legacy base64 payload; new labels store bytes in ShippingLabelContent
+    @Transient
+    private byte[] content;   // Raw label bytes, present only once generated or loaded
+    private int contentLength;
     private String barcode;    // Barcode data
     private LocalDateTime generatedAt;
     private String generatedBy;
@@ -36,14 +44,15 @@ public class ShippingLabel {
             String trackingNumber,
             CarrierType carrier,
             LabelFormat format,
-            String labelData,
+            byte[] content,
             String barcode
     ) {
         this.labelId = generateLabelId(trackingNumber);
         this.trackingNumber = Objects.requireNonNull(trackingNumber, "Tracking number cannot be null");
         this.carrier = Objects.requireNonNull(carrier, "Carrier cannot be null");
         this.format = Objects.requireNonNull(format, "Format cannot be null");
-        this.labelData = Objects.requireNonNull(labelData, "Label data cannot be null");
+        this.content = Objects.requireNonNull(content, "Label content cannot be null");
+        this.contentLength = content.length;
         this.barcode = barcode;
         this.generatedAt = LocalDateTime.now();
         this.printed = false;
@@ -64,7 +73,23 @@ public class ShippingLabel {
         return trackingNumber != null && !trackingNumber.isBlank() &&
                carrier != null &&
                format != null &&
-               labelData != null && !labelData.isBlank();
+               (contentLength > 0 || (labelData != null && !labelData.isBlank()));
+    }
+
+    /**
+     * Attach label bytes loaded from the label store
+     */
+    public void attachContent(byte[] content) {
+        this.content = Objects.requireNonNull(content, "Label content cannot be null");
+        this.contentLength = content.length;
+    }
+
+    /**
+     * Whether the label bytes are still embedded as base64 (labels generated
+     * before the payloads moved to their own collection)
+     */
+    public boolean hasLegacyLabelData() {
+        return labelData != null && !labelData.isBlank();
     }
 
     /**
@@ -137,6 +162,18 @@ public class ShippingLabel {
         this.labelData = labelData;
     }
 
+    public byte[] getContent() {
+        return content;
+    }
+
+    public int getContentLength() {
+        return contentLength;
+    }
+
+    public void setContentLength(int contentLength) {
+        this.contentLength = contentLength;
+    }
+
     public String getBarcode() {
         return barcode;
     }
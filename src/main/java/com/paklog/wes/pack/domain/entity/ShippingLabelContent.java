@@ -0,0 +1,81 @@
+package com.paklog.wes.pack.domain.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * The printable bytes of a shipping label, stored apart from the shipment
+ * under the label ID. Shipments carry only the label metadata, so shipment
+ * queries do not read label payloads; the content is loaded when a label is
+ * printed or downloaded.
+ */
+@Document(collection = ShippingLabelContent.COLLECTION)
+public class ShippingLabelContent {
+
+    public static final String COLLECTION = "shipping_labels";
+
+    @Id
+    private String labelId;
+
+    private String shipmentId;
+    private ShippingLabel.LabelFormat format;
+    private byte[] data; // Raw label bytes (BSON binary)
+    private LocalDateTime createdAt;
+
+    public ShippingLabelContent() {
+        // For persistence
+    }
+
+    public ShippingLabelContent(String labelId, String shipmentId, ShippingLabel.LabelFormat format, byte[] data) {
+        this.labelId = Objects.requireNonNull(labelId, "Label ID cannot be null");
+        this.shipmentId = Objects.requireNonNull(shipmentId, "Shipment ID cannot be null");
+        this.format = Objects.requireNonNull(format, "Format cannot be null");
+        this.data = Objects.requireNonNull(data, "Label data cannot be null");
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and setters
+
+    public String getLabelId() {
+        return labelId;
+    }
+
+    public void setLabelId(String labelId) {
+        this.labelId = labelId;
+    }
+
+    public String getShipmentId() {
+        return shipmentId;
+    }
+
+    public void setShipmentId(String shipmentId) {
+        this.shipmentId = shipmentId;
+    }
+
+    public ShippingLabel.LabelFormat getFormat() {
+        return format;
+    }
+
+    public void setFormat(ShippingLabel.LabelFormat format) {
+        this.format = format;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public void setData(byte[] data) {
+        this.data = data;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,19 @@
+package com.paklog.wes.pack.domain.repository;
+
+import com.paklog.wes.pack.domain.entity.CartonDefinition;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for the per-warehouse carton catalog
+ */
+@Repository
+public interface CartonDefinitionRepository extends MongoRepository<CartonDefinition, String> {
+
+    /**
+     * Every carton currently stocked, across warehouses
+     */
+    List<CartonDefinition> findByActiveTrue();
+}
@@ -14,7 +14,7 @@ import java.util.Optional;
  * Repository for PackingSession aggregate
  */
 @Repository
-public interface PackingSessionRepository extends MongoRepository<PackingSession, String> {
+public interface PackingSessionRepository extends MongoRepository<PackingSession, String>, PackingSessionRepositoryCustom {
 
     /**
      * Find packing session by pick session ID
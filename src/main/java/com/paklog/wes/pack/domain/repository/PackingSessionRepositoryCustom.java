@@ -0,0 +1,41 @@
+package com.paklog.wes.pack.domain.repository;
+
+import com.paklog.wes.pack.domain.aggregate.PackingSession;
+import com.paklog.wes.pack.domain.valueobject.ScanResult;
+
+import java.util.List;
+
+/**
+ * Bulk and in-place write operations for PackingSession that bypass the
+ * load/save cycle of the aggregate
+ */
+public interface PackingSessionRepositoryCustom {
+
+    /**
+     * Atomically record one unit scan against the session document.
+     * Applies the same rules as {@code PackingSession.scanItem}: the session must be
+     * SCANNING, the barcode must be expected and its line must not be fully scanned.
+     *
+     * @throws IllegalArgumentException if the session does not exist
+     * @throws IllegalStateException if the session is not in SCANNING status
+     * @throws com.paklog.wes.pack.domain.exception.UnexpectedItemException if the barcode is not expected
+     * @throws com.paklog.wes.pack.domain.exception.AlreadyScannedException if the line is already fully scanned
+     */
+    ScanResult applyScan(String sessionId, String barcode);
+
+    /**
+     * Insert new sessions with one unordered bulk write and move their pending
+     * domain events to the outbox. A failing document does not stop the others.
+     * With outbox transactions enabled, each inserted session commits together
+     * with its outbox events.
+     *
+     * @return failures by position in {@code sessions}, empty if all were inserted
+     */
+    List<InsertFailure> insertAll(List<PackingSession> sessions);
+
+    /**
+     * A session that could not be inserted
+     */
+    record InsertFailure(int index, boolean duplicateKey, String message) {
+    }
+}
@@ -2,6 +2,7 @@ package com.paklog.wes.pack.domain.repository;
 
 import com.paklog.wes.pack.domain.aggregate.Shipment;
 import com.paklog.wes.pack.domain.valueobject.CarrierType;
+import com.paklog.wes.pack.domain.valueobject.ShipmentSummary;
 import com.paklog.wes.pack.domain.valueobject.TrackingStatus;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
@@ -13,9 +14,14 @@ import java.util.Optional;
 
 /**
  * Repository for Shipment aggregate
+ * <p>
+ * Manifest and tracking list queries return {@link ShipmentSummary}: only its
+ * fields are read, so they skip {@code shippingLabel.labelData}, the base64
+ * payload still embedded in shipments labelled before label bytes moved to
+ * {@code shipping_labels}, and a summary cannot be saved over the shipment.
  */
 @Repository
-public interface ShipmentRepository extends MongoRepository<Shipment, String> {
+public interface ShipmentRepository extends MongoRepository<Shipment, String>, ShipmentRepositoryCustom {
 
     /**
      * Find shipment by tracking number
@@ -45,7 +51,7 @@ public interface ShipmentRepository extends MongoRepository<Shipment, String> {
     /**
      * Find shipments by manifest ID
      */
-    List<Shipment> findByManifestId(String manifestId);
+    List<ShipmentSummary> findByManifestId(String manifestId);
 
     /**
      * Find shipments created after date
@@ -61,19 +67,19 @@ public interface ShipmentRepository extends MongoRepository<Shipment, String> {
      * Find late shipments
      */
     @Query("{'estimatedDeliveryDate': {$lt: ?0}, 'trackingStatus': {$nin: ['DELIVERED', 'RETURNED']}}")
-    List<Shipment> findLateShipments(LocalDateTime currentDate);
+    List<ShipmentSummary> findLateShipments(LocalDateTime currentDate);
 
     /**
      * Find shipments ready for manifest
      */
     @Query("{'trackingStatus': 'LABELED', 'carrier': ?0}")
-    List<Shipment> findShipmentsReadyForManifest(CarrierType carrier);
+    List<ShipmentSummary> findShipmentsReadyForManifest(CarrierType carrier);
 
     /**
      * Find in-transit shipments
      */
     @Query("{'trackingStatus': {$in: ['PICKED_UP', 'IN_TRANSIT', 'OUT_FOR_DELIVERY']}}")
-    List<Shipment> findInTransitShipments();
+    List<ShipmentSummary> findInTransitShipments();
 
     /**
      * Count shipments by carrier and date range
@@ -0,0 +1,27 @@
+package com.paklog.wes.pack.domain.repository;
+
+import com.paklog.wes.pack.domain.aggregate.Shipment;
+
+import java.util.List;
+
+/**
+ * Bulk write operations for Shipment that bypass the per-aggregate save
+ */
+public interface ShipmentRepositoryCustom {
+
+    /**
+     * Persist freshly labelled shipments: label bytes with one unordered insert
+     * into the label store, shipments with one unordered bulk replace guarded by
+     * version and CREATED status, then their pending domain events to the outbox.
+     * A failing shipment does not stop the others.
+     *
+     * @return failures by position in {@code shipments}, empty if all were written
+     */
+    List<LabelWriteFailure> saveLabelled(List<Shipment> shipments);
+
+    /**
+     * A labelled shipment that could not be written
+     */
+    record LabelWriteFailure(int index, String message) {
+    }
+}
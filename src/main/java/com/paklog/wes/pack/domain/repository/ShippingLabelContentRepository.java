@@ -0,0 +1,12 @@
+package com.paklog.wes.pack.domain.repository;
+
+import com.paklog.wes.pack.domain.entity.ShippingLabelContent;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for label bytes, keyed by label ID
+ */
+@Repository
+public interface ShippingLabelContentRepository extends MongoRepository<ShippingLabelContent, String> {
+}
@@ -0,0 +1,17 @@
+package com.paklog.wes.pack.domain.repository;
+
+import com.paklog.wes.pack.domain.valueobject.CarrierType;
+
+/**
+ * Shared per-carrier tracking number counter that hands out serials in blocks
+ */
+public interface TrackingNumberBlockRepository {
+
+    /**
+     * Atomically reserve the next {@code blockSize} serials of the carrier.
+     * Every pod leases from the same counter, so no two blocks overlap.
+     *
+     * @return first serial of the block; the block ends before {@code first + blockSize}
+     */
+    long leaseBlock(CarrierType carrier, int blockSize);
+}
@@ -0,0 +1,91 @@
+package com.paklog.wes.pack.domain.service;
+
+import com.paklog.wes.pack.domain.entity.CartonDefinition;
+import com.paklog.wes.pack.domain.valueobject.Carton;
+import com.paklog.wes.pack.domain.valueobject.ContainerType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cartons each warehouse stocks, as one {@link CartonFitIndex} per warehouse.
+ * <p>
+ * The indexes are immutable and published through a single volatile reference:
+ * a reload builds a complete new set and swaps it in, so readers never lock and
+ * never see a half-loaded catalog. Warehouses without catalog entries use the
+ * standard boxes and pallet.
+ */
+@Service
+public class CartonCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(CartonCatalog.class);
+
+    private static final CartonFitIndex STANDARD = CartonFitIndex.of(Arrays.stream(ContainerType.values())
+            .filter(ContainerType::isStandardCarton)
+            .map(Carton::of)
+            .toList());
+
+    private final CartonRecommendationCache cache;
+
+    private volatile Map<String, CartonFitIndex> warehouses = Map.of();
+
+    /**
+     * Catalog of the standard cartons only, with no recommendation cache to invalidate
+     */
+    public CartonCatalog() {
+        this(null);
+    }
+
+    @Autowired
+    public CartonCatalog(CartonRecommendationCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Index for a warehouse, or the standard cartons if it has no catalog
+     */
+    public CartonFitIndex forWarehouse(String warehouseId) {
+        if (warehouseId == null) {
+            return STANDARD;
+        }
+        return warehouses.getOrDefault(warehouseId, STANDARD);
+    }
+
+    public CartonFitIndex standard() {
+        return STANDARD;
+    }
+
+    /**
+     * Replace the whole catalog with the given active definitions
+     */
+    public void replace(Collection<CartonDefinition> definitions) {
+        Map<String, List<Carton>> cartonsByWarehouse = new HashMap<>();
+        for (CartonDefinition definition : definitions) {
+            cartonsByWarehouse.computeIfAbsent(definition.getWarehouseId(), id -> new ArrayList<>())
+                    .add(definition.toCarton());
+        }
+
+        Map<String, CartonFitIndex> indexes = new HashMap<>();
+        cartonsByWarehouse.forEach((warehouseId, cartons) -> indexes.put(warehouseId, CartonFitIndex.of(cartons)));
+        this.warehouses = Map.copyOf(indexes);
+
+        // Cached selections may name cartons that changed or are gone
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+
+        logger.info("Loaded carton catalog: {} cartons across {} warehouses", definitions.size(), indexes.size());
+    }
+
+    public int getWarehouseCount() {
+        return warehouses.size();
+    }
+}
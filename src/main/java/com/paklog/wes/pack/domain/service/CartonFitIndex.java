@@ -0,0 +1,179 @@
+package com.paklog.wes.pack.domain.service;
+
+import com.paklog.wes.pack.domain.valueobject.Carton;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable index over a carton catalog answering "smallest carton that holds
+ * this weight, volume and these sides".
+ * <p>
+ * Cartons are sorted by volume with their inner sides (shortest first) and
+ * weight limits in parallel arrays. A query binary-searches the first carton
+ * with enough volume and scans on from there; suffix maxima of the weight limit
+ * and of each side end the scan as soon as no larger carton can qualify, so the
+ * scan stays short even for catalogs of many near-identical cartons.
+ */
+public final class CartonFitIndex {
+
+    private static final double EPSILON = 1e-6;
+
+    private static final Comparator<Carton> BY_VOLUME = Comparator
+            .comparingDouble(Carton::getVolumeCubicInches)
+            .thenComparingDouble(Carton::maxWeightLb)
+            .thenComparing(Carton::cartonCode);
+
+    private final List<Carton> cartons;
+    private final Map<String, Carton> byCode;
+    private final double[] volume;
+    private final double[] shortest;
+    private final double[] middle;
+    private final double[] longest;
+    private final double[] maxWeightLb;
+
+    // Largest value at or after each position
+    private final double[] tailMaxWeightLb;
+    private final double[] tailMaxShortest;
+    private final double[] tailMaxMiddle;
+    private final double[] tailMaxLongest;
+
+    private CartonFitIndex(List<Carton> sorted) {
+        int n = sorted.size();
+        this.cartons = List.copyOf(sorted);
+        this.byCode = new HashMap<>(n * 2);
+        this.volume = new double[n];
+        this.shortest = new double[n];
+        this.middle = new double[n];
+        this.longest = new double[n];
+        this.maxWeightLb = new double[n];
+        this.tailMaxWeightLb = new double[n + 1];
+        this.tailMaxShortest = new double[n + 1];
+        this.tailMaxMiddle = new double[n + 1];
+        this.tailMaxLongest = new double[n + 1];
+
+        for (int i = 0; i < n; i++) {
+            Carton carton = sorted.get(i);
+            double[] sides = carton.getSortedDimensions();
+            byCode.put(carton.cartonCode(), carton);
+            volume[i] = carton.getVolumeCubicInches();
+            shortest[i] = sides[0];
+            middle[i] = sides[1];
+            longest[i] = sides[2];
+            maxWeightLb[i] = carton.maxWeightLb();
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            tailMaxWeightLb[i] = Math.max(maxWeightLb[i], tailMaxWeightLb[i + 1]);
+            tailMaxShortest[i] = Math.max(shortest[i], tailMaxShortest[i + 1]);
+            tailMaxMiddle[i] = Math.max(middle[i], tailMaxMiddle[i + 1]);
+            tailMaxLongest[i] = Math.max(longest[i], tailMaxLongest[i + 1]);
+        }
+    }
+
+    /**
+     * Index the given cartons; a carton code listed twice keeps its last definition
+     */
+    public static CartonFitIndex of(Collection<Carton> cartons) {
+        Map<String, Carton> unique = new HashMap<>();
+        for (Carton carton : cartons) {
+            unique.put(carton.cartonCode(), carton);
+        }
+        List<Carton> sorted = new ArrayList<>(unique.values());
+        sorted.sort(BY_VOLUME);
+        return new CartonFitIndex(sorted);
+    }
+
+    /**
+     * Smallest carton by volume within the weight and volume limits
+     *
+     * @return null if none
+     */
+    public Carton smallestFitting(double weightLb, double volumeCubicInches) {
+        return smallestFitting(weightLb, volumeCubicInches, 0, 0, 0);
+    }
+
+    /**
+     * Smallest carton by volume within the weight and volume limits whose sorted
+     * inner sides are at least the given ones
+     *
+     * @return null if none
+     */
+    public Carton smallestFitting(double weightLb, double volumeCubicInches,
+                                  double shortestSide, double middleSide, double longestSide) {
+        int i = next(firstWithVolume(volumeCubicInches), weightLb, shortestSide, middleSide, longestSide);
+        return i < 0 ? null : cartons.get(i);
+    }
+
+    /**
+     * Every carton passing those limits, smallest first: the cartons worth
+     * running the 3D packer on
+     */
+    public List<Carton> candidates(double weightLb, double volumeCubicInches,
+                                   double shortestSide, double middleSide, double longestSide) {
+        List<Carton> candidates = new ArrayList<>();
+        int i = firstWithVolume(volumeCubicInches);
+        while ((i = next(i, weightLb, shortestSide, middleSide, longestSide)) >= 0) {
+            candidates.add(cartons.get(i++));
+        }
+        return candidates;
+    }
+
+    public Optional<Carton> find(String cartonCode) {
+        return Optional.ofNullable(byCode.get(cartonCode));
+    }
+
+    /**
+     * All cartons, smallest volume first
+     */
+    public List<Carton> getCartons() {
+        return cartons;
+    }
+
+    public int size() {
+        return cartons.size();
+    }
+
+    /**
+     * First position with at least this volume
+     */
+    private int firstWithVolume(double volumeCubicInches) {
+        double needed = volumeCubicInches - EPSILON;
+        int lo = 0;
+        int hi = volume.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (volume[mid] < needed) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * First position from {@code from} on that passes the weight and side limits
+     *
+     * @return -1 if none
+     */
+    private int next(int from, double weightLb, double s0, double s1, double s2) {
+        double w = weightLb - EPSILON;
+        double a = s0 - EPSILON;
+        double b = s1 - EPSILON;
+        double c = s2 - EPSILON;
+        for (int i = from; i < volume.length; i++) {
+            if (tailMaxWeightLb[i] < w || tailMaxShortest[i] < a || tailMaxMiddle[i] < b || tailMaxLongest[i] < c) {
+                return -1; // no carton from here on can qualify
+            }
+            if (maxWeightLb[i] >= w && shortest[i] >= a && middle[i] >= b && longest[i] >= c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
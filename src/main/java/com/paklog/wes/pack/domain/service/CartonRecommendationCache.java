@@ -0,0 +1,190 @@
+package com.paklog.wes.pack.domain.service;
+
+import com.paklog.wes.pack.domain.entity.PackingInstruction;
+import com.paklog.wes.pack.domain.valueobject.CartonSelection;
+import com.paklog.wes.pack.domain.valueobject.Dimensions;
+import com.paklog.wes.pack.domain.valueobject.Placement;
+import com.paklog.wes.pack.domain.valueobject.Weight;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of carton selections keyed by order content, so repeat order
+ * shapes (subscription boxes, single-SKU orders) cost a lookup instead of a
+ * packing run.
+ * <p>
+ * The key is the multiset of SKU, unit dimensions and unit weight with the total
+ * quantity of each, independent of line order and line split. Because the
+ * dimensions and weight are part of the key, a SKU whose measurements change
+ * simply misses. Entries are kept per warehouse, since each stocks its own
+ * cartons. Cached placements are re-attributed to the caller's instructions by
+ * SKU. {@link CartonCatalog} calls {@link #invalidateAll()} when the carton
+ * catalog changes.
+ */
+@Service
+public class CartonRecommendationCache {
+
+    private final Map<String, Optional<CartonSelection>> entries;
+    private final ReentrantLock lock = new ReentrantLock(); // does not pin virtual threads
+    private long generation; // bumped by invalidateAll, guarded by lock
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CartonRecommendationCache(
+            @Value("${pack.cartonization.cache.capacity:10000}") int capacity
+    ) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Optional<CartonSelection>> eldest) {
+                if (size() > capacity) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Cached selection for an order with this content, computing and caching it on a miss.
+     * Concurrent misses for the same content may both compute; the last one is kept.
+     * A selection computed while {@link #invalidateAll()} ran is returned but not kept.
+     */
+    public Optional<CartonSelection> get(List<PackingInstruction> items,
+                                         Function<List<PackingInstruction>, Optional<CartonSelection>> loader) {
+        return get(null, items, loader);
+    }
+
+    /**
+     * Cached selection for an order with this content packed at this warehouse
+     */
+    public Optional<CartonSelection> get(String warehouseId, List<PackingInstruction> items,
+                                         Function<List<PackingInstruction>, Optional<CartonSelection>> loader) {
+        String key = (warehouseId != null ? warehouseId : "") + '#' + signature(items);
+
+        Optional<CartonSelection> cached;
+        long loadedGeneration;
+        lock.lock();
+        try {
+            cached = entries.get(key); // get() refreshes the entry
+            loadedGeneration = generation;
+        } finally {
+            lock.unlock();
+        }
+        if (cached != null) {
+            hits.increment();
+            return cached.map(selection -> reattribute(selection, items));
+        }
+
+        misses.increment();
+        Optional<CartonSelection> selection = loader.apply(items);
+        lock.lock();
+        try {
+            if (generation == loadedGeneration) {
+                entries.put(key, selection);
+            } // else computed against the catalog before invalidateAll; do not keep it
+        } finally {
+            lock.unlock();
+        }
+        return selection;
+    }
+
+    /**
+     * Drop every entry, e.g. after the carton catalog changed
+     */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            entries.clear();
+            generation++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Canonical order content: sorted "sku|dimensions|weight*quantity" entries
+     */
+    static String signature(List<PackingInstruction> items) {
+        Map<String, Integer> quantities = new TreeMap<>();
+        for (PackingInstruction item : items) {
+            StringBuilder line = new StringBuilder(64).append(item.getItemSku()).append('|');
+            Dimensions d = item.getItemDimensions();
+            if (d != null) {
+                line.append(d.length()).append('x').append(d.width()).append('x').append(d.height())
+                        .append(d.unit());
+            }
+            line.append('|');
+            Weight w = item.getItemWeight();
+            if (w != null) {
+                line.append(w.value()).append(w.unit());
+            }
+            quantities.merge(line.toString(), item.getExpectedQuantity(), Integer::sum);
+        }
+
+        StringBuilder signature = new StringBuilder(quantities.size() * 48);
+        quantities.forEach((line, quantity) -> signature.append(line).append('*').append(quantity).append(';'));
+        return signature.toString();
+    }
+
+    /**
+     * Hand each placement of a cached selection to one unit of the caller's
+     * instructions with the same SKU
+     */
+    private static CartonSelection reattribute(CartonSelection selection, List<PackingInstruction> items) {
+        Map<String, Deque<String>> unitsBySku = new HashMap<>();
+        for (PackingInstruction item : items) {
+            if (item.getItemDimensions() == null) {
+                continue; // only units with dimensions are placed
+            }
+            Deque<String> units = unitsBySku.computeIfAbsent(item.getItemSku(), sku -> new ArrayDeque<>());
+            for (int q = 0; q < item.getExpectedQuantity(); q++) {
+                units.add(item.getInstructionId());
+            }
+        }
+
+        List<Placement> placements = new ArrayList<>(selection.placements().size());
+        for (Placement p : selection.placements()) {
+            String instructionId = unitsBySku.get(p.itemSku()).poll();
+            placements.add(new Placement(instructionId, p.itemSku(), p.x(), p.y(), p.z(),
+                    p.length(), p.width(), p.height()));
+        }
+        return new CartonSelection(selection.carton(), placements, selection.totalWeightLb());
+    }
+}
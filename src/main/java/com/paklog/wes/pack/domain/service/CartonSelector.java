@@ -1,26 +1,251 @@
 package com.paklog.wes.pack.domain.service;
 
+import com.paklog.wes.pack.domain.entity.PackingInstruction;
+import com.paklog.wes.pack.domain.valueobject.Carton;
+import com.paklog.wes.pack.domain.valueobject.CartonSelection;
+import com.paklog.wes.pack.domain.valueobject.ContainerType;
+import com.paklog.wes.pack.domain.valueobject.Dimensions;
+import com.paklog.wes.pack.domain.valueobject.Placement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
 /**
- * Domain service for optimal carton selection using 3D bin packing algorithm
- * Minimizes shipping costs while ensuring items fit properly
- *
- * TODO: This class has been temporarily disabled due to missing dependencies:
- * - com.paklog.wes.pack.domain.entity.Carton
- * - com.paklog.wes.pack.domain.entity.PackItem
- * - CartonType class definition
- *
- * These classes need to be created before this service can be implemented.
- * See the git history for the full implementation.
+ * Domain service for optimal carton selection using 3D bin packing
+ * Finds the smallest carton that physically holds every unit of an order,
+ * trying candidate cartons from smallest to largest. Candidates come from the
+ * warehouse's carton catalog, narrowed by weight, volume and largest unit first.
  */
-//@Service - Commented out to prevent Spring instantiation
+@Service
 public class CartonSelector {
 
-    // This stub allows compilation to succeed
-    // Full implementation available in git history
+    private static final Logger logger = LoggerFactory.getLogger(CartonSelector.class);
+
+    /**
+     * Above this many units the geometric search is skipped (caller falls back
+     * to weight/volume rules) to keep selection on the request path bounded
+     */
+    static final int MAX_UNITS = 500;
+
+    private final CartonRecommendationCache cache;
+    private final CartonCatalog catalog;
+
+    /**
+     * Selector over the standard cartons without a cache; every call runs the packer
+     */
+    public CartonSelector() {
+        this(null, new CartonCatalog());
+    }
+
+    @Autowired
+    public CartonSelector(CartonRecommendationCache cache, CartonCatalog catalog) {
+        this.cache = cache;
+        this.catalog = catalog;
+    }
+
+    /**
+     * Select the smallest standard carton that holds all items
+     *
+     * @return empty if no single carton holds them, or the order is too large to plan
+     */
+    public Optional<CartonSelection> selectCarton(List<PackingInstruction> items) {
+        return selectCarton(null, items);
+    }
+
+    /**
+     * Select the smallest carton the warehouse stocks that holds all items.
+     * Orders with the same content as a recent one are answered from the cache.
+     *
+     * @return empty if no single carton holds them, or the order is too large to plan
+     */
+    public Optional<CartonSelection> selectCarton(String warehouseId, List<PackingInstruction> items) {
+        CartonFitIndex index = catalog.forWarehouse(warehouseId);
+        if (cache == null || items == null || items.isEmpty()) {
+            return selectCarton(items, index);
+        }
+        return cache.get(warehouseId, items, order -> selectCarton(order, index));
+    }
+
+    /**
+     * Select the first of the given cartons (in order) that holds all items
+     */
+    public Optional<CartonSelection> selectCarton(List<PackingInstruction> items, List<Carton> candidates) {
+        if (items == null || items.isEmpty()) {
+            return Optional.empty();
+        }
+        Units units = Units.of(items);
+        if (units == null) {
+            logger.debug("Order of {} lines exceeds {} units, skipping 3D cartonization", items.size(), MAX_UNITS);
+            return Optional.empty();
+        }
+        return firstFeasible(items, units, candidates);
+    }
+
+    public CartonCatalog getCatalog() {
+        return catalog;
+    }
+
+    private Optional<CartonSelection> selectCarton(List<PackingInstruction> items, CartonFitIndex index) {
+        if (items == null || items.isEmpty()) {
+            return Optional.empty();
+        }
+        Units units = Units.of(items);
+        if (units == null) {
+            logger.debug("Order of {} lines exceeds {} units, skipping 3D cartonization", items.size(), MAX_UNITS);
+            return Optional.empty();
+        }
+        // Only cartons that pass the weight, volume and largest-unit bounds are worth packing
+        return firstFeasible(items, units, index.candidates(
+                units.weightLb, units.volume, units.shortestSide, units.middleSide, units.longestSide));
+    }
+
+    private Optional<CartonSelection> firstFeasible(List<PackingInstruction> items, Units units, List<Carton> candidates) {
+        for (Carton candidate : candidates) {
+            Optional<CartonSelection> selection = tryPack(items, units, candidate);
+            if (selection.isPresent()) {
+                logger.debug("Selected {} for {} units", candidate.cartonCode(), units.dims.length);
+                return selection;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Pack all items into one carton of the given type
+     *
+     * @return empty if they do not fit
+     */
+    public Optional<CartonSelection> pack(List<PackingInstruction> items, ContainerType containerType) {
+        return pack(items, Carton.of(containerType));
+    }
+
+    /**
+     * Pack all items into the given carton
+     *
+     * @return empty if they do not fit
+     */
+    public Optional<CartonSelection> pack(List<PackingInstruction> items, Carton carton) {
+        if (items == null || items.isEmpty()) {
+            return Optional.empty();
+        }
+        Units units = Units.of(items);
+        return units == null ? Optional.empty() : tryPack(items, units, carton);
+    }
+
+    private Optional<CartonSelection> tryPack(List<PackingInstruction> items, Units units, Carton candidate) {
+        if (candidate.getVolumeCubicInches() <= 0 // CUSTOM has no inner dimensions to pack into
+                || units.weightLb > candidate.maxWeightLb()
+                || units.volume > candidate.getVolumeCubicInches() + ExtremePointPacker.EPSILON) {
+            return Optional.empty();
+        }
+
+        double[] inner = candidate.getSortedDimensions();
+        if (units.shortestSide > inner[0] || units.middleSide > inner[1] || units.longestSide > inner[2]) {
+            return Optional.empty();
+        }
+
+        double[][] positions = new ExtremePointPacker(candidate.length(), candidate.width(), candidate.height())
+                .pack(units.dims);
+        if (positions == null) {
+            return Optional.empty();
+        }
+
+        List<Placement> placements = new ArrayList<>(positions.length);
+        for (int u = 0; u < positions.length; u++) {
+            PackingInstruction item = units.items[u];
+            double[] p = positions[u];
+            placements.add(new Placement(item.getInstructionId(), item.getItemSku(), p[0], p[1], p[2], p[3], p[4], p[5]));
+        }
+        return Optional.of(new CartonSelection(candidate, placements, units.weightLb));
+    }
+
+    /**
+     * Units of an order (one per expected quantity) in placement order:
+     * largest volume first, then longest side first
+     */
+    private static final class Units {
+
+        final PackingInstruction[] items;
+        final double[][] dims;
+        final double volume;
+        final double weightLb;
+        // Largest unit side of each rank, sides sorted shortest first
+        final double shortestSide;
+        final double middleSide;
+        final double longestSide;
+
+        private Units(PackingInstruction[] items, double[][] dims, double volume, double weightLb, double[] largestSides) {
+            this.items = items;
+            this.dims = dims;
+            this.volume = volume;
+            this.weightLb = weightLb;
+            this.shortestSide = largestSides[0];
+            this.middleSide = largestSides[1];
+            this.longestSide = largestSides[2];
+        }
+
+        static Units of(List<PackingInstruction> instructions) {
+            int count = 0;
+            double weightLb = 0;
+            for (PackingInstruction instruction : instructions) {
+                if (instruction.getItemWeight() != null) {
+                    weightLb += instruction.getItemWeight().toPounds() * instruction.getExpectedQuantity();
+                }
+                if (instruction.getItemDimensions() != null) {
+                    count += instruction.getExpectedQuantity();
+                }
+            }
+            if (count > MAX_UNITS) {
+                return null;
+            }
+
+            // Lines without dimensions only count towards weight
+            Integer[] order = new Integer[count];
+            PackingInstruction[] items = new PackingInstruction[count];
+            double[][] dims = new double[count][];
+            double volume = 0;
+            double[] largestSides = new double[3];
+            int u = 0;
+            for (PackingInstruction instruction : instructions) {
+                Dimensions d = instruction.getItemDimensions();
+                if (d == null) {
+                    continue;
+                }
+                Dimensions inches = d.convertTo(Dimensions.DimensionUnit.IN);
+                double[] unit = {inches.length(), inches.width(), inches.height()};
+                double[] sides = unit.clone();
+                Arrays.sort(sides);
+                for (int s = 0; s < 3; s++) {
+                    largestSides[s] = Math.max(largestSides[s], sides[s]);
+                }
+                for (int q = 0; q < instruction.getExpectedQuantity(); q++) {
+                    items[u] = instruction;
+                    dims[u] = unit;
+                    order[u] = u;
+                    volume += unit[0] * unit[1] * unit[2];
+                    u++;
+                }
+            }
+
+            Arrays.sort(order, Comparator
+                    .comparingDouble((Integer i) -> dims[i][0] * dims[i][1] * dims[i][2]).reversed()
+                    .thenComparing(Comparator.comparingDouble(
+                            (Integer i) -> Math.max(dims[i][0], Math.max(dims[i][1], dims[i][2]))).reversed()));
 
-    private CartonSelector() {
-        throw new UnsupportedOperationException(
-            "CartonSelector is temporarily disabled - missing required domain classes"
-        );
+            PackingInstruction[] sortedItems = new PackingInstruction[count];
+            double[][] sortedDims = new double[count][];
+            for (int i = 0; i < count; i++) {
+                sortedItems[i] = items[order[i]];
+                sortedDims[i] = dims[order[i]];
+            }
+            return new Units(sortedItems, sortedDims, volume, weightLb, largestSides);
+        }
     }
 }
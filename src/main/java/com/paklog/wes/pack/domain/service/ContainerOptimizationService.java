@@ -2,13 +2,16 @@ package com.paklog.wes.pack.domain.service;
 
 import com.paklog.wes.pack.domain.entity.Container;
 import com.paklog.wes.pack.domain.entity.PackingInstruction;
+import com.paklog.wes.pack.domain.valueobject.Carton;
+import com.paklog.wes.pack.domain.valueobject.CartonSelection;
+import com.paklog.wes.pack.domain.valueobject.ContainerPlan;
 import com.paklog.wes.pack.domain.valueobject.ContainerType;
-import com.paklog.wes.pack.domain.valueobject.Weight;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Domain service for container optimization
@@ -19,21 +22,43 @@ public class ContainerOptimizationService {
 
     private static final Logger logger = LoggerFactory.getLogger(ContainerOptimizationService.class);
 
-    private static final double MAX_CONTAINER_WEIGHT_LB = 70.0; // Standard shipping limit
+    private final CartonSelector cartonSelector;
+    private final CartonCatalog cartonCatalog;
+    private final ContainerPlanner containerPlanner;
+
+    public ContainerOptimizationService(CartonSelector cartonSelector) {
+        this.cartonSelector = cartonSelector;
+        this.cartonCatalog = cartonSelector.getCatalog();
+        this.containerPlanner = new ContainerPlanner(cartonSelector, this::recommendCarton);
+    }
 
     /**
      * Recommend best container type for list of items
      */
     public ContainerType recommendContainer(List<PackingInstruction> items) {
+        return recommendCarton(null, items).containerType();
+    }
+
+    /**
+     * Recommend the best carton the warehouse stocks for list of items
+     */
+    public Carton recommendCarton(String warehouseId, List<PackingInstruction> items) {
         if (items == null || items.isEmpty()) {
-            return ContainerType.SMALL_BOX;
+            return Carton.of(ContainerType.SMALL_BOX);
         }
 
-        logger.debug("Recommending container for {} items", items.size());
+        logger.debug("Recommending carton for {} items", items.size());
+
+        // Smallest carton that physically holds every unit
+        Optional<CartonSelection> selection = cartonSelector.selectCarton(warehouseId, items);
+        if (selection.isPresent()) {
+            return selection.get().carton();
+        }
 
+        // No single carton holds the order (or it is too large to plan) - fall back to totals
         // Calculate total weight
         double totalWeightLb = items.stream()
-                .mapToDouble(i -> i.getTotalWeight().toPounds())
+                .mapToDouble(PackingInstruction::getTotalWeightLb)
                 .sum();
 
         // Calculate total volume (if dimensions available)
@@ -42,11 +67,12 @@ public class ContainerOptimizationService {
                 .mapToDouble(i -> i.getItemDimensions().getVolumeInCubicInches())
                 .sum();
 
-        // Select container based on weight and volume
-        ContainerType recommended = selectContainerByWeightAndVolume(totalWeightLb, totalVolume);
+        // Select carton based on weight and volume
+        Carton recommended = selectCartonByWeightAndVolume(
+                cartonCatalog.forWarehouse(warehouseId), totalWeightLb, totalVolume);
 
-        logger.debug("Recommended container: {} for weight: {} lb, volume: {} cu.in.",
-                recommended, totalWeightLb, totalVolume);
+        logger.debug("Recommended carton: {} for weight: {} lb, volume: {} cu.in.",
+                recommended.cartonCode(), totalWeightLb, totalVolume);
 
         return recommended;
     }
@@ -59,10 +85,8 @@ public class ContainerOptimizationService {
             return false;
         }
 
-        Weight itemWeight = item.getTotalWeight();
-
         // Check weight capacity
-        if (!container.canHold(itemWeight)) {
+        if (!container.canHoldPounds(item.getTotalWeightLb())) {
             logger.debug("Item {} exceeds container {} weight capacity", item.getItemSku(), container.getContainerId());
             return false;
         }
@@ -91,29 +115,41 @@ public class ContainerOptimizationService {
     }
 
     /**
-     * Determine if items should be split across multiple containers
+     * Plan every container for an order up front in the standard boxes
      */
-    public boolean shouldSplitItems(List<PackingInstruction> items) {
+    public ContainerPlan planContainers(List<PackingInstruction> items) {
+        return planContainers(null, items);
+    }
+
+    /**
+     * Plan every container for an order up front: boxes the warehouse stocks
+     * plus which instructions go in each, minimizing container count and then
+     * total cube
+     */
+    public ContainerPlan planContainers(String warehouseId, List<PackingInstruction> items) {
         if (items == null || items.isEmpty()) {
-            return false;
+            return new ContainerPlan(List.of());
         }
 
-        double totalWeightLb = items.stream()
-                .mapToDouble(i -> i.getTotalWeight().toPounds())
-                .sum();
+        ContainerPlan plan = containerPlanner.plan(warehouseId, items);
 
-        // Split if exceeds max container weight
-        if (totalWeightLb > MAX_CONTAINER_WEIGHT_LB) {
-            logger.info("Items should be split: total weight {} lb exceeds max {} lb",
-                    totalWeightLb, MAX_CONTAINER_WEIGHT_LB);
-            return true;
+        logger.debug("Planned {} containers ({} cu.in.) for {} items",
+                plan.getContainerCount(), plan.getTotalVolumeCubicInches(), items.size());
+
+        return plan;
+    }
+
+    /**
+     * Determine if items should be split across multiple containers
+     */
+    public boolean shouldSplitItems(List<PackingInstruction> items) {
+        if (items == null || items.isEmpty()) {
+            return false;
         }
 
-        // Split if exceeds largest container capacity
-        ContainerType largest = ContainerType.EXTRA_LARGE_BOX;
-        if (totalWeightLb > largest.getMaxWeightLb()) {
-            logger.info("Items should be split: total weight {} lb exceeds largest container {} lb",
-                    totalWeightLb, largest.getMaxWeightLb());
+        ContainerPlan plan = planContainers(items);
+        if (plan.isSplit()) {
+            logger.info("Items should be split across {} containers", plan.getContainerCount());
             return true;
         }
 
@@ -128,17 +164,7 @@ public class ContainerOptimizationService {
             return 1;
         }
 
-        double totalWeightLb = items.stream()
-                .mapToDouble(i -> i.getTotalWeight().toPounds())
-                .sum();
-
-        // Use largest box as reference
-        double maxBoxWeight = ContainerType.EXTRA_LARGE_BOX.getMaxWeightLb();
-
-        // Calculate minimum containers needed based on weight
-        int containerCount = (int) Math.ceil(totalWeightLb / maxBoxWeight);
-
-        return Math.max(1, containerCount);
+        return Math.max(1, planContainers(items).getContainerCount());
     }
 
     /**
@@ -167,34 +193,21 @@ public class ContainerOptimizationService {
 
     // Private helper methods
 
-    private ContainerType selectContainerByWeightAndVolume(double weightLb, double volumeCuIn) {
-        // Check from smallest to largest
-        if (weightLb <= ContainerType.SMALL_BOX.getMaxWeightLb() &&
-            volumeCuIn <= ContainerType.SMALL_BOX.getVolumeCubicInches()) {
-            return ContainerType.SMALL_BOX;
-        }
-
-        if (weightLb <= ContainerType.MEDIUM_BOX.getMaxWeightLb() &&
-            volumeCuIn <= ContainerType.MEDIUM_BOX.getVolumeCubicInches()) {
-            return ContainerType.MEDIUM_BOX;
+    private Carton selectCartonByWeightAndVolume(CartonFitIndex index, double weightLb, double volumeCuIn) {
+        Carton smallest = index.smallestFitting(weightLb, volumeCuIn);
+        if (smallest != null) {
+            return smallest;
         }
 
-        if (weightLb <= ContainerType.LARGE_BOX.getMaxWeightLb() &&
-            volumeCuIn <= ContainerType.LARGE_BOX.getVolumeCubicInches()) {
-            return ContainerType.LARGE_BOX;
-        }
-
-        if (weightLb <= ContainerType.EXTRA_LARGE_BOX.getMaxWeightLb() &&
-            volumeCuIn <= ContainerType.EXTRA_LARGE_BOX.getVolumeCubicInches()) {
-            return ContainerType.EXTRA_LARGE_BOX;
-        }
-
-        // If too heavy for boxes, use pallet
-        if (weightLb <= ContainerType.PALLET.getMaxWeightLb()) {
-            return ContainerType.PALLET;
+        // Too bulky for every carton - use the largest that carries the weight (a pallet, typically)
+        List<Carton> cartons = index.getCartons();
+        for (int i = cartons.size() - 1; i >= 0; i--) {
+            if (weightLb <= cartons.get(i).maxWeightLb()) {
+                return cartons.get(i);
+            }
         }
 
         // Custom container needed
-        return ContainerType.CUSTOM;
+        return Carton.of(ContainerType.CUSTOM);
     }
 }
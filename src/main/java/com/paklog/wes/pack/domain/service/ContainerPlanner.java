@@ -0,0 +1,476 @@
+package com.paklog.wes.pack.domain.service;
+
+import com.paklog.wes.pack.domain.entity.PackingInstruction;
+import com.paklog.wes.pack.domain.valueobject.Carton;
+import com.paklog.wes.pack.domain.valueobject.CartonSelection;
+import com.paklog.wes.pack.domain.valueobject.ContainerPlan;
+import com.paklog.wes.pack.domain.valueobject.ContainerType;
+import com.paklog.wes.pack.domain.valueobject.Dimensions;
+import com.paklog.wes.pack.domain.valueobject.Placement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+/**
+ * Multi-container planner for orders that may not fit one box.
+ * <p>
+ * Plans are built from the boxes the warehouse stocks: its catalog cartons
+ * other than pallets, smallest first. Instructions are assigned whole, largest
+ * first, to the open container with the least capacity left after adding them
+ * (best-fit decreasing). A line's size is the larger of its share of the
+ * largest box's volume and of the highest weight limit. A local search then
+ * moves single lines and swaps pairs of lines between containers while that
+ * empties a container or shrinks the total cube of the right-sized boxes.
+ * Finally every container is checked with the 3D packer; lines that do not
+ * physically fit are peeled off, smallest first, and planned again.
+ * <p>
+ * A line that does not fit any box on its own gets a container of its own, in
+ * the carton the fallback rule picks. Stateless and thread-safe.
+ */
+final class ContainerPlanner {
+
+    /** Upper bound on local-search passes; each pass is O(lines^2) */
+    static final int MAX_IMPROVEMENT_PASSES = 8;
+
+    private static final double EPSILON = 1e-6;
+
+    private static final Comparator<Line> LARGEST_FIRST = Comparator
+            .comparingDouble((Line line) -> line.size).reversed()
+            .thenComparing(Comparator.comparingDouble((Line line) -> line.volume).reversed());
+
+    private final CartonSelector cartonSelector;
+    private final CartonCatalog cartonCatalog;
+    private final BiFunction<String, List<PackingInstruction>, Carton> oversizeCarton;
+
+    /**
+     * @param oversizeCarton carton of the warehouse for a line that does not fit any box on its own
+     */
+    ContainerPlanner(CartonSelector cartonSelector,
+                     BiFunction<String, List<PackingInstruction>, Carton> oversizeCarton) {
+        this.cartonSelector = cartonSelector;
+        this.cartonCatalog = cartonSelector.getCatalog();
+        this.oversizeCarton = oversizeCarton;
+    }
+
+    ContainerPlan plan(String warehouseId, List<PackingInstruction> instructions) {
+        Boxes boxes = Boxes.of(cartonCatalog.forWarehouse(warehouseId));
+        List<ContainerPlan.PlannedContainer> planned = new ArrayList<>();
+        List<Line> pending = new ArrayList<>(instructions.size());
+        for (PackingInstruction instruction : instructions) {
+            Line line = Line.of(instruction, boxes);
+            if (boxes.smallest(line.weightLb, line.volume, line.dims, null) < 0) {
+                planned.add(oversize(warehouseId, line));
+            } else {
+                pending.add(line);
+            }
+        }
+
+        // Every round plans at least one line, so this terminates
+        while (!pending.isEmpty()) {
+            pending.sort(LARGEST_FIRST);
+            List<Bin> bins = bestFitDecreasing(pending, boxes);
+            improve(bins, boxes);
+
+            pending = new ArrayList<>();
+            for (Bin bin : bins) {
+                planned.add(verify(warehouseId, bin, boxes, pending));
+            }
+        }
+        return new ContainerPlan(planned);
+    }
+
+    private List<Bin> bestFitDecreasing(List<Line> lines, Boxes boxes) {
+        List<Bin> bins = new ArrayList<>();
+        for (Line line : lines) {
+            Bin best = null;
+            double bestSlack = Double.MAX_VALUE;
+            for (Bin bin : bins) {
+                double weightLb = bin.weightLb + line.weightLb;
+                double volume = bin.volume + line.volume;
+                if (boxes.smallest(weightLb, volume, bin.dims, line.dims) < 0) {
+                    continue;
+                }
+                double slack = 1.0 - boxes.share(weightLb, volume);
+                if (slack < bestSlack) {
+                    best = bin;
+                    bestSlack = slack;
+                }
+            }
+            if (best == null) {
+                best = new Bin(boxes);
+                bins.add(best);
+            }
+            best.add(line);
+        }
+        return bins;
+    }
+
+    /**
+     * Move and swap lines between containers while the plan gets better:
+     * fewer containers first, then less total cube
+     */
+    private void improve(List<Bin> bins, Boxes boxes) {
+        for (int pass = 0; pass < MAX_IMPROVEMENT_PASSES && bins.size() > 1; pass++) {
+            boolean improved = moveLines(bins, boxes) | swapLines(bins, boxes);
+            bins.removeIf(bin -> bin.lines.isEmpty());
+            if (!improved) {
+                return;
+            }
+        }
+    }
+
+    private boolean moveLines(List<Bin> bins, Boxes boxes) {
+        boolean improved = false;
+        for (Bin from : bins) {
+            for (int k = from.lines.size() - 1; k >= 0; k--) {
+                Line line = from.lines.get(k);
+                boolean empties = from.lines.size() == 1;
+                int fromBound = empties ? -1 : from.lowerBoundWith(line, null);
+                int fromAfter = Integer.MIN_VALUE; // computed only when the bound allows a gain
+                for (Bin to : bins) {
+                    if (to == from || to.lines.isEmpty()) {
+                        continue;
+                    }
+                    int toAfter = to.boxWith(null, line);
+                    if (toAfter < 0) {
+                        continue;
+                    }
+                    double before = boxes.cube(from.box) + boxes.cube(to.box);
+                    if (!empties) {
+                        if (boxes.cube(fromBound) + boxes.cube(toAfter) >= before - EPSILON) {
+                            continue;
+                        }
+                        if (fromAfter == Integer.MIN_VALUE) {
+                            fromAfter = from.boxWith(line, null);
+                        }
+                        if (boxes.cube(fromAfter) + boxes.cube(toAfter) >= before - EPSILON) {
+                            continue;
+                        }
+                    }
+                    from.remove(k);
+                    to.add(line);
+                    improved = true;
+                    break;
+                }
+            }
+        }
+        return improved;
+    }
+
+    private boolean swapLines(List<Bin> bins, Boxes boxes) {
+        boolean improved = false;
+        for (int i = 0; i < bins.size(); i++) {
+            Bin a = bins.get(i);
+            for (int j = i + 1; j < bins.size(); j++) {
+                Bin b = bins.get(j);
+                if (a.lines.isEmpty() || b.lines.isEmpty() || (a.box == 0 && b.box == 0)) {
+                    continue;
+                }
+                double before = boxes.cube(a.box) + boxes.cube(b.box);
+                for (int ka = 0; ka < a.lines.size(); ka++) {
+                    for (int kb = 0; kb < b.lines.size(); kb++) {
+                        Line la = a.lines.get(ka);
+                        Line lb = b.lines.get(kb);
+                        int aBound = a.lowerBoundWith(la, lb);
+                        int bBound = b.lowerBoundWith(lb, la);
+                        if (aBound < 0 || bBound < 0 || boxes.cube(aBound) + boxes.cube(bBound) >= before - EPSILON) {
+                            continue;
+                        }
+                        int aAfter = a.boxWith(la, lb);
+                        int bAfter = aAfter < 0 ? -1 : b.boxWith(lb, la);
+                        if (bAfter < 0 || boxes.cube(aAfter) + boxes.cube(bAfter) >= before - EPSILON) {
+                            continue;
+                        }
+                        a.replace(ka, lb);
+                        b.replace(kb, la);
+                        before = boxes.cube(a.box) + boxes.cube(b.box);
+                        improved = true;
+                    }
+                }
+            }
+        }
+        return improved;
+    }
+
+    /**
+     * Confirm the container physically holds its lines, peeling off the
+     * smallest line until it does
+     */
+    private ContainerPlan.PlannedContainer verify(String warehouseId, Bin bin, Boxes boxes, List<Line> pending) {
+        while (true) {
+            List<PackingInstruction> instructions = bin.instructions();
+            Optional<CartonSelection> selection =
+                    cartonSelector.selectCarton(instructions, boxes.from(bin.box));
+            if (selection.isPresent()) {
+                return new ContainerPlan.PlannedContainer(
+                        selection.get().carton(),
+                        instructionIds(instructions),
+                        bin.weightLb,
+                        selection.get().placements()
+                );
+            }
+            if (bin.lines.size() == 1) {
+                return oversize(warehouseId, bin.lines.get(0));
+            }
+            pending.add(bin.removeSmallest());
+        }
+    }
+
+    private ContainerPlan.PlannedContainer oversize(String warehouseId, Line line) {
+        List<PackingInstruction> instructions = List.of(line.instruction);
+        Carton carton = oversizeCarton.apply(warehouseId, instructions);
+        List<Placement> placements = cartonSelector.pack(instructions, carton)
+                .map(CartonSelection::placements)
+                .orElse(List.of());
+        return new ContainerPlan.PlannedContainer(carton, instructionIds(instructions), line.weightLb, placements);
+    }
+
+    private static List<String> instructionIds(List<PackingInstruction> instructions) {
+        List<String> ids = new ArrayList<>(instructions.size());
+        for (PackingInstruction instruction : instructions) {
+            ids.add(instruction.getInstructionId());
+        }
+        return ids;
+    }
+
+    private static double[] sorted(double a, double b, double c) {
+        double[] dims = {a, b, c};
+        Arrays.sort(dims);
+        return dims;
+    }
+
+    /**
+     * Boxes a plan is built from, smallest first, with their sorted inner sides
+     */
+    private static final class Boxes {
+
+        final List<Carton> cartons;
+        final double[][] dims;
+        final double maxVolume;
+        final double maxWeightLb;
+
+        private Boxes(List<Carton> cartons) {
+            this.cartons = cartons;
+            this.dims = new double[cartons.size()][];
+            double volume = 0.0;
+            double weightLb = 0.0;
+            for (int b = 0; b < cartons.size(); b++) {
+                Carton carton = cartons.get(b);
+                dims[b] = carton.getSortedDimensions();
+                volume = Math.max(volume, carton.getVolumeCubicInches());
+                weightLb = Math.max(weightLb, carton.maxWeightLb());
+            }
+            this.maxVolume = volume;
+            this.maxWeightLb = weightLb;
+        }
+
+        static Boxes of(CartonFitIndex index) {
+            List<Carton> boxes = new ArrayList<>(index.size());
+            for (Carton carton : index.getCartons()) {
+                if (carton.containerType() != ContainerType.PALLET && carton.getVolumeCubicInches() > 0) {
+                    boxes.add(carton);
+                }
+            }
+            return new Boxes(boxes);
+        }
+
+        /**
+         * The larger of a load's share of the largest box's volume and of the highest weight limit
+         */
+        double share(double weightLb, double volume) {
+            return Math.max(volume / maxVolume, weightLb / maxWeightLb);
+        }
+
+        double cube(int box) {
+            return box < 0 ? 0.0 : cartons.get(box).getVolumeCubicInches();
+        }
+
+        /**
+         * This box and every larger one
+         */
+        List<Carton> from(int box) {
+            return cartons.subList(box, cartons.size());
+        }
+
+        /**
+         * Index of the smallest box within weight, volume and per-unit size limits, or -1
+         */
+        int smallest(double weightLb, double volume, double[] unitDims, double[] moreDims) {
+            for (int b = 0; b < cartons.size(); b++) {
+                if (fits(b, weightLb, volume, unitDims, moreDims)) {
+                    return b;
+                }
+            }
+            return -1;
+        }
+
+        private boolean fits(int box, double weightLb, double volume, double[] unitDims, double[] moreDims) {
+            Carton carton = cartons.get(box);
+            if (weightLb > carton.maxWeightLb() + EPSILON || volume > carton.getVolumeCubicInches() + EPSILON) {
+                return false;
+            }
+            double[] limits = dims[box];
+            for (int d = 0; d < 3; d++) {
+                double largest = Math.max(unitDims == null ? 0.0 : unitDims[d], moreDims == null ? 0.0 : moreDims[d]);
+                if (largest > limits[d] + EPSILON) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * One instruction with all of its units
+     */
+    private static final class Line {
+
+        final PackingInstruction instruction;
+        final double weightLb;
+        final double volume;
+        final double[] dims; // one unit, shortest side first, null if unknown
+        final double size;
+
+        private Line(PackingInstruction instruction, double weightLb, double volume, double[] dims, Boxes boxes) {
+            this.instruction = instruction;
+            this.weightLb = weightLb;
+            this.volume = volume;
+            this.dims = dims;
+            this.size = boxes.share(weightLb, volume);
+        }
+
+        static Line of(PackingInstruction instruction, Boxes boxes) {
+            int quantity = Math.max(0, instruction.getExpectedQuantity());
+            double weightLb = instruction.getItemWeight() != null
+                    ? instruction.getItemWeight().toPounds() * quantity
+                    : 0.0;
+            Dimensions d = instruction.getItemDimensions();
+            if (d == null) {
+                return new Line(instruction, weightLb, 0.0, null, boxes);
+            }
+            Dimensions inches = d.convertTo(Dimensions.DimensionUnit.IN);
+            double[] dims = sorted(inches.length(), inches.width(), inches.height());
+            return new Line(instruction, weightLb, dims[0] * dims[1] * dims[2] * quantity, dims, boxes);
+        }
+    }
+
+    /**
+     * A container being planned; box is the smallest box holding its lines
+     */
+    private static final class Bin {
+
+        final Boxes boxes;
+        final List<Line> lines = new ArrayList<>();
+        final double[] dims = new double[3];
+        double weightLb;
+        double volume;
+        int box = -1;
+
+        Bin(Boxes boxes) {
+            this.boxes = boxes;
+        }
+
+        void add(Line line) {
+            lines.add(line);
+            weightLb += line.weightLb;
+            volume += line.volume;
+            if (line.dims != null) {
+                for (int d = 0; d < 3; d++) {
+                    dims[d] = Math.max(dims[d], line.dims[d]);
+                }
+            }
+            box = boxes.smallest(weightLb, volume, dims, null);
+        }
+
+        void remove(int index) {
+            lines.remove(index);
+            recompute();
+        }
+
+        void replace(int index, Line line) {
+            lines.set(index, line);
+            recompute();
+        }
+
+        Line removeSmallest() {
+            int smallest = 0;
+            for (int k = 1; k < lines.size(); k++) {
+                if (LARGEST_FIRST.compare(lines.get(k), lines.get(smallest)) > 0) {
+                    smallest = k;
+                }
+            }
+            Line line = lines.remove(smallest);
+            recompute();
+            return line;
+        }
+
+        /**
+         * Smallest box for these lines without one line and with another, or -1
+         */
+        int boxWith(Line without, Line with) {
+            if (without == null) {
+                return boxes.smallest(weightLb + with.weightLb, volume + with.volume, dims, with.dims);
+            }
+            double w = 0.0;
+            double v = 0.0;
+            double[] maxDims = new double[3];
+            for (Line line : lines) {
+                if (line == without) {
+                    continue;
+                }
+                w += line.weightLb;
+                v += line.volume;
+                if (line.dims != null) {
+                    for (int d = 0; d < 3; d++) {
+                        maxDims[d] = Math.max(maxDims[d], line.dims[d]);
+                    }
+                }
+            }
+            if (with == null) {
+                return boxes.smallest(w, v, maxDims, null);
+            }
+            return boxes.smallest(w + with.weightLb, v + with.volume, maxDims, with.dims);
+        }
+
+        /**
+         * Like {@link #boxWith} but from running totals only, ignoring the sides of
+         * the remaining lines: never larger than the real box, and O(1)
+         */
+        int lowerBoundWith(Line without, Line with) {
+            double w = weightLb - without.weightLb;
+            double v = volume - without.volume;
+            if (with == null) {
+                return boxes.smallest(w, v, null, null);
+            }
+            return boxes.smallest(w + with.weightLb, v + with.volume, with.dims, null);
+        }
+
+        List<PackingInstruction> instructions() {
+            List<PackingInstruction> instructions = new ArrayList<>(lines.size());
+            for (Line line : lines) {
+                instructions.add(line.instruction);
+            }
+            return instructions;
+        }
+
+        private void recompute() {
+            weightLb = 0.0;
+            volume = 0.0;
+            Arrays.fill(dims, 0.0);
+            for (Line line : lines) {
+                weightLb += line.weightLb;
+                volume += line.volume;
+                if (line.dims != null) {
+                    for (int d = 0; d < 3; d++) {
+                        dims[d] = Math.max(dims[d], line.dims[d]);
+                    }
+                }
+            }
+            box = lines.isEmpty() ? -1 : boxes.smallest(weightLb, volume, dims, null);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.paklog.wes.pack.domain.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Single-container 3D packer using the extreme-point heuristic
+ * (Crainic, Perboli and Tadei, 2008) with all six axis-aligned rotations.
+ * <p>
+ * Units are placed in the given order, each at the first extreme point (sorted
+ * bottom-back-left) where some rotation fits without overlapping placed units.
+ * Placing a unit adds its three outer corners and their projections back onto
+ * the container walls or neighbouring units as new extreme points. There is no
+ * support or stacking constraint: a unit may rest partly on air.
+ * <p>
+ * Works on primitive arrays only; a packer instance is not thread-safe.
+ */
+final class ExtremePointPacker {
+
+    static final double EPSILON = 1e-6;
+
+    private final double binLength;
+    private final double binWidth;
+    private final double binHeight;
+
+    private double[] px = new double[16];
+    private double[] py = new double[16];
+    private double[] pz = new double[16];
+    private double[] pl = new double[16];
+    private double[] pw = new double[16];
+    private double[] ph = new double[16];
+    private int placed;
+    private int lastCollision; // checked first: a rejected position usually collides with the same unit again
+
+    /** Extreme points as {x, y, z}, kept sorted by z, then y, then x */
+    private final List<double[]> points = new ArrayList<>();
+
+    ExtremePointPacker(double binLength, double binWidth, double binHeight) {
+        this.binLength = binLength;
+        this.binWidth = binWidth;
+        this.binHeight = binHeight;
+    }
+
+    /**
+     * Pack all units or none.
+     *
+     * @param units {length, width, height} per unit, in the order to place them
+     * @return {x, y, z, length, width, height} per unit (same order, rotation applied),
+     *         or null if some unit could not be placed
+     */
+    double[][] pack(double[][] units) {
+        reset(units.length);
+        double[][] result = new double[units.length][];
+        for (int u = 0; u < units.length; u++) {
+            result[u] = place(units[u]);
+            if (result[u] == null) {
+                return null;
+            }
+        }
+        return result;
+    }
+
+    private void reset(int capacity) {
+        if (px.length < capacity) {
+            px = new double[capacity];
+            py = new double[capacity];
+            pz = new double[capacity];
+            pl = new double[capacity];
+            pw = new double[capacity];
+            ph = new double[capacity];
+        }
+        placed = 0;
+        lastCollision = 0;
+        points.clear();
+        points.add(new double[]{0, 0, 0});
+    }
+
+    private double[] place(double[] unit) {
+        double[][] rotations = rotations(unit[0], unit[1], unit[2]);
+        for (int p = 0; p < points.size(); p++) {
+            double[] point = points.get(p);
+            for (double[] r : rotations) {
+                if (r == null) {
+                    continue;
+                }
+                if (fits(point[0], point[1], point[2], r[0], r[1], r[2])) {
+                    points.remove(p);
+                    commit(point[0], point[1], point[2], r[0], r[1], r[2]);
+                    return new double[]{point[0], point[1], point[2], r[0], r[1], r[2]};
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean fits(double x, double y, double z, double l, double w, double h) {
+        if (x + l > binLength + EPSILON || y + w > binWidth + EPSILON || z + h > binHeight + EPSILON) {
+            return false;
+        }
+        if (lastCollision < placed && overlaps(lastCollision, x, y, z, l, w, h)) {
+            return false;
+        }
+        for (int i = 0; i < placed; i++) {
+            if (overlaps(i, x, y, z, l, w, h)) {
+                lastCollision = i;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean overlaps(int i, double x, double y, double z, double l, double w, double h) {
+        return x < px[i] + pl[i] - EPSILON && x + l > px[i] + EPSILON
+                && y < py[i] + pw[i] - EPSILON && y + w > py[i] + EPSILON
+                && z < pz[i] + ph[i] - EPSILON && z + h > pz[i] + EPSILON;
+    }
+
+    private void commit(double x, double y, double z, double l, double w, double h) {
+        px[placed] = x;
+        py[placed] = y;
+        pz[placed] = z;
+        pl[placed] = l;
+        pw[placed] = w;
+        ph[placed] = h;
+        placed++;
+
+        // Drop extreme points now covered by the new unit
+        points.removeIf(p -> p[0] >= x - EPSILON && p[0] < x + l - EPSILON
+                && p[1] >= y - EPSILON && p[1] < y + w - EPSILON
+                && p[2] >= z - EPSILON && p[2] < z + h - EPSILON);
+
+        // Corner in front of the unit along x, projected back along y and down along z
+        addPoint(x + l, y, z);
+        addPoint(x + l, projectY(x + l, y, z), z);
+        addPoint(x + l, y, projectZ(x + l, y, z));
+        // Corner beside the unit along y, projected along x and z
+        addPoint(x, y + w, z);
+        addPoint(projectX(x, y + w, z), y + w, z);
+        addPoint(x, y + w, projectZ(x, y + w, z));
+        // Corner on top of the unit, projected along x and y
+        addPoint(x, y, z + h);
+        addPoint(projectX(x, y, z + h), y, z + h);
+        addPoint(x, projectY(x, y, z + h), z + h);
+    }
+
+    /** Slide a point towards x = 0 until it meets a placed unit */
+    private double projectX(double x, double y, double z) {
+        double best = 0;
+        for (int i = 0; i < placed; i++) {
+            double face = px[i] + pl[i];
+            if (face <= x + EPSILON && face > best
+                    && y >= py[i] - EPSILON && y < py[i] + pw[i] - EPSILON
+                    && z >= pz[i] - EPSILON && z < pz[i] + ph[i] - EPSILON) {
+                best = face;
+            }
+        }
+        return best;
+    }
+
+    /** Slide a point towards y = 0 until it meets a placed unit */
+    private double projectY(double x, double y, double z) {
+        double best = 0;
+        for (int i = 0; i < placed; i++) {
+            double face = py[i] + pw[i];
+            if (face <= y + EPSILON && face > best
+                    && x >= px[i] - EPSILON && x < px[i] + pl[i] - EPSILON
+                    && z >= pz[i] - EPSILON && z < pz[i] + ph[i] - EPSILON) {
+                best = face;
+            }
+        }
+        return best;
+    }
+
+    /** Drop a point towards z = 0 until it meets a placed unit */
+    private double projectZ(double x, double y, double z) {
+        double best = 0;
+        for (int i = 0; i < placed; i++) {
+            double face = pz[i] + ph[i];
+            if (face <= z + EPSILON && face > best
+                    && x >= px[i] - EPSILON && x < px[i] + pl[i] - EPSILON
+                    && y >= py[i] - EPSILON && y < py[i] + pw[i] - EPSILON) {
+                best = face;
+            }
+        }
+        return best;
+    }
+
+    private void addPoint(double x, double y, double z) {
+        if (x >= binLength - EPSILON || y >= binWidth - EPSILON || z >= binHeight - EPSILON) {
+            return; // on the far wall, nothing can start here
+        }
+        int insertAt = points.size();
+        for (int i = 0; i < points.size(); i++) {
+            double[] p = points.get(i);
+            if (Math.abs(p[0] - x) < EPSILON && Math.abs(p[1] - y) < EPSILON && Math.abs(p[2] - z) < EPSILON) {
+                return; // duplicate
+            }
+            if (insertAt == points.size() && compare(x, y, z, p) < 0) {
+                insertAt = i;
+            }
+        }
+        points.add(insertAt, new double[]{x, y, z});
+    }
+
+    private static int compare(double x, double y, double z, double[] p) {
+        if (Math.abs(z - p[2]) >= EPSILON) {
+            return z < p[2] ? -1 : 1;
+        }
+        if (Math.abs(y - p[1]) >= EPSILON) {
+            return y < p[1] ? -1 : 1;
+        }
+        if (Math.abs(x - p[0]) >= EPSILON) {
+            return x < p[0] ? -1 : 1;
+        }
+        return 0;
+    }
+
+    /**
+     * The six axis-aligned orientations, flattest first; duplicates of a
+     * cube-like unit are returned as null
+     */
+    private static double[][] rotations(double a, double b, double c) {
+        double[][] all = {
+                {a, b, c}, {b, a, c},
+                {a, c, b}, {c, a, b},
+                {b, c, a}, {c, b, a}
+        };
+        Arrays.sort(all, (r1, r2) -> Double.compare(r1[2], r2[2]));
+        for (int i = 1; i < all.length; i++) {
+            for (int j = 0; j < i; j++) {
+                if (all[j] != null && all[i][0] == all[j][0] && all[i][1] == all[j][1] && all[i][2] == all[j][2]) {
+                    all[i] = null;
+                    break;
+                }
+            }
+        }
+        return all;
+    }
+}
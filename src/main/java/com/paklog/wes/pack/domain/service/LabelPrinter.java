@@ -0,0 +1,30 @@
+package com.paklog.wes.pack.domain.service;
+
+import com.paklog.wes.pack.domain.entity.ShippingLabel;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends label bytes to a label printer
+ */
+public interface LabelPrinter {
+
+    /**
+     * Queue the label for the printer. The future completes once the bytes
+     * were handed to a printer, possibly a sibling of the requested one, and
+     * the label was marked printed; it fails when no printer took the label.
+     *
+     * @param label label with its content attached
+     */
+    CompletableFuture<PrintReceipt> print(String printerId, ShippingLabel label);
+
+    /**
+     * Where a label was printed
+     */
+    record PrintReceipt(String labelId, String requestedPrinterId, String printerId) {
+
+        public boolean isFailedOver() {
+            return !requestedPrinterId.equals(printerId);
+        }
+    }
+}
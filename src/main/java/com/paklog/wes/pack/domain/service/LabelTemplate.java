@@ -0,0 +1,329 @@
+package com.paklog.wes.pack.domain.service;
+
+import com.paklog.wes.pack.domain.entity.ShippingLabel;
+import com.paklog.wes.pack.domain.valueobject.Address;
+import com.paklog.wes.pack.domain.valueobject.CarrierType;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Printer label template compiled once into static byte segments and field
+ * slots.
+ * <p>
+ * Template source is ZPL or EPL with {@code ${field}} placeholders, see
+ * {@link Field}. Compiling resolves the carrier name into the static bytes;
+ * rendering copies the segments into the caller's buffer and writes each slot
+ * escaped for the printer language, char by char, so a label costs no Strings,
+ * no format parsing and no garbage besides the buffer the caller reuses.
+ * <p>
+ * ZPL slots must sit in a field opened with {@code ^FH}: {@code ^}, {@code ~},
+ * {@code _}, control characters and the UTF-8 bytes of non-ASCII characters are
+ * written as {@code _XX} hex, which needs {@code ^CI28} in the template for
+ * non-ASCII text. EPL slots must sit inside a quoted string: {@code "} and
+ * {@code \} are backslash-escaped and characters outside printable ASCII print
+ * as {@code ?}.
+ */
+public final class LabelTemplate {
+
+    private static final int INITIAL_SCRATCH_BYTES = 4096;
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    private static final ThreadLocal<ByteBuffer> SCRATCH =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocate(INITIAL_SCRATCH_BYTES));
+
+    /**
+     * Values a template can place; {@link #CARRIER_NAME} is resolved at compile time
+     */
+    public enum Field {
+        TRACKING_NUMBER("trackingNumber"),
+        CARRIER_NAME("carrierName"),
+        SHIP_TO_STREET1("shipToStreet1"),
+        SHIP_TO_STREET2("shipToStreet2"),
+        SHIP_TO_CITY("shipToCity"),
+        SHIP_TO_STATE("shipToState"),
+        SHIP_TO_ZIP_CODE("shipToZipCode"),
+        SHIP_TO_COUNTRY("shipToCountry"),
+        FROM_STREET1("fromStreet1"),
+        FROM_CITY("fromCity"),
+        FROM_STATE("fromState"),
+        FROM_ZIP_CODE("fromZipCode"),
+        FROM_COUNTRY("fromCountry"),
+        WEIGHT_LB("weightLb");
+
+        private final String placeholder;
+
+        Field(String placeholder) {
+            this.placeholder = placeholder;
+        }
+
+        public String getPlaceholder() {
+            return placeholder;
+        }
+
+        static Field fromPlaceholder(String placeholder) {
+            for (Field field : values()) {
+                if (field.placeholder.equals(placeholder)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException("Unknown label field: " + placeholder);
+        }
+    }
+
+    private final ShippingLabel.LabelFormat format;
+    private final CarrierType carrier;
+    // segments[i] precedes fields[i]; the last segment follows the last field
+    private final byte[][] segments;
+    private final Field[] fields;
+
+    private LabelTemplate(ShippingLabel.LabelFormat format, CarrierType carrier, byte[][] segments, Field[] fields) {
+        this.format = format;
+        this.carrier = carrier;
+        this.segments = segments;
+        this.fields = fields;
+    }
+
+    /**
+     * Compile template source for a carrier
+     *
+     * @throws IllegalArgumentException for formats other than ZPL and EPL, unknown
+     *                                  or unterminated placeholders, and slots outside
+     *                                  an escaping context
+     */
+    public static LabelTemplate compile(ShippingLabel.LabelFormat format, CarrierType carrier, String source) {
+        Objects.requireNonNull(format, "Format cannot be null");
+        Objects.requireNonNull(carrier, "Carrier cannot be null");
+        Objects.requireNonNull(source, "Template source cannot be null");
+        if (format != ShippingLabel.LabelFormat.ZPL && format != ShippingLabel.LabelFormat.EPL) {
+            throw new IllegalArgumentException("Label templates support ZPL and EPL only, not " + format);
+        }
+
+        List<byte[]> segments = new ArrayList<>();
+        List<Field> fields = new ArrayList<>();
+        ByteArrayOutputStream pending = new ByteArrayOutputStream();
+
+        int from = 0;
+        while (true) {
+            int start = source.indexOf("${", from);
+            if (start < 0) {
+                pending.writeBytes(source.substring(from).getBytes(StandardCharsets.UTF_8));
+                break;
+            }
+            int end = source.indexOf('}', start);
+            if (end < 0) {
+                throw new IllegalArgumentException("Unterminated placeholder at offset " + start);
+            }
+            Field field = Field.fromPlaceholder(source.substring(start + 2, end));
+            requireEscapingContext(format, source, start, field);
+
+            pending.writeBytes(source.substring(from, start).getBytes(StandardCharsets.UTF_8));
+            if (field == Field.CARRIER_NAME) {
+                // At most four escaped UTF-8 bytes of three characters each per char
+                ByteBuffer name = ByteBuffer.allocate(carrier.getFullName().length() * 12);
+                writeText(format, carrier.getFullName(), name);
+                pending.write(name.array(), 0, name.position());
+            } else {
+                segments.add(pending.toByteArray());
+                fields.add(field);
+                pending.reset();
+            }
+            from = end + 1;
+        }
+        segments.add(pending.toByteArray());
+
+        return new LabelTemplate(format, carrier, segments.toArray(new byte[0][]), fields.toArray(new Field[0]));
+    }
+
+    /**
+     * Render a label into the buffer at its position
+     *
+     * @param fromAddress may be null; its fields render empty
+     * @return bytes written
+     * @throws BufferOverflowException if the label does not fit in the remaining space
+     */
+    public int render(String trackingNumber, Address shipTo, Address fromAddress, double weightLb, ByteBuffer out) {
+        int start = out.position();
+        for (int i = 0; i < fields.length; i++) {
+            out.put(segments[i]);
+            switch (fields[i]) {
+                case TRACKING_NUMBER -> writeText(format, trackingNumber, out);
+                case SHIP_TO_STREET1 -> writeText(format, shipTo.street1(), out);
+                case SHIP_TO_STREET2 -> writeText(format, shipTo.street2(), out);
+                case SHIP_TO_CITY -> writeText(format, shipTo.city(), out);
+                case SHIP_TO_STATE -> writeText(format, shipTo.state(), out);
+                case SHIP_TO_ZIP_CODE -> writeText(format, shipTo.zipCode(), out);
+                case SHIP_TO_COUNTRY -> writeText(format, shipTo.country(), out);
+                case FROM_STREET1 -> writeText(format, fromAddress != null ? fromAddress.street1() : null, out);
+                case FROM_CITY -> writeText(format, fromAddress != null ? fromAddress.city() : null, out);
+                case FROM_STATE -> writeText(format, fromAddress != null ? fromAddress.state() : null, out);
+                case FROM_ZIP_CODE -> writeText(format, fromAddress != null ? fromAddress.zipCode() : null, out);
+                case FROM_COUNTRY -> writeText(format, fromAddress != null ? fromAddress.country() : null, out);
+                case WEIGHT_LB -> writeHundredths(weightLb, out);
+                case CARRIER_NAME -> throw new IllegalStateException("Carrier name is resolved at compile time");
+            }
+        }
+        out.put(segments[fields.length]);
+        return out.position() - start;
+    }
+
+    /**
+     * Render a label into a new array sized to the label, using a per-thread
+     * scratch buffer that grows for oversized labels
+     */
+    public byte[] render(String trackingNumber, Address shipTo, Address fromAddress, double weightLb) {
+        ByteBuffer scratch = SCRATCH.get();
+        while (true) {
+            scratch.clear();
+            try {
+                int length = render(trackingNumber, shipTo, fromAddress, weightLb, scratch);
+                return Arrays.copyOf(scratch.array(), length);
+            } catch (BufferOverflowException e) {
+                scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+                SCRATCH.set(scratch);
+            }
+        }
+    }
+
+    public ShippingLabel.LabelFormat getFormat() {
+        return format;
+    }
+
+    public CarrierType getCarrier() {
+        return carrier;
+    }
+
+    /**
+     * Field slots in template order
+     */
+    public List<Field> getFields() {
+        return List.of(fields);
+    }
+
+    // Private helper methods
+
+    private static void requireEscapingContext(ShippingLabel.LabelFormat format, String source, int slot, Field field) {
+        if (format == ShippingLabel.LabelFormat.ZPL) {
+            // The field holding the slot must enable hex escapes before the slot
+            int fieldStart = Math.max(0, Math.max(source.lastIndexOf("^FS", slot), source.lastIndexOf("^XA", slot)));
+            int hexIndicator = source.indexOf("^FH", fieldStart);
+            if (hexIndicator < 0 || hexIndicator > slot) {
+                throw new IllegalArgumentException("ZPL field for ${" + field.placeholder + "} needs ^FH");
+            }
+        } else {
+            int lineStart = source.lastIndexOf('\n', slot) + 1;
+            int quotes = 0;
+            for (int i = lineStart; i < slot; i++) {
+                if (source.charAt(i) == '"') {
+                    quotes++;
+                }
+            }
+            if (quotes % 2 == 0) {
+                throw new IllegalArgumentException("EPL ${" + field.placeholder + "} must be inside quotes");
+            }
+        }
+    }
+
+    private static void writeText(ShippingLabel.LabelFormat format, String text, ByteBuffer out) {
+        if (text == null) {
+            return;
+        }
+        if (format == ShippingLabel.LabelFormat.ZPL) {
+            writeZpl(text, out);
+        } else {
+            writeEpl(text, out);
+        }
+    }
+
+    private static void writeZpl(String text, ByteBuffer out) {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                if (c < 0x20 || c == 0x7F || c == '^' || c == '~' || c == '_') {
+                    writeHex(c, out);
+                } else {
+                    out.put((byte) c);
+                }
+            } else {
+                int codePoint = c;
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    codePoint = Character.toCodePoint(c, text.charAt(++i));
+                } else if (Character.isSurrogate(c)) {
+                    codePoint = '?';
+                }
+                writeUtf8Hex(codePoint, out);
+            }
+        }
+    }
+
+    private static void writeUtf8Hex(int codePoint, ByteBuffer out) {
+        if (codePoint < 0x80) {
+            writeHex(codePoint, out);
+        } else if (codePoint < 0x800) {
+            writeHex(0xC0 | (codePoint >> 6), out);
+            writeHex(0x80 | (codePoint & 0x3F), out);
+        } else if (codePoint < 0x10000) {
+            writeHex(0xE0 | (codePoint >> 12), out);
+            writeHex(0x80 | ((codePoint >> 6) & 0x3F), out);
+            writeHex(0x80 | (codePoint & 0x3F), out);
+        } else {
+            writeHex(0xF0 | (codePoint >> 18), out);
+            writeHex(0x80 | ((codePoint >> 12) & 0x3F), out);
+            writeHex(0x80 | ((codePoint >> 6) & 0x3F), out);
+            writeHex(0x80 | (codePoint & 0x3F), out);
+        }
+    }
+
+    private static void writeHex(int value, ByteBuffer out) {
+        out.put((byte) '_');
+        out.put(HEX[(value >> 4) & 0xF]);
+        out.put(HEX[value & 0xF]);
+    }
+
+    private static void writeEpl(String text, ByteBuffer out) {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.put((byte) '\\');
+                out.put((byte) c);
+            } else if (c >= 0x20 && c < 0x7F) {
+                out.put((byte) c);
+            } else {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    i++;
+                }
+                out.put((byte) '?');
+            }
+        }
+    }
+
+    /**
+     * Write a non-negative value with two decimals, e.g. 12.5 as "12.50"
+     */
+    private static void writeHundredths(double value, ByteBuffer out) {
+        long hundredths = value > 0 && Double.isFinite(value) ? Math.round(value * 100) : 0;
+        writeDigits(hundredths / 100, out);
+        out.put((byte) '.');
+        long cents = hundredths % 100;
+        out.put((byte) ('0' + cents / 10));
+        out.put((byte) ('0' + cents % 10));
+    }
+
+    private static void writeDigits(long value, ByteBuffer out) {
+        long divisor = 1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            out.put((byte) ('0' + (value / divisor) % 10));
+        }
+    }
+}
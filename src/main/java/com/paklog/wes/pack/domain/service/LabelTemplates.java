@@ -0,0 +1,83 @@
+package com.paklog.wes.pack.domain.service;
+
+import com.paklog.wes.pack.domain.entity.ShippingLabel;
+import com.paklog.wes.pack.domain.valueobject.CarrierType;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Compiled label templates per carrier and printer language, built once.
+ * Layouts target 4x6 in labels at 203 dpi.
+ */
+public final class LabelTemplates {
+
+    static final String STANDARD_ZPL = """
+            ^XA
+            ^CI28
+            ^PW812^LL1218
+            ^FO50,40^A0N,45,45^FH^FD${carrierName}^FS
+            ^FO50,110^A0N,25,25^FH^FDFROM: ${fromStreet1}^FS
+            ^FO50,140^A0N,25,25^FH^FD${fromCity} ${fromState} ${fromZipCode} ${fromCountry}^FS
+            ^FO50,210^A0N,30,30^FDSHIP TO:^FS
+            ^FO50,250^A0N,40,40^FH^FD${shipToStreet1}^FS
+            ^FO50,300^A0N,40,40^FH^FD${shipToStreet2}^FS
+            ^FO50,350^A0N,40,40^FH^FD${shipToCity}, ${shipToState} ${shipToZipCode}^FS
+            ^FO50,400^A0N,40,40^FH^FD${shipToCountry}^FS
+            ^FO50,480^A0N,30,30^FH^FDWEIGHT: ${weightLb} LB^FS
+            ^FO50,560^A0N,50,50^FH^FD${trackingNumber}^FS
+            ^FO50,640^BY3^BCN,200,Y,N,N^FH^FD${trackingNumber}^FS
+            ^XZ
+            """;
+
+    // Leading line feed clears any partial command left in the printer buffer
+    static final String STANDARD_EPL = """
+
+            N
+            q812
+            Q1218,24
+            A50,40,0,4,1,1,N,"${carrierName}"
+            A50,110,0,2,1,1,N,"FROM: ${fromStreet1}"
+            A50,140,0,2,1,1,N,"${fromCity} ${fromState} ${fromZipCode} ${fromCountry}"
+            A50,210,0,3,1,1,N,"SHIP TO:"
+            A50,250,0,4,1,1,N,"${shipToStreet1}"
+            A50,300,0,4,1,1,N,"${shipToStreet2}"
+            A50,350,0,4,1,1,N,"${shipToCity}, ${shipToState} ${shipToZipCode}"
+            A50,400,0,4,1,1,N,"${shipToCountry}"
+            A50,480,0,3,1,1,N,"WEIGHT: ${weightLb} LB"
+            A50,560,0,4,1,1,N,"${trackingNumber}"
+            B50,640,0,1,3,7,200,B,"${trackingNumber}"
+            P1
+            """;
+
+    private final Map<CarrierType, LabelTemplate> zpl = new EnumMap<>(CarrierType.class);
+    private final Map<CarrierType, LabelTemplate> epl = new EnumMap<>(CarrierType.class);
+
+    private LabelTemplates() {
+    }
+
+    /**
+     * The standard layout compiled for every carrier
+     */
+    public static LabelTemplates standard() {
+        LabelTemplates templates = new LabelTemplates();
+        for (CarrierType carrier : CarrierType.values()) {
+            templates.zpl.put(carrier, LabelTemplate.compile(ShippingLabel.LabelFormat.ZPL, carrier, STANDARD_ZPL));
+            templates.epl.put(carrier, LabelTemplate.compile(ShippingLabel.LabelFormat.EPL, carrier, STANDARD_EPL));
+        }
+        return templates;
+    }
+
+    /**
+     * Template for a carrier and printer language
+     *
+     * @throws IllegalArgumentException for formats without templates (PDF, PNG)
+     */
+    public LabelTemplate get(CarrierType carrier, ShippingLabel.LabelFormat format) {
+        return switch (format) {
+            case ZPL -> zpl.get(carrier);
+            case EPL -> epl.get(carrier);
+            case PDF, PNG -> throw new IllegalArgumentException("No label template for format: " + format);
+        };
+    }
+}
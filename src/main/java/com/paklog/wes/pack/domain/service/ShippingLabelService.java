@@ -7,8 +7,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.nio.ByteBuffer;
 import java.util.Base64;
-import java.util.UUID;
 
 /**
  * Domain service for shipping label generation
@@ -19,22 +19,19 @@ public class ShippingLabelService {
 
     private static final Logger logger = LoggerFactory.getLogger(ShippingLabelService.class);
 
+    private final LabelTemplates templates = LabelTemplates.standard();
+    private final TrackingNumberGenerator trackingNumbers;
+
+    public ShippingLabelService(TrackingNumberGenerator trackingNumbers) {
+        this.trackingNumbers = trackingNumbers;
+    }
+
     /**
-     * Generate tracking number for carrier
+     * Generate tracking number for carrier, in the carrier's format with its
+     * check digit; unique across pods
      */
     public String generateTrackingNumber(CarrierType carrier) {
-        String prefix = carrier.getTrackingPrefix();
-        String uniqueId = UUID.randomUUID().toString().replace("-", "").substring(0, 12).toUpperCase();
-
-        String trackingNumber = switch (carrier) {
-            case UPS -> prefix + uniqueId + "01"; // UPS format: 1Z + 16 chars
-            case FEDEX -> prefix + uniqueId;      // FedEx format: 12-14 digits
-            case USPS -> prefix + uniqueId;       // USPS format: 20-22 digits
-            case DHL -> prefix + uniqueId;        // DHL format: 10 digits
-            case AMAZON_LOGISTICS -> prefix + uniqueId;
-            case CUSTOM -> "CUSTOM-" + uniqueId;
-        };
-
+        String trackingNumber = trackingNumbers.next(carrier);
         logger.debug("Generated tracking number: {} for carrier: {}", trackingNumber, carrier);
         return trackingNumber;
     }
@@ -57,8 +54,9 @@ public class ShippingLabelService {
             throw new IllegalArgumentException("Invalid shipping address");
         }
 
-        // Generate mock label data (in production, call carrier API)
-        String labelData = generateMockLabelData(carrier, trackingNumber, shippingAddress, fromAddress, weightLb);
+        // Render from the carrier's compiled template (in production, call carrier API)
+        byte[] labelData = templates.get(carrier, ShippingLabel.LabelFormat.ZPL)
+                .render(trackingNumber, shippingAddress, fromAddress, weightLb);
 
         // Generate barcode data
         String barcode = generateBarcodeData(trackingNumber);
@@ -67,7 +65,7 @@ public class ShippingLabelService {
         ShippingLabel label = new ShippingLabel(
                 trackingNumber,
                 carrier,
-                ShippingLabel.LabelFormat.PDF, // Default to PDF
+                ShippingLabel.LabelFormat.ZPL, // Thermal printers take ZPL as-is
                 labelData,
                 barcode
         );
@@ -105,21 +103,22 @@ public class ShippingLabelService {
     }
 
     /**
-     * Generate ZPL (Zebra Programming Language) format label
+     * Render a label into the buffer at its position, for callers that reuse
+     * one buffer across labels
+     *
+     * @return bytes written
+     * @throws java.nio.BufferOverflowException if the label does not fit
      */
-    public String generateZPLLabel(String trackingNumber, Address shippingAddress) {
-        // Mock ZPL format - in production, use real ZPL template
-        StringBuilder zpl = new StringBuilder();
-        zpl.append("^XA\n"); // Start of label
-        zpl.append("^FO50,50^A0N,50,50^FD").append(trackingNumber).append("^FS\n"); // Tracking number
-        zpl.append("^FO50,120^A0N,30,30^FD").append(shippingAddress.street1()).append("^FS\n");
-        zpl.append("^FO50,160^A0N,30,30^FD").append(shippingAddress.city()).append(", ")
-                .append(shippingAddress.state()).append(" ").append(shippingAddress.zipCode()).append("^FS\n");
-        zpl.append("^FO50,250^BY3^BCN,100,Y,N,N\n"); // Barcode
-        zpl.append("^FD").append(trackingNumber).append("^FS\n");
-        zpl.append("^XZ\n"); // End of label
-
-        return zpl.toString();
+    public int renderLabel(
+            CarrierType carrier,
+            ShippingLabel.LabelFormat format,
+            String trackingNumber,
+            Address shippingAddress,
+            Address fromAddress,
+            double weightLb,
+            ByteBuffer out
+    ) {
+        return templates.get(carrier, format).render(trackingNumber, shippingAddress, fromAddress, weightLb, out);
     }
 
     /**
@@ -151,30 +150,6 @@ public class ShippingLabelService {
 
     // Private helper methods
 
-    private String generateMockLabelData(
-            CarrierType carrier,
-            String trackingNumber,
-            Address shippingAddress,
-            Address fromAddress,
-            double weightLb
-    ) {
-        // In production, this would call carrier API and return actual label PDF/image
-        // For now, generate mock base64 encoded data
-        String labelContent = String.format(
-                "MOCK SHIPPING LABEL\nCarrier: %s\nTracking: %s\n\nShip To:\n%s\n%s, %s %s\n%s\n\nWeight: %.2f lb",
-                carrier.getFullName(),
-                trackingNumber,
-                shippingAddress.street1(),
-                shippingAddress.city(),
-                shippingAddress.state(),
-                shippingAddress.zipCode(),
-                shippingAddress.country(),
-                weightLb
-        );
-
-        return Base64.getEncoder().encodeToString(labelContent.getBytes());
-    }
-
     private String generateBarcodeData(String trackingNumber) {
         // Generate barcode data (in production, use actual barcode generation library)
         return Base64.getEncoder().encodeToString(trackingNumber.getBytes());
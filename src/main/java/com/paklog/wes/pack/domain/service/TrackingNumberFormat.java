@@ -0,0 +1,158 @@
+package com.paklog.wes.pack.domain.service;
+
+import com.paklog.wes.pack.domain.valueobject.CarrierType;
+
+/**
+ * Turns a carrier serial into a tracking number in the carrier's own layout,
+ * including its check digit:
+ * <ul>
+ *   <li>UPS: {@code 1Z} + 6-char shipper number + 2-digit service + 7-digit
+ *       serial + mod 10 check over the 15 characters after {@code 1Z}</li>
+ *   <li>FedEx: 11-digit serial + check digit (weights 1, 3, 7 from the right, mod 11)</li>
+ *   <li>USPS (IMpb): {@code 94} + service type {@code 001} + 9-digit mailer ID +
+ *       7-digit serial + mod 10 check (weights 3, 1 from the right)</li>
+ *   <li>DHL Express: 9-digit serial + mod 7 check</li>
+ *   <li>Amazon Logistics and custom carriers: prefix + 13-digit serial, no check digit.
+ *       Numbers issued before these layouts were the prefix + 12 random hex
+ *       characters, which can be all digits; the extra digit keeps the two apart.</li>
+ * </ul>
+ * A serial that no longer fits the carrier's layout is rejected rather than
+ * wrapped, since a wrapped number would repeat an earlier shipment's.
+ */
+public final class TrackingNumberFormat {
+
+    private static final String UPS_SERVICE_CODE = "01";
+    private static final String USPS_SERVICE_TYPE = "001";
+
+    private final String upsShipperNumber;
+    private final String uspsMailerId;
+
+    public TrackingNumberFormat(String upsShipperNumber, String uspsMailerId) {
+        if (upsShipperNumber == null || !upsShipperNumber.matches("[0-9A-Z]{6}")) {
+            throw new IllegalArgumentException("UPS shipper number must be 6 letters or digits: " + upsShipperNumber);
+        }
+        if (uspsMailerId == null || !uspsMailerId.matches("\\d{9}")) {
+            throw new IllegalArgumentException("USPS mailer ID must be 9 digits: " + uspsMailerId);
+        }
+        this.upsShipperNumber = upsShipperNumber;
+        this.uspsMailerId = uspsMailerId;
+    }
+
+    /**
+     * Serials available to the carrier; valid serials are {@code 0} to {@code capacity - 1}
+     */
+    public static long capacity(CarrierType carrier) {
+        return switch (carrier) {
+            case UPS, USPS -> 10_000_000L;
+            case FEDEX -> 100_000_000_000L;
+            case DHL -> 1_000_000_000L;
+            case AMAZON_LOGISTICS, CUSTOM -> 10_000_000_000_000L;
+        };
+    }
+
+    /**
+     * @throws IllegalStateException if the serial is outside the carrier's capacity
+     */
+    public String format(CarrierType carrier, long serial) {
+        if (serial < 0 || serial >= capacity(carrier)) {
+            throw new IllegalStateException("Tracking number serials exhausted for " + carrier + ": " + serial);
+        }
+
+        StringBuilder number = new StringBuilder(24);
+        switch (carrier) {
+            case UPS -> {
+                number.append("1Z").append(upsShipperNumber).append(UPS_SERVICE_CODE);
+                appendPadded(number, serial, 7);
+                number.append(upsCheckDigit(number, 2, number.length()));
+            }
+            case FEDEX -> {
+                appendPadded(number, serial, 11);
+                number.append(fedexCheckDigit(number, 0, number.length()));
+            }
+            case USPS -> {
+                number.append("94").append(USPS_SERVICE_TYPE).append(uspsMailerId);
+                appendPadded(number, serial, 7);
+                number.append(mod10CheckDigit(number, 0, number.length()));
+            }
+            case DHL -> {
+                appendPadded(number, serial, 9);
+                number.append(serial % 7);
+            }
+            case AMAZON_LOGISTICS -> {
+                number.append("TBA");
+                appendPadded(number, serial, 13);
+            }
+            case CUSTOM -> {
+                number.append("CUSTOM-");
+                appendPadded(number, serial, 13);
+            }
+        }
+        return number.toString();
+    }
+
+    /**
+     * Whether the number has this layout's length and a correct check digit.
+     * Carriers without a check digit only get the layout checked.
+     */
+    public static boolean hasValidCheckDigit(CarrierType carrier, String trackingNumber) {
+        if (trackingNumber == null) {
+            return false;
+        }
+        int last = trackingNumber.length() - 1;
+        return switch (carrier) {
+            case UPS -> trackingNumber.matches("1Z[0-9A-Z]{15}\\d")
+                    && upsCheckDigit(trackingNumber, 2, last) == digit(trackingNumber, last);
+            case FEDEX -> trackingNumber.matches("\\d{12}")
+                    && fedexCheckDigit(trackingNumber, 0, last) == digit(trackingNumber, last);
+            case USPS -> trackingNumber.matches("9\\d{21}")
+                    && mod10CheckDigit(trackingNumber, 0, last) == digit(trackingNumber, last);
+            case DHL -> trackingNumber.matches("\\d{10}")
+                    && Long.parseLong(trackingNumber.substring(0, last)) % 7 == digit(trackingNumber, last);
+            case AMAZON_LOGISTICS -> trackingNumber.matches("TBA\\d{13}");
+            case CUSTOM -> trackingNumber.matches("CUSTOM-\\d{13}");
+        };
+    }
+
+    /**
+     * UPS: letters count as (code - 63) mod 10, characters in even positions
+     * count double
+     */
+    static int upsCheckDigit(CharSequence chars, int from, int to) {
+        int sum = 0;
+        for (int i = from; i < to; i++) {
+            char c = chars.charAt(i);
+            int value = Character.isDigit(c) ? c - '0' : (c - 63) % 10;
+            sum += (i - from) % 2 == 1 ? value * 2 : value;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    static int fedexCheckDigit(CharSequence digits, int from, int to) {
+        int[] weights = {1, 3, 7};
+        int sum = 0;
+        for (int i = to - 1, w = 0; i >= from; i--, w++) {
+            sum += digit(digits, i) * weights[w % 3];
+        }
+        return sum % 11 % 10;
+    }
+
+    static int mod10CheckDigit(CharSequence digits, int from, int to) {
+        int sum = 0;
+        for (int i = to - 1, w = 0; i >= from; i--, w++) {
+            sum += digit(digits, i) * (w % 2 == 0 ? 3 : 1);
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    private static int digit(CharSequence chars, int index) {
+        return chars.charAt(index) - '0';
+    }
+
+    private static void appendPadded(StringBuilder number, long value, int width) {
+        String digits = Long.toString(value);
+        for (int i = digits.length(); i < width; i++) {
+            number.append('0');
+        }
+        number.append(digits);
+    }
+}
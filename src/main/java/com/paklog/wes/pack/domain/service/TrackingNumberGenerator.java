@@ -0,0 +1,102 @@
+package com.paklog.wes.pack.domain.service;
+
+import com.paklog.wes.pack.domain.repository.TrackingNumberBlockRepository;
+import com.paklog.wes.pack.domain.valueobject.CarrierType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Issues tracking numbers from serial blocks leased per carrier from the shared
+ * counter, one lease per {@code blockSize} numbers.
+ * <p>
+ * Within a block a number costs one atomic increment: no I/O, no lock, no
+ * retry. Only the caller that finds the block used up takes the carrier's
+ * lock and leases the next block; callers arriving meanwhile wait for it.
+ * Blocks never overlap across pods, so numbers never collide. Serials left in
+ * a block when the pod stops are skipped, which leaves gaps but no repeats.
+ */
+@Service
+public class TrackingNumberGenerator {
+
+    private final TrackingNumberBlockRepository blocks;
+    private final TrackingNumberFormat format;
+    private final int blockSize;
+    private final Map<CarrierType, CarrierRange> ranges = new EnumMap<>(CarrierType.class);
+
+    @Autowired
+    public TrackingNumberGenerator(
+            TrackingNumberBlockRepository blocks,
+            @Value("${pack.tracking.block-size:10000}") int blockSize,
+            @Value("${pack.tracking.ups-shipper-number:0PK001}") String upsShipperNumber,
+            @Value("${pack.tracking.usps-mailer-id:900000001}") String uspsMailerId
+    ) {
+        this(blocks, blockSize, new TrackingNumberFormat(upsShipperNumber, uspsMailerId));
+    }
+
+    public TrackingNumberGenerator(TrackingNumberBlockRepository blocks, int blockSize, TrackingNumberFormat format) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+        }
+        this.blocks = blocks;
+        this.blockSize = blockSize;
+        this.format = format;
+        for (CarrierType carrier : CarrierType.values()) {
+            ranges.put(carrier, new CarrierRange());
+        }
+    }
+
+    /**
+     * @throws IllegalStateException if the carrier's serials are exhausted
+     */
+    public String next(CarrierType carrier) {
+        return format.format(carrier, nextSerial(carrier));
+    }
+
+    long nextSerial(CarrierType carrier) {
+        CarrierRange range = ranges.get(carrier);
+        while (true) {
+            Block block = range.current;
+            long serial = block.next.getAndIncrement();
+            if (serial < block.end) {
+                return serial;
+            }
+            range.refill(carrier, block);
+        }
+    }
+
+    private final class CarrierRange {
+        private final ReentrantLock refillLock = new ReentrantLock(); // does not pin virtual threads
+        private volatile Block current = new Block(0, 0);
+
+        /**
+         * Lease the next block unless another caller already replaced the exhausted one
+         */
+        private void refill(CarrierType carrier, Block exhausted) {
+            refillLock.lock();
+            try {
+                if (current == exhausted) {
+                    long first = blocks.leaseBlock(carrier, blockSize);
+                    current = new Block(first, first + blockSize);
+                }
+            } finally {
+                refillLock.unlock();
+            }
+        }
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long first, long end) {
+            this.next = new AtomicLong(first);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.paklog.wes.pack.domain.valueobject;
+
+import com.paklog.wes.pack.domain.entity.ShippingLabel;
+
+import java.util.List;
+
+/**
+ * Per-shipment outcomes of a batch of label generations, with the generated
+ * labels (bytes attached) in request order
+ */
+public record BatchLabelResult(
+        List<Outcome> outcomes,
+        List<ShippingLabel> labels
+) {
+
+    public enum OutcomeType {
+        LABELED,
+        NOT_FOUND,
+        REJECTED,  // Shipment cannot be labelled (status, address)
+        FAILED     // Label could not be generated or stored (database error)
+    }
+
+    public record Outcome(
+            String shipmentId,
+            OutcomeType type,
+            String trackingNumber,
+            String message
+    ) {
+        public boolean isLabeled() {
+            return type == OutcomeType.LABELED;
+        }
+    }
+
+    public BatchLabelResult {
+        outcomes = List.copyOf(outcomes);
+        labels = List.copyOf(labels);
+    }
+
+    public long getLabeledCount() {
+        return outcomes.stream().filter(Outcome::isLabeled).count();
+    }
+
+    public long getFailedCount() {
+        return outcomes.size() - getLabeledCount();
+    }
+}
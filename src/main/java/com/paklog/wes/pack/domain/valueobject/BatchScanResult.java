@@ -0,0 +1,44 @@
+package com.paklog.wes.pack.domain.valueobject;
+
+import java.util.List;
+
+/**
+ * Per-barcode outcomes of a batch of scans applied to a packing session
+ */
+public record BatchScanResult(
+        String sessionId,
+        PackingStatus sessionStatus,
+        double scanningProgress,
+        Carton recommendedCarton,
+        List<Outcome> outcomes
+) {
+
+    public enum OutcomeType {
+        ACCEPTED,
+        UNEXPECTED,
+        OVER_SCANNED
+    }
+
+    public record Outcome(
+            String barcode,
+            OutcomeType type,
+            int scannedQuantity,
+            int expectedQuantity
+    ) {
+        public boolean isAccepted() {
+            return type == OutcomeType.ACCEPTED;
+        }
+    }
+
+    public BatchScanResult {
+        outcomes = List.copyOf(outcomes);
+    }
+
+    public long getAcceptedCount() {
+        return outcomes.stream().filter(Outcome::isAccepted).count();
+    }
+
+    public long getRejectedCount() {
+        return outcomes.size() - getAcceptedCount();
+    }
+}
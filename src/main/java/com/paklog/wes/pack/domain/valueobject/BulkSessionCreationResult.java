@@ -0,0 +1,68 @@
+package com.paklog.wes.pack.domain.valueobject;
+
+import java.util.List;
+
+/**
+ * Per-order outcomes of creating a batch of packing sessions
+ */
+public record BulkSessionCreationResult(
+        List<Outcome> outcomes
+) {
+
+    public enum OutcomeType {
+        CREATED,
+        ALREADY_EXISTS,
+        FAILED
+    }
+
+    public record Outcome(
+            String orderId,
+            String pickSessionId,
+            String sessionId,
+            OutcomeType type,
+            String failureReason
+    ) {
+        public static Outcome created(String orderId, String pickSessionId, String sessionId) {
+            return new Outcome(orderId, pickSessionId, sessionId, OutcomeType.CREATED, null);
+        }
+
+        /**
+         * A session for the pick session already existed (redelivered event)
+         */
+        public static Outcome alreadyExists(String orderId, String pickSessionId) {
+            return new Outcome(orderId, pickSessionId, null, OutcomeType.ALREADY_EXISTS, null);
+        }
+
+        public static Outcome failed(String orderId, String pickSessionId, String failureReason) {
+            return new Outcome(orderId, pickSessionId, null, OutcomeType.FAILED, failureReason);
+        }
+
+        public boolean isCreated() {
+            return type == OutcomeType.CREATED;
+        }
+
+        public boolean isSuccessful() {
+            return type != OutcomeType.FAILED;
+        }
+    }
+
+    public BulkSessionCreationResult {
+        outcomes = List.copyOf(outcomes);
+    }
+
+    public long getCreatedCount() {
+        return outcomes.stream().filter(Outcome::isCreated).count();
+    }
+
+    public long getAlreadyExistingCount() {
+        return outcomes.stream().filter(outcome -> outcome.type() == OutcomeType.ALREADY_EXISTS).count();
+    }
+
+    public long getFailedCount() {
+        return outcomes.stream().filter(outcome -> !outcome.isSuccessful()).count();
+    }
+
+    public List<Outcome> getFailures() {
+        return outcomes.stream().filter(outcome -> !outcome.isSuccessful()).toList();
+    }
+}
@@ -40,6 +40,20 @@ public enum CarrierType {
             return CUSTOM;
         }
 
+        // All-digit numbers carry no letter prefix; tell them apart by length
+        if (trackingNumber.chars().allMatch(Character::isDigit)) {
+            switch (trackingNumber.length()) {
+                case 22:
+                    return USPS;
+                case 12:
+                    return FEDEX;
+                case 10:
+                    return DHL;
+                default:
+                    break;
+            }
+        }
+
         for (CarrierType carrier : values()) {
             if (trackingNumber.startsWith(carrier.trackingPrefix)) {
                 return carrier;
@@ -0,0 +1,48 @@
+package com.paklog.wes.pack.domain.valueobject;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A carton SKU a site stocks: inner dimensions in inches, weight limit in pounds
+ * and the container type it is reported as
+ */
+public record Carton(
+        String cartonCode,
+        ContainerType containerType,
+        double length,
+        double width,
+        double height,
+        double maxWeightLb,
+        String displayName
+) {
+
+    public Carton {
+        Objects.requireNonNull(cartonCode, "Carton code cannot be null");
+        Objects.requireNonNull(containerType, "Container type cannot be null");
+        if (length < 0 || width < 0 || height < 0 || maxWeightLb < 0) {
+            throw new IllegalArgumentException("Carton dimensions and weight limit cannot be negative");
+        }
+    }
+
+    /**
+     * The standard carton of a container type, coded by the type's name
+     */
+    public static Carton of(ContainerType type) {
+        return new Carton(type.name(), type, type.getLength(), type.getWidth(), type.getHeight(),
+                type.getMaxWeightLb(), type.getDisplayName());
+    }
+
+    public double getVolumeCubicInches() {
+        return length * width * height;
+    }
+
+    /**
+     * Inner dimensions, shortest first
+     */
+    public double[] getSortedDimensions() {
+        double[] sides = {length, width, height};
+        Arrays.sort(sides);
+        return sides;
+    }
+}
@@ -0,0 +1,30 @@
+package com.paklog.wes.pack.domain.valueobject;
+
+import java.util.List;
+
+/**
+ * Carton chosen for a set of items with the position of every unit in it
+ */
+public record CartonSelection(
+        Carton carton,
+        List<Placement> placements,
+        double totalWeightLb
+) {
+    public CartonSelection {
+        placements = List.copyOf(placements);
+    }
+
+    public ContainerType containerType() {
+        return carton.containerType();
+    }
+
+    /**
+     * Share of the carton's volume taken by the items (0.0 - 1.0)
+     */
+    public double getFillRatio() {
+        double itemVolume = placements.stream()
+                .mapToDouble(Placement::getVolumeCubicInches)
+                .sum();
+        return itemVolume / carton.getVolumeCubicInches();
+    }
+}
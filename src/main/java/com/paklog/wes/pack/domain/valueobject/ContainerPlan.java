@@ -0,0 +1,56 @@
+package com.paklog.wes.pack.domain.valueobject;
+
+import java.util.List;
+
+/**
+ * Containers needed for an order and which instructions go in each
+ */
+public record ContainerPlan(
+        List<PlannedContainer> containers
+) {
+
+    /**
+     * One container of the plan. Placements cover the units of instructions
+     * with known dimensions; they are empty for containers sized by weight only.
+     */
+    public record PlannedContainer(
+            Carton carton,
+            List<String> instructionIds,
+            double weightLb,
+            List<Placement> placements
+    ) {
+        public PlannedContainer {
+            instructionIds = List.copyOf(instructionIds);
+            placements = List.copyOf(placements);
+        }
+
+        public ContainerType containerType() {
+            return carton.containerType();
+        }
+
+        public double getVolumeCubicInches() {
+            return carton.getVolumeCubicInches();
+        }
+    }
+
+    public ContainerPlan {
+        containers = List.copyOf(containers);
+    }
+
+    public int getContainerCount() {
+        return containers.size();
+    }
+
+    /**
+     * Total cube of all planned containers
+     */
+    public double getTotalVolumeCubicInches() {
+        return containers.stream()
+                .mapToDouble(PlannedContainer::getVolumeCubicInches)
+                .sum();
+    }
+
+    public boolean isSplit() {
+        return containers.size() > 1;
+    }
+}
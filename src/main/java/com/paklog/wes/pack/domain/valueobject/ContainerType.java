@@ -50,10 +50,33 @@ public enum ContainerType {
         return displayName;
     }
 
+    /**
+     * Whether every site stocks this type as a shipping carton; totes are
+     * reused, custom containers have no fixed size
+     */
+    public boolean isStandardCarton() {
+        return this != TOTE && this != CUSTOM;
+    }
+
     public boolean canHold(double weightLb, double volumeCubicInches) {
         if (this == CUSTOM) {
             return true; // Custom containers have no predefined limits
         }
         return weightLb <= maxWeightLb && volumeCubicInches <= getVolumeCubicInches();
     }
+
+    /**
+     * Check if anything that fits in the other container also fits in this one
+     */
+    public boolean encloses(ContainerType other) {
+        if (this == CUSTOM || other == CUSTOM) {
+            return this == other;
+        }
+        double[] mine = {length, width, height};
+        double[] theirs = {other.length, other.width, other.height};
+        java.util.Arrays.sort(mine);
+        java.util.Arrays.sort(theirs);
+        return mine[0] >= theirs[0] && mine[1] >= theirs[1] && mine[2] >= theirs[2]
+                && maxWeightLb >= other.maxWeightLb;
+    }
 }
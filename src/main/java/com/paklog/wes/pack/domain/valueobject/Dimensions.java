@@ -3,7 +3,9 @@ package com.paklog.wes.pack.domain.valueobject;
 import java.util.Objects;
 
 /**
- * Dimensions value object with unit conversion
+ * Dimensions value object with unit conversion.
+ * Volume, side ranking and fit checks are plain arithmetic and allocate
+ * nothing; only methods returning a Dimensions create one.
  */
 public record Dimensions(double length, double width, double height, DimensionUnit unit) {
 
@@ -73,18 +75,34 @@ public record Dimensions(double length, double width, double height, DimensionUn
     }
 
     public boolean fitsInside(Dimensions container) {
-        double[] thisDims = getSortedDimensions();
-        double[] containerDims = container.getSortedDimensions();
+        return fitsWithin(
+                container.shortestSideInches(),
+                container.middleSideInches(),
+                container.longestSideInches()
+        );
+    }
+
+    /**
+     * Check against inner sides in inches, already sorted shortest first
+     */
+    public boolean fitsWithin(double shortestInches, double middleInches, double longestInches) {
+        return shortestSideInches() <= shortestInches &&
+               middleSideInches() <= middleInches &&
+               longestSideInches() <= longestInches;
+    }
+
+    // Converting to inches keeps the order of the sides, so rank first and convert once
+
+    public double shortestSideInches() {
+        return toInches(Math.min(length, Math.min(width, height)));
+    }
 
-        return thisDims[0] <= containerDims[0] &&
-               thisDims[1] <= containerDims[1] &&
-               thisDims[2] <= containerDims[2];
+    public double middleSideInches() {
+        return toInches(Math.max(Math.min(length, width), Math.min(Math.max(length, width), height)));
     }
 
-    private double[] getSortedDimensions() {
-        double[] dims = {toInches(length), toInches(width), toInches(height)};
-        java.util.Arrays.sort(dims);
-        return dims;
+    public double longestSideInches() {
+        return toInches(Math.max(length, Math.max(width, height)));
     }
 
     public String toDisplayString() {
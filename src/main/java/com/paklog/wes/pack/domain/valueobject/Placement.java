@@ -0,0 +1,20 @@
+package com.paklog.wes.pack.domain.valueobject;
+
+/**
+ * Position of one unit inside a carton, in inches from the carton's
+ * back-left-bottom corner, with the unit's dimensions as oriented
+ */
+public record Placement(
+        String instructionId,
+        String itemSku,
+        double x,
+        double y,
+        double z,
+        double length,
+        double width,
+        double height
+) {
+    public double getVolumeCubicInches() {
+        return length * width * height;
+    }
+}
@@ -0,0 +1,22 @@
+package com.paklog.wes.pack.domain.valueobject;
+
+/**
+ * Outcome of a single unit scan applied to a packing session
+ */
+public record ScanResult(
+        String sessionId,
+        String barcode,
+        String itemSku,
+        int scannedQuantity,
+        int expectedQuantity,
+        PackingStatus sessionStatus,
+        Carton recommendedCarton
+) {
+    public boolean isLineComplete() {
+        return scannedQuantity >= expectedQuantity;
+    }
+
+    public int getRemainingQuantity() {
+        return Math.max(0, expectedQuantity - scannedQuantity);
+    }
+}
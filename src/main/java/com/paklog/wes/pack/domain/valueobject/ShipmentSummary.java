@@ -0,0 +1,23 @@
+package com.paklog.wes.pack.domain.valueobject;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a shipment returned by list queries. It carries no label
+ * payload and cannot be saved; load the shipment by ID to change it.
+ */
+public record ShipmentSummary(
+        String shipmentId,
+        String packingSessionId,
+        String orderId,
+        String warehouseId,
+        CarrierType carrier,
+        ShippingMethod shippingMethod,
+        TrackingStatus trackingStatus,
+        String trackingNumber,
+        String manifestId,
+        LocalDateTime createdAt,
+        LocalDateTime shippedAt,
+        LocalDateTime estimatedDeliveryDate
+) {
+}
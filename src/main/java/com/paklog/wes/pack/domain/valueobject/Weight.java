@@ -3,7 +3,9 @@ package com.paklog.wes.pack.domain.valueobject;
 import java.util.Objects;
 
 /**
- * Weight value object with unit conversion
+ * Weight value object with unit conversion.
+ * Conversions and comparisons are plain arithmetic and allocate nothing;
+ * only methods returning a Weight create one.
  */
 public record Weight(double value, WeightUnit unit) {
 
@@ -57,27 +59,39 @@ public record Weight(double value, WeightUnit unit) {
         if (unit == targetUnit) {
             return this;
         }
-
-        double pounds = toPounds();
-        double newValue = switch (targetUnit) {
-            case LB -> pounds;
-            case KG -> pounds / 2.20462;
-            case OZ -> pounds * 16.0;
-            case G -> pounds / 0.00220462;
-        };
-
-        return new Weight(newValue, targetUnit);
+        return new Weight(fromPounds(toPounds(), targetUnit), targetUnit);
     }
 
     public Weight add(Weight other) {
-        double totalPounds = this.toPounds() + other.toPounds();
-        return new Weight(totalPounds, WeightUnit.LB).convertTo(this.unit);
+        double total = unit == other.unit
+                ? value + other.value
+                : fromPounds(toPounds() + other.toPounds(), unit);
+        return new Weight(total, unit);
     }
 
     public boolean isGreaterThan(Weight other) {
         return this.toPounds() > other.toPounds();
     }
 
+    /**
+     * Whether this weight plus {@code additionalLb} pounds stays within {@code limit}
+     */
+    public boolean canAddWithin(double additionalLb, Weight limit) {
+        return toPounds() + additionalLb <= limit.toPounds();
+    }
+
+    /**
+     * A weight in pounds expressed in the given unit
+     */
+    public static double fromPounds(double pounds, WeightUnit targetUnit) {
+        return switch (targetUnit) {
+            case LB -> pounds;
+            case KG -> pounds / 2.20462;
+            case OZ -> pounds * 16.0;
+            case G -> pounds / 0.00220462;
+        };
+    }
+
     public String toDisplayString() {
         return String.format("%.2f %s", value, unit.getDisplayName());
     }
@@ -0,0 +1,39 @@
+package com.paklog.wes.pack.infrastructure.config;
+
+import com.paklog.wes.pack.domain.service.CartonRecommendationCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes carton recommendation cache hit, miss and eviction counts and its size
+ */
+@Component
+public class CartonCacheMetrics implements MeterBinder {
+
+    private final CartonRecommendationCache cache;
+
+    public CartonCacheMetrics(CartonRecommendationCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("pack_ship.carton_cache.requests", cache, CartonRecommendationCache::getHitCount)
+                .description("Carton recommendations answered from the cache")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("pack_ship.carton_cache.requests", cache, CartonRecommendationCache::getMissCount)
+                .description("Carton recommendations that ran the packer")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("pack_ship.carton_cache.evictions", cache, CartonRecommendationCache::getEvictionCount)
+                .description("Entries evicted to stay within capacity")
+                .register(registry);
+        Gauge.builder("pack_ship.carton_cache.size", cache, CartonRecommendationCache::size)
+                .description("Order shapes currently cached")
+                .register(registry);
+    }
+}
@@ -0,0 +1,100 @@
+package com.paklog.wes.pack.infrastructure.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Kafka consumer configuration for inbound pick events
+ */
+@Configuration
+public class KafkaConsumerConfig {
+
+    /**
+     * Batch listener factory that hands raw payload bytes to the listener, so
+     * records can be routed on their ce_type header before anything is parsed
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> pickEventBatchListenerFactory(
+            KafkaProperties kafkaProperties,
+            @Value("${paklog.kafka.consumer.concurrency:3}") int concurrency,
+            @Value("${paklog.kafka.consumer.max-poll-records:500}") int maxPollRecords,
+            @Value("${paklog.kafka.consumer.retry-interval-ms:1000}") long retryIntervalMs,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Qualifier("pickEventDeadLetterTemplate") KafkaTemplate<String, byte[]> deadLetterTemplate
+    ) {
+        Map<String, Object> config = new HashMap<>(kafkaProperties.buildConsumerProperties(null));
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(config));
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        factory.setCommonErrorHandler(pickEventErrorHandler(deadLetterTemplate, retryIntervalMs));
+        if (virtualThreads) {
+            // Boot only does this for its own default factory
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("pick-events-");
+            executor.setVirtualThreads(true);
+            factory.getContainerProperties().setListenerTaskExecutor(executor);
+        }
+        return factory;
+    }
+
+    /**
+     * Producer for dead-lettered pick events, passing their raw bytes through.
+     * A bean so the context closes it on shutdown, after the listener containers
+     * stopped, flushing records still buffered.
+     */
+    @Bean
+    public DefaultKafkaProducerFactory<String, byte[]> pickEventDeadLetterProducerFactory(KafkaProperties kafkaProperties) {
+        Map<String, Object> config = new HashMap<>(kafkaProperties.buildProducerProperties(null));
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        return new DefaultKafkaProducerFactory<>(config);
+    }
+
+    @Bean
+    public KafkaTemplate<String, byte[]> pickEventDeadLetterTemplate(
+            @Qualifier("pickEventDeadLetterProducerFactory") ProducerFactory<String, byte[]> producerFactory) {
+        return new KafkaTemplate<>(producerFactory);
+    }
+
+    /**
+     * Events the handler rejects (unparseable, or no session can be built from
+     * them) go to {@code <topic>-dlt} on the first failure; anything else, such
+     * as MongoDB being down, is retried until it succeeds
+     */
+    private static DefaultErrorHandler pickEventErrorHandler(
+            KafkaTemplate<String, byte[]> deadLetterTemplate, long retryIntervalMs) {
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(deadLetterTemplate,
+                (record, e) -> new TopicPartition(record.topic() + "-dlt", -1)); // any partition of the DLT
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(
+                recoverer, new FixedBackOff(retryIntervalMs, FixedBackOff.UNLIMITED_ATTEMPTS));
+        errorHandler.addNotRetryableExceptions(JsonProcessingException.class, IllegalArgumentException.class);
+        return errorHandler;
+    }
+}
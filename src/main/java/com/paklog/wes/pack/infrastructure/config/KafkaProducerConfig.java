@@ -0,0 +1,50 @@
+package com.paklog.wes.pack.infrastructure.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaProducerFactoryCustomizer;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.ProducerListener;
+
+/**
+ * Kafka producer for outbound pack and ship events, built from
+ * {@code spring.kafka.producer} as Boot would. Boot backs off from its own
+ * producer factory and template once any are declared, and the dead-letter
+ * producer in {@link KafkaConsumerConfig} is one.
+ */
+@Configuration
+public class KafkaProducerConfig {
+
+    @Bean
+    @Primary
+    public DefaultKafkaProducerFactory<Object, Object> kafkaProducerFactory(
+            KafkaProperties kafkaProperties,
+            ObjectProvider<DefaultKafkaProducerFactoryCustomizer> customizers
+    ) {
+        DefaultKafkaProducerFactory<Object, Object> factory =
+                new DefaultKafkaProducerFactory<>(kafkaProperties.buildProducerProperties(null));
+        String transactionIdPrefix = kafkaProperties.getProducer().getTransactionIdPrefix();
+        if (transactionIdPrefix != null) {
+            factory.setTransactionIdPrefix(transactionIdPrefix);
+        }
+        customizers.orderedStream().forEach(customizer -> customizer.customize(factory));
+        return factory;
+    }
+
+    @Bean
+    @Primary
+    public KafkaTemplate<?, ?> kafkaTemplate(
+            @Qualifier("kafkaProducerFactory") ProducerFactory<Object, Object> producerFactory,
+            ObjectProvider<ProducerListener<Object, Object>> producerListener
+    ) {
+        KafkaTemplate<Object, Object> template = new KafkaTemplate<>(producerFactory);
+        producerListener.ifAvailable(template::setProducerListener);
+        return template;
+    }
+}
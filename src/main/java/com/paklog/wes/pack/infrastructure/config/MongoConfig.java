@@ -1,14 +1,25 @@
 package com.paklog.wes.pack.infrastructure.config;
 
+import com.paklog.wes.pack.domain.entity.CartonDefinition;
+import com.paklog.wes.pack.infrastructure.outbox.OutboxEvent;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
 import org.springframework.data.mongodb.core.index.IndexOperations;
 
+import java.util.Set;
+import java.util.stream.Collectors;
+
 /**
  * MongoDB configuration and index creation
  */
@@ -23,12 +34,25 @@ public class MongoConfig {
         this.mongoTemplate = mongoTemplate;
     }
 
+    /**
+     * Makes @Transactional service methods real Mongo transactions so an aggregate
+     * and its outbox events commit together. Requires a replica set, so it is
+     * only registered when a deployment opts in.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "pack.outbox.transactional", havingValue = "true")
+    public MongoTransactionManager transactionManager(MongoDatabaseFactory databaseFactory) {
+        return new MongoTransactionManager(databaseFactory);
+    }
+
     @PostConstruct
     public void initIndexes() {
         logger.info("Creating MongoDB indexes for Pack & Ship Service");
 
         createPackingSessionIndexes();
         createShipmentIndexes();
+        createOutboxIndexes();
+        createCartonCatalogIndexes();
 
         logger.info("MongoDB indexes created successfully");
     }
@@ -36,8 +60,9 @@ public class MongoConfig {
     private void createPackingSessionIndexes() {
         IndexOperations indexOps = mongoTemplate.indexOps("packing_sessions");
 
-        // 1. Index on pickSessionId
-        indexOps.ensureIndex(new Index().on("pickSessionId", Sort.Direction.ASC).named("idx_pick_session_id"));
+        // 1. Unique index on pickSessionId - one packing session per pick session, so a
+        //    redelivered pick event cannot create a second one
+        createPickSessionUniqueIndex(indexOps);
 
         // 2. Index on orderId
         indexOps.ensureIndex(new Index().on("orderId", Sort.Direction.ASC).named("idx_order_id"));
@@ -66,6 +91,35 @@ public class MongoConfig {
         logger.debug("Created 7 indexes for packing_sessions collection");
     }
 
+    /**
+     * Build the unique index before dropping the non-unique one it replaces, so
+     * packing_sessions is never without an index on pickSessionId. It is
+     * descending because MongoDB rejects a second index on the same key pattern;
+     * equality lookups use either direction. If existing duplicates keep it from
+     * building, the old index stays until they are removed.
+     */
+    private void createPickSessionUniqueIndex(IndexOperations indexOps) {
+        Set<String> existing = indexOps.getIndexInfo().stream()
+                .map(IndexInfo::getName)
+                .collect(Collectors.toSet());
+
+        if (!existing.contains("uk_pick_session_id")) {
+            try {
+                indexOps.ensureIndex(new Index().on("pickSessionId", Sort.Direction.DESC)
+                        .unique()
+                        .named("uk_pick_session_id"));
+            } catch (DataAccessException e) {
+                logger.error("Cannot create unique index uk_pick_session_id, packing_sessions holds several "
+                        + "sessions for one pick session; keeping idx_pick_session_id until they are removed", e);
+                return;
+            }
+        }
+
+        if (existing.contains("idx_pick_session_id")) {
+            indexOps.dropIndex("idx_pick_session_id");
+        }
+    }
+
     private void createShipmentIndexes() {
         IndexOperations indexOps = mongoTemplate.indexOps("shipments");
 
@@ -100,4 +154,34 @@ public class MongoConfig {
 
         logger.debug("Created 7 indexes for shipments collection");
     }
+
+    private void createOutboxIndexes() {
+        IndexOperations indexOps = mongoTemplate.indexOps(OutboxEvent.COLLECTION);
+
+        // 1. Index on aggregateId (diagnostics / replay per aggregate)
+        indexOps.ensureIndex(new Index().on("aggregateId", Sort.Direction.ASC).named("idx_outbox_aggregate_id"));
+
+        // 2. Relay read order - oldest first, then per aggregate by version
+        indexOps.ensureIndex(new Index()
+                .on("createdAt", Sort.Direction.ASC)
+                .on("aggregateId", Sort.Direction.ASC)
+                .on("aggregateVersion", Sort.Direction.ASC)
+                .on("sequence", Sort.Direction.ASC)
+                .named("idx_outbox_relay_order"));
+
+        logger.debug("Created 2 indexes for {} collection", OutboxEvent.COLLECTION);
+    }
+
+    private void createCartonCatalogIndexes() {
+        IndexOperations indexOps = mongoTemplate.indexOps(CartonDefinition.COLLECTION);
+
+        // 1. Unique index on warehouseId and cartonCode - one definition per carton SKU and site
+        indexOps.ensureIndex(new Index()
+                .on("warehouseId", Sort.Direction.ASC)
+                .on("cartonCode", Sort.Direction.ASC)
+                .unique()
+                .named("uk_warehouse_carton_code"));
+
+        logger.debug("Created 1 index for {} collection", CartonDefinition.COLLECTION);
+    }
 }
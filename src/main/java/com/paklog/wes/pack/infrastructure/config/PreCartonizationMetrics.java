@@ -0,0 +1,40 @@
+package com.paklog.wes.pack.infrastructure.config;
+
+import com.paklog.wes.pack.application.service.PreCartonizationStage;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the pre-cartonization pool's backlog, activity and where orders ran
+ */
+@Component
+public class PreCartonizationMetrics implements MeterBinder {
+
+    private final PreCartonizationStage stage;
+
+    public PreCartonizationMetrics(PreCartonizationStage stage) {
+        this.stage = stage;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("pack_ship.pre_cartonization.queue_depth", stage, PreCartonizationStage::getQueueDepth)
+                .description("Orders waiting for a pre-cartonization thread")
+                .register(registry);
+        Gauge.builder("pack_ship.pre_cartonization.active_threads", stage, PreCartonizationStage::getActiveThreadCount)
+                .register(registry);
+        Gauge.builder("pack_ship.pre_cartonization.parallelism", stage, PreCartonizationStage::getParallelism)
+                .register(registry);
+        FunctionCounter.builder("pack_ship.pre_cartonization.orders", stage, PreCartonizationStage::getTasksInPool)
+                .description("Orders cartonized on the pool")
+                .tag("thread", "pool")
+                .register(registry);
+        FunctionCounter.builder("pack_ship.pre_cartonization.orders", stage, PreCartonizationStage::getTasksInline)
+                .description("Orders cartonized on the consumer thread because the backlog was full")
+                .tag("thread", "inline")
+                .register(registry);
+    }
+}
@@ -0,0 +1,27 @@
+package com.paklog.wes.pack.infrastructure.events;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Event to be published as a CloudEvent on a Kafka topic
+ */
+public record OutboundEvent(
+        String topic,
+        String key,
+        String eventType,
+        Object eventData,
+        String eventId
+) {
+    public OutboundEvent {
+        Objects.requireNonNull(topic, "Topic cannot be null");
+        Objects.requireNonNull(eventType, "Event type cannot be null");
+        if (eventId == null) {
+            eventId = UUID.randomUUID().toString();
+        }
+    }
+
+    public OutboundEvent(String topic, String key, String eventType, Object eventData) {
+        this(topic, key, eventType, eventData, null);
+    }
+}
@@ -3,45 +3,262 @@ package com.paklog.wes.pack.infrastructure.events;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.cloudevents.CloudEvent;
 import io.cloudevents.core.builder.CloudEventBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
 import java.net.URI;
 import java.time.OffsetDateTime;
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Publishes CloudEvents to Kafka.
+ * <p>
+ * In async mode (default) events are placed on a bounded in-memory queue and
+ * handed to the Kafka producer by a dispatcher thread, so callers never wait on
+ * serialization or broker round trips. When the queue is full the caller is
+ * blocked for at most the backpressure timeout; after that the event is rejected
+ * through the returned future, as are events published after {@link #stop()}.
+ * Outcomes are recorded as metrics instead of being thrown on the caller's
+ * thread. Sync mode sends on the caller's thread.
+ */
 @Service
 public class PackShipEventPublisher {
 
     private static final Logger log = LoggerFactory.getLogger(PackShipEventPublisher.class);
     private static final String SOURCE = "paklog://pack-ship-service";
+    private static final int MAX_DRAIN = 500;
 
     private final KafkaTemplate<String, CloudEvent> kafkaTemplate;
     private final ObjectMapper objectMapper;
+    private final boolean async;
+    private final long backpressureTimeoutMillis;
+    private final boolean virtualThreads;
+    private final BlockingQueue<PendingEvent> queue;
 
-    public PackShipEventPublisher(KafkaTemplate<String, CloudEvent> kafkaTemplate, ObjectMapper objectMapper) {
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final Counter rejectedCounter;
+    private final Timer publishLatency;
+
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    public PackShipEventPublisher(
+            KafkaTemplate<String, CloudEvent> kafkaTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${pack.events.publisher.mode:async}") String mode,
+            @Value("${pack.events.publisher.queue-capacity:10000}") int queueCapacity,
+            @Value("${pack.events.publisher.backpressure-timeout-ms:50}") long backpressureTimeoutMillis,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
         this.kafkaTemplate = kafkaTemplate;
         this.objectMapper = objectMapper;
+        this.async = !"sync".equalsIgnoreCase(mode);
+        this.backpressureTimeoutMillis = backpressureTimeoutMillis;
+        this.virtualThreads = virtualThreads;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        this.publishedCounter = Counter.builder("pack_ship.events.published")
+                .tag("result", "success").register(meterRegistry);
+        this.failedCounter = Counter.builder("pack_ship.events.published")
+                .tag("result", "failure").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("pack_ship.events.published")
+                .tag("result", "rejected").register(meterRegistry);
+        this.publishLatency = Timer.builder("pack_ship.events.publish.latency")
+                .description("Time from publish call to broker acknowledgement")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        meterRegistry.gauge("pack_ship.events.queue.depth", queue, BlockingQueue::size);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!async) {
+            return;
+        }
+        running = true;
+        Thread.Builder builder = virtualThreads
+                ? Thread.ofVirtual()
+                : Thread.ofPlatform().daemon(true);
+        dispatcher = builder.name("event-publisher").start(this::dispatchLoop);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+            dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        dispatchPending(); // flush what is left on the shutdown thread
+        kafkaTemplate.flush();
+    }
+
+    public CompletableFuture<SendResult<String, CloudEvent>> publish(String topic, String key, String eventType, Object eventData) {
+        return publish(new OutboundEvent(topic, key, eventType, eventData));
+    }
+
+    /**
+     * Publish with a caller-supplied CloudEvent ID (e.g. the outbox record ID, so
+     * redeliveries carry the same ID)
+     */
+    public CompletableFuture<SendResult<String, CloudEvent>> publish(
+            String topic, String key, String eventType, Object eventData, String eventId) {
+        return publish(new OutboundEvent(topic, key, eventType, eventData, eventId));
+    }
+
+    public CompletableFuture<SendResult<String, CloudEvent>> publish(OutboundEvent event) {
+        PendingEvent pending = new PendingEvent(event, new CompletableFuture<>(), System.nanoTime());
+        submit(pending);
+        return pending.result();
+    }
+
+    /**
+     * Publish a group of events in order. Once an event is rejected, the later
+     * events with the same key are rejected too rather than queued, so none of
+     * them can overtake it; events of the key accepted before still go out.
+     */
+    public List<CompletableFuture<SendResult<String, CloudEvent>>> publishAll(List<OutboundEvent> events) {
+        List<CompletableFuture<SendResult<String, CloudEvent>>> results = new ArrayList<>(events.size());
+        Set<String> rejectedKeys = new HashSet<>();
+        for (OutboundEvent event : events) {
+            PendingEvent pending = new PendingEvent(event, new CompletableFuture<>(), System.nanoTime());
+            if (rejectedKeys.contains(event.key())) {
+                reject(pending, "an earlier event with the same key was rejected");
+            } else if (!submit(pending)) {
+                rejectedKeys.add(event.key());
+            }
+            results.add(pending.result());
+        }
+        return results;
+    }
+
+    /**
+     * Send or queue the event
+     *
+     * @return false if the event was rejected
+     */
+    private boolean submit(PendingEvent pending) {
+        if (!async) {
+            send(pending);
+            return true;
+        }
+        if (!running) {
+            reject(pending, "publisher stopped");
+            return false;
+        }
+
+        try {
+            if (!queue.offer(pending, backpressureTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                reject(pending, "publisher queue full");
+                return false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reject(pending, "interrupted while waiting for queue space");
+            return false;
+        }
+
+        // Stopped while queueing: take the event back unless the shutdown flush already has it
+        if (!running && queue.remove(pending)) {
+            reject(pending, "publisher stopped");
+            return false;
+        }
+        return true;
+    }
+
+    private void dispatchLoop() {
+        List<PendingEvent> batch = new ArrayList<>(MAX_DRAIN);
+        while (running) {
+            try {
+                PendingEvent first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_DRAIN - 1);
+                for (PendingEvent pending : batch) {
+                    send(pending);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Event dispatcher error", e);
+            } finally {
+                batch.clear();
+            }
+        }
     }
 
-    public void publish(String topic, String key, String eventType, Object eventData) {
+    private void dispatchPending() {
+        PendingEvent pending;
+        while ((pending = queue.poll()) != null) {
+            send(pending);
+        }
+    }
+
+    private void send(PendingEvent pending) {
+        OutboundEvent event = pending.event();
         try {
             CloudEvent cloudEvent = CloudEventBuilder.v1()
-                .withId(UUID.randomUUID().toString())
+                .withId(event.eventId())
                 .withSource(URI.create(SOURCE))
-                .withType(eventType)
+                .withType(event.eventType())
                 .withDataContentType("application/json")
                 .withTime(OffsetDateTime.now())
-                .withData(objectMapper.writeValueAsBytes(eventData))
+                .withData(objectMapper.writeValueAsBytes(event.eventData()))
                 .build();
 
-            kafkaTemplate.send(topic, key, cloudEvent);
-            log.info("Event published: type={}, key={}", eventType, key);
+            kafkaTemplate.send(event.topic(), event.key(), cloudEvent)
+                    .whenComplete((result, error) -> complete(pending, result, error));
         } catch (Exception e) {
-            log.error("Failed to publish event: type={}, key={}", eventType, key, e);
-            throw new RuntimeException("Failed to publish event", e);
+            complete(pending, null, e);
+        }
+    }
+
+    private void complete(PendingEvent pending, SendResult<String, CloudEvent> result, Throwable error) {
+        publishLatency.record(System.nanoTime() - pending.enqueuedAtNanos(), TimeUnit.NANOSECONDS);
+        if (error == null) {
+            publishedCounter.increment();
+            log.debug("Event published: type={}, key={}", pending.event().eventType(), pending.event().key());
+            pending.result().complete(result);
+        } else {
+            failedCounter.increment();
+            log.error("Failed to publish event: type={}, key={}",
+                    pending.event().eventType(), pending.event().key(), error);
+            pending.result().completeExceptionally(error);
         }
     }
+
+    private void reject(PendingEvent pending, String reason) {
+        rejectedCounter.increment();
+        log.warn("Event rejected ({}): type={}, key={}", reason, pending.event().eventType(), pending.event().key());
+        pending.result().completeExceptionally(new RejectedExecutionException("Event rejected: " + reason));
+    }
+
+    private record PendingEvent(
+            OutboundEvent event,
+            CompletableFuture<SendResult<String, CloudEvent>> result,
+            long enqueuedAtNanos
+    ) {
+    }
 }
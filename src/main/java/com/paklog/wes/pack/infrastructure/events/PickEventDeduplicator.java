@@ -0,0 +1,126 @@
+package com.paklog.wes.pack.infrastructure.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded in-memory record of recently processed pick events, so Kafka
+ * redeliveries after a rebalance or restart are dropped without a database read.
+ * <p>
+ * This is only the fast path: it is per pod and forgets old entries. The unique
+ * index on packing_sessions.pickSessionId is what guarantees one session per pick
+ * session; a duplicate-key error there is treated as success.
+ */
+@Component
+public class PickEventDeduplicator {
+
+    private final RecentKeys eventIds;
+    private final RecentKeys pickSessionIds;
+
+    private final Counter eventIdHits;
+    private final Counter pickSessionHits;
+    private final Counter misses;
+    private final Counter duplicateKeyHits;
+
+    public PickEventDeduplicator(
+            MeterRegistry meterRegistry,
+            @Value("${paklog.kafka.consumer.dedupe.capacity:100000}") int capacity
+    ) {
+        this.eventIds = new RecentKeys(capacity);
+        this.pickSessionIds = new RecentKeys(capacity);
+
+        this.eventIdHits = Counter.builder("pack_ship.pick_events.dedupe")
+                .tag("result", "hit").tag("key", "event_id").register(meterRegistry);
+        this.pickSessionHits = Counter.builder("pack_ship.pick_events.dedupe")
+                .tag("result", "hit").tag("key", "pick_session_id").register(meterRegistry);
+        this.misses = Counter.builder("pack_ship.pick_events.dedupe")
+                .tag("result", "miss").register(meterRegistry);
+        this.duplicateKeyHits = Counter.builder("pack_ship.pick_events.dedupe")
+                .tag("result", "hit").tag("key", "unique_index").register(meterRegistry);
+    }
+
+    /**
+     * Check whether a CloudEvent with this id was already processed
+     */
+    public boolean isDuplicateEvent(String eventId) {
+        if (eventId != null && eventIds.contains(eventId)) {
+            eventIdHits.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Check whether a session was already created for this pick session
+     */
+    public boolean isDuplicatePickSession(String pickSessionId) {
+        if (pickSessionId != null && pickSessionIds.contains(pickSessionId)) {
+            pickSessionHits.increment();
+            return true;
+        }
+        misses.increment();
+        return false;
+    }
+
+    public void markEventProcessed(String eventId) {
+        if (eventId != null) {
+            eventIds.add(eventId);
+        }
+    }
+
+    public void markPickSessionProcessed(String pickSessionId) {
+        if (pickSessionId != null) {
+            pickSessionIds.add(pickSessionId);
+        }
+    }
+
+    /**
+     * A duplicate that got past the in-memory check and was caught by the unique index
+     */
+    public void recordDuplicateKey(String pickSessionId) {
+        duplicateKeyHits.increment();
+        markPickSessionProcessed(pickSessionId);
+    }
+
+    /**
+     * Access-ordered set that evicts its least recently used key once full
+     */
+    private static final class RecentKeys {
+
+        private final Map<String, Boolean> keys;
+        private final ReentrantLock lock = new ReentrantLock(); // does not pin virtual threads
+
+        RecentKeys(int capacity) {
+            this.keys = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        boolean contains(String key) {
+            lock.lock();
+            try {
+                return keys.get(key) != null; // get() refreshes the entry
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void add(String key) {
+            lock.lock();
+            try {
+                keys.put(key, Boolean.TRUE);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -1,114 +1,278 @@
 package com.paklog.wes.pack.infrastructure.events;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.paklog.wes.pack.application.command.StartPackingSessionCommand;
 import com.paklog.wes.pack.application.service.PackingSessionService;
-import com.paklog.wes.pack.domain.aggregate.PackingSession;
+import com.paklog.wes.pack.domain.entity.PackingInstruction;
+import com.paklog.wes.pack.domain.valueobject.BulkSessionCreationResult;
+import com.paklog.wes.pack.domain.valueobject.Dimensions;
+import com.paklog.wes.pack.domain.valueobject.Priority;
+import com.paklog.wes.pack.domain.valueobject.Weight;
+import com.paklog.wes.pack.integration.contracts.PickSessionCompletedContract;
+import com.paklog.wes.pack.integration.contracts.PickShortageContract;
+import com.paklog.wes.pack.integration.contracts.PickingCompletedContract;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Event handler for Picking events
- * Listens to picking-related events and creates packing sessions
- * TODO: Adapt to use PackingSessionService with proper commands
+ * Consumes whole poll batches, routes each record on its CloudEvent ce_type
+ * header and only parses payloads of types we handle, straight into the
+ * integration contracts. Redelivered events are dropped by {@link PickEventDeduplicator}.
+ * An event that cannot be parsed or turned into a session fails the batch at
+ * its position, so the container's error handler moves it to the dead letter
+ * topic. Any other failure is retried with the whole batch.
  */
 @Component
 public class PickEventHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(PickEventHandler.class);
 
+    static final String CE_TYPE_HEADER = "ce_type";
+    static final String CE_ID_HEADER = "ce_id";
+
     private final PackingSessionService packingSessionService;
+    private final PickEventDeduplicator deduplicator;
+    private final ObjectReader pickTaskCompletedReader;
+    private final ObjectReader pickSessionCompletedReader;
+    private final ObjectReader pickShortageReader;
 
-    public PickEventHandler(PackingSessionService packingSessionService) {
+    public PickEventHandler(
+            PackingSessionService packingSessionService,
+            PickEventDeduplicator deduplicator,
+            ObjectMapper objectMapper
+    ) {
         this.packingSessionService = packingSessionService;
+        this.deduplicator = deduplicator;
+        this.pickTaskCompletedReader = objectMapper.readerFor(PickingCompletedContract.class);
+        this.pickSessionCompletedReader = objectMapper.readerFor(PickSessionCompletedContract.class);
+        this.pickShortageReader = objectMapper.readerFor(PickShortageContract.class);
     }
 
     /**
-     * Handle PickingCompletedEvent from pick-execution-service
-     * Creates packing sessions for completed picks
+     * Pick events from pick-execution-service (order-level completion, shortages)
      */
     @KafkaListener(
             topics = "${paklog.kafka.topics.pick-events:wes-pick-events}",
-            groupId = "${paklog.kafka.consumer.group-id:pack-ship-service}"
+            groupId = "${paklog.kafka.consumer.group-id:pack-ship-service}",
+            containerFactory = "pickEventBatchListenerFactory"
     )
-    public void handlePickingCompleted(Map<String, Object> eventData) {
-        try {
-            String eventType = (String) eventData.get("type");
+    public void handlePickEvents(List<ConsumerRecord<String, byte[]>> records) {
+        handleBatch(records);
+    }
 
-            if (!"PickingCompletedEvent".equals(eventType)) {
-                return; // Ignore other event types
+    /**
+     * Pick task events from pick-execution-service
+     */
+    @KafkaListener(
+            topics = "${paklog.kafka.topics.picking-events:picking-events}",
+            groupId = "${paklog.kafka.consumer.group-id:pack-ship-service}",
+            containerFactory = "pickEventBatchListenerFactory"
+    )
+    public void handlePickingEvents(List<ConsumerRecord<String, byte[]>> records) {
+        handleBatch(records);
+    }
+
+    void handleBatch(List<ConsumerRecord<String, byte[]>> records) {
+        List<PickingCompletedContract> pickTasksCompleted = new ArrayList<>();
+        List<PickSessionCompletedContract> pickSessionsCompleted = new ArrayList<>();
+        List<Integer> pickSessionPositions = new ArrayList<>();
+        List<PickShortageContract> pickShortages = new ArrayList<>();
+        String[] eventIds = new String[records.size()];
+        Map<Integer, Exception> failures = new TreeMap<>();
+        int ignored = 0;
+        int duplicates = 0;
+
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<String, byte[]> record = records.get(i);
+            String eventType = header(record, CE_TYPE_HEADER);
+            if (eventType == null) {
+                ignored++;
+                continue;
             }
 
-            logger.info("Received PickingCompletedEvent: {}", eventData);
+            String eventId = header(record, CE_ID_HEADER);
+            if (deduplicator.isDuplicateEvent(eventId)) {
+                duplicates++;
+                continue;
+            }
+            eventIds[i] = eventId;
 
-            String sessionId = (String) eventData.get("sessionId");
-            String orderId = (String) eventData.get("orderId");
-            String warehouseId = (String) eventData.get("warehouseId");
-            String completedBy = (String) eventData.get("completedBy");
+            try {
+                switch (eventType) {
+                    case PickingCompletedContract.EVENT_TYPE ->
+                            pickTasksCompleted.add(pickTaskCompletedReader.readValue(record.value()));
+                    case PickSessionCompletedContract.EVENT_TYPE -> {
+                        pickSessionsCompleted.add(pickSessionCompletedReader.readValue(record.value()));
+                        pickSessionPositions.add(i);
+                    }
+                    case PickShortageContract.EVENT_TYPE ->
+                            pickShortages.add(pickShortageReader.readValue(record.value()));
+                    default -> ignored++;
+                }
+            } catch (Exception e) {
+                logger.error("Failed to parse pick event: type={}, topic={}, partition={}, offset={}",
+                        eventType, record.topic(), record.partition(), record.offset(), e);
+                failures.put(i, e);
+            }
+        }
 
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> items = (List<Map<String, Object>>)
-                    eventData.getOrDefault("items", List.of());
+        if (!pickTasksCompleted.isEmpty()) {
+            handlePickTasksCompleted(pickTasksCompleted);
+        }
+        if (!pickSessionsCompleted.isEmpty()) {
+            failures.putAll(handlePickSessionsCompleted(pickSessionsCompleted, pickSessionPositions));
+        }
+        if (!pickShortages.isEmpty()) {
+            handlePickShortages(pickShortages);
+        }
 
-            // Create packing session for the completed pick
-            createPackingSession(orderId, warehouseId, sessionId, items);
+        // Only events that were handled; a failed event must come back, so it is not remembered
+        for (int i = 0; i < eventIds.length; i++) {
+            if (eventIds[i] != null && !failures.containsKey(i)) {
+                deduplicator.markEventProcessed(eventIds[i]);
+            }
+        }
 
-            logger.info("Created packing session for order {} from pick session {}",
-                    orderId, sessionId);
+        logger.debug("Processed pick event batch: records={}, ignored={}, duplicates={}, failed={}",
+                records.size(), ignored, duplicates, failures.size());
 
-        } catch (Exception e) {
-            logger.error("Error handling PickingCompletedEvent", e);
-            // In production, publish to dead letter queue
+        if (!failures.isEmpty()) {
+            // The error handler commits the records before it and sends it to the dead letter
+            // topic; the records after it are redelivered and dropped as duplicates
+            Map.Entry<Integer, Exception> first = failures.entrySet().iterator().next();
+            throw new BatchListenerFailedException("Pick event could not be processed", first.getValue(), first.getKey());
         }
     }
 
-    private void createPackingSession(String orderId, String warehouseId,
-                                      String pickSessionId, List<Map<String, Object>> items) {
-        // TODO: Implement using StartPackingSessionCommand
-        logger.warn("createPackingSession needs implementation with proper command pattern");
-        logger.debug("Would create packing session for order {} with {} items", orderId, items.size());
+    /**
+     * Handle PickingCompletedContract (task-level) events
+     */
+    private void handlePickTasksCompleted(List<PickingCompletedContract> events) {
+        for (PickingCompletedContract contract : events) {
+            logger.debug("Picking completed: pickTaskId={}, waveId={}, items={}",
+                    contract.pickTaskId(), contract.waveId(), contract.itemsPicked());
+        }
+        // Task-level completions carry no order lines; sessions are created from PickingCompletedEvent
     }
 
     /**
-     * Handle PickShortageEvent from pick-execution-service
-     * Handles pick shortages by creating partial packing sessions
+     * Handle PickingCompletedEvent - creates packing sessions for completed picks,
+     * the whole batch with one bulk insert
+     *
+     * @param positions batch position of each event
+     * @return the events that failed, by batch position
      */
-    @KafkaListener(
-            topics = "${paklog.kafka.topics.pick-events:wes-pick-events}",
-            groupId = "${paklog.kafka.consumer.group-id:pack-ship-service}"
-    )
-    public void handlePickShortage(Map<String, Object> eventData) {
-        try {
-            String eventType = (String) eventData.get("type");
+    private Map<Integer, Exception> handlePickSessionsCompleted(List<PickSessionCompletedContract> events,
+                                                                List<Integer> positions) {
+        logger.info("Received {} PickingCompletedEvent(s)", events.size());
+
+        Map<Integer, Exception> failures = new HashMap<>();
+        Map<String, List<Integer>> positionsByPickSession = new HashMap<>();
+        List<StartPackingSessionCommand> commands = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            PickSessionCompletedContract event = events.get(i);
+            int position = positions.get(i);
+            if (deduplicator.isDuplicatePickSession(event.sessionId())) {
+                logger.debug("Skipping duplicate PickingCompletedEvent for pick session {}", event.sessionId());
+                continue;
+            }
+            List<Integer> samePickSession = positionsByPickSession.computeIfAbsent(event.sessionId(), id -> new ArrayList<>());
+            samePickSession.add(position);
+            if (samePickSession.size() > 1) {
+                logger.debug("Skipping duplicate PickingCompletedEvent for pick session {}", event.sessionId());
+                continue; // shares the outcome of the first event for the pick session
+            }
+            try {
+                commands.add(toStartCommand(event));
+            } catch (RuntimeException e) {
+                logger.error("Invalid PickingCompletedEvent for order {}: {}", event.orderId(), e.getMessage());
+                failures.put(position, new IllegalArgumentException(
+                        "Invalid PickingCompletedEvent for order " + event.orderId(), e));
+            }
+        }
+        if (commands.isEmpty()) {
+            return failures;
+        }
 
-            if (!"PickShortageEvent".equals(eventType)) {
-                return;
+        BulkSessionCreationResult result = packingSessionService.createSessions(commands);
+        for (BulkSessionCreationResult.Outcome outcome : result.outcomes()) {
+            switch (outcome.type()) {
+                case CREATED -> deduplicator.markPickSessionProcessed(outcome.pickSessionId());
+                case ALREADY_EXISTS -> deduplicator.recordDuplicateKey(outcome.pickSessionId());
+                case FAILED -> {
+                    logger.error("Could not create packing session for order {} from pick session {}: {}",
+                            outcome.orderId(), outcome.pickSessionId(), outcome.failureReason());
+                    IllegalArgumentException failure = new IllegalArgumentException(
+                            "Could not create packing session for order " + outcome.orderId() + ": "
+                                    + outcome.failureReason());
+                    positionsByPickSession.get(outcome.pickSessionId())
+                            .forEach(position -> failures.put(position, failure));
+                }
             }
+        }
+        return failures;
+    }
 
-            logger.warn("Received PickShortageEvent: {}", eventData);
+    private static StartPackingSessionCommand toStartCommand(PickSessionCompletedContract event) {
+        List<PackingInstruction> instructions = new ArrayList<>(event.items().size());
+        for (int i = 0; i < event.items().size(); i++) {
+            PickSessionCompletedContract.PickedItem item = event.items().get(i);
+            PackingInstruction instruction = new PackingInstruction(
+                    event.sessionId() + "-" + (i + 1),
+                    item.sku(),
+                    item.description(),
+                    item.quantity(),
+                    new Weight(item.weightLb(), Weight.WeightUnit.LB),
+                    new Dimensions(item.lengthIn(), item.widthIn(), item.heightIn(), Dimensions.DimensionUnit.IN),
+                    event.orderId(),
+                    Priority.NORMAL
+            );
+            instruction.setBarcode(item.barcode());
+            instruction.setPickInstructionId(item.pickInstructionId());
+            instructions.add(instruction);
+        }
 
-            String orderId = (String) eventData.get("orderId");
-            String sku = (String) eventData.get("sku");
-            Integer expectedQty = ((Number) eventData.get("expectedQuantity")).intValue();
-            Integer pickedQty = ((Number) eventData.get("pickedQuantity")).intValue();
-            Integer shortQty = expectedQty - pickedQty;
+        return new StartPackingSessionCommand(
+                event.sessionId(),
+                event.orderId(),
+                null, // completedBy is the picker; a packer is assigned when the session is claimed
+                event.warehouseId(),
+                instructions
+        );
+    }
 
+    /**
+     * Handle PickShortageEvent - pick shortages for partial packing sessions
+     */
+    private void handlePickShortages(List<PickShortageContract> events) {
+        for (PickShortageContract event : events) {
             logger.warn("Pick shortage for order {}: SKU {} short {} units",
-                    orderId, sku, shortQty);
+                    event.orderId(), event.sku(), event.shortQuantity());
 
             // In a real system, this might trigger:
             // 1. Notification to warehouse manager
             // 2. Inventory adjustment
             // 3. Customer notification
             // 4. Backorder creation
+        }
+    }
 
-        } catch (Exception e) {
-            logger.error("Error handling PickShortageEvent", e);
-        
-
-}
-}
+    private static String header(ConsumerRecord<String, byte[]> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
 }
@@ -0,0 +1,27 @@
+package com.paklog.wes.pack.infrastructure.outbox;
+
+import org.bson.Document;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveCallback;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves pending domain events of a saved aggregate into the outbox collection.
+ * Runs inside the save call, so with a MongoTransactionManager active the
+ * aggregate and its events commit together.
+ */
+@Component
+public class OutboxEntityCallback implements AfterSaveCallback<Object> {
+
+    private final ObjectProvider<OutboxWriter> outboxWriter;
+
+    public OutboxEntityCallback(ObjectProvider<OutboxWriter> outboxWriter) {
+        this.outboxWriter = outboxWriter;
+    }
+
+    @Override
+    public Object onAfterSave(Object entity, Document document, String collection) {
+        outboxWriter.getObject().write(entity);
+        return entity;
+    }
+}
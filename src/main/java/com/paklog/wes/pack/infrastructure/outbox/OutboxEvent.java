@@ -0,0 +1,143 @@
+package com.paklog.wes.pack.infrastructure.outbox;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Domain event waiting to be relayed to Kafka.
+ * Written alongside the aggregate save, deleted once Kafka acknowledges it.
+ * The aggregate version of the save and the event's position within it order
+ * the events of one aggregate, whichever pod wrote them.
+ */
+@Document(collection = OutboxEvent.COLLECTION)
+public class OutboxEvent {
+
+    public static final String COLLECTION = "pack_ship_outbox";
+
+    private static final String EVENT_TYPE_PREFIX = "com.paklog.wes.pack-ship.";
+
+    @Id
+    private String id;
+
+    private String aggregateType;
+    private String aggregateId;
+    private Long aggregateVersion;
+    private int sequence;
+    private String eventType;
+    private Map<String, Object> payload;
+    private Instant occurredOn;
+    private Instant createdAt;
+
+    public OutboxEvent() {
+        // For persistence
+    }
+
+    public OutboxEvent(
+            String aggregateType,
+            String aggregateId,
+            Long aggregateVersion,
+            int sequence,
+            String domainEventType,
+            Map<String, Object> payload,
+            Instant occurredOn
+    ) {
+        this.aggregateType = Objects.requireNonNull(aggregateType, "Aggregate type cannot be null");
+        this.aggregateId = Objects.requireNonNull(aggregateId, "Aggregate ID cannot be null");
+        this.aggregateVersion = aggregateVersion;
+        this.sequence = sequence;
+        this.eventType = EVENT_TYPE_PREFIX + Objects.requireNonNull(domainEventType, "Event type cannot be null");
+        this.payload = payload;
+        this.occurredOn = occurredOn;
+        this.createdAt = Instant.now();
+    }
+
+    // Getters and setters
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public void setAggregateType(String aggregateType) {
+        this.aggregateType = aggregateType;
+    }
+
+    public String getAggregateId() {
+        return aggregateId;
+    }
+
+    public void setAggregateId(String aggregateId) {
+        this.aggregateId = aggregateId;
+    }
+
+    public Long getAggregateVersion() {
+        return aggregateVersion;
+    }
+
+    public void setAggregateVersion(Long aggregateVersion) {
+        this.aggregateVersion = aggregateVersion;
+    }
+
+    public int getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(int sequence) {
+        this.sequence = sequence;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public Map<String, Object> getPayload() {
+        return payload;
+    }
+
+    public void setPayload(Map<String, Object> payload) {
+        this.payload = payload;
+    }
+
+    public Instant getOccurredOn() {
+        return occurredOn;
+    }
+
+    public void setOccurredOn(Instant occurredOn) {
+        this.occurredOn = occurredOn;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxEvent{" +
+                "id='" + id + '\'' +
+                ", aggregateType='" + aggregateType + '\'' +
+                ", aggregateId='" + aggregateId + '\'' +
+                ", aggregateVersion=" + aggregateVersion +
+                ", sequence=" + sequence +
+                ", eventType='" + eventType + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,236 @@
+package com.paklog.wes.pack.infrastructure.outbox;
+
+import com.paklog.wes.pack.infrastructure.events.OutboundEvent;
+import com.paklog.wes.pack.infrastructure.events.PackShipEventPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relays outbox events to Kafka in batches.
+ * <p>
+ * A single pod holds the relay lease at a time. Events are read oldest first and
+ * keyed by aggregate ID. Within a batch, each aggregate's events are sent in
+ * aggregate version order, so clock skew between the pods that wrote them cannot
+ * reorder an aggregate's events (ObjectIds only order by second and pod).
+ * <p>
+ * A batch goes out in rounds: each round sends the next event of every
+ * aggregate and waits for Kafka to acknowledge them, so an aggregate's event is
+ * only sent once its previous one was acknowledged. If an event fails, its
+ * aggregate's later events are not sent at all and the next poll redelivers
+ * them in order. The lease is renewed before every round and a round waits at
+ * most half the lease, so no other pod takes over a batch still in flight.
+ * Acknowledged events are then removed with one bulk delete. Delivery is
+ * at-least-once.
+ */
+@Component
+@ConditionalOnProperty(name = "pack.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final String LEASE_COLLECTION = "pack_ship_outbox_lease";
+    private static final String LEASE_ID = "outbox-relay";
+
+    // Events written before versions were recorded sort first, by creation time
+    private static final Comparator<OutboxEvent> AGGREGATE_ORDER = Comparator
+            .comparing(OutboxEvent::getAggregateVersion, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparingInt(OutboxEvent::getSequence)
+            .thenComparing(OutboxEvent::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final MongoTemplate mongoTemplate;
+    private final PackShipEventPublisher eventPublisher;
+    private final String packEventsTopic;
+    private final String shipEventsTopic;
+    private final int batchSize;
+    private final long leaseMillis;
+    private final long roundTimeoutMillis;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public OutboxRelay(
+            MongoTemplate mongoTemplate,
+            PackShipEventPublisher eventPublisher,
+            @Value("${paklog.kafka.topics.pack-events}") String packEventsTopic,
+            @Value("${paklog.kafka.topics.ship-events}") String shipEventsTopic,
+            @Value("${pack.outbox.relay.batch-size:200}") int batchSize,
+            @Value("${pack.outbox.relay.lease-ms:30000}") long leaseMillis,
+            @Value("${pack.outbox.relay.send-timeout-ms:10000}") long sendTimeoutMillis
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+        this.packEventsTopic = packEventsTopic;
+        this.shipEventsTopic = shipEventsTopic;
+        this.batchSize = batchSize;
+        this.leaseMillis = leaseMillis;
+        this.roundTimeoutMillis = Math.min(sendTimeoutMillis, leaseMillis / 2);
+    }
+
+    @Scheduled(fixedDelayString = "${pack.outbox.relay.poll-interval-ms:250}")
+    public void relay() {
+        if (!acquireLease()) {
+            return;
+        }
+
+        int relayed;
+        do {
+            relayed = relayBatch();
+        } while (relayed == batchSize && acquireLease());
+    }
+
+    /**
+     * Send one batch and delete what Kafka acknowledged
+     *
+     * @return number of events removed from the outbox
+     */
+    int relayBatch() {
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.ASC, "createdAt", "aggregateId", "aggregateVersion", "sequence"))
+                .limit(batchSize);
+        List<OutboxEvent> batch = orderPerAggregate(mongoTemplate.find(query, OutboxEvent.class));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, List<OutboxEvent>> byAggregate = new LinkedHashMap<>();
+        for (OutboxEvent event : batch) {
+            byAggregate.computeIfAbsent(event.getAggregateId(), id -> new ArrayList<>()).add(event);
+        }
+
+        List<String> acknowledged = new ArrayList<>(batch.size());
+        Set<String> failedAggregates = new HashSet<>();
+        boolean complete = true;
+        for (int round = 0; ; round++) {
+            List<OutboxEvent> sending = new ArrayList<>(byAggregate.size());
+            for (List<OutboxEvent> events : byAggregate.values()) {
+                if (round < events.size() && !failedAggregates.contains(events.get(round).getAggregateId())) {
+                    sending.add(events.get(round));
+                }
+            }
+            if (sending.isEmpty()) {
+                break;
+            }
+            if (round > 0 && !acquireLease()) {
+                complete = false; // another pod took over; it resends what is not yet acknowledged
+                break;
+            }
+            if (!sendRound(sending, acknowledged, failedAggregates)) {
+                complete = false;
+                break;
+            }
+        }
+
+        if (!acknowledged.isEmpty()) {
+            mongoTemplate.remove(Query.query(Criteria.where("_id").in(acknowledged)), OutboxEvent.class);
+        }
+
+        logger.debug("Outbox relay: {} events read, {} acknowledged", batch.size(), acknowledged.size());
+        return complete && failedAggregates.isEmpty() ? acknowledged.size() : 0;
+    }
+
+    /**
+     * Send one event per aggregate and wait, at most one round timeout in total,
+     * for their acknowledgements
+     *
+     * @return false if the relay thread was interrupted
+     */
+    private boolean sendRound(List<OutboxEvent> sending, List<String> acknowledged, Set<String> failedAggregates) {
+        List<OutboundEvent> outbound = new ArrayList<>(sending.size());
+        for (OutboxEvent event : sending) {
+            outbound.add(new OutboundEvent(
+                    topicFor(event),
+                    event.getAggregateId(),
+                    event.getEventType(),
+                    event.getPayload(),
+                    event.getId()
+            ));
+        }
+        List<? extends CompletableFuture<?>> sends = eventPublisher.publishAll(outbound);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(roundTimeoutMillis);
+        for (int i = 0; i < sending.size(); i++) {
+            OutboxEvent event = sending.get(i);
+            try {
+                sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                acknowledged.add(event.getId());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (Exception e) {
+                failedAggregates.add(event.getAggregateId());
+                logger.warn("Outbox relay failed for event {} of {} {}, will retry",
+                        event.getId(), event.getAggregateType(), event.getAggregateId(), e);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sort each aggregate's events by version and sequence, keeping the batch
+     * positions the aggregate's events occupy
+     */
+    static List<OutboxEvent> orderPerAggregate(List<OutboxEvent> batch) {
+        Map<String, List<Integer>> positionsByAggregate = new HashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            positionsByAggregate.computeIfAbsent(batch.get(i).getAggregateId(), id -> new ArrayList<>()).add(i);
+        }
+
+        List<OutboxEvent> ordered = new ArrayList<>(batch);
+        for (List<Integer> positions : positionsByAggregate.values()) {
+            if (positions.size() < 2) {
+                continue;
+            }
+            List<OutboxEvent> events = new ArrayList<>(positions.size());
+            positions.forEach(position -> events.add(batch.get(position)));
+            events.sort(AGGREGATE_ORDER);
+            for (int i = 0; i < positions.size(); i++) {
+                ordered.set(positions.get(i), events.get(i));
+            }
+        }
+        return ordered;
+    }
+
+    private String topicFor(OutboxEvent event) {
+        return "Shipment".equals(event.getAggregateType()) ? shipEventsTopic : packEventsTopic;
+    }
+
+    private boolean acquireLease() {
+        Instant now = Instant.now();
+        Query query = Query.query(new Criteria().orOperator(
+                Criteria.where("owner").is(instanceId),
+                Criteria.where("expiresAt").lt(now)
+        )).addCriteria(Criteria.where("_id").is(LEASE_ID));
+        Update update = new Update()
+                .set("owner", instanceId)
+                .set("expiresAt", now.plusMillis(leaseMillis));
+        try {
+            mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().upsert(true),
+                    org.bson.Document.class, LEASE_COLLECTION);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false; // another instance holds a live lease
+        }
+    }
+}
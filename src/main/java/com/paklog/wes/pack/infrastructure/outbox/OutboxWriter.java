@@ -0,0 +1,87 @@
+package com.paklog.wes.pack.infrastructure.outbox;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paklog.wes.pack.domain.aggregate.PackingSession;
+import com.paklog.wes.pack.domain.aggregate.Shipment;
+import com.paklog.wes.pack.domain.shared.DomainEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves pending domain events of aggregates into the outbox collection
+ */
+@Component
+public class OutboxWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxWriter.class);
+
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {
+    };
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+
+    public OutboxWriter(MongoTemplate mongoTemplate, ObjectMapper objectMapper) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Write the pending events of one aggregate and clear them
+     */
+    public void write(Object aggregate) {
+        writeAll(List.of(aggregate));
+    }
+
+    /**
+     * Write the pending events of all given aggregates with a single insert and clear them
+     */
+    public void writeAll(Collection<?> aggregates) {
+        List<OutboxEvent> outboxEvents = new ArrayList<>();
+        for (Object aggregate : aggregates) {
+            if (aggregate instanceof PackingSession session) {
+                collect("PackingSession", session.getSessionId(), session.getVersion(),
+                        session.getDomainEvents(), outboxEvents);
+                session.clearDomainEvents();
+            } else if (aggregate instanceof Shipment shipment) {
+                collect("Shipment", shipment.getShipmentId(), shipment.getVersion(),
+                        shipment.getDomainEvents(), outboxEvents);
+                shipment.clearDomainEvents();
+            }
+        }
+
+        if (outboxEvents.isEmpty()) {
+            return;
+        }
+
+        mongoTemplate.insert(outboxEvents, OutboxEvent.class);
+        logger.debug("Wrote {} events to outbox for {} aggregate(s)", outboxEvents.size(), aggregates.size());
+    }
+
+    /**
+     * Called after the save assigned the aggregate's new version
+     */
+    private void collect(String aggregateType, String aggregateId, Long version,
+                         List<DomainEvent> events, List<OutboxEvent> target) {
+        for (int i = 0; i < events.size(); i++) {
+            DomainEvent event = events.get(i);
+            target.add(new OutboxEvent(
+                    aggregateType,
+                    aggregateId,
+                    version,
+                    i,
+                    event.getEventType(),
+                    objectMapper.convertValue(event, PAYLOAD_TYPE),
+                    event.getOccurredOn()
+            ));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.paklog.wes.pack.infrastructure.persistence;
+
+import com.paklog.wes.pack.domain.entity.CartonDefinition;
+import com.paklog.wes.pack.domain.repository.CartonDefinitionRepository;
+import com.paklog.wes.pack.domain.service.CartonCatalog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Keeps the in-memory carton catalog in step with the carton_catalog collection.
+ * <p>
+ * Polls the active definitions (a few dozen per warehouse) and rebuilds the
+ * catalog only when an ID or update time differs from the last load. The swap
+ * itself is copy-on-write, so cartonization keeps reading the previous catalog
+ * until the new one is complete. A failed poll keeps the current catalog.
+ */
+@Component
+public class CartonCatalogRefresher {
+
+    private static final Logger logger = LoggerFactory.getLogger(CartonCatalogRefresher.class);
+
+    private final CartonDefinitionRepository repository;
+    private final CartonCatalog catalog;
+
+    private List<String> loadedVersions;
+
+    public CartonCatalogRefresher(CartonDefinitionRepository repository, CartonCatalog catalog) {
+        this.repository = repository;
+        this.catalog = catalog;
+    }
+
+    @Scheduled(fixedDelayString = "${pack.cartonization.catalog.refresh-interval-ms:30000}")
+    public void refresh() {
+        List<CartonDefinition> definitions;
+        try {
+            definitions = repository.findByActiveTrue();
+        } catch (RuntimeException e) {
+            logger.warn("Could not read the carton catalog, keeping the current one", e);
+            return;
+        }
+
+        List<String> versions = definitions.stream()
+                .map(definition -> definition.getId() + "@" + definition.getUpdatedAt())
+                .sorted()
+                .toList();
+        if (versions.equals(loadedVersions)) {
+            return;
+        }
+
+        catalog.replace(definitions);
+        loadedVersions = versions;
+    }
+}
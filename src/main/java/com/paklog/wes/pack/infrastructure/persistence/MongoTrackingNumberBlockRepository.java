@@ -0,0 +1,42 @@
+package com.paklog.wes.pack.infrastructure.persistence;
+
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.paklog.wes.pack.domain.repository.TrackingNumberBlockRepository;
+import com.paklog.wes.pack.domain.valueobject.CarrierType;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tracking number counters in the tracking_number_blocks collection, one
+ * document per carrier. A lease is a single upserting {@code $inc}, so
+ * concurrent pods always get disjoint blocks.
+ */
+@Component
+public class MongoTrackingNumberBlockRepository implements TrackingNumberBlockRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoTrackingNumberBlockRepository.class);
+
+    static final String COLLECTION = "tracking_number_blocks";
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoTrackingNumberBlockRepository(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public long leaseBlock(CarrierType carrier, int blockSize) {
+        Document counter = mongoTemplate.getCollection(COLLECTION).findOneAndUpdate(
+                new Document("_id", carrier.name()),
+                new Document("$inc", new Document("next", (long) blockSize)),
+                new FindOneAndUpdateOptions().upsert(true).returnDocument(ReturnDocument.AFTER));
+
+        long first = counter.getLong("next") - blockSize;
+        logger.info("Leased {} tracking numbers for {} starting at serial {}", blockSize, carrier, first);
+        return first;
+    }
+}
@@ -0,0 +1,430 @@
+package com.paklog.wes.pack.infrastructure.persistence;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.paklog.wes.pack.domain.aggregate.PackingSession;
+import com.paklog.wes.pack.domain.entity.ItemToScan;
+import com.paklog.wes.pack.domain.entity.OnlineCartonState;
+import com.paklog.wes.pack.domain.exception.AlreadyScannedException;
+import com.paklog.wes.pack.domain.exception.UnexpectedItemException;
+import com.paklog.wes.pack.domain.repository.PackingSessionRepositoryCustom;
+import com.paklog.wes.pack.domain.service.CartonCatalog;
+import com.paklog.wes.pack.domain.valueobject.Carton;
+import com.paklog.wes.pack.domain.valueobject.Dimensions;
+import com.paklog.wes.pack.domain.valueobject.PackingStatus;
+import com.paklog.wes.pack.domain.valueobject.ScanResult;
+import com.paklog.wes.pack.infrastructure.outbox.OutboxWriter;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * MongoTemplate based in-place updates for the packing_sessions collection.
+ * A unit scan is one findAndModify with an update pipeline instead of a full
+ * document load and rewrite: it counts the unit on its line, records the scan
+ * with the same fields the aggregate records, flags a completed line and moves
+ * the session to READY_FOR_CARTON once every line is complete.
+ * <p>
+ * The same pipeline advances the online carton state, so a scan costs one
+ * write whether or not it completes a line; the carton it recommends is looked
+ * up in the session warehouse's catalog. Sessions scanned before that state
+ * existed have none stored: their first scan rebuilds it from the loaded
+ * session and stores it, one extra read and write per session.
+ */
+public class PackingSessionRepositoryCustomImpl implements PackingSessionRepositoryCustom {
+
+    private static final Logger logger = LoggerFactory.getLogger(PackingSessionRepositoryCustomImpl.class);
+
+    static final String COLLECTION = "packing_sessions";
+
+    // Index of the scanned line, only present while the scan pipeline runs
+    private static final String SCAN_LINE = "_scanLine";
+
+    private final MongoTemplate mongoTemplate;
+    private final OutboxWriter outboxWriter;
+    private final CartonCatalog cartonCatalog;
+    private final TransactionTemplate transactionTemplate; // null unless pack.outbox.transactional is on
+
+    /**
+     * Repository writing sessions and their outbox events without a transaction,
+     * recommending standard cartons only
+     */
+    public PackingSessionRepositoryCustomImpl(MongoTemplate mongoTemplate, OutboxWriter outboxWriter) {
+        this(mongoTemplate, outboxWriter, new CartonCatalog());
+    }
+
+    /**
+     * Repository writing sessions and their outbox events without a transaction
+     */
+    public PackingSessionRepositoryCustomImpl(MongoTemplate mongoTemplate, OutboxWriter outboxWriter,
+                                              CartonCatalog cartonCatalog) {
+        this(mongoTemplate, outboxWriter, cartonCatalog, (MongoTransactionManager) null);
+    }
+
+    @Autowired
+    public PackingSessionRepositoryCustomImpl(MongoTemplate mongoTemplate, OutboxWriter outboxWriter,
+                                              CartonCatalog cartonCatalog,
+                                              ObjectProvider<MongoTransactionManager> transactionManager) {
+        this(mongoTemplate, outboxWriter, cartonCatalog, transactionManager.getIfAvailable());
+    }
+
+    private PackingSessionRepositoryCustomImpl(MongoTemplate mongoTemplate, OutboxWriter outboxWriter,
+                                               CartonCatalog cartonCatalog,
+                                               MongoTransactionManager transactionManager) {
+        this.mongoTemplate = mongoTemplate;
+        this.outboxWriter = outboxWriter;
+        this.cartonCatalog = cartonCatalog;
+        this.transactionTemplate = transactionManager != null ? new TransactionTemplate(transactionManager) : null;
+    }
+
+    @Override
+    public ScanResult applyScan(String sessionId, String barcode) {
+        // Guard: session is SCANNING and the first line with this barcode still has quantity left
+        Document guard = new Document("_id", sessionId)
+                .append("status", PackingStatus.SCANNING.name())
+                .append("itemsToScan.barcode", barcode)
+                .append("$expr", firstLineHasRemaining(barcode));
+
+        Document updated = mongoTemplate.execute(COLLECTION, collection -> collection.findOneAndUpdate(
+                guard,
+                scanPipeline(barcode, new Date()),
+                new FindOneAndUpdateOptions()
+                        .projection(scanProjection(barcode))
+                        .returnDocument(ReturnDocument.AFTER)
+        ));
+
+        if (updated == null) {
+            throw rejectScan(sessionId, barcode);
+        }
+
+        Document item = firstItem(updated);
+        int scannedQuantity = item.getInteger("scannedQuantity", 0);
+        int expectedQuantity = item.getInteger("expectedQuantity", 0);
+        PackingStatus status = PackingStatus.valueOf(updated.getString("status"));
+
+        if (status == PackingStatus.READY_FOR_CARTON) {
+            logger.info("All items scanned in session {}, ready for carton", sessionId);
+        }
+
+        Document cartonState = updated.get("onlineCarton", Document.class);
+        Carton recommendedCarton = cartonState != null
+                ? mongoTemplate.getConverter().read(OnlineCartonState.class, cartonState)
+                        .getRecommendedCarton(cartonCatalog.forWarehouse(updated.getString("warehouseId")))
+                : migrateOnlineCarton(sessionId);
+
+        return new ScanResult(
+                sessionId,
+                barcode,
+                item.getString("itemSku"),
+                scannedQuantity,
+                expectedQuantity,
+                status,
+                recommendedCarton
+        );
+    }
+
+    @Override
+    public List<InsertFailure> insertAll(List<PackingSession> sessions) {
+        if (sessions.isEmpty()) {
+            return List.of();
+        }
+
+        List<Document> documents = new ArrayList<>(sessions.size());
+        for (PackingSession session : sessions) {
+            if (session.getVersion() == null) {
+                session.setVersion(0L); // what MongoTemplate.insert does for new versioned entities
+            }
+            Document document = new Document();
+            mongoTemplate.getConverter().write(session, document);
+            documents.add(document);
+        }
+
+        List<InsertFailure> failures = transactionTemplate != null
+                ? insertInTransaction(sessions, documents)
+                : insert(sessions, documents);
+
+        logger.debug("Bulk inserted {} of {} sessions", sessions.size() - failures.size(), sessions.size());
+        return failures;
+    }
+
+    private List<InsertFailure> insert(List<PackingSession> sessions, List<Document> documents) {
+        List<InsertFailure> failures = List.of();
+        try {
+            mongoTemplate.getCollection(COLLECTION).insertMany(documents, new InsertManyOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+            failures = e.getWriteErrors().stream()
+                    .map(error -> toFailure(error.getIndex(), error))
+                    .toList();
+        }
+
+        Set<Integer> failedIndexes = new HashSet<>();
+        failures.forEach(failure -> failedIndexes.add(failure.index()));
+        List<PackingSession> inserted = new ArrayList<>(sessions.size() - failedIndexes.size());
+        for (int i = 0; i < sessions.size(); i++) {
+            if (!failedIndexes.contains(i)) {
+                inserted.add(sessions.get(i));
+            }
+        }
+        outboxWriter.writeAll(inserted);
+        return failures;
+    }
+
+    /**
+     * Insert the sessions and their outbox events in one transaction. A write
+     * error aborts the whole transaction, so the failed documents are dropped and
+     * the rest retried; every retry drops at least one document.
+     */
+    private List<InsertFailure> insertInTransaction(List<PackingSession> sessions, List<Document> documents) {
+        List<InsertFailure> failures = new ArrayList<>();
+        List<Integer> pending = new ArrayList<>(sessions.size());
+        for (int i = 0; i < sessions.size(); i++) {
+            pending.add(i);
+        }
+
+        while (!pending.isEmpty()) {
+            List<Document> batch = new ArrayList<>(pending.size());
+            List<PackingSession> batchSessions = new ArrayList<>(pending.size());
+            pending.forEach(i -> {
+                batch.add(documents.get(i));
+                batchSessions.add(sessions.get(i));
+            });
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    mongoTemplate.getCollection(COLLECTION).insertMany(batch, new InsertManyOptions().ordered(false));
+                    outboxWriter.writeAll(batchSessions);
+                });
+                break;
+            } catch (MongoBulkWriteException e) {
+                if (e.getWriteErrors().isEmpty()) {
+                    throw e;
+                }
+                Set<Integer> failed = new HashSet<>();
+                for (BulkWriteError error : e.getWriteErrors()) {
+                    int index = pending.get(error.getIndex());
+                    failures.add(toFailure(index, error));
+                    failed.add(index);
+                }
+                pending.removeIf(failed::contains);
+            }
+        }
+
+        failures.sort(Comparator.comparingInt(InsertFailure::index));
+        return failures;
+    }
+
+    private static InsertFailure toFailure(int index, BulkWriteError error) {
+        return new InsertFailure(
+                index,
+                ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY,
+                error.getMessage());
+    }
+
+    /**
+     * The session was scanned before the online carton state existed: rebuild it,
+     * unit data included, from the loaded session and store it unless a scan came
+     * in since it was loaded. A session losing that race is migrated on its next scan.
+     *
+     * @return the carton now recommended
+     */
+    private Carton migrateOnlineCarton(String sessionId) {
+        PackingSession session = mongoTemplate.findById(sessionId, PackingSession.class, COLLECTION);
+        if (session == null) {
+            return null;
+        }
+        Carton recommended = session.getLiveCartonRecommendation(cartonCatalog.forWarehouse(session.getWarehouseId()));
+
+        Update update = new Update().set("onlineCarton", session.getOnlineCarton());
+        List<ItemToScan> items = session.getItemsToScan();
+        for (int i = 0; i < items.size(); i++) {
+            ItemToScan item = items.get(i);
+            if (item.getUnitDimensions() != null) {
+                update.set("itemsToScan." + i + ".unitDimensions", item.getUnitDimensions())
+                        .set("itemsToScan." + i + ".unitWeightLb", item.getUnitWeightLb());
+            }
+        }
+        mongoTemplate.updateFirst(new BasicQuery(new Document("_id", sessionId)
+                .append("version", session.getVersion())
+                .append("onlineCarton", null)), update, COLLECTION);
+
+        logger.debug("Migrated online carton state of session {}", sessionId);
+        return recommended;
+    }
+
+    /**
+     * Pipeline stage adding the unit on the scanned line to the stored online
+     * carton state, the same arithmetic as {@code OnlineCartonState.addUnits}.
+     * Documents without the state are left to {@link #migrateOnlineCarton}.
+     */
+    private static Document advanceOnlineCarton() {
+        Document line = new Document("$arrayElemAt", List.of("$itemsToScan", "$" + SCAN_LINE));
+
+        // Sides in inches; all missing when the line has no dimensions, which $min/$max skip
+        Document sides = new Document("l", toInches("$$line.unitDimensions.length", "$$line.unitDimensions.unit"))
+                .append("w", toInches("$$line.unitDimensions.width", "$$line.unitDimensions.unit"))
+                .append("h", toInches("$$line.unitDimensions.height", "$$line.unitDimensions.unit"));
+        Document addUnit = new Document("$let", new Document("vars", new Document("line", line))
+                .append("in", new Document("$let", new Document("vars", sides)
+                        .append("in", new Document("units", new Document("$add", List.of("$onlineCarton.units", 1)))
+                                .append("weightLb", new Document("$add", List.of(
+                                        "$onlineCarton.weightLb", new Document("$ifNull", List.of("$$line.unitWeightLb", 0.0)))))
+                                .append("volumeCubicInches", new Document("$add", List.of(
+                                        "$onlineCarton.volumeCubicInches",
+                                        new Document("$ifNull", List.of(new Document("$multiply", List.of("$$l", "$$w", "$$h")), 0.0)))))
+                                .append("shortestSide", new Document("$max", List.of(
+                                        "$onlineCarton.shortestSide", new Document("$min", List.of("$$l", "$$w", "$$h")))))
+                                .append("middleSide", new Document("$max", List.of(
+                                        "$onlineCarton.middleSide",
+                                        new Document("$max", List.of(
+                                                new Document("$min", List.of("$$l", "$$w")),
+                                                new Document("$min", List.of(new Document("$max", List.of("$$l", "$$w")), "$$h")))))))
+                                .append("longestSide", new Document("$max", List.of(
+                                        "$onlineCarton.longestSide", new Document("$max", List.of("$$l", "$$w", "$$h")))))))));
+
+        return new Document("$set", new Document("onlineCarton", whenOnlineCarton(addUnit)));
+    }
+
+    private static Document whenOnlineCarton(Document fields) {
+        return new Document("$cond", List.of(
+                new Document("$eq", List.of(new Document("$type", "$onlineCarton"), "object")),
+                new Document("$mergeObjects", List.of("$onlineCarton", fields)),
+                "$$REMOVE"));
+    }
+
+    private static Document toInches(String value, String unit) {
+        return new Document("$switch", new Document("branches", List.of(
+                new Document("case", new Document("$eq", List.of(unit, Dimensions.DimensionUnit.CM.name())))
+                        .append("then", new Document("$divide", List.of(value, 2.54))),
+                new Document("case", new Document("$eq", List.of(unit, Dimensions.DimensionUnit.FT.name())))
+                        .append("then", new Document("$multiply", List.of(value, 12.0))),
+                new Document("case", new Document("$eq", List.of(unit, Dimensions.DimensionUnit.M.name())))
+                        .append("then", new Document("$multiply", List.of(value, 39.3701)))))
+                .append("default", value));
+    }
+
+    /**
+     * Pipeline applying one unit scan to the first line with the barcode, which
+     * the guard of {@link #applyScan} checked still has quantity left. The
+     * scanned item copies the line's SKU and the packer (or worker) from the
+     * stored document, as {@code PackingSession.scanItem} does.
+     */
+    private static List<Document> scanPipeline(String barcode, Date scannedAt) {
+        Document line = new Document("$arrayElemAt", List.of("$itemsToScan", "$$i"));
+        Document scanned = new Document("$add", List.of("$$line.scannedQuantity", 1));
+        Document countUnit = new Document("$map", new Document("input",
+                new Document("$range", List.of(0, new Document("$size", "$itemsToScan"))))
+                .append("as", "i")
+                .append("in", new Document("$let", new Document("vars", new Document("line", line))
+                        .append("in", new Document("$cond", List.of(
+                                new Document("$eq", List.of("$$i", "$" + SCAN_LINE)),
+                                new Document("$mergeObjects", List.of("$$line", new Document("scannedQuantity", scanned)
+                                        .append("scanned", new Document("$or", List.of(
+                                                "$$line.scanned",
+                                                new Document("$gte", List.of(scanned, "$$line.expectedQuantity"))))))),
+                                "$$line"))))));
+
+        Document scannedItem = new Document("itemSku", new Document("$arrayElemAt", List.of("$itemsToScan.itemSku", "$" + SCAN_LINE)))
+                .append("barcode", new Document("$literal", barcode))
+                .append("scannedAt", scannedAt)
+                .append("scannedBy", new Document("$ifNull", List.of("$packerId", "$workerId")));
+
+        Document lineComplete = new Document("$let", new Document("vars", new Document("line",
+                new Document("$arrayElemAt", List.of("$itemsToScan", "$" + SCAN_LINE))))
+                .append("in", new Document("$gte", List.of("$$line.scannedQuantity", "$$line.expectedQuantity"))));
+        Document allLinesComplete = new Document("$allElementsTrue", List.of(
+                new Document("$map", new Document("input", "$itemsToScan")
+                        .append("in", new Document("$gte", List.of("$$this.scannedQuantity", "$$this.expectedQuantity"))))
+        ));
+
+        List<Document> stages = new ArrayList<>();
+        stages.add(new Document("$set", new Document(SCAN_LINE,
+                new Document("$indexOfArray", List.of("$itemsToScan.barcode", new Document("$literal", barcode))))));
+        stages.add(new Document("$set", new Document("itemsToScan", countUnit)
+                .append("scannedItems", new Document("$concatArrays", List.of(
+                        new Document("$ifNull", List.of("$scannedItems", List.of())), List.of(scannedItem))))
+                .append("version", new Document("$add", List.of(new Document("$ifNull", List.of("$version", 0L)), 1)))));
+        // Runs on the counted line: it just completed if it is complete now
+        stages.add(new Document("$set", new Document("fullyScannedItemCount", new Document("$add", List.of(
+                new Document("$ifNull", List.of("$fullyScannedItemCount", 0)),
+                new Document("$cond", List.of(lineComplete, 1, 0)))))
+                .append("status", new Document("$cond", List.of(
+                        allLinesComplete, PackingStatus.READY_FOR_CARTON.name(), "$status")))));
+        stages.add(advanceOnlineCarton());
+        stages.add(new Document("$unset", SCAN_LINE));
+        return stages;
+    }
+
+    /**
+     * The update was rejected by its guard - re-read just enough of the document to
+     * raise the same exception the aggregate would have raised.
+     */
+    private RuntimeException rejectScan(String sessionId, String barcode) {
+        Document current = mongoTemplate.findOne(
+                new BasicQuery(new Document("_id", sessionId), scanProjection(barcode)),
+                Document.class,
+                COLLECTION
+        );
+
+        if (current == null) {
+            return new IllegalArgumentException("Session not found: " + sessionId);
+        }
+
+        String status = current.getString("status");
+        if (!PackingStatus.SCANNING.name().equals(status)) {
+            return new IllegalStateException(
+                    String.format("Invalid status transition. Current: %s, Expected: %s",
+                            status, List.of(PackingStatus.SCANNING))
+            );
+        }
+
+        Document item = firstItem(current);
+        if (item == null) {
+            return new UnexpectedItemException(barcode);
+        }
+
+        return new AlreadyScannedException(
+                barcode,
+                item.getInteger("scannedQuantity", 0),
+                item.getInteger("expectedQuantity", 0)
+        );
+    }
+
+    private static Document firstLineHasRemaining(String barcode) {
+        Document firstMatch = new Document("$arrayElemAt", List.of(
+                new Document("$filter", new Document("input", "$itemsToScan")
+                        .append("cond", new Document("$eq", List.of("$$this.barcode", new Document("$literal", barcode))))),
+                0
+        ));
+        return new Document("$let", new Document("vars", new Document("item", firstMatch))
+                .append("in", new Document("$lt", List.of("$$item.scannedQuantity", "$$item.expectedQuantity"))));
+    }
+
+    private static Document scanProjection(String barcode) {
+        return new Document("status", 1)
+                .append("warehouseId", 1)
+                .append("onlineCarton", 1)
+                .append("itemsToScan", new Document("$elemMatch", new Document("barcode", barcode)));
+    }
+
+    private static Document firstItem(Document session) {
+        List<Document> items = session.getList("itemsToScan", Document.class);
+        return items == null || items.isEmpty() ? null : items.get(0);
+    }
+}
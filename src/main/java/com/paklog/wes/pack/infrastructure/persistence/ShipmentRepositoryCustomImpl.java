@@ -0,0 +1,274 @@
+package com.paklog.wes.pack.infrastructure.persistence;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.paklog.wes.pack.domain.aggregate.Shipment;
+import com.paklog.wes.pack.domain.entity.ShippingLabel;
+import com.paklog.wes.pack.domain.entity.ShippingLabelContent;
+import com.paklog.wes.pack.domain.repository.ShipmentRepositoryCustom;
+import com.paklog.wes.pack.domain.valueobject.TrackingStatus;
+import com.paklog.wes.pack.infrastructure.outbox.OutboxWriter;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * MongoTemplate based bulk writes for the shipments collection. With
+ * pack.outbox.transactional on, labelled shipments and their outbox events are
+ * written in one transaction.
+ */
+public class ShipmentRepositoryCustomImpl implements ShipmentRepositoryCustom {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShipmentRepositoryCustomImpl.class);
+
+    static final String COLLECTION = "shipments";
+
+    private final MongoTemplate mongoTemplate;
+    private final OutboxWriter outboxWriter;
+    private final TransactionTemplate transactionTemplate; // null unless pack.outbox.transactional is on
+
+    /**
+     * Repository writing shipments and their outbox events without a transaction
+     */
+    public ShipmentRepositoryCustomImpl(MongoTemplate mongoTemplate, OutboxWriter outboxWriter) {
+        this(mongoTemplate, outboxWriter, (MongoTransactionManager) null);
+    }
+
+    @Autowired
+    public ShipmentRepositoryCustomImpl(MongoTemplate mongoTemplate, OutboxWriter outboxWriter,
+                                        ObjectProvider<MongoTransactionManager> transactionManager) {
+        this(mongoTemplate, outboxWriter, transactionManager.getIfAvailable());
+    }
+
+    private ShipmentRepositoryCustomImpl(MongoTemplate mongoTemplate, OutboxWriter outboxWriter,
+                                         MongoTransactionManager transactionManager) {
+        this.mongoTemplate = mongoTemplate;
+        this.outboxWriter = outboxWriter;
+        this.transactionTemplate = transactionManager != null ? new TransactionTemplate(transactionManager) : null;
+    }
+
+    @Override
+    public List<LabelWriteFailure> saveLabelled(List<Shipment> shipments) {
+        if (shipments.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Integer, String> failed = new HashMap<>();
+        insertLabelContents(shipments, failed);
+
+        // Replace each shipment only if nobody changed or labelled it since it was loaded
+        List<Integer> attempted = new ArrayList<>(shipments.size());
+        List<ReplaceOneModel<Document>> replacements = new ArrayList<>(shipments.size());
+        for (int i = 0; i < shipments.size(); i++) {
+            if (failed.containsKey(i)) {
+                continue;
+            }
+            Shipment shipment = shipments.get(i);
+            Long loadedVersion = shipment.getVersion();
+            shipment.setVersion(loadedVersion == null ? 0L : loadedVersion + 1);
+            Document document = new Document();
+            mongoTemplate.getConverter().write(shipment, document);
+            shipment.setVersion(loadedVersion);
+
+            attempted.add(i);
+            replacements.add(new ReplaceOneModel<>(
+                    new Document("_id", shipment.getShipmentId())
+                            .append("version", loadedVersion)
+                            .append("trackingStatus", TrackingStatus.CREATED.name()),
+                    document));
+        }
+
+        List<Shipment> written = transactionTemplate != null
+                ? replaceInTransaction(shipments, attempted, replacements, failed)
+                : replace(shipments, attempted, replacements, failed);
+
+        // Stored label bytes of shipments that were not labelled
+        List<String> orphanedLabelIds = new ArrayList<>();
+        for (int i : attempted) {
+            if (failed.containsKey(i)) {
+                orphanedLabelIds.add(shipments.get(i).getShippingLabel().getLabelId());
+            }
+        }
+        if (!orphanedLabelIds.isEmpty()) {
+            mongoTemplate.getCollection(ShippingLabelContent.COLLECTION)
+                    .deleteMany(new Document("_id", new Document("$in", orphanedLabelIds)));
+        }
+
+        logger.debug("Bulk labelled {} of {} shipments", written.size(), shipments.size());
+        return failed.entrySet().stream()
+                .map(entry -> new LabelWriteFailure(entry.getKey(), entry.getValue()))
+                .sorted((a, b) -> Integer.compare(a.index(), b.index()))
+                .toList();
+    }
+
+    /**
+     * Replace the shipments, then write the events of those labelled
+     *
+     * @return the labelled shipments
+     */
+    private List<Shipment> replace(List<Shipment> shipments, List<Integer> attempted,
+                                   List<ReplaceOneModel<Document>> replacements, Map<Integer, String> failed) {
+        if (!replacements.isEmpty()) {
+            BulkWriteResult result;
+            int writeErrors = 0;
+            try {
+                result = mongoTemplate.getCollection(COLLECTION)
+                        .bulkWrite(replacements, new BulkWriteOptions().ordered(false));
+            } catch (MongoBulkWriteException e) {
+                for (BulkWriteError error : e.getWriteErrors()) {
+                    failed.put(attempted.get(error.getIndex()), error.getMessage());
+                }
+                writeErrors = e.getWriteErrors().size();
+                result = e.getWriteResult();
+            }
+            if (result.getMatchedCount() < replacements.size() - writeErrors) {
+                findUnmatched(shipments, attempted, failed);
+            }
+        }
+
+        List<Shipment> written = labelled(shipments, attempted, failed);
+        outboxWriter.writeAll(written);
+        return written;
+    }
+
+    /**
+     * Replace the shipments and write the events of those labelled in one
+     * transaction. A write error aborts the whole transaction, so the failed
+     * shipments are dropped and the rest retried; every retry drops at least one
+     * shipment. A replace whose guard matched nothing is no error and commits
+     * with the rest.
+     *
+     * @return the labelled shipments
+     */
+    private List<Shipment> replaceInTransaction(List<Shipment> shipments, List<Integer> attempted,
+                                                List<ReplaceOneModel<Document>> replacements,
+                                                Map<Integer, String> failed) {
+        // Positions in attempted and replacements
+        List<Integer> pending = new ArrayList<>(attempted.size());
+        for (int k = 0; k < attempted.size(); k++) {
+            pending.add(k);
+        }
+
+        while (!pending.isEmpty()) {
+            List<Integer> batchIndexes = new ArrayList<>(pending.size());
+            List<ReplaceOneModel<Document>> batch = new ArrayList<>(pending.size());
+            pending.forEach(k -> {
+                batchIndexes.add(attempted.get(k));
+                batch.add(replacements.get(k));
+            });
+            Map<Integer, String> unmatched = new HashMap<>();
+            try {
+                List<Shipment> written = transactionTemplate.execute(status -> {
+                    BulkWriteResult result = mongoTemplate.getCollection(COLLECTION)
+                            .bulkWrite(batch, new BulkWriteOptions().ordered(false));
+                    if (result.getMatchedCount() < batch.size()) {
+                        findUnmatched(shipments, batchIndexes, unmatched);
+                    }
+                    List<Shipment> labelled = labelled(shipments, batchIndexes, unmatched);
+                    outboxWriter.writeAll(labelled);
+                    return labelled;
+                });
+                failed.putAll(unmatched);
+                return written;
+            } catch (MongoBulkWriteException e) {
+                if (e.getWriteErrors().isEmpty()) {
+                    throw e;
+                }
+                Set<Integer> dropped = new HashSet<>();
+                for (BulkWriteError error : e.getWriteErrors()) {
+                    int k = pending.get(error.getIndex());
+                    failed.put(attempted.get(k), error.getMessage());
+                    dropped.add(k);
+                }
+                pending.removeIf(dropped::contains);
+            }
+        }
+        return List.of();
+    }
+
+    /**
+     * The replaced shipments, moved to the version they were stored with
+     */
+    private static List<Shipment> labelled(List<Shipment> shipments, List<Integer> attempted,
+                                           Map<Integer, String> failed) {
+        List<Shipment> labelled = new ArrayList<>(attempted.size());
+        for (int i : attempted) {
+            if (!failed.containsKey(i)) {
+                Shipment shipment = shipments.get(i);
+                Long loadedVersion = shipment.getVersion();
+                shipment.setVersion(loadedVersion == null ? 0L : loadedVersion + 1);
+                labelled.add(shipment);
+            }
+        }
+        return labelled;
+    }
+
+    /**
+     * Insert the label bytes of every shipment with one unordered insert,
+     * recording shipments whose content could not be stored
+     */
+    private void insertLabelContents(List<Shipment> shipments, Map<Integer, String> failed) {
+        List<Document> documents = new ArrayList<>(shipments.size());
+        for (Shipment shipment : shipments) {
+            ShippingLabel label = shipment.getShippingLabel();
+            Document document = new Document();
+            mongoTemplate.getConverter().write(new ShippingLabelContent(
+                    label.getLabelId(), shipment.getShipmentId(), label.getFormat(), label.getContent()), document);
+            documents.add(document);
+        }
+
+        try {
+            mongoTemplate.getCollection(ShippingLabelContent.COLLECTION)
+                    .insertMany(documents, new InsertManyOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+            for (BulkWriteError error : e.getWriteErrors()) {
+                failed.put(error.getIndex(), error.getMessage());
+            }
+        }
+    }
+
+    /**
+     * A replace whose guard matched nothing is not a write error; look the
+     * attempted shipments up to find which ones another writer got to first
+     * or that no longer exist
+     */
+    private void findUnmatched(List<Shipment> shipments, List<Integer> attempted, Map<Integer, String> failed) {
+        List<String> ids = new ArrayList<>(attempted.size());
+        attempted.forEach(i -> ids.add(shipments.get(i).getShipmentId()));
+
+        Map<String, String> storedTrackingNumbers = new HashMap<>();
+        for (Document stored : mongoTemplate.getCollection(COLLECTION)
+                .find(new Document("_id", new Document("$in", ids)))
+                .projection(new Document("trackingNumber", 1))) {
+            storedTrackingNumbers.put(stored.getString("_id"), stored.getString("trackingNumber"));
+        }
+
+        for (int i : attempted) {
+            Shipment shipment = shipments.get(i);
+            if (failed.containsKey(i)) {
+                continue;
+            }
+            if (!storedTrackingNumbers.containsKey(shipment.getShipmentId())) {
+                failed.put(i, "Shipment not found: " + shipment.getShipmentId());
+            } else if (!shipment.getTrackingNumber().equals(storedTrackingNumbers.get(shipment.getShipmentId()))) {
+                failed.put(i, "Shipment was modified concurrently: " + shipment.getShipmentId());
+            }
+        }
+    }
+}
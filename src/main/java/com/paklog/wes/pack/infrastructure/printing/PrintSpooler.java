@@ -0,0 +1,264 @@
+package com.paklog.wes.pack.infrastructure.printing;
+
+import com.paklog.wes.pack.domain.entity.ShippingLabel;
+import com.paklog.wes.pack.domain.service.LabelPrinter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Print spooler for raw TCP (port 9100) label printers.
+ * <p>
+ * Every printer has a bounded queue and one sender thread that owns a
+ * persistent connection to it, so printing a label never waits for a TCP
+ * handshake. The sender drains consecutive queued jobs and hands them to the
+ * printer in one gathering write. When the printer cannot be reached or the
+ * write fails, the jobs fail over to the first sibling printer (same group)
+ * they have not tried yet; a job fails once every printer in the group was
+ * tried. A label whose bytes were written is marked printed, including the
+ * labels of a failed write that went out in full before the failure.
+ */
+@Component
+public class PrintSpooler implements LabelPrinter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrintSpooler.class);
+
+    private final Map<String, PrinterQueue> printers = new LinkedHashMap<>();
+    private final int maxBatchJobs;
+    private final boolean virtualThreads;
+
+    private volatile boolean running;
+
+    @Autowired
+    public PrintSpooler(
+            @Value("${pack.printing.printers:}") String printers,
+            @Value("${pack.printing.queue-capacity:500}") int queueCapacity,
+            @Value("${pack.printing.max-batch-jobs:50}") int maxBatchJobs,
+            @Value("${pack.printing.connect-timeout-ms:2000}") long connectTimeoutMillis,
+            @Value("${pack.printing.write-timeout-ms:5000}") long writeTimeoutMillis,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
+        this(PrinterEndpoint.parseAll(printers), queueCapacity, maxBatchJobs,
+                connectTimeoutMillis, writeTimeoutMillis, virtualThreads);
+    }
+
+    public PrintSpooler(
+            List<PrinterEndpoint> endpoints,
+            int queueCapacity,
+            int maxBatchJobs,
+            long connectTimeoutMillis,
+            long writeTimeoutMillis,
+            boolean virtualThreads
+    ) {
+        for (PrinterEndpoint endpoint : endpoints) {
+            PrinterQueue queue = new PrinterQueue(endpoint, queueCapacity,
+                    new PrinterConnection(endpoint, connectTimeoutMillis, writeTimeoutMillis));
+            if (printers.putIfAbsent(endpoint.printerId(), queue) != null) {
+                throw new IllegalArgumentException("Duplicate printer: " + endpoint.printerId());
+            }
+        }
+        this.maxBatchJobs = Math.max(1, maxBatchJobs);
+        this.virtualThreads = virtualThreads;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (PrinterQueue queue : printers.values()) {
+            Thread.Builder builder = virtualThreads
+                    ? Thread.ofVirtual()
+                    : Thread.ofPlatform().daemon(true);
+            queue.sender = builder.name("print-spooler-" + queue.endpoint.printerId()).start(() -> sendLoop(queue));
+        }
+        logger.info("Print spooler started with {} printers", printers.size());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (PrinterQueue queue : printers.values()) {
+            if (queue.sender != null) {
+                queue.sender.interrupt();
+                queue.sender.join(TimeUnit.SECONDS.toMillis(5));
+            }
+            List<PrintJob> left = new ArrayList<>();
+            queue.jobs.drainTo(left);
+            left.forEach(job -> job.result.completeExceptionally(
+                    new RejectedExecutionException("Print spooler stopped")));
+            queue.connection.close();
+        }
+    }
+
+    @Override
+    public CompletableFuture<PrintReceipt> print(String printerId, ShippingLabel label) {
+        byte[] content = label.getContent();
+        if (content == null) {
+            throw new IllegalArgumentException("Label content is not loaded: " + label.getLabelId());
+        }
+        PrinterQueue queue = printers.get(printerId);
+        if (queue == null) {
+            throw new IllegalArgumentException("Unknown printer: " + printerId);
+        }
+
+        PrintJob job = new PrintJob(label, content, printerId);
+        enqueue(queue, job);
+        return job.result;
+    }
+
+    public List<String> getPrinterIds() {
+        return List.copyOf(printers.keySet());
+    }
+
+    /**
+     * Jobs waiting for the printer
+     */
+    public int getQueueDepth(String printerId) {
+        PrinterQueue queue = printers.get(printerId);
+        return queue != null ? queue.jobs.size() : 0;
+    }
+
+    /**
+     * Connections opened to the printer so far, including reconnects
+     */
+    public long getConnects(String printerId) {
+        PrinterQueue queue = printers.get(printerId);
+        return queue != null ? queue.connection.getConnects() : 0;
+    }
+
+    private void enqueue(PrinterQueue queue, PrintJob job) {
+        job.tried.add(queue.endpoint.printerId());
+        if (!running) {
+            job.result.completeExceptionally(new RejectedExecutionException("Print spooler is not running"));
+        } else if (!queue.jobs.offer(job)) {
+            failOver(queue, List.of(job), new RejectedExecutionException(
+                    "Print queue full for printer " + queue.endpoint.printerId()));
+        }
+    }
+
+    private void sendLoop(PrinterQueue queue) {
+        List<PrintJob> batch = new ArrayList<>(maxBatchJobs);
+        while (running) {
+            try {
+                PrintJob first = queue.jobs.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.jobs.drainTo(batch, maxBatchJobs - 1);
+                send(queue, batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                logger.error("Print spooler error for printer {}", queue.endpoint.printerId(), e);
+                batch.forEach(job -> job.result.completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void send(PrinterQueue queue, List<PrintJob> batch) {
+        ByteBuffer[] buffers = new ByteBuffer[batch.size()];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = ByteBuffer.wrap(batch.get(i).content);
+        }
+
+        try {
+            queue.connection.write(buffers);
+        } catch (IOException e) {
+            // Jobs ahead of the failure were written in full; only the rest need another printer
+            List<PrintJob> written = new ArrayList<>(batch.size());
+            List<PrintJob> unwritten = new ArrayList<>(batch.size());
+            for (int i = 0; i < buffers.length; i++) {
+                (buffers[i].hasRemaining() ? unwritten : written).add(batch.get(i));
+            }
+            logger.warn("Printer {} failed for {} of {} labels: {}",
+                    queue.endpoint.printerId(), unwritten.size(), batch.size(), e.toString());
+            complete(queue, written);
+            failOver(queue, unwritten, e);
+            return;
+        }
+
+        complete(queue, batch);
+        logger.debug("Sent {} labels to printer {}", batch.size(), queue.endpoint.printerId());
+    }
+
+    private static void complete(PrinterQueue queue, List<PrintJob> written) {
+        for (PrintJob job : written) {
+            job.label.markPrinted();
+            job.result.complete(new PrintReceipt(
+                    job.label.getLabelId(), job.requestedPrinterId, queue.endpoint.printerId()));
+        }
+    }
+
+    /**
+     * Move jobs to a sibling printer in the same group they have not tried,
+     * or fail them if there is none
+     */
+    private void failOver(PrinterQueue from, List<PrintJob> jobs, Exception cause) {
+        for (PrintJob job : jobs) {
+            PrinterQueue sibling = null;
+            for (PrinterQueue candidate : printers.values()) {
+                if (candidate.endpoint.group().equals(from.endpoint.group())
+                        && !job.tried.contains(candidate.endpoint.printerId())) {
+                    sibling = candidate;
+                    break;
+                }
+            }
+
+            if (sibling == null) {
+                job.result.completeExceptionally(cause);
+            } else {
+                logger.info("Label {} failing over from printer {} to {}",
+                        job.label.getLabelId(), from.endpoint.printerId(), sibling.endpoint.printerId());
+                enqueue(sibling, job);
+            }
+        }
+    }
+
+    private static final class PrinterQueue {
+        private final PrinterEndpoint endpoint;
+        private final BlockingQueue<PrintJob> jobs;
+        private final PrinterConnection connection;
+        private Thread sender;
+
+        private PrinterQueue(PrinterEndpoint endpoint, int capacity, PrinterConnection connection) {
+            this.endpoint = endpoint;
+            this.jobs = new ArrayBlockingQueue<>(capacity);
+            this.connection = connection;
+        }
+    }
+
+    private static final class PrintJob {
+        private final ShippingLabel label;
+        private final byte[] content;
+        private final String requestedPrinterId;
+        private final Set<String> tried = new HashSet<>();
+        private final CompletableFuture<PrintReceipt> result = new CompletableFuture<>();
+
+        private PrintJob(ShippingLabel label, byte[] content, String requestedPrinterId) {
+            this.label = label;
+            this.content = content;
+            this.requestedPrinterId = requestedPrinterId;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.paklog.wes.pack.infrastructure.printing;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Persistent non-blocking connection to one raw port 9100 printer, opened on
+ * first use and reopened after the printer closed it or a write failed.
+ * <p>
+ * Connect and write wait on a selector, so a printer that stops draining its
+ * buffer times the write out instead of hanging the printer's queue. Raw
+ * printing has no acknowledgement: a write succeeds once the bytes are in the
+ * socket's send buffer. Not thread-safe; each printer queue owns one.
+ */
+class PrinterConnection implements AutoCloseable {
+
+    private static final int DRAIN_BYTES = 256;
+
+    private final PrinterEndpoint endpoint;
+    private final long connectTimeoutMillis;
+    private final long writeTimeoutMillis;
+    private final ByteBuffer drain = ByteBuffer.allocate(DRAIN_BYTES);
+
+    private SocketChannel channel;
+    private Selector selector;
+    private volatile long connects;
+
+    PrinterConnection(PrinterEndpoint endpoint, long connectTimeoutMillis, long writeTimeoutMillis) {
+        this.endpoint = endpoint;
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.writeTimeoutMillis = writeTimeoutMillis;
+    }
+
+    /**
+     * Write all buffers in one gathering write, connecting first if needed
+     *
+     * @throws IOException if the printer cannot be reached or the write fails or
+     *                     times out; the connection is closed and reopened on next use
+     */
+    void write(ByteBuffer[] buffers) throws IOException {
+        try {
+            ensureOpen();
+            long deadline = System.nanoTime() + writeTimeoutMillis * 1_000_000;
+            while (hasRemaining(buffers)) {
+                if (channel.write(buffers) == 0) {
+                    awaitReady(SelectionKey.OP_WRITE, deadline, "Write to printer " + endpoint.printerId());
+                }
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Connections opened so far, including reconnects
+     */
+    long getConnects() {
+        return connects;
+    }
+
+    boolean isOpen() {
+        return channel != null && channel.isOpen();
+    }
+
+    @Override
+    public void close() {
+        closeQuietly(selector);
+        closeQuietly(channel);
+        selector = null;
+        channel = null;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (isOpen() && !peerClosed()) {
+            return;
+        }
+        close();
+
+        channel = SocketChannel.open();
+        channel.configureBlocking(false);
+        selector = Selector.open();
+        if (!channel.connect(endpoint.socketAddress())) {
+            long deadline = System.nanoTime() + connectTimeoutMillis * 1_000_000;
+            while (!channel.finishConnect()) {
+                awaitReady(SelectionKey.OP_CONNECT, deadline, "Connect to printer " + endpoint.printerId());
+            }
+        }
+        connects++;
+    }
+
+    /**
+     * Printers only talk back when asked for status; read and discard anything
+     * they sent and report whether they closed the connection (idle timeout,
+     * power cycle) so the next write does not go into a dead socket
+     */
+    private boolean peerClosed() {
+        try {
+            int read;
+            do {
+                drain.clear();
+                read = channel.read(drain);
+            } while (read > 0);
+            return read < 0;
+        } catch (IOException e) {
+            return true; // Reset by the printer; reconnect
+        }
+    }
+
+    private void awaitReady(int operation, long deadlineNanos, String what) throws IOException {
+        long remainingMillis = (deadlineNanos - System.nanoTime()) / 1_000_000;
+        if (remainingMillis <= 0) {
+            throw new SocketTimeoutException(what + " timed out");
+        }
+        SelectionKey key = channel.register(selector, operation);
+        try {
+            selector.select(remainingMillis);
+        } finally {
+            key.interestOps(0);
+            selector.selectedKeys().clear();
+        }
+    }
+
+    private static boolean hasRemaining(ByteBuffer[] buffers) {
+        for (ByteBuffer buffer : buffers) {
+            if (buffer.hasRemaining()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (Exception ignored) {
+            // Already broken; nothing left to release
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.paklog.wes.pack.infrastructure.printing;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A raw TCP label printer; printers in the same group back each other up
+ */
+public record PrinterEndpoint(String printerId, String host, int port, String group) {
+
+    public static final int RAW_PORT = 9100;
+
+    public PrinterEndpoint {
+        Objects.requireNonNull(printerId, "Printer ID cannot be null");
+        Objects.requireNonNull(host, "Host cannot be null");
+        Objects.requireNonNull(group, "Group cannot be null");
+    }
+
+    /**
+     * Parse a comma-separated list of {@code id=host[:port][@group]}. The port
+     * defaults to 9100 and the group to the printer ID (no siblings).
+     */
+    public static List<PrinterEndpoint> parseAll(String spec) {
+        List<PrinterEndpoint> endpoints = new ArrayList<>();
+        if (spec == null || spec.isBlank()) {
+            return endpoints;
+        }
+        for (String entry : spec.split(",")) {
+            if (!entry.isBlank()) {
+                endpoints.add(parse(entry.trim()));
+            }
+        }
+        return endpoints;
+    }
+
+    static PrinterEndpoint parse(String entry) {
+        int equals = entry.indexOf('=');
+        if (equals <= 0) {
+            throw new IllegalArgumentException("Printer must be id=host[:port][@group]: " + entry);
+        }
+        String printerId = entry.substring(0, equals).trim();
+        String address = entry.substring(equals + 1).trim();
+
+        String group = printerId;
+        int at = address.indexOf('@');
+        if (at >= 0) {
+            group = address.substring(at + 1).trim();
+            address = address.substring(0, at).trim();
+        }
+
+        int port = RAW_PORT;
+        int colon = address.lastIndexOf(':');
+        if (colon >= 0) {
+            port = Integer.parseInt(address.substring(colon + 1).trim());
+            address = address.substring(0, colon).trim();
+        }
+        return new PrinterEndpoint(printerId, address, port, group);
+    }
+
+    public InetSocketAddress socketAddress() {
+        return new InetSocketAddress(host, port);
+    }
+}
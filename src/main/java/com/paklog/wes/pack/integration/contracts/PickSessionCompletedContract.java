@@ -0,0 +1,42 @@
+package com.paklog.wes.pack.integration.contracts;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/**
+ * Contract for PickingCompletedEvent (order-level pick session completion)
+ * from pick-execution-service
+ * Anti-Corruption Layer
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record PickSessionCompletedContract(
+    String sessionId,
+    String orderId,
+    String warehouseId,
+    String completedBy,
+    List<PickedItem> items
+) {
+    public static final String EVENT_TYPE = "PickingCompletedEvent";
+
+    public PickSessionCompletedContract {
+        items = items != null ? items : List.of();
+    }
+
+    /**
+     * Item picked for the order, with the physical attributes packing needs
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record PickedItem(
+        String pickInstructionId,
+        String sku,
+        String barcode,
+        String description,
+        int quantity,
+        double weightLb,
+        double lengthIn,
+        double widthIn,
+        double heightIn
+    ) {
+    }
+}
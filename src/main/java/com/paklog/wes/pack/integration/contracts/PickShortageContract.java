@@ -0,0 +1,21 @@
+package com.paklog.wes.pack.integration.contracts;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Contract for PickShortageEvent from pick-execution-service
+ * Anti-Corruption Layer
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record PickShortageContract(
+    String orderId,
+    String sku,
+    int expectedQuantity,
+    int pickedQuantity
+) {
+    public static final String EVENT_TYPE = "PickShortageEvent";
+
+    public int shortQuantity() {
+        return expectedQuantity - pickedQuantity;
+    }
+}
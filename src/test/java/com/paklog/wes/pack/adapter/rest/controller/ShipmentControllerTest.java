@@ -0,0 +1,167 @@
+package com.paklog.wes.pack.adapter.rest.controller;
+
+import com.paklog.wes.pack.application.command.CreateShipmentCommand;
+import com.paklog.wes.pack.application.command.GenerateLabelCommand;
+import com.paklog.wes.pack.application.service.ShipmentService;
+import com.paklog.wes.pack.domain.aggregate.Shipment;
+import com.paklog.wes.pack.domain.entity.ShippingLabel;
+import com.paklog.wes.pack.domain.valueobject.Address;
+import com.paklog.wes.pack.domain.valueobject.CarrierType;
+import com.paklog.wes.pack.domain.valueobject.ShippingMethod;
+import com.paklog.wes.pack.domain.valueobject.Weight;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("ShipmentController Tests")
+class ShipmentControllerTest {
+
+    private static final String SHIP_TO = """
+            {"street1": "1200 Commerce Way", "city": "Reno", "state": "NV", "zipCode": "89502", "country": "US"}""";
+
+    private ShipmentService shipmentService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        shipmentService = mock(ShipmentService.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ShipmentController(shipmentService)).build();
+    }
+
+    @Test
+    @DisplayName("Should create a shipment for a packing session")
+    void shouldCreateShipment() throws Exception {
+        // Given
+        Shipment shipment = shipment();
+        when(shipmentService.createShipment(any())).thenReturn(shipment);
+
+        // When/Then
+        mockMvc.perform(post("/api/v1/shipments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"packingSessionId": "PACK-1", "shippingAddress": %s,
+                                 "carrier": "UPS", "shippingMethod": "GROUND"}""".formatted(SHIP_TO)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.shipmentId").value(shipment.getShipmentId()))
+                .andExpect(jsonPath("$.packingSessionId").value("PACK-1"))
+                .andExpect(jsonPath("$.carrier").value("UPS"))
+                .andExpect(jsonPath("$.trackingStatus").value("CREATED"))
+                .andExpect(jsonPath("$.weightLb").value(4.5));
+
+        ArgumentCaptor<CreateShipmentCommand> command = ArgumentCaptor.forClass(CreateShipmentCommand.class);
+        verify(shipmentService).createShipment(command.capture());
+        assertThat(command.getValue().packingSessionId()).isEqualTo("PACK-1");
+        assertThat(command.getValue().carrier()).isEqualTo(CarrierType.UPS);
+        assertThat(command.getValue().shippingMethod()).isEqualTo(ShippingMethod.GROUND);
+        assertThat(command.getValue().shippingAddress().city()).isEqualTo("Reno");
+    }
+
+    @Test
+    @DisplayName("Should reject a create request without a carrier")
+    void shouldRejectInvalidCreateRequest() throws Exception {
+        // When/Then
+        mockMvc.perform(post("/api/v1/shipments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"packingSessionId": "PACK-1", "shippingAddress": %s,
+                                 "shippingMethod": "GROUND"}""".formatted(SHIP_TO)))
+                .andExpect(status().isBadRequest());
+        verify(shipmentService, never()).createShipment(any());
+    }
+
+    @Test
+    @DisplayName("Should get a shipment by ID")
+    void shouldGetShipment() throws Exception {
+        // Given
+        Shipment shipment = shipment();
+        when(shipmentService.getShipment(shipment.getShipmentId())).thenReturn(shipment);
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/shipments/{id}", shipment.getShipmentId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.shipmentId").value(shipment.getShipmentId()))
+                .andExpect(jsonPath("$.orderId").value("ORDER-1"))
+                .andExpect(jsonPath("$.shippingMethod").value("GROUND"))
+                .andExpect(jsonPath("$.labelFormat").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should generate a label and return the labelled shipment without label bytes")
+    void shouldGenerateLabel() throws Exception {
+        // Given
+        Shipment shipment = labelledShipment();
+        when(shipmentService.generateLabel(any())).thenReturn(shipment);
+
+        // When/Then
+        mockMvc.perform(post("/api/v1/shipments/{id}/label", shipment.getShipmentId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fromAddress\": " + SHIP_TO + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trackingStatus").value("LABELED"))
+                .andExpect(jsonPath("$.trackingNumber").value("1Z0000000000000001"))
+                .andExpect(jsonPath("$.labelFormat").value("ZPL"))
+                .andExpect(jsonPath("$.labelData").doesNotExist());
+
+        ArgumentCaptor<GenerateLabelCommand> command = ArgumentCaptor.forClass(GenerateLabelCommand.class);
+        verify(shipmentService).generateLabel(command.capture());
+        assertThat(command.getValue().shipmentId()).isEqualTo(shipment.getShipmentId());
+    }
+
+    @Test
+    @DisplayName("Should serve the label bytes inline with the format's media type")
+    void shouldDownloadLabel() throws Exception {
+        // Given
+        Shipment shipment = labelledShipment();
+        ShippingLabel label = shipment.getShippingLabel();
+        when(shipmentService.getLabelForPrinting(shipment.getShipmentId())).thenReturn(label);
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/shipments/{id}/label", shipment.getShipmentId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.TEXT_PLAIN))
+                .andExpect(header().string("Content-Disposition",
+                        "inline; filename=\"" + label.getLabelId() + ".zpl\""))
+                .andExpect(content().bytes(label.getContent()));
+    }
+
+    private static Shipment shipment() {
+        Shipment shipment = Shipment.create(
+                "PACK-1",
+                "ORDER-1",
+                "WH-1",
+                new Address("1200 Commerce Way", "Reno", "NV", "89502", "US"),
+                CarrierType.UPS,
+                ShippingMethod.GROUND,
+                new Weight(4.5, Weight.WeightUnit.LB),
+                null
+        );
+        shipment.clearDomainEvents();
+        return shipment;
+    }
+
+    private static Shipment labelledShipment() {
+        Shipment shipment = shipment();
+        String trackingNumber = "1Z0000000000000001";
+        shipment.generateLabel(new ShippingLabel(
+                trackingNumber,
+                CarrierType.UPS,
+                ShippingLabel.LabelFormat.ZPL,
+                "^XA^FDtest^FS^XZ".getBytes(StandardCharsets.US_ASCII),
+                trackingNumber
+        ), trackingNumber);
+        return shipment;
+    }
+}
@@ -0,0 +1,68 @@
+package com.paklog.wes.pack.application.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("BoundedStage Tests")
+class BoundedStageTest {
+
+    private BoundedStage stage;
+
+    @AfterEach
+    void tearDown() {
+        stage.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should run every task on the pool and keep input order")
+    void shouldRunOnPoolInInputOrder() {
+        // Given
+        stage = new PreCartonizationStage(2, 1000);
+        List<Integer> orders = IntStream.range(0, 100).boxed().toList();
+
+        // When
+        List<String> results = stage.runAll(orders, order -> order + "@" + Thread.currentThread().getName());
+
+        // Then
+        assertThat(results).hasSize(100);
+        for (int i = 0; i < results.size(); i++) {
+            assertThat(results.get(i)).startsWith(i + "@pre-cartonization-");
+        }
+        assertThat(stage.getTasksInPool()).isEqualTo(100);
+        assertThat(stage.getTasksInline()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should run tasks on the calling thread once the backlog is full")
+    void shouldRunInlineWhenBacklogFull() {
+        // Given
+        stage = new PreCartonizationStage(1, 0);
+        String caller = Thread.currentThread().getName();
+
+        // When
+        List<String> results = stage.runAll(List.of(1, 2, 3), order -> Thread.currentThread().getName());
+
+        // Then
+        assertThat(results).containsOnly(caller);
+        assertThat(stage.getTasksInline()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should reject label batches above the maximum size")
+    void shouldRejectOversizedLabelBatch() {
+        // Given
+        stage = new LabelRenderStage(1, 2);
+
+        // When/Then
+        assertThatThrownBy(() -> stage.runAll(List.of(1, 2, 3), shipment -> shipment))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("exceeds the maximum of 2");
+        assertThat(stage.runAll(List.of(1, 2), shipment -> shipment * 10)).containsExactly(10, 20);
+    }
+}
@@ -0,0 +1,124 @@
+package com.paklog.wes.pack.application.service;
+
+import com.paklog.wes.pack.application.command.StartPackingSessionCommand;
+import com.paklog.wes.pack.domain.aggregate.PackingSession;
+import com.paklog.wes.pack.domain.entity.PackingInstruction;
+import com.paklog.wes.pack.domain.repository.PackingSessionRepository;
+import com.paklog.wes.pack.domain.service.CartonSelector;
+import com.paklog.wes.pack.domain.service.ContainerOptimizationService;
+import com.paklog.wes.pack.domain.valueobject.BulkSessionCreationResult;
+import com.paklog.wes.pack.domain.valueobject.Dimensions;
+import com.paklog.wes.pack.domain.valueobject.PackingStatus;
+import com.paklog.wes.pack.domain.valueobject.Priority;
+import com.paklog.wes.pack.domain.valueobject.Weight;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("PackingSessionService Tests")
+class PackingSessionServiceTest {
+
+    private PackingSessionRepository repository;
+    private PreCartonizationStage preCartonizationStage;
+    private PackingSessionService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(PackingSessionRepository.class);
+        preCartonizationStage = new PreCartonizationStage(2, 100);
+        CartonSelector cartonSelector = new CartonSelector();
+        service = new PackingSessionService(
+                repository, new ContainerOptimizationService(cartonSelector), cartonSelector, preCartonizationStage);
+    }
+
+    @AfterEach
+    void tearDown() {
+        preCartonizationStage.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should create every order one picker completed in a batch as unassigned sessions")
+    @SuppressWarnings("unchecked")
+    void shouldCreateSessionsForOnePicker() {
+        // Given - three orders picked by the same picker
+        when(repository.insertAll(any())).thenReturn(List.of());
+        List<StartPackingSessionCommand> commands = List.of(
+                command("PICK-1", "ORDER-1", "PICKER-1"),
+                command("PICK-2", "ORDER-2", "PICKER-1"),
+                command("PICK-3", "ORDER-3", "PICKER-1"));
+
+        // When
+        BulkSessionCreationResult result = service.createSessions(commands);
+
+        // Then
+        assertThat(result.getCreatedCount()).isEqualTo(3);
+        assertThat(result.getFailedCount()).isZero();
+
+        ArgumentCaptor<List<PackingSession>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(repository).insertAll(inserted.capture());
+        assertThat(inserted.getValue()).hasSize(3).allSatisfy(session -> {
+            assertThat(session.getWorkerId()).isNull();
+            assertThat(session.getStatus()).isEqualTo(PackingStatus.CREATED);
+            assertThat(session.getContainers()).isNotEmpty();
+        });
+        verify(repository, never()).findActiveSessionByWorkerId(any());
+    }
+
+    @Test
+    @DisplayName("Should start a claimed session for a worker without an active session")
+    void shouldClaimSession() {
+        // Given
+        PackingSession session = PackingSession.createUnassigned("PICK-1", "ORDER-1", "WH-1", instructions());
+        when(repository.findActiveSessionByWorkerId("PACKER-1")).thenReturn(Optional.empty());
+        when(repository.findById(session.getSessionId())).thenReturn(Optional.of(session));
+        when(repository.save(session)).thenReturn(session);
+
+        // When
+        PackingSession claimed = service.claimSession(session.getSessionId(), "PACKER-1");
+
+        // Then
+        assertThat(claimed.getWorkerId()).isEqualTo("PACKER-1");
+        assertThat(claimed.getStatus()).isEqualTo(PackingStatus.IN_PROGRESS);
+        verify(repository).save(session);
+    }
+
+    @Test
+    @DisplayName("Should not let a worker claim a second session")
+    void shouldRejectClaimWhenWorkerBusy() {
+        // Given
+        PackingSession active = PackingSession.create("PICK-0", "ORDER-0", "PACKER-1", "WH-1", instructions());
+        when(repository.findActiveSessionByWorkerId("PACKER-1")).thenReturn(Optional.of(active));
+
+        // When/Then
+        assertThatThrownBy(() -> service.claimSession("PACK-ANY", "PACKER-1"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(active.getSessionId());
+        verify(repository, never()).save(any());
+    }
+
+    private static StartPackingSessionCommand command(String pickSessionId, String orderId, String workerId) {
+        return new StartPackingSessionCommand(pickSessionId, orderId, workerId, "WH-1", instructions());
+    }
+
+    private static List<PackingInstruction> instructions() {
+        return List.of(new PackingInstruction(
+                "INST-1",
+                "SKU-1",
+                "Item 1",
+                2,
+                new Weight(0.5, Weight.WeightUnit.LB),
+                new Dimensions(6, 4, 2, Dimensions.DimensionUnit.IN),
+                "ORDER-1",
+                Priority.NORMAL
+        ));
+    }
+}
@@ -0,0 +1,249 @@
+package com.paklog.wes.pack.application.service;
+
+import com.paklog.wes.pack.application.command.GenerateLabelsCommand;
+import com.paklog.wes.pack.domain.aggregate.Shipment;
+import com.paklog.wes.pack.domain.entity.ShippingLabel;
+import com.paklog.wes.pack.domain.repository.PackingSessionRepository;
+import com.paklog.wes.pack.domain.repository.ShipmentRepository;
+import com.paklog.wes.pack.domain.repository.ShippingLabelContentRepository;
+import com.paklog.wes.pack.domain.service.LabelPrinter;
+import com.paklog.wes.pack.domain.service.ShippingLabelService;
+import com.paklog.wes.pack.domain.valueobject.Address;
+import com.paklog.wes.pack.domain.valueobject.BatchLabelResult;
+import com.paklog.wes.pack.domain.valueobject.CarrierType;
+import com.paklog.wes.pack.domain.valueobject.ShipmentSummary;
+import com.paklog.wes.pack.domain.valueobject.ShippingMethod;
+import com.paklog.wes.pack.domain.valueobject.TrackingStatus;
+import com.paklog.wes.pack.domain.valueobject.Weight;
+import com.paklog.wes.pack.infrastructure.persistence.EmbeddedMongo;
+import com.paklog.wes.pack.infrastructure.persistence.ShipmentRepositoryCustomImpl;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ShipmentService Tests")
+class ShipmentServiceTest {
+
+    private static final String TRACKING_NUMBER = "1Z0000000000000001";
+
+    private static EmbeddedMongo mongo;
+
+    private MongoTemplate template;
+    private ShipmentRepository shipmentRepository;
+    private ShippingLabelContentRepository labelContentRepository;
+    private ShippingLabelService labelService;
+    private LabelRenderStage labelRenderStage;
+    private LabelPrinter labelPrinter;
+    private ShipmentService service;
+
+    @BeforeAll
+    static void startMongo() {
+        mongo = EmbeddedMongo.start();
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        mongo.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        mongo.clear();
+        template = mongo.template();
+        MongoRepositoryFactory factory = new MongoRepositoryFactory(template);
+        shipmentRepository = factory.getRepository(ShipmentRepository.class,
+                RepositoryComposition.RepositoryFragments.just(
+                        new ShipmentRepositoryCustomImpl(template, mongo.outboxWriter())));
+        labelContentRepository = factory.getRepository(ShippingLabelContentRepository.class);
+        labelService = mock(ShippingLabelService.class);
+        labelRenderStage = new LabelRenderStage(2, 100);
+        labelPrinter = mock(LabelPrinter.class);
+        service = new ShipmentService(
+                shipmentRepository,
+                mock(PackingSessionRepository.class),
+                labelContentRepository,
+                labelService,
+                labelRenderStage,
+                labelPrinter,
+                Runnable::run
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        labelRenderStage.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should read back label bytes written to the label store")
+    void shouldRoundTripLabelContent() {
+        // Given - a shipment labelled through the bulk label write
+        Shipment shipment = shipmentRepository.save(shipment());
+        byte[] zpl = "^XA^FDround trip^FS^XZ".getBytes(StandardCharsets.US_ASCII);
+        shipment.generateLabel(label(ShippingLabel.LabelFormat.ZPL, zpl), TRACKING_NUMBER);
+        assertThat(shipmentRepository.saveLabelled(List.of(shipment))).isEmpty();
+
+        // When
+        ShippingLabel label = service.getLabelForPrinting(shipment.getShipmentId());
+
+        // Then
+        assertThat(label.getContent()).isEqualTo(zpl);
+        assertThat(label.getContentLength()).isEqualTo(zpl.length);
+        Document stored = template.getCollection("shipments")
+                .find(new Document("_id", shipment.getShipmentId())).first();
+        assertThat(stored.get("shippingLabel", Document.class))
+                .doesNotContainKey("labelData")
+                .doesNotContainKey("content");
+    }
+
+    @Test
+    @DisplayName("Should decode the base64 payload of a shipment labelled before the label store")
+    void shouldReadLegacyLabelData() {
+        // Given
+        byte[] pdf = "%PDF-1.4 legacy".getBytes(StandardCharsets.US_ASCII);
+        Shipment shipment = insertLegacyLabelledShipment(pdf);
+
+        // When
+        ShippingLabel label = service.getLabelForPrinting(shipment.getShipmentId());
+
+        // Then
+        assertThat(label.getContent()).isEqualTo(pdf);
+        assertThat(labelContentRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should list shipments as summaries without reading the legacy label payload")
+    void shouldListSummaries() {
+        // Given
+        Shipment shipment = insertLegacyLabelledShipment("%PDF-1.4 legacy".getBytes(StandardCharsets.US_ASCII));
+
+        // When
+        List<ShipmentSummary> ready = service.getShipmentsReadyForManifest(CarrierType.UPS.name());
+
+        // Then
+        assertThat(ready).singleElement().satisfies(summary -> {
+            assertThat(summary.shipmentId()).isEqualTo(shipment.getShipmentId());
+            assertThat(summary.orderId()).isEqualTo("ORDER-1");
+            assertThat(summary.trackingNumber()).isEqualTo(TRACKING_NUMBER);
+            assertThat(summary.trackingStatus()).isEqualTo(TrackingStatus.LABELED);
+        });
+    }
+
+    @Test
+    @DisplayName("Should fail only the shipment whose label hits a database error")
+    void shouldFailShipmentOnDataAccessError() {
+        // Given - leasing a FedEx tracking number block fails
+        Shipment ups = shipmentRepository.save(shipment(CarrierType.UPS));
+        Shipment fedex = shipmentRepository.save(shipment(CarrierType.FEDEX));
+        byte[] zpl = "^XA^FDbatch^FS^XZ".getBytes(StandardCharsets.US_ASCII);
+        when(labelService.generateTrackingNumber(CarrierType.UPS)).thenReturn(TRACKING_NUMBER);
+        when(labelService.generateTrackingNumber(CarrierType.FEDEX))
+                .thenThrow(new DataAccessResourceFailureException("tracking block lease failed"));
+        when(labelService.generateLabel(any(), any(), any(), any(), anyDouble()))
+                .thenAnswer(invocation -> label(ShippingLabel.LabelFormat.ZPL, zpl));
+
+        // When
+        BatchLabelResult result = service.generateLabels(new GenerateLabelsCommand(
+                List.of(ups.getShipmentId(), fedex.getShipmentId()),
+                new Address("400 Distribution Dr", "Sparks", "NV", "89431", "US")));
+
+        // Then
+        assertThat(result.outcomes()).extracting(BatchLabelResult.Outcome::type)
+                .containsExactly(BatchLabelResult.OutcomeType.LABELED, BatchLabelResult.OutcomeType.FAILED);
+        assertThat(result.outcomes().get(1).message()).contains("tracking block lease failed");
+        assertThat(result.labels()).singleElement()
+                .satisfies(label -> assertThat(label.getContent()).isEqualTo(zpl));
+        assertThat(shipmentRepository.findById(ups.getShipmentId()).orElseThrow().getTrackingStatus())
+                .isEqualTo(TrackingStatus.LABELED);
+        assertThat(shipmentRepository.findById(fedex.getShipmentId()).orElseThrow().getTrackingStatus())
+                .isEqualTo(TrackingStatus.CREATED);
+    }
+
+    @Test
+    @DisplayName("Should record the label as printed once the printer took it")
+    void shouldRecordPrintedLabel() throws Exception {
+        // Given
+        Shipment shipment = insertLegacyLabelledShipment("^XA^FDprint^FS^XZ".getBytes(StandardCharsets.US_ASCII));
+        String labelId = shipment.getShippingLabel().getLabelId();
+        when(labelPrinter.print(eq("P1"), any())).thenReturn(CompletableFuture.completedFuture(
+                new LabelPrinter.PrintReceipt(labelId, "P1", "P1")));
+
+        // When
+        LabelPrinter.PrintReceipt receipt = service.printLabel(shipment.getShipmentId(), "P1").get();
+
+        // Then
+        assertThat(receipt.printerId()).isEqualTo("P1");
+        assertThat(shipmentRepository.findById(shipment.getShipmentId()).orElseThrow()
+                .getShippingLabel().isPrinted()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should return the print receipt even if recording the printed label fails")
+    void shouldKeepReceiptWhenRecordingFails() throws Exception {
+        // Given - the shipment is gone by the time the printer took the label
+        Shipment shipment = insertLegacyLabelledShipment("^XA^FDprint^FS^XZ".getBytes(StandardCharsets.US_ASCII));
+        String labelId = shipment.getShippingLabel().getLabelId();
+        when(labelPrinter.print(eq("P1"), any())).thenAnswer(invocation -> {
+            shipmentRepository.deleteById(shipment.getShipmentId());
+            return CompletableFuture.completedFuture(new LabelPrinter.PrintReceipt(labelId, "P1", "P2"));
+        });
+
+        // When
+        CompletableFuture<LabelPrinter.PrintReceipt> receipt = service.printLabel(shipment.getShipmentId(), "P1");
+
+        // Then
+        assertThat(receipt.get().printerId()).isEqualTo("P2");
+        assertThat(shipmentRepository.findById(shipment.getShipmentId())).isEmpty();
+    }
+
+    private Shipment insertLegacyLabelledShipment(byte[] content) {
+        Shipment shipment = shipment();
+        ShippingLabel label = label(ShippingLabel.LabelFormat.PDF, content);
+        label.setLabelData(Base64.getEncoder().encodeToString(content));
+        shipment.generateLabel(label, TRACKING_NUMBER);
+        shipment.clearDomainEvents();
+        return template.insert(shipment);
+    }
+
+    private static ShippingLabel label(ShippingLabel.LabelFormat format, byte[] content) {
+        return new ShippingLabel(TRACKING_NUMBER, CarrierType.UPS, format, content, TRACKING_NUMBER);
+    }
+
+    private static Shipment shipment() {
+        return shipment(CarrierType.UPS);
+    }
+
+    private static Shipment shipment(CarrierType carrier) {
+        Shipment shipment = Shipment.create(
+                "PACK-1",
+                "ORDER-1",
+                "WH-1",
+                new Address("1200 Commerce Way", "Reno", "NV", "89502", "US"),
+                carrier,
+                ShippingMethod.GROUND,
+                new Weight(4.5, Weight.WeightUnit.LB),
+                null
+        );
+        shipment.clearDomainEvents();
+        return shipment;
+    }
+}
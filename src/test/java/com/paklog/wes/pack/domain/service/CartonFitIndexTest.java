@@ -0,0 +1,112 @@
+package com.paklog.wes.pack.domain.service;
+
+import com.paklog.wes.pack.domain.entity.CartonDefinition;
+import com.paklog.wes.pack.domain.entity.PackingInstruction;
+import com.paklog.wes.pack.domain.valueobject.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CartonFitIndex Tests")
+class CartonFitIndexTest {
+
+    @Test
+    @DisplayName("Should find the smallest standard carton by weight and volume")
+    void shouldFindSmallestStandardCarton() {
+        // Given
+        CartonFitIndex index = new CartonCatalog().standard();
+
+        // Then
+        assertThat(index.smallestFitting(5, 500).containerType()).isEqualTo(ContainerType.SMALL_BOX);
+        assertThat(index.smallestFitting(25, 500).containerType()).isEqualTo(ContainerType.MEDIUM_BOX);
+        assertThat(index.smallestFitting(5, 5000).containerType()).isEqualTo(ContainerType.LARGE_BOX);
+        assertThat(index.smallestFitting(65, 100).containerType()).isEqualTo(ContainerType.EXTRA_LARGE_BOX);
+        assertThat(index.smallestFitting(5, 30, 1, 1, 40).containerType()).isEqualTo(ContainerType.PALLET);
+        assertThat(index.smallestFitting(3000, 100)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should agree with a linear scan on random catalogs")
+    void shouldAgreeWithLinearScan() {
+        Random random = new Random(7L);
+
+        for (int run = 0; run < 200; run++) {
+            List<Carton> cartons = new ArrayList<>();
+            int size = 1 + random.nextInt(60);
+            for (int i = 0; i < size; i++) {
+                cartons.add(new Carton("C-" + i, ContainerType.MEDIUM_BOX,
+                        4 + random.nextInt(30), 4 + random.nextInt(30), 2 + random.nextInt(30),
+                        5 + random.nextInt(80), null));
+            }
+            CartonFitIndex index = CartonFitIndex.of(cartons);
+
+            for (int query = 0; query < 50; query++) {
+                double weight = random.nextDouble() * 90;
+                double[] sides = {1 + random.nextInt(30), 1 + random.nextInt(30), 1 + random.nextInt(30)};
+                Arrays.sort(sides);
+                double volume = sides[0] * sides[1] * sides[2] * (1 + random.nextInt(4));
+
+                List<Carton> expected = cartons.stream()
+                        .filter(c -> fits(c, weight, volume, sides))
+                        .sorted(java.util.Comparator.comparingDouble(Carton::getVolumeCubicInches))
+                        .toList();
+
+                assertThat(index.candidates(weight, volume, sides[0], sides[1], sides[2]))
+                        .extracting(Carton::getVolumeCubicInches)
+                        .containsExactlyElementsOf(expected.stream().map(Carton::getVolumeCubicInches).toList());
+                Carton smallest = index.smallestFitting(weight, volume, sides[0], sides[1], sides[2]);
+                if (expected.isEmpty()) {
+                    assertThat(smallest).isNull();
+                } else {
+                    assertThat(smallest.getVolumeCubicInches()).isEqualTo(expected.get(0).getVolumeCubicInches());
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should select from the warehouse catalog after a reload")
+    void shouldSelectFromReloadedWarehouseCatalog() {
+        // Given
+        CartonRecommendationCache cache = new CartonRecommendationCache(100);
+        CartonCatalog catalog = new CartonCatalog(cache);
+        CartonSelector selector = new CartonSelector(cache, catalog);
+        List<PackingInstruction> order = List.of(new PackingInstruction(
+                "INST-1", "SKU-1", "Item", 2,
+                new Weight(1.0, Weight.WeightUnit.LB),
+                new Dimensions(10, 4, 3, Dimensions.DimensionUnit.IN),
+                "ORDER-001", Priority.NORMAL));
+        assertThat(selector.selectCarton("WH-001", order).orElseThrow().containerType())
+                .isEqualTo(ContainerType.SMALL_BOX);
+
+        // When - the site stocks a snug mailer
+        catalog.replace(List.of(
+                new CartonDefinition("WH-001", "MAILER-10", ContainerType.SMALL_BOX,
+                        new Dimensions(10, 4, 6, Dimensions.DimensionUnit.IN),
+                        new Weight(10, Weight.WeightUnit.LB), "Mailer 10x4x6"),
+                new CartonDefinition("WH-001", "BOX-20", ContainerType.MEDIUM_BOX,
+                        new Dimensions(20, 16, 12, Dimensions.DimensionUnit.IN),
+                        new Weight(40, Weight.WeightUnit.LB), "Box 20x16x12")
+        ));
+
+        // Then
+        CartonSelection selection = selector.selectCarton("WH-001", order).orElseThrow();
+        assertThat(selection.carton().cartonCode()).isEqualTo("MAILER-10");
+        assertThat(cache.getMissCount()).isEqualTo(2);
+        assertThat(selector.selectCarton("WH-002", order).orElseThrow().carton().cartonCode())
+                .isEqualTo("SMALL_BOX");
+    }
+
+    private static boolean fits(Carton carton, double weightLb, double volume, double[] sides) {
+        double[] inner = carton.getSortedDimensions();
+        return weightLb <= carton.maxWeightLb()
+                && volume <= carton.getVolumeCubicInches()
+                && sides[0] <= inner[0] && sides[1] <= inner[1] && sides[2] <= inner[2];
+    }
+}
@@ -0,0 +1,143 @@
+package com.paklog.wes.pack.domain.service;
+
+import com.paklog.wes.pack.domain.entity.PackingInstruction;
+import com.paklog.wes.pack.domain.valueobject.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CartonRecommendationCache Tests")
+class CartonRecommendationCacheTest {
+
+    private final CartonSelector packer = new CartonSelector();
+    private final AtomicInteger packingRuns = new AtomicInteger();
+    private final Function<List<PackingInstruction>, Optional<CartonSelection>> loader = items -> {
+        packingRuns.incrementAndGet();
+        return packer.selectCarton(items);
+    };
+
+    @Test
+    @DisplayName("Should answer an order with the same content from the cache")
+    void shouldHitForSameContent() {
+        // Given
+        CartonRecommendationCache cache = new CartonRecommendationCache(100);
+        cache.get(List.of(line("A-1", "SKU-A", 4), line("A-2", "SKU-B", 1)), loader);
+
+        // When - same content, other instruction ids, lines reordered and split
+        List<PackingInstruction> repeat = List.of(
+                line("B-1", "SKU-B", 1), line("B-2", "SKU-A", 3), line("B-3", "SKU-A", 1));
+        CartonSelection selection = cache.get(repeat, loader).orElseThrow();
+
+        // Then
+        assertThat(packingRuns).hasValue(1);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(selection.placements()).hasSize(5);
+        assertThat(selection.placements())
+                .filteredOn(p -> p.itemSku().equals("SKU-A"))
+                .extracting(Placement::instructionId)
+                .containsExactlyInAnyOrder("B-2", "B-2", "B-2", "B-3");
+        assertThat(selection.placements())
+                .filteredOn(p -> p.itemSku().equals("SKU-B"))
+                .extracting(Placement::instructionId)
+                .containsExactly("B-1");
+    }
+
+    @Test
+    @DisplayName("Should miss when a SKU's dimensions change")
+    void shouldMissWhenDimensionsChange() {
+        // Given
+        CartonRecommendationCache cache = new CartonRecommendationCache(100);
+        cache.get(List.of(line("A-1", "SKU-A", 2)), loader);
+
+        // When
+        PackingInstruction remeasured = line("B-1", "SKU-A", 2);
+        remeasured.setItemDimensions(new Dimensions(10, 8, 5, Dimensions.DimensionUnit.IN));
+        cache.get(List.of(remeasured), loader);
+
+        // Then
+        assertThat(packingRuns).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used order shape")
+    void shouldEvictLeastRecentlyUsed() {
+        // Given
+        CartonRecommendationCache cache = new CartonRecommendationCache(2);
+        cache.get(List.of(line("1", "SKU-A", 1)), loader);
+        cache.get(List.of(line("2", "SKU-B", 1)), loader);
+        cache.get(List.of(line("3", "SKU-A", 1)), loader); // refresh A
+
+        // When
+        cache.get(List.of(line("4", "SKU-C", 1)), loader);
+
+        // Then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+        cache.get(List.of(line("5", "SKU-A", 1)), loader);
+        assertThat(packingRuns).hasValue(3);
+        cache.get(List.of(line("6", "SKU-B", 1)), loader);
+        assertThat(packingRuns).hasValue(4);
+    }
+
+    @Test
+    @DisplayName("Should cache orders that fit no single carton and forget everything on invalidation")
+    void shouldCacheEmptyResultsAndInvalidate() {
+        // Given
+        CartonRecommendationCache cache = new CartonRecommendationCache(100);
+        PackingInstruction oversized = line("1", "SKU-X", 1);
+        oversized.setItemDimensions(new Dimensions(60, 10, 10, Dimensions.DimensionUnit.IN));
+
+        // When
+        Optional<CartonSelection> first = cache.get(List.of(oversized), loader);
+        Optional<CartonSelection> second = cache.get(List.of(oversized), loader);
+
+        // Then
+        assertThat(first).isEmpty();
+        assertThat(second).isEmpty();
+        assertThat(packingRuns).hasValue(1);
+
+        cache.invalidateAll();
+        cache.get(List.of(oversized), loader);
+        assertThat(packingRuns).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should not keep a selection computed before the cache was invalidated")
+    void shouldDropSelectionLoadedAcrossInvalidation() {
+        // Given - the catalog changes while the packer runs for a miss
+        CartonRecommendationCache cache = new CartonRecommendationCache(100);
+        List<PackingInstruction> order = List.of(line("A-1", "SKU-A", 2));
+
+        // When
+        cache.get(order, items -> {
+            cache.invalidateAll();
+            return loader.apply(items);
+        });
+        cache.get(order, loader);
+
+        // Then - the second call packs again against the new catalog
+        assertThat(packingRuns).hasValue(2);
+        assertThat(cache.getMissCount()).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    private static PackingInstruction line(String instructionId, String sku, int quantity) {
+        return new PackingInstruction(
+                instructionId,
+                sku,
+                "Item " + sku,
+                quantity,
+                new Weight(1.0, Weight.WeightUnit.LB),
+                new Dimensions(4, 3, 2, Dimensions.DimensionUnit.IN),
+                "ORDER-001",
+                Priority.NORMAL
+        );
+    }
+}
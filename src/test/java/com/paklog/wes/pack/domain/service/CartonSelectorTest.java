@@ -0,0 +1,150 @@
+package com.paklog.wes.pack.domain.service;
+
+import com.paklog.wes.pack.domain.entity.PackingInstruction;
+import com.paklog.wes.pack.domain.valueobject.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Correctness corpus for the 3D cartonization engine
+ */
+@DisplayName("CartonSelector Tests")
+class CartonSelectorTest {
+
+    private static final double EPSILON = 1e-6;
+
+    private final CartonSelector cartonSelector = new CartonSelector();
+
+    /**
+     * Hand-checked orders: {description, lines as {length, width, height, quantity, weightLb}, expected carton}
+     */
+    static Stream<Arguments> corpus() {
+        return Stream.of(
+                Arguments.of("single unit exactly the small box",
+                        new double[][]{{12, 9, 6, 1, 1}}, ContainerType.SMALL_BOX),
+                Arguments.of("single unit that only fits the small box rotated",
+                        new double[][]{{6, 12, 9, 1, 1}}, ContainerType.SMALL_BOX),
+                Arguments.of("eight units tiling the small box",
+                        new double[][]{{6, 4.5, 3, 8, 1}}, ContainerType.SMALL_BOX),
+                Arguments.of("volume fits the small box but geometry does not",
+                        new double[][]{{7, 7, 5, 2, 1}}, ContainerType.MEDIUM_BOX),
+                Arguments.of("light enough by volume, too heavy for the small box",
+                        new double[][]{{4, 4, 4, 1, 25}}, ContainerType.MEDIUM_BOX),
+                Arguments.of("long item that needs the large box",
+                        new double[][]{{22, 3, 3, 1, 2}}, ContainerType.LARGE_BOX),
+                Arguments.of("mixed order filling the medium box",
+                        new double[][]{{18, 14, 6, 1, 5}, {9, 7, 6, 4, 1}}, ContainerType.MEDIUM_BOX),
+                Arguments.of("bulky item that needs the extra large box",
+                        new double[][]{{30, 20, 10, 1, 15}}, ContainerType.EXTRA_LARGE_BOX)
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("corpus")
+    @DisplayName("Should select the smallest carton that holds the order")
+    void shouldSelectSmallestFeasibleCarton(String description, double[][] lines, ContainerType expected) {
+        // Given
+        List<PackingInstruction> items = order(lines);
+
+        // When
+        CartonSelection selection = cartonSelector.selectCarton(items).orElseThrow();
+
+        // Then
+        assertThat(selection.containerType()).isEqualTo(expected);
+        assertValidPlacements(items, selection);
+    }
+
+    @Test
+    @DisplayName("Should find no carton for an item larger than every carton")
+    void shouldFindNoCartonForOversizedItem() {
+        List<PackingInstruction> items = order(new double[][]{{60, 10, 10, 1, 5}});
+
+        assertThat(cartonSelector.selectCarton(items)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should report when items do not fit a given carton")
+    void shouldNotPackIntoTooSmallCarton() {
+        List<PackingInstruction> items = order(new double[][]{{7, 7, 5, 2, 1}});
+
+        assertThat(cartonSelector.pack(items, ContainerType.SMALL_BOX)).isEmpty();
+        assertThat(cartonSelector.pack(items, ContainerType.MEDIUM_BOX)).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should produce valid placements for random orders")
+    void shouldProduceValidPlacementsForRandomOrders() {
+        Random random = new Random(20240601L);
+
+        for (int run = 0; run < 500; run++) {
+            int lines = 1 + random.nextInt(20);
+            int maxSide = 2 + random.nextInt(10);
+            double[][] spec = new double[lines][];
+            for (int i = 0; i < lines; i++) {
+                spec[i] = new double[]{
+                        1 + random.nextInt(maxSide),
+                        1 + random.nextInt(maxSide),
+                        1 + random.nextInt(maxSide),
+                        1 + random.nextInt(3),
+                        0.1 + random.nextDouble()
+                };
+            }
+            List<PackingInstruction> items = order(spec);
+
+            cartonSelector.selectCarton(items).ifPresent(selection -> assertValidPlacements(items, selection));
+        }
+    }
+
+    private static void assertValidPlacements(List<PackingInstruction> items, CartonSelection selection) {
+        int units = items.stream().mapToInt(PackingInstruction::getExpectedQuantity).sum();
+        List<Placement> placements = selection.placements();
+        ContainerType carton = selection.containerType();
+
+        assertThat(placements).hasSize(units);
+        for (int i = 0; i < placements.size(); i++) {
+            Placement p = placements.get(i);
+            assertThat(p.x()).isGreaterThanOrEqualTo(-EPSILON);
+            assertThat(p.y()).isGreaterThanOrEqualTo(-EPSILON);
+            assertThat(p.z()).isGreaterThanOrEqualTo(-EPSILON);
+            assertThat(p.x() + p.length()).isLessThanOrEqualTo(carton.getLength() + EPSILON);
+            assertThat(p.y() + p.width()).isLessThanOrEqualTo(carton.getWidth() + EPSILON);
+            assertThat(p.z() + p.height()).isLessThanOrEqualTo(carton.getHeight() + EPSILON);
+
+            for (int j = 0; j < i; j++) {
+                Placement q = placements.get(j);
+                boolean overlap = p.x() < q.x() + q.length() - EPSILON && q.x() < p.x() + p.length() - EPSILON
+                        && p.y() < q.y() + q.width() - EPSILON && q.y() < p.y() + p.width() - EPSILON
+                        && p.z() < q.z() + q.height() - EPSILON && q.z() < p.z() + p.height() - EPSILON;
+                assertThat(overlap).as("units %d and %d overlap", i, j).isFalse();
+            }
+        }
+    }
+
+    private static List<PackingInstruction> order(double[][] lines) {
+        List<PackingInstruction> items = new ArrayList<>();
+        for (int i = 0; i < lines.length; i++) {
+            double[] line = lines[i];
+            items.add(new PackingInstruction(
+                    "INST-" + i,
+                    "SKU-" + i,
+                    "Item " + i,
+                    (int) line[3],
+                    new Weight(line[4], Weight.WeightUnit.LB),
+                    new Dimensions(line[0], line[1], line[2], Dimensions.DimensionUnit.IN),
+                    "ORDER-001",
+                    Priority.NORMAL
+            ));
+        }
+        return items;
+    }
+}
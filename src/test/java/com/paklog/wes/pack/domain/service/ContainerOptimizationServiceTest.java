@@ -0,0 +1,218 @@
+package com.paklog.wes.pack.domain.service;
+
+import com.paklog.wes.pack.domain.entity.CartonDefinition;
+import com.paklog.wes.pack.domain.entity.Container;
+import com.paklog.wes.pack.domain.entity.PackingInstruction;
+import com.paklog.wes.pack.domain.valueobject.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Multi-container planning
+ */
+@DisplayName("ContainerOptimizationService Tests")
+class ContainerOptimizationServiceTest {
+
+    private static final double EPSILON = 1e-6;
+
+    private final ContainerOptimizationService service = new ContainerOptimizationService(new CartonSelector());
+
+    @Test
+    @DisplayName("Should plan one carton for an order that fits one")
+    void shouldPlanSingleCarton() {
+        // Given
+        List<PackingInstruction> items = order(new double[][]{{6, 4.5, 3, 4, 1}, {6, 4.5, 3, 4, 1}});
+
+        // When
+        ContainerPlan plan = service.planContainers(items);
+
+        // Then
+        assertThat(plan.getContainerCount()).isEqualTo(1);
+        assertThat(plan.containers().get(0).containerType()).isEqualTo(ContainerType.SMALL_BOX);
+        assertThat(plan.containers().get(0).instructionIds()).containsExactlyInAnyOrder("INST-0", "INST-1");
+        assertThat(service.shouldSplitItems(items)).isFalse();
+        assertValidPlan(items, plan);
+    }
+
+    @Test
+    @DisplayName("Should plan in the boxes the warehouse stocks")
+    void shouldPlanWarehouseBoxes() {
+        // Given - the site stocks a mailer too small for the order and a 14x10x6 in box
+        CartonCatalog catalog = new CartonCatalog();
+        catalog.replace(List.of(
+                new CartonDefinition("WH-001", "MAILER-10", ContainerType.SMALL_BOX,
+                        new Dimensions(10, 8, 4, Dimensions.DimensionUnit.IN),
+                        new Weight(15, Weight.WeightUnit.LB), "Mailer 10x8x4"),
+                new CartonDefinition("WH-001", "BOX-14", ContainerType.SMALL_BOX,
+                        new Dimensions(14, 10, 6, Dimensions.DimensionUnit.IN),
+                        new Weight(30, Weight.WeightUnit.LB), "Box 14x10x6")
+        ));
+        ContainerOptimizationService warehouseService = new ContainerOptimizationService(new CartonSelector(null, catalog));
+        List<PackingInstruction> items = order(new double[][]{{6, 4.5, 3, 4, 1}, {6, 4.5, 3, 4, 1}});
+
+        // When
+        ContainerPlan plan = warehouseService.planContainers("WH-001", items);
+
+        // Then
+        assertThat(plan.containers()).singleElement()
+                .satisfies(container -> assertThat(container.carton().cartonCode()).isEqualTo("BOX-14"));
+        assertValidPlan(items, plan);
+        assertThat(warehouseService.planContainers("WH-002", items).containers())
+                .extracting(container -> container.carton().cartonCode())
+                .containsExactly("SMALL_BOX");
+    }
+
+    @Test
+    @DisplayName("Should split a heavy order by weight")
+    void shouldSplitHeavyOrder() {
+        // Given - six 25 lb lines, at most two per 70 lb box
+        double[][] lines = new double[6][];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = new double[]{8, 8, 8, 1, 25};
+        }
+        List<PackingInstruction> items = order(lines);
+
+        // When
+        ContainerPlan plan = service.planContainers(items);
+
+        // Then
+        assertThat(plan.getContainerCount()).isEqualTo(3);
+        assertThat(service.shouldSplitItems(items)).isTrue();
+        assertThat(service.suggestContainerCount(items)).isEqualTo(3);
+        assertValidPlan(items, plan);
+    }
+
+    @Test
+    @DisplayName("Should give a line larger than every box a container of its own")
+    void shouldPlanOversizedLineAlone() {
+        // Given
+        List<PackingInstruction> items = order(new double[][]{{44, 30, 30, 1, 80}, {4, 4, 4, 2, 1}});
+
+        // When
+        ContainerPlan plan = service.planContainers(items);
+
+        // Then
+        assertThat(plan.getContainerCount()).isEqualTo(2);
+        assertThat(plan.containers())
+                .anySatisfy(container -> {
+                    assertThat(container.containerType()).isEqualTo(ContainerType.PALLET);
+                    assertThat(container.instructionIds()).containsExactly("INST-0");
+                })
+                .anySatisfy(container -> {
+                    assertThat(container.containerType()).isEqualTo(ContainerType.SMALL_BOX);
+                    assertThat(container.instructionIds()).containsExactly("INST-1");
+                });
+    }
+
+    @Test
+    @DisplayName("Should produce valid plans for random orders")
+    void shouldProduceValidPlansForRandomOrders() {
+        Random random = new Random(20240715L);
+
+        for (int run = 0; run < 100; run++) {
+            int lines = 1 + random.nextInt(80);
+            int maxSide = 2 + random.nextInt(14);
+            double maxWeight = 1 + random.nextInt(10);
+            double[][] spec = new double[lines][];
+            for (int i = 0; i < lines; i++) {
+                spec[i] = new double[]{
+                        1 + random.nextInt(maxSide),
+                        1 + random.nextInt(maxSide),
+                        1 + random.nextInt(maxSide),
+                        1 + random.nextInt(3),
+                        0.1 + random.nextDouble() * maxWeight
+                };
+            }
+            List<PackingInstruction> items = order(spec);
+
+            assertValidPlan(items, service.planContainers(items));
+        }
+    }
+
+    @Test
+    @DisplayName("Should check an item against a container across weight and length units")
+    void shouldCheckItemFitAcrossUnits() {
+        // Given - a small box (12x9x6 in, 20 lb) already holding 15 lb
+        Container container = Container.create(ContainerType.SMALL_BOX);
+        container.addItem("SEED", new Weight(15, Weight.WeightUnit.LB));
+        PackingInstruction item = new PackingInstruction(
+                "INST-1", "SKU-1", "Item", 1,
+                new Weight(2, Weight.WeightUnit.KG),
+                new Dimensions(14, 30, 20, Dimensions.DimensionUnit.CM),
+                "ORDER-001", Priority.NORMAL);
+
+        // When / Then - 2 kg is 4.4 lb: one packed unit fits, two exceed the limit
+        item.setPackedQuantity(1);
+        assertThat(service.canItemFitInContainer(item, container)).isTrue();
+        item.setPackedQuantity(2);
+        assertThat(service.canItemFitInContainer(item, container)).isFalse();
+
+        // 30 cm is 11.8 in, within the 12 in side; 32 cm is not
+        item.setPackedQuantity(1);
+        item.setItemDimensions(new Dimensions(14, 32, 20, Dimensions.DimensionUnit.CM));
+        assertThat(service.canItemFitInContainer(item, container)).isFalse();
+    }
+
+    private static void assertValidPlan(List<PackingInstruction> items, ContainerPlan plan) {
+        Map<String, PackingInstruction> byId = new HashMap<>();
+        items.forEach(item -> byId.put(item.getInstructionId(), item));
+
+        Set<String> assigned = new HashSet<>();
+        double totalWeightLb = 0;
+        for (ContainerPlan.PlannedContainer container : plan.containers()) {
+            Carton carton = container.carton();
+            int units = 0;
+            double weightLb = 0;
+            for (String instructionId : container.instructionIds()) {
+                assertThat(assigned.add(instructionId)).as("%s planned twice", instructionId).isTrue();
+                PackingInstruction item = byId.get(instructionId);
+                units += item.getExpectedQuantity();
+                weightLb += item.getItemWeight().toPounds() * item.getExpectedQuantity();
+            }
+            totalWeightLb += weightLb;
+
+            assertThat(container.weightLb()).isCloseTo(weightLb, within(EPSILON));
+            assertThat(weightLb).isLessThanOrEqualTo(carton.maxWeightLb() + EPSILON);
+            assertThat(container.placements()).hasSize(units);
+            for (Placement p : container.placements()) {
+                assertThat(container.instructionIds()).contains(p.instructionId());
+                assertThat(p.x() + p.length()).isLessThanOrEqualTo(carton.length() + EPSILON);
+                assertThat(p.y() + p.width()).isLessThanOrEqualTo(carton.width() + EPSILON);
+                assertThat(p.z() + p.height()).isLessThanOrEqualTo(carton.height() + EPSILON);
+            }
+        }
+
+        assertThat(assigned).isEqualTo(byId.keySet());
+        // At least as many boxes as the weight alone requires
+        assertThat(plan.getContainerCount())
+                .isGreaterThanOrEqualTo((int) Math.ceil(totalWeightLb / ContainerType.EXTRA_LARGE_BOX.getMaxWeightLb() - EPSILON));
+    }
+
+    private static List<PackingInstruction> order(double[][] lines) {
+        List<PackingInstruction> items = new ArrayList<>();
+        for (int i = 0; i < lines.length; i++) {
+            double[] line = lines[i];
+            items.add(new PackingInstruction(
+                    "INST-" + i,
+                    "SKU-" + i,
+                    "Item " + i,
+                    (int) line[3],
+                    new Weight(line[4], Weight.WeightUnit.LB),
+                    new Dimensions(line[0], line[1], line[2], Dimensions.DimensionUnit.IN),
+                    "ORDER-001",
+                    Priority.NORMAL
+            ));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,124 @@
+package com.paklog.wes.pack.domain.service;
+
+import com.paklog.wes.pack.domain.entity.ShippingLabel;
+import com.paklog.wes.pack.domain.valueobject.Address;
+import com.paklog.wes.pack.domain.valueobject.CarrierType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("LabelTemplate Tests")
+class LabelTemplateTest {
+
+    private static final Address SHIP_TO = new Address("1200 Commerce Way", "Dock 4", "Reno", "NV", "89502", "US");
+
+    @Test
+    @DisplayName("Should render fields into the static segments")
+    void shouldRenderFields() {
+        // Given
+        LabelTemplate template = LabelTemplate.compile(ShippingLabel.LabelFormat.ZPL, CarrierType.UPS,
+                "^XA^FO50,40^FH^FD${carrierName}^FS^FO50,80^FH^FD${shipToCity}, ${shipToState}^FS"
+                        + "^FO50,120^FH^FD${weightLb} LB^FS^FO50,160^FH^FD${trackingNumber}^FS^XZ");
+
+        // When
+        String zpl = new String(template.render("1Z999", SHIP_TO, null, 12.345), StandardCharsets.UTF_8);
+
+        // Then
+        assertThat(zpl).isEqualTo("^XA^FO50,40^FH^FDUnited Parcel Service^FS^FO50,80^FH^FDReno, NV^FS"
+                + "^FO50,120^FH^FD12.35 LB^FS^FO50,160^FH^FD1Z999^FS^XZ");
+        assertThat(template.getFields()).containsExactly(
+                LabelTemplate.Field.SHIP_TO_CITY, LabelTemplate.Field.SHIP_TO_STATE,
+                LabelTemplate.Field.WEIGHT_LB, LabelTemplate.Field.TRACKING_NUMBER);
+    }
+
+    @Test
+    @DisplayName("Should hex-escape ZPL control characters and non-ASCII text")
+    void shouldEscapeZpl() {
+        // Given
+        LabelTemplate template = LabelTemplate.compile(ShippingLabel.LabelFormat.ZPL, CarrierType.DHL,
+                "^FH^FD${shipToStreet1}^FS");
+        Address address = new Address("A^XZ~JR_1\nStraße", "Berlin", "BE", "10115", "DE");
+
+        // When
+        String zpl = new String(template.render("X", address, null, 0), StandardCharsets.UTF_8);
+
+        // Then
+        assertThat(zpl).isEqualTo("^FH^FDA_5EXZ_7EJR_5F1_0AStra_C3_9Fe^FS");
+    }
+
+    @Test
+    @DisplayName("Should backslash-escape quotes in EPL strings")
+    void shouldEscapeEpl() {
+        // Given
+        LabelTemplate template = LabelTemplate.compile(ShippingLabel.LabelFormat.EPL, CarrierType.USPS,
+                "A50,40,0,4,1,1,N,\"${shipToStreet1}\"\n");
+        Address address = new Address("12 \"B\" St \\ Ünit", "Reno", "NV", "89502", "US");
+
+        // When
+        String epl = new String(template.render("X", address, null, 0), StandardCharsets.UTF_8);
+
+        // Then
+        assertThat(epl).isEqualTo("A50,40,0,4,1,1,N,\"12 \\\"B\\\" St \\\\ ?nit\"\n");
+    }
+
+    @Test
+    @DisplayName("Should render empty fields for a missing from address")
+    void shouldRenderEmptyFromAddress() {
+        // Given
+        LabelTemplate template = LabelTemplate.compile(ShippingLabel.LabelFormat.ZPL, CarrierType.UPS,
+                "^FH^FD[${fromStreet1}][${shipToStreet2}]^FS");
+
+        // When
+        String zpl = new String(template.render("X", new Address("1 Main", "Reno", "NV", "89502", "US"), null, 0),
+                StandardCharsets.UTF_8);
+
+        // Then
+        assertThat(zpl).isEqualTo("^FH^FD[][]^FS");
+    }
+
+    @Test
+    @DisplayName("Should render at the buffer position and reject labels that do not fit")
+    void shouldRenderIntoBuffer() {
+        // Given
+        LabelTemplate template = LabelTemplates.standard().get(CarrierType.FEDEX, ShippingLabel.LabelFormat.ZPL);
+        byte[] expected = template.render("FX123", SHIP_TO, SHIP_TO, 3);
+        ByteBuffer buffer = ByteBuffer.allocate(expected.length + 2);
+        buffer.put((byte) '#');
+
+        // When
+        int written = template.render("FX123", SHIP_TO, SHIP_TO, 3, buffer);
+
+        // Then
+        assertThat(written).isEqualTo(expected.length);
+        assertThat(buffer.position()).isEqualTo(expected.length + 1);
+        assertThatThrownBy(() -> template.render("FX123", SHIP_TO, SHIP_TO, 3, ByteBuffer.allocate(16)))
+                .isInstanceOf(BufferOverflowException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid templates")
+    void shouldRejectInvalidTemplates() {
+        assertThatThrownBy(() -> LabelTemplate.compile(ShippingLabel.LabelFormat.ZPL, CarrierType.UPS,
+                "^FH^FD${unknown}^FS"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown label field");
+        assertThatThrownBy(() -> LabelTemplate.compile(ShippingLabel.LabelFormat.ZPL, CarrierType.UPS,
+                "^FH^FD${trackingNumber^FS"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LabelTemplate.compile(ShippingLabel.LabelFormat.ZPL, CarrierType.UPS,
+                "^FH^FDA^FS^FD${trackingNumber}^FS"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("^FH");
+        assertThatThrownBy(() -> LabelTemplate.compile(ShippingLabel.LabelFormat.EPL, CarrierType.UPS,
+                "A50,40,0,4,1,1,N,${trackingNumber}\n"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("quotes");
+        assertThatThrownBy(() -> LabelTemplate.compile(ShippingLabel.LabelFormat.PDF, CarrierType.UPS, ""))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
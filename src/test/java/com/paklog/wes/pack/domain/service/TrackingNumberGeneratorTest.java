@@ -0,0 +1,117 @@
+package com.paklog.wes.pack.domain.service;
+
+import com.paklog.wes.pack.domain.valueobject.CarrierType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TrackingNumberGenerator Tests")
+class TrackingNumberGeneratorTest {
+
+    private final TrackingNumberFormat format = new TrackingNumberFormat("999AA1", "123456789");
+
+    @Test
+    @DisplayName("Should format numbers with the carrier check digit")
+    void shouldFormatWithCheckDigit() {
+        // When / Then
+        assertThat(format.format(CarrierType.UPS, 2345678)).isEqualTo("1Z999AA10123456784");
+        assertThat(format.format(CarrierType.FEDEX, 1)).isEqualTo("000000000011");
+        assertThat(format.format(CarrierType.USPS, 42)).startsWith("94001123456789").hasSize(22);
+        assertThat(format.format(CarrierType.DHL, 123456789)).isEqualTo("1234567891");
+        assertThat(format.format(CarrierType.AMAZON_LOGISTICS, 7)).isEqualTo("TBA0000000000007");
+        assertThat(format.format(CarrierType.CUSTOM, 7)).isEqualTo("CUSTOM-0000000000007");
+
+        for (CarrierType carrier : CarrierType.values()) {
+            for (long serial = 0; serial < 500; serial++) {
+                String number = format.format(carrier, serial * 7919);
+                assertThat(TrackingNumberFormat.hasValidCheckDigit(carrier, number)).as(number).isTrue();
+                assertThat(CarrierType.fromTrackingNumber(number)).as(number).isEqualTo(carrier);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject mistyped numbers and exhausted serials")
+    void shouldRejectInvalidNumbers() {
+        // Given
+        String ups = format.format(CarrierType.UPS, 2345678);
+        String usps = format.format(CarrierType.USPS, 2345670);
+
+        // Then
+        assertThat(TrackingNumberFormat.hasValidCheckDigit(CarrierType.UPS, ups.replace("5678", "5687"))).isFalse();
+        assertThat(TrackingNumberFormat.hasValidCheckDigit(CarrierType.USPS, usps.replace("5670", "5671"))).isFalse();
+        assertThat(TrackingNumberFormat.hasValidCheckDigit(CarrierType.DHL, "1234567890")).isFalse();
+        // Random hex issued before these layouts can be all digits; it must not look like a new number
+        assertThat(TrackingNumberFormat.hasValidCheckDigit(CarrierType.AMAZON_LOGISTICS, "TBA123456789012")).isFalse();
+        assertThat(TrackingNumberFormat.hasValidCheckDigit(CarrierType.CUSTOM, "CUSTOM-123456789012")).isFalse();
+        assertThatThrownBy(() -> format.format(CarrierType.UPS, TrackingNumberFormat.capacity(CarrierType.UPS)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("exhausted");
+        assertThatThrownBy(() -> new TrackingNumberFormat("999aa1", "123456789"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should lease one block per block size numbers per carrier")
+    void shouldLeaseBlocks() {
+        // Given
+        AtomicLong counter = new AtomicLong(500);
+        AtomicInteger leases = new AtomicInteger();
+        TrackingNumberGenerator generator = new TrackingNumberGenerator((carrier, blockSize) -> {
+            leases.incrementAndGet();
+            return counter.getAndAdd(blockSize);
+        }, 100, format);
+
+        // When
+        List<Long> serials = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            serials.add(generator.nextSerial(CarrierType.DHL));
+        }
+
+        // Then
+        assertThat(leases).hasValue(3);
+        assertThat(serials.get(0)).isEqualTo(500);
+        assertThat(serials.get(249)).isEqualTo(749);
+        assertThat(serials).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Should never issue the same number to concurrent callers")
+    void shouldNotCollideAcrossThreads() throws Exception {
+        // Given
+        AtomicLong counter = new AtomicLong();
+        TrackingNumberGenerator generator = new TrackingNumberGenerator(
+                (carrier, blockSize) -> counter.getAndAdd(blockSize), 64, format);
+        Set<String> issued = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            workers.add(executor.submit(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    assertThat(issued.add(generator.next(CarrierType.UPS))).isTrue();
+                }
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(issued).hasSize(40_000);
+        assertThat(counter.get()).isLessThanOrEqualTo(40_000 + 64);
+    }
+}
@@ -0,0 +1,175 @@
+package com.paklog.wes.pack.infrastructure.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.cloudevents.CloudEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("PackShipEventPublisher Tests")
+class PackShipEventPublisherTest {
+
+    private final List<String> sentIds = new CopyOnWriteArrayList<>();
+    private final CountDownLatch firstSendEntered = new CountDownLatch(1);
+    private final CountDownLatch releaseFirstSend = new CountDownLatch(1);
+
+    private KafkaTemplate<String, CloudEvent> kafkaTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private PackShipEventPublisher publisher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        kafkaTemplate = mock(KafkaTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        releaseFirstSend.countDown();
+        if (publisher != null) {
+            publisher.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject events once the queue stays full past the backpressure timeout")
+    void shouldRejectWhenQueueFull() throws Exception {
+        // Given - the dispatcher is stuck sending the first event and the queue holds a second
+        blockFirstSend();
+        start(1);
+        publisher.publish(event("K1", "E1"));
+        assertThat(firstSendEntered.await(5, TimeUnit.SECONDS)).isTrue();
+        publisher.publish(event("K2", "E2"));
+
+        // When
+        CompletableFuture<SendResult<String, CloudEvent>> rejected = publisher.publish(event("K3", "E3"));
+
+        // Then
+        assertThatThrownBy(() -> rejected.get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class)
+                .hasMessageContaining("queue full");
+        assertThat(counter("rejected")).isEqualTo(1.0);
+        releaseFirstSend.countDown();
+        publisher.stop();
+        assertThat(sentIds).containsExactly("E1", "E2");
+    }
+
+    @Test
+    @DisplayName("Should reject a key's later events in a group once one of them was rejected")
+    void shouldKeepOrderPerKeyInPublishAll() throws Exception {
+        // Given - queue full behind a stuck send
+        blockFirstSend();
+        start(1);
+        publisher.publish(event("K1", "E1"));
+        assertThat(firstSendEntered.await(5, TimeUnit.SECONDS)).isTrue();
+        publisher.publish(event("K2", "E2"));
+
+        // When
+        List<CompletableFuture<SendResult<String, CloudEvent>>> results = publisher.publishAll(List.of(
+                event("A", "A1"), event("B", "B1"), event("A", "A2")));
+
+        // Then - A2 was not offered to the queue at all, so a freed slot could not let it overtake A1
+        assertThatThrownBy(() -> results.get(0).get(1, TimeUnit.SECONDS)).hasMessageContaining("queue full");
+        assertThatThrownBy(() -> results.get(1).get(1, TimeUnit.SECONDS)).hasMessageContaining("queue full");
+        assertThatThrownBy(() -> results.get(2).get(1, TimeUnit.SECONDS)).hasMessageContaining("same key");
+        assertThat(counter("rejected")).isEqualTo(3.0);
+        releaseFirstSend.countDown();
+        publisher.stop();
+        assertThat(sentIds).containsExactly("E1", "E2");
+    }
+
+    @Test
+    @DisplayName("Should fail the future and count the failure when the broker rejects a send")
+    void shouldFailFutureOnSendFailure() {
+        // Given
+        when(kafkaTemplate.send(anyString(), any(), any(CloudEvent.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        start(10);
+
+        // When
+        CompletableFuture<SendResult<String, CloudEvent>> result = publisher.publish(event("K1", "E1"));
+
+        // Then
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasMessageContaining("broker down");
+        assertThat(counter("failure")).isEqualTo(1.0);
+        assertThat(counter("success")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should send queued events on stop and reject events published afterwards")
+    void shouldFlushOnStop() throws Exception {
+        // Given - two events queued behind a stuck send
+        blockFirstSend();
+        start(10);
+        publisher.publish(event("K1", "E1"));
+        assertThat(firstSendEntered.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<SendResult<String, CloudEvent>> second = publisher.publish(event("K2", "E2"));
+        CompletableFuture<SendResult<String, CloudEvent>> third = publisher.publish(event("K3", "E3"));
+
+        // When
+        publisher.stop();
+
+        // Then
+        assertThat(second).isCompleted();
+        assertThat(third).isCompleted();
+        assertThat(sentIds).containsExactly("E1", "E2", "E3");
+        verify(kafkaTemplate).flush();
+        assertThatThrownBy(() -> publisher.publish(event("K4", "E4")).get(1, TimeUnit.SECONDS))
+                .hasMessageContaining("publisher stopped");
+    }
+
+    private void start(int queueCapacity) {
+        publisher = new PackShipEventPublisher(
+                kafkaTemplate, new ObjectMapper(), meterRegistry, "async", queueCapacity, 20, false);
+        publisher.start();
+    }
+
+    /**
+     * Record every send; the first one blocks until released (or the dispatcher is interrupted)
+     */
+    private void blockFirstSend() {
+        when(kafkaTemplate.send(anyString(), any(), any(CloudEvent.class))).thenAnswer(invocation -> {
+            CloudEvent cloudEvent = invocation.getArgument(2);
+            sentIds.add(cloudEvent.getId());
+            if (sentIds.size() == 1) {
+                firstSendEntered.countDown();
+                try {
+                    releaseFirstSend.await();
+                } catch (InterruptedException e) {
+                    return CompletableFuture.failedFuture(e);
+                }
+            }
+            return CompletableFuture.completedFuture(null);
+        });
+    }
+
+    private double counter(String result) {
+        return meterRegistry.get("pack_ship.events.published").tag("result", result).counter().count();
+    }
+
+    private static OutboundEvent event(String key, String eventId) {
+        return new OutboundEvent("pack-events", key, "com.paklog.wes.pack-ship.ItemPacked", Map.of("key", key), eventId);
+    }
+}
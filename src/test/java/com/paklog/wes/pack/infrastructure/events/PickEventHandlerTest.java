@@ -0,0 +1,109 @@
+package com.paklog.wes.pack.infrastructure.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paklog.wes.pack.application.service.PackingSessionService;
+import com.paklog.wes.pack.domain.valueobject.BulkSessionCreationResult;
+import com.paklog.wes.pack.integration.contracts.PickSessionCompletedContract;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("PickEventHandler Tests")
+class PickEventHandlerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private PackingSessionService service;
+    private PickEventDeduplicator deduplicator;
+    private PickEventHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        service = mock(PackingSessionService.class);
+        deduplicator = new PickEventDeduplicator(new SimpleMeterRegistry(), 1000);
+        handler = new PickEventHandler(service, deduplicator, objectMapper);
+    }
+
+    @Test
+    @DisplayName("Should remember handled events and fail the batch at an unparseable one")
+    void shouldFailBatchAtUnparseableEvent() throws Exception {
+        // Given
+        when(service.createSessions(any())).thenReturn(new BulkSessionCreationResult(List.of(
+                BulkSessionCreationResult.Outcome.created("ORDER-1", "PICK-1", "PACK-1"))));
+        List<ConsumerRecord<String, byte[]>> records = List.of(
+                record(0, "EVT-1", pickCompleted("PICK-1", "ORDER-1")),
+                record(1, "EVT-2", "{not json".getBytes(StandardCharsets.UTF_8)));
+
+        // When/Then
+        assertThatThrownBy(() -> handler.handleBatch(records))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class,
+                        e -> assertThat(e.getIndex()).isEqualTo(1));
+        assertThat(deduplicator.isDuplicateEvent("EVT-1")).isTrue();
+        assertThat(deduplicator.isDuplicateEvent("EVT-2")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should not remember events whose session could not be created")
+    void shouldNotRememberFailedEvents() throws Exception {
+        // Given
+        when(service.createSessions(any())).thenReturn(new BulkSessionCreationResult(List.of(
+                BulkSessionCreationResult.Outcome.failed("ORDER-1", "PICK-1", "bad instructions"),
+                BulkSessionCreationResult.Outcome.alreadyExists("ORDER-2", "PICK-2"))));
+        List<ConsumerRecord<String, byte[]>> records = List.of(
+                record(0, "EVT-1", pickCompleted("PICK-1", "ORDER-1")),
+                record(1, "EVT-2", pickCompleted("PICK-2", "ORDER-2")),
+                record(2, "EVT-3", pickCompleted("PICK-1", "ORDER-1")));
+
+        // When/Then
+        assertThatThrownBy(() -> handler.handleBatch(records))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class, e -> {
+                    assertThat(e.getIndex()).isZero();
+                    assertThat(e.getCause()).isInstanceOf(IllegalArgumentException.class)
+                            .hasMessageContaining("bad instructions");
+                });
+        assertThat(deduplicator.isDuplicateEvent("EVT-1")).isFalse();
+        assertThat(deduplicator.isDuplicateEvent("EVT-2")).isTrue();
+        assertThat(deduplicator.isDuplicateEvent("EVT-3")).isFalse();
+        assertThat(deduplicator.isDuplicatePickSession("PICK-1")).isFalse();
+        verify(service).createSessions(argThat(commands -> commands.size() == 2));
+    }
+
+    @Test
+    @DisplayName("Should pass a batch where every event was handled")
+    void shouldPassHandledBatch() throws Exception {
+        // Given
+        when(service.createSessions(any())).thenReturn(new BulkSessionCreationResult(List.of(
+                BulkSessionCreationResult.Outcome.created("ORDER-1", "PICK-1", "PACK-1"))));
+
+        // When
+        handler.handleBatch(List.of(record(0, "EVT-1", pickCompleted("PICK-1", "ORDER-1"))));
+
+        // Then
+        assertThat(deduplicator.isDuplicateEvent("EVT-1")).isTrue();
+        assertThat(deduplicator.isDuplicatePickSession("PICK-1")).isTrue();
+    }
+
+    private byte[] pickCompleted(String pickSessionId, String orderId) throws Exception {
+        return objectMapper.writeValueAsBytes(new PickSessionCompletedContract(pickSessionId, orderId, "WH-1", "PICKER-1",
+                List.of(new PickSessionCompletedContract.PickedItem(
+                        "PI-1", "SKU-1", "BARCODE-1", "Item 1", 1, 0.5, 6, 4, 2))));
+    }
+
+    private static ConsumerRecord<String, byte[]> record(long offset, String eventId, byte[] value) {
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("pick-events", 0, offset, "key", value);
+        record.headers().add(PickEventHandler.CE_TYPE_HEADER,
+                PickSessionCompletedContract.EVENT_TYPE.getBytes(StandardCharsets.UTF_8));
+        record.headers().add(PickEventHandler.CE_ID_HEADER, eventId.getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+}
@@ -0,0 +1,144 @@
+package com.paklog.wes.pack.infrastructure.outbox;
+
+import com.paklog.wes.pack.infrastructure.events.OutboundEvent;
+import com.paklog.wes.pack.infrastructure.events.PackShipEventPublisher;
+import com.paklog.wes.pack.infrastructure.persistence.EmbeddedMongo;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("OutboxRelay Tests")
+class OutboxRelayTest {
+
+    private static EmbeddedMongo mongo;
+
+    private MongoTemplate template;
+    private PackShipEventPublisher publisher;
+    private OutboxRelay relay;
+    private final List<List<String>> rounds = new ArrayList<>();
+
+    @BeforeAll
+    static void startMongo() {
+        mongo = EmbeddedMongo.start();
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        mongo.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        mongo.clear();
+        rounds.clear();
+        template = mongo.template();
+        publisher = mock(PackShipEventPublisher.class);
+        relay = new OutboxRelay(template, publisher, "pack-events", "ship-events", 200, 30_000, 1_000);
+    }
+
+    @Test
+    @DisplayName("Should send each aggregate's events in version order despite clock skew")
+    void shouldOrderEventsPerAggregateByVersion() {
+        // Given - PACK-1 v2 was written by a pod whose clock runs behind the pod that wrote v1
+        Instant now = Instant.now();
+        OutboxEvent packV2 = event("PACK-1", 2L, 0, "PackingSessionCompleted", now);
+        OutboxEvent ship = event("SHIP-1", 0L, 0, "ShipmentCreated", now.plusMillis(1));
+        OutboxEvent packV1Second = event("PACK-1", 1L, 1, "ContainerSealed", now.plusMillis(2));
+        OutboxEvent packV1First = event("PACK-1", 1L, 0, "ItemPacked", now.plusMillis(2));
+
+        // When
+        List<OutboxEvent> ordered = OutboxRelay.orderPerAggregate(List.of(packV2, ship, packV1Second, packV1First));
+
+        // Then - PACK-1 keeps its batch positions, SHIP-1 is untouched
+        assertThat(ordered).containsExactly(packV1First, ship, packV1Second, packV2);
+    }
+
+    @Test
+    @DisplayName("Should send events written before versions were recorded first")
+    void shouldOrderUnversionedEventsFirst() {
+        // Given
+        Instant now = Instant.now();
+        OutboxEvent versioned = event("PACK-1", 3L, 0, "PackingSessionCompleted", now);
+        OutboxEvent legacy = event("PACK-1", null, 0, "ItemPacked", now.plusMillis(5));
+
+        // When
+        List<OutboxEvent> ordered = OutboxRelay.orderPerAggregate(List.of(versioned, legacy));
+
+        // Then
+        assertThat(ordered).containsExactly(legacy, versioned);
+    }
+
+    @Test
+    @DisplayName("Should send an aggregate's next event only after the previous one was acknowledged")
+    void shouldSendAggregateEventsOneAtATime() {
+        // Given
+        Instant now = Instant.now();
+        OutboxEvent packV1 = template.insert(event("PACK-1", 1L, 0, "ItemPacked", now));
+        OutboxEvent packV2 = template.insert(event("PACK-1", 2L, 0, "PackingSessionCompleted", now.plusMillis(1)));
+        OutboxEvent ship = template.insert(event("SHIP-1", 0L, 0, "ShipmentCreated", now.plusMillis(2)));
+        publishFailing(null);
+
+        // When
+        int relayed = relay.relayBatch();
+
+        // Then
+        assertThat(relayed).isEqualTo(3);
+        assertThat(rounds).containsExactly(List.of(packV1.getId(), ship.getId()), List.of(packV2.getId()));
+        assertThat(template.findAll(OutboxEvent.class)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not send an aggregate's later events once one of its events failed")
+    void shouldStopAggregateOnFailure() {
+        // Given
+        Instant now = Instant.now();
+        OutboxEvent packV1 = template.insert(event("PACK-1", 1L, 0, "ItemPacked", now));
+        OutboxEvent packV2 = template.insert(event("PACK-1", 2L, 0, "PackingSessionCompleted", now.plusMillis(1)));
+        OutboxEvent ship = template.insert(event("SHIP-1", 0L, 0, "ShipmentCreated", now.plusMillis(2)));
+        publishFailing(packV1.getId());
+
+        // When
+        int relayed = relay.relayBatch();
+
+        // Then - v2 never went out, so the next poll redelivers v1 then v2
+        assertThat(relayed).isZero();
+        assertThat(rounds).containsExactly(List.of(packV1.getId(), ship.getId()));
+        assertThat(template.findAll(OutboxEvent.class))
+                .extracting(OutboxEvent::getId)
+                .containsExactlyInAnyOrder(packV1.getId(), packV2.getId());
+    }
+
+    /**
+     * Acknowledge every published event except the one with the given ID
+     */
+    private void publishFailing(String failingId) {
+        when(publisher.publishAll(any())).thenAnswer(invocation -> {
+            List<OutboundEvent> events = invocation.getArgument(0);
+            rounds.add(events.stream().map(OutboundEvent::eventId).toList());
+            return events.stream()
+                    .map(event -> event.eventId().equals(failingId)
+                            ? CompletableFuture.failedFuture(new IllegalStateException("broker down"))
+                            : CompletableFuture.completedFuture(null))
+                    .toList();
+        });
+    }
+
+    private static OutboxEvent event(String aggregateId, Long version, int sequence, String type, Instant createdAt) {
+        OutboxEvent event = new OutboxEvent("PackingSession", aggregateId, version, sequence, type, Map.of(), createdAt);
+        event.setCreatedAt(createdAt);
+        return event;
+    }
+}
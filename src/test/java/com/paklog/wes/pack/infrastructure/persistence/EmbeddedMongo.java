@@ -0,0 +1,56 @@
+package com.paklog.wes.pack.infrastructure.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.paklog.wes.pack.infrastructure.outbox.OutboxWriter;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * Embedded mongod for persistence tests. Start one per test class and drop
+ * the database between tests with {@link #clear()}.
+ */
+public final class EmbeddedMongo implements AutoCloseable {
+
+    private static final String DATABASE = "pack_ship_test";
+
+    private final TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+    private final MongoClient client;
+    private final MongoTemplate template;
+    private final OutboxWriter outboxWriter;
+
+    private EmbeddedMongo() {
+        mongod = Mongod.instance().start(Version.Main.V6_0);
+        ServerAddress address = mongod.current().getServerAddress();
+        client = MongoClients.create("mongodb://" + address.getHost() + ":" + address.getPort());
+        template = new MongoTemplate(client, DATABASE);
+        outboxWriter = new OutboxWriter(template, new ObjectMapper().findAndRegisterModules());
+    }
+
+    public static EmbeddedMongo start() {
+        return new EmbeddedMongo();
+    }
+
+    public MongoTemplate template() {
+        return template;
+    }
+
+    public OutboxWriter outboxWriter() {
+        return outboxWriter;
+    }
+
+    public void clear() {
+        template.getDb().drop();
+    }
+
+    @Override
+    public void close() {
+        client.close();
+        mongod.close();
+    }
+}
@@ -0,0 +1,283 @@
+package com.paklog.wes.pack.infrastructure.persistence;
+
+import com.paklog.wes.pack.domain.aggregate.PackingSession;
+import com.paklog.wes.pack.domain.entity.CartonDefinition;
+import com.paklog.wes.pack.domain.entity.PackingInstruction;
+import com.paklog.wes.pack.domain.entity.ScannedItem;
+import com.paklog.wes.pack.domain.exception.AlreadyScannedException;
+import com.paklog.wes.pack.domain.exception.UnexpectedItemException;
+import com.paklog.wes.pack.domain.service.CartonCatalog;
+import com.paklog.wes.pack.domain.valueobject.ContainerType;
+import com.paklog.wes.pack.domain.valueobject.Dimensions;
+import com.paklog.wes.pack.domain.valueobject.PackingStatus;
+import com.paklog.wes.pack.domain.valueobject.Priority;
+import com.paklog.wes.pack.domain.valueobject.ScanResult;
+import com.paklog.wes.pack.domain.valueobject.Weight;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("PackingSessionRepositoryCustomImpl Tests")
+class PackingSessionRepositoryCustomImplTest {
+
+    private static EmbeddedMongo mongo;
+
+    private MongoTemplate template;
+    private PackingSessionRepositoryCustomImpl repository;
+
+    @BeforeAll
+    static void startMongo() {
+        mongo = EmbeddedMongo.start();
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        mongo.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        mongo.clear();
+        template = mongo.template();
+        repository = new PackingSessionRepositoryCustomImpl(template, mongo.outboxWriter());
+    }
+
+    @Test
+    @DisplayName("Should record a scan in place with the fields the aggregate records")
+    void shouldRecordScanInPlace() {
+        // Given - BARCODE-1 expects 2 units, BARCODE-2 expects 1
+        PackingSession session = insertScanningSession(2, 1);
+
+        // When
+        ScanResult result = repository.applyScan(session.getSessionId(), "BARCODE-1");
+
+        // Then
+        assertThat(result.itemSku()).isEqualTo("SKU-1");
+        assertThat(result.scannedQuantity()).isEqualTo(1);
+        assertThat(result.expectedQuantity()).isEqualTo(2);
+        assertThat(result.sessionStatus()).isEqualTo(PackingStatus.SCANNING);
+
+        PackingSession stored = reload(session);
+        assertThat(stored.getVersion()).isEqualTo(1L);
+        assertThat(stored.getItemsToScan().get(0).getScannedQuantity()).isEqualTo(1);
+        assertThat(stored.getItemsToScan().get(0).isFullyScanned()).isFalse();
+        assertThat(stored.getScannedItems()).hasSize(1);
+        ScannedItem scanned = stored.getScannedItems().get(0);
+        assertThat(scanned.getItemSku()).isEqualTo("SKU-1");
+        assertThat(scanned.getBarcode()).isEqualTo("BARCODE-1");
+        assertThat(scanned.getScannedBy()).isEqualTo("PACKER-7");
+        assertThat(scanned.getScannedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should flag a line and count it once its last unit is scanned")
+    void shouldCompleteLine() {
+        // Given
+        PackingSession session = insertScanningSession(2, 1);
+
+        // When
+        repository.applyScan(session.getSessionId(), "BARCODE-1");
+        ScanResult result = repository.applyScan(session.getSessionId(), "BARCODE-1");
+
+        // Then
+        assertThat(result.scannedQuantity()).isEqualTo(2);
+        assertThat(result.sessionStatus()).isEqualTo(PackingStatus.SCANNING);
+
+        PackingSession stored = reload(session);
+        assertThat(stored.getItemsToScan().get(0).isScanned()).isTrue();
+        assertThat(stored.getItemsToScan().get(0).isFullyScanned()).isTrue();
+        assertThat(stored.getItemsToScan().get(1).getScannedQuantity()).isZero();
+        assertThat(stored.getStatus()).isEqualTo(PackingStatus.SCANNING);
+        assertThat(stored.getScanningProgress()).isEqualTo(50.0);
+    }
+
+    @Test
+    @DisplayName("Should move the session to READY_FOR_CARTON with the last unit")
+    void shouldBeReadyForCartonAfterLastLine() {
+        // Given
+        PackingSession session = insertScanningSession(2, 1);
+
+        // When
+        repository.applyScan(session.getSessionId(), "BARCODE-2");
+        repository.applyScan(session.getSessionId(), "BARCODE-1");
+        ScanResult last = repository.applyScan(session.getSessionId(), "BARCODE-1");
+
+        // Then
+        assertThat(last.sessionStatus()).isEqualTo(PackingStatus.READY_FOR_CARTON);
+
+        PackingSession stored = reload(session);
+        assertThat(stored.getStatus()).isEqualTo(PackingStatus.READY_FOR_CARTON);
+        assertThat(stored.allItemsScanned()).isTrue();
+        assertThat(stored.getScannedItems()).extracting(ScannedItem::getItemSku)
+                .containsExactly("SKU-2", "SKU-1", "SKU-1");
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown barcode without changing the session")
+    void shouldRejectUnknownBarcode() {
+        // Given
+        PackingSession session = insertScanningSession(2, 1);
+
+        // When/Then
+        assertThatThrownBy(() -> repository.applyScan(session.getSessionId(), "BARCODE-99"))
+                .isInstanceOf(UnexpectedItemException.class);
+        assertThat(reload(session).getVersion()).isZero();
+        assertThat(reload(session).getScannedItems()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject a scan beyond the expected quantity")
+    void shouldRejectOverScan() {
+        // Given
+        PackingSession session = insertScanningSession(2, 1);
+        repository.applyScan(session.getSessionId(), "BARCODE-2");
+
+        // When/Then
+        assertThatThrownBy(() -> repository.applyScan(session.getSessionId(), "BARCODE-2"))
+                .isInstanceOf(AlreadyScannedException.class);
+        assertThat(reload(session).getItemsToScan().get(1).getScannedQuantity()).isEqualTo(1);
+        assertThat(reload(session).getScannedItems()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should reject scans of sessions that are not scanning or do not exist")
+    void shouldRejectWrongStatus() {
+        // Given - created but scanning not initialized
+        PackingSession session = PackingSession.create(
+                "PICK-2", "ORDER-2", "WORKER-1", "WH-1", instructions(1));
+        template.insert(session);
+
+        // When/Then
+        assertThatThrownBy(() -> repository.applyScan(session.getSessionId(), "BARCODE-1"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("SCANNING");
+        assertThatThrownBy(() -> repository.applyScan("PACK-MISSING", "BARCODE-1"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Session not found");
+    }
+
+    @Test
+    @DisplayName("Should advance the online carton in the scan write as the aggregate does")
+    void shouldAdvanceOnlineCarton() {
+        // Given - 14 units of 6x4x2 in outgrow the small box by volume
+        PackingSession session = insertScanningSession(14);
+        PackingSession inMemory = scanningSession(14);
+
+        // When
+        List<String> recommended = new ArrayList<>();
+        for (int i = 0; i < 14; i++) {
+            recommended.add(repository.applyScan(session.getSessionId(), "BARCODE-1").recommendedCarton().cartonCode());
+            inMemory.scanItem("BARCODE-1");
+        }
+
+        // Then
+        assertThat(recommended.get(12)).isEqualTo("SMALL_BOX");
+        assertThat(recommended.get(13)).isEqualTo("MEDIUM_BOX");
+        assertThat(reload(session).getOnlineCarton())
+                .usingRecursiveComparison()
+                .isEqualTo(inMemory.getOnlineCarton());
+    }
+
+    @Test
+    @DisplayName("Should recommend cartons from the session warehouse's catalog")
+    void shouldRecommendWarehouseCarton() {
+        // Given - WH-1 stocks a mailer holding six 6x4x2 in units and a box holding twenty
+        CartonCatalog catalog = new CartonCatalog();
+        catalog.replace(List.of(
+                new CartonDefinition("WH-1", "MAILER-6", ContainerType.SMALL_BOX,
+                        new Dimensions(12, 8, 3, Dimensions.DimensionUnit.IN),
+                        new Weight(10, Weight.WeightUnit.LB), "Mailer 12x8x3"),
+                new CartonDefinition("WH-1", "BOX-20", ContainerType.MEDIUM_BOX,
+                        new Dimensions(20, 12, 4, Dimensions.DimensionUnit.IN),
+                        new Weight(40, Weight.WeightUnit.LB), "Box 20x12x4")
+        ));
+        repository = new PackingSessionRepositoryCustomImpl(template, mongo.outboxWriter(), catalog);
+        PackingSession session = insertScanningSession(7);
+
+        // When
+        List<String> recommended = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            recommended.add(repository.applyScan(session.getSessionId(), "BARCODE-1").recommendedCarton().cartonCode());
+        }
+
+        // Then
+        assertThat(recommended.get(5)).isEqualTo("MAILER-6");
+        assertThat(recommended.get(6)).isEqualTo("BOX-20");
+    }
+
+    @Test
+    @DisplayName("Should rebuild the online carton of a session stored before it existed")
+    void shouldMigrateLegacyOnlineCarton() {
+        // Given - 13 units scanned, stored without the online state or the unit data on the line
+        PackingSession session = insertScanningSession(14, 1);
+        for (int i = 0; i < 13; i++) {
+            repository.applyScan(session.getSessionId(), "BARCODE-1");
+        }
+        template.updateFirst(new BasicQuery(new Document("_id", session.getSessionId())),
+                new Update().unset("onlineCarton")
+                        .unset("itemsToScan.0.unitWeightLb")
+                        .unset("itemsToScan.0.unitDimensions"),
+                PackingSession.class);
+
+        // When
+        ScanResult migrated = repository.applyScan(session.getSessionId(), "BARCODE-1");
+        ScanResult next = repository.applyScan(session.getSessionId(), "BARCODE-2");
+
+        // Then
+        assertThat(migrated.recommendedCarton().containerType()).isEqualTo(ContainerType.MEDIUM_BOX);
+        assertThat(next.recommendedCarton().containerType()).isEqualTo(ContainerType.MEDIUM_BOX);
+
+        PackingSession stored = reload(session);
+        assertThat(stored.getOnlineCarton().getUnits()).isEqualTo(15);
+        assertThat(stored.getOnlineCarton().getWeightLb()).isEqualTo(7.5);
+        assertThat(stored.getItemsToScan().get(0).getUnitDimensions()).isNotNull();
+        assertThat(stored.getItemsToScan().get(0).getUnitWeightLb()).isEqualTo(0.5);
+    }
+
+    private PackingSession insertScanningSession(int... quantities) {
+        return template.insert(scanningSession(quantities));
+    }
+
+    private static PackingSession scanningSession(int... quantities) {
+        PackingSession session = PackingSession.create(
+                "PICK-1", "ORDER-1", "WORKER-1", "WH-1", instructions(quantities));
+        session.initializeItemsToScan();
+        session.setPackerId("PACKER-7");
+        session.clearDomainEvents();
+        return session;
+    }
+
+    private PackingSession reload(PackingSession session) {
+        return template.findById(session.getSessionId(), PackingSession.class);
+    }
+
+    private static List<PackingInstruction> instructions(int... quantities) {
+        List<PackingInstruction> instructions = new ArrayList<>();
+        for (int i = 0; i < quantities.length; i++) {
+            PackingInstruction instruction = new PackingInstruction(
+                    "INST-" + (i + 1),
+                    "SKU-" + (i + 1),
+                    "Item " + (i + 1),
+                    quantities[i],
+                    new Weight(0.5, Weight.WeightUnit.LB),
+                    new Dimensions(6, 4, 2, Dimensions.DimensionUnit.IN),
+                    "ORDER-1",
+                    Priority.NORMAL
+            );
+            instruction.setBarcode("BARCODE-" + (i + 1));
+            instructions.add(instruction);
+        }
+        return instructions;
+    }
+}
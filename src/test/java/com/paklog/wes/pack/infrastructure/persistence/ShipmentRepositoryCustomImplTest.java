@@ -0,0 +1,169 @@
+package com.paklog.wes.pack.infrastructure.persistence;
+
+import com.paklog.wes.pack.domain.aggregate.Shipment;
+import com.paklog.wes.pack.domain.entity.ShippingLabel;
+import com.paklog.wes.pack.domain.entity.ShippingLabelContent;
+import com.paklog.wes.pack.domain.repository.ShipmentRepositoryCustom.LabelWriteFailure;
+import com.paklog.wes.pack.domain.valueobject.Address;
+import com.paklog.wes.pack.domain.valueobject.CarrierType;
+import com.paklog.wes.pack.domain.valueobject.ShippingMethod;
+import com.paklog.wes.pack.domain.valueobject.TrackingStatus;
+import com.paklog.wes.pack.domain.valueobject.Weight;
+import com.paklog.wes.pack.infrastructure.outbox.OutboxEvent;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ShipmentRepositoryCustomImpl Tests")
+class ShipmentRepositoryCustomImplTest {
+
+    private static EmbeddedMongo mongo;
+
+    private MongoTemplate template;
+    private ShipmentRepositoryCustomImpl repository;
+
+    @BeforeAll
+    static void startMongo() {
+        mongo = EmbeddedMongo.start();
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        mongo.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        mongo.clear();
+        template = mongo.template();
+        repository = new ShipmentRepositoryCustomImpl(template, mongo.outboxWriter());
+    }
+
+    @Test
+    @DisplayName("Should store labelled shipments, their label bytes and their events")
+    void shouldSaveLabelled() {
+        // Given
+        Shipment shipment = label(insertShipment(), "1Z0000000000000001");
+
+        // When
+        List<LabelWriteFailure> failures = repository.saveLabelled(List.of(shipment));
+
+        // Then
+        assertThat(failures).isEmpty();
+        Shipment stored = reload(shipment);
+        assertThat(stored.getTrackingStatus()).isEqualTo(TrackingStatus.LABELED);
+        assertThat(stored.getTrackingNumber()).isEqualTo("1Z0000000000000001");
+        assertThat(stored.getVersion()).isEqualTo(1L);
+        assertThat(shipment.getVersion()).isEqualTo(1L);
+        assertThat(template.findById(shipment.getShippingLabel().getLabelId(), ShippingLabelContent.class)
+                .getData()).isEqualTo(shipment.getShippingLabel().getContent());
+        assertThat(template.count(new BasicQuery(new Document()), OutboxEvent.class)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not label a shipment changed since it was loaded and drop its label bytes")
+    void shouldRejectConcurrentModification() {
+        // Given - another writer saves the shipment after it was loaded
+        Shipment changed = label(insertShipment(), "1Z0000000000000001");
+        Shipment unchanged = label(insertShipment(), "1Z0000000000000002");
+        template.updateFirst(new BasicQuery(new Document("_id", changed.getShipmentId())),
+                new Update().set("notes", "changed elsewhere").inc("version", 1), Shipment.class);
+
+        // When
+        List<LabelWriteFailure> failures = repository.saveLabelled(List.of(changed, unchanged));
+
+        // Then
+        assertThat(failures).singleElement().satisfies(failure -> {
+            assertThat(failure.index()).isZero();
+            assertThat(failure.message()).contains("modified concurrently");
+        });
+        assertThat(reload(changed).getTrackingStatus()).isEqualTo(TrackingStatus.CREATED);
+        assertThat(reload(changed).getNotes()).isEqualTo("changed elsewhere");
+        assertThat(reload(unchanged).getTrackingStatus()).isEqualTo(TrackingStatus.LABELED);
+        assertThat(template.findById(changed.getShippingLabel().getLabelId(), ShippingLabelContent.class)).isNull();
+        assertThat(template.count(new BasicQuery(new Document()), OutboxEvent.class)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fail a shipment whose label ID is already stored and keep the stored bytes")
+    void shouldRejectDuplicateLabelId() {
+        // Given - label bytes under the same label ID already exist
+        Shipment shipment = label(insertShipment(), "1Z0000000000000001");
+        byte[] existing = "^XA^FDexisting^FS^XZ".getBytes(StandardCharsets.US_ASCII);
+        template.insert(new ShippingLabelContent(
+                shipment.getShippingLabel().getLabelId(), "SHIP-OTHER", ShippingLabel.LabelFormat.ZPL, existing));
+
+        // When
+        List<LabelWriteFailure> failures = repository.saveLabelled(List.of(shipment));
+
+        // Then
+        assertThat(failures).singleElement().satisfies(failure -> {
+            assertThat(failure.index()).isZero();
+            assertThat(failure.message()).containsIgnoringCase("duplicate key");
+        });
+        assertThat(reload(shipment).getTrackingStatus()).isEqualTo(TrackingStatus.CREATED);
+        assertThat(template.findById(shipment.getShippingLabel().getLabelId(), ShippingLabelContent.class)
+                .getData()).isEqualTo(existing);
+        assertThat(template.count(new BasicQuery(new Document()), OutboxEvent.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should fail a shipment deleted since it was loaded")
+    void shouldRejectMissingShipment() {
+        // Given
+        Shipment deleted = label(insertShipment(), "1Z0000000000000001");
+        template.remove(new BasicQuery(new Document("_id", deleted.getShipmentId())), Shipment.class);
+
+        // When
+        List<LabelWriteFailure> failures = repository.saveLabelled(List.of(deleted));
+
+        // Then
+        assertThat(failures).singleElement().satisfies(failure -> {
+            assertThat(failure.index()).isZero();
+            assertThat(failure.message()).contains("Shipment not found");
+        });
+        assertThat(reload(deleted)).isNull();
+        assertThat(template.findById(deleted.getShippingLabel().getLabelId(), ShippingLabelContent.class)).isNull();
+    }
+
+    private Shipment insertShipment() {
+        Shipment shipment = Shipment.create(
+                "PACK-1",
+                "ORDER-1",
+                "WH-1",
+                new Address("1200 Commerce Way", "Reno", "NV", "89502", "US"),
+                CarrierType.UPS,
+                ShippingMethod.GROUND,
+                new Weight(4.5, Weight.WeightUnit.LB),
+                null
+        );
+        shipment.clearDomainEvents();
+        return template.insert(shipment);
+    }
+
+    private static Shipment label(Shipment shipment, String trackingNumber) {
+        shipment.generateLabel(new ShippingLabel(
+                trackingNumber,
+                CarrierType.UPS,
+                ShippingLabel.LabelFormat.ZPL,
+                ("^XA^FD" + trackingNumber + "^FS^XZ").getBytes(StandardCharsets.US_ASCII),
+                trackingNumber
+        ), trackingNumber);
+        return shipment;
+    }
+
+    private Shipment reload(Shipment shipment) {
+        return template.findById(shipment.getShipmentId(), Shipment.class);
+    }
+}
@@ -0,0 +1,115 @@
+package com.paklog.wes.pack.infrastructure.printing;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process stand-in for a raw port 9100 printer: accepts connections on a
+ * loopback port and keeps every byte it receives
+ */
+class FakePrinterServer implements AutoCloseable {
+
+    private final ServerSocket server;
+    private final ByteArrayOutputStream received = new ByteArrayOutputStream();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final List<Socket> clients = new CopyOnWriteArrayList<>();
+
+    private volatile boolean stalled;
+
+    FakePrinterServer() throws IOException {
+        server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread.ofPlatform().daemon(true).name("fake-printer-" + server.getLocalPort()).start(this::accept);
+    }
+
+    PrinterEndpoint endpoint(String printerId, String group) {
+        return new PrinterEndpoint(printerId, "127.0.0.1", server.getLocalPort(), group);
+    }
+
+    int getConnections() {
+        return connections.get();
+    }
+
+    String getReceived() {
+        synchronized (received) {
+            return received.toString(StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Wait until at least the given number of bytes arrived
+     */
+    String awaitReceived(int bytes, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (received) {
+            while (received.size() < bytes && System.currentTimeMillis() < deadline) {
+                received.wait(Math.max(1, deadline - System.currentTimeMillis()));
+            }
+            return received.toString(StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Stop reading, as a printer out of media would, so writes to it fill the
+     * socket buffers and then time out
+     */
+    void stall() {
+        stalled = true;
+    }
+
+    /**
+     * Drop open connections as a power-cycled printer would
+     */
+    void dropConnections() throws IOException {
+        for (Socket client : clients) {
+            client.close();
+        }
+        clients.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+        dropConnections();
+    }
+
+    private void accept() {
+        while (!server.isClosed()) {
+            try {
+                Socket client = server.accept();
+                connections.incrementAndGet();
+                clients.add(client);
+                Thread.ofPlatform().daemon(true).start(() -> read(client));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void read(Socket client) {
+        byte[] buffer = new byte[8192];
+        try (InputStream in = client.getInputStream()) {
+            while (stalled && !client.isClosed()) {
+                Thread.sleep(10);
+            }
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                synchronized (received) {
+                    received.write(buffer, 0, read);
+                    received.notifyAll();
+                }
+            }
+        } catch (IOException e) {
+            // Connection dropped
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
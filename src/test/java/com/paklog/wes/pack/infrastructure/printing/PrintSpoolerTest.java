@@ -0,0 +1,202 @@
+package com.paklog.wes.pack.infrastructure.printing;
+
+import com.paklog.wes.pack.domain.entity.ShippingLabel;
+import com.paklog.wes.pack.domain.service.LabelPrinter;
+import com.paklog.wes.pack.domain.valueobject.CarrierType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("PrintSpooler Tests")
+class PrintSpoolerTest {
+
+    private static final int LARGE_LABEL_BYTES = 16 * 1024 * 1024;
+
+    private final List<FakePrinterServer> servers = new ArrayList<>();
+    private PrintSpooler spooler;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (spooler != null) {
+            spooler.stop();
+        }
+        for (FakePrinterServer server : servers) {
+            server.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should print labels in order over one persistent connection")
+    void shouldPrintOverPersistentConnection() throws Exception {
+        // Given
+        FakePrinterServer printer = startPrinter();
+        spooler = startSpooler(List.of(printer.endpoint("P1", "line-1")));
+        List<ShippingLabel> labels = new ArrayList<>();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            labels.add(label("1Z" + i, "^XA^FD" + i + "^FS^XZ"));
+            expected.append("^XA^FD").append(i).append("^FS^XZ");
+        }
+
+        // When
+        List<CompletableFuture<LabelPrinter.PrintReceipt>> receipts = new ArrayList<>();
+        for (ShippingLabel label : labels) {
+            receipts.add(spooler.print("P1", label));
+        }
+        for (CompletableFuture<LabelPrinter.PrintReceipt> receipt : receipts) {
+            assertThat(receipt.get(5, TimeUnit.SECONDS).printerId()).isEqualTo("P1");
+        }
+
+        // Then
+        assertThat(printer.awaitReceived(expected.length(), 5000)).isEqualTo(expected.toString());
+        assertThat(printer.getConnections()).isEqualTo(1);
+        assertThat(spooler.getConnects("P1")).isEqualTo(1);
+        assertThat(labels).allMatch(ShippingLabel::isPrinted);
+    }
+
+    @Test
+    @DisplayName("Should reconnect after the printer dropped the connection")
+    void shouldReconnectAfterDrop() throws Exception {
+        // Given
+        FakePrinterServer printer = startPrinter();
+        spooler = startSpooler(List.of(printer.endpoint("P1", "line-1")));
+        spooler.print("P1", label("1ZA", "^XA1^XZ")).get(5, TimeUnit.SECONDS);
+        printer.awaitReceived(7, 5000);
+
+        // When
+        printer.dropConnections();
+        Thread.sleep(50);
+        LabelPrinter.PrintReceipt receipt = spooler.print("P1", label("1ZB", "^XA2^XZ")).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(receipt.printerId()).isEqualTo("P1");
+        assertThat(printer.awaitReceived(14, 5000)).isEqualTo("^XA1^XZ^XA2^XZ");
+        assertThat(printer.getConnections()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should fail over to a sibling printer when the printer is down")
+    void shouldFailOverToSibling() throws Exception {
+        // Given
+        FakePrinterServer down = startPrinter();
+        FakePrinterServer sibling = startPrinter();
+        FakePrinterServer otherLine = startPrinter();
+        spooler = startSpooler(List.of(
+                down.endpoint("P1", "line-1"),
+                otherLine.endpoint("P9", "line-2"),
+                sibling.endpoint("P2", "line-1")));
+        down.close();
+        ShippingLabel label = label("1ZC", "^XA3^XZ");
+
+        // When
+        LabelPrinter.PrintReceipt receipt = spooler.print("P1", label).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(receipt.printerId()).isEqualTo("P2");
+        assertThat(receipt.isFailedOver()).isTrue();
+        assertThat(sibling.awaitReceived(7, 5000)).isEqualTo("^XA3^XZ");
+        assertThat(otherLine.getReceived()).isEmpty();
+        assertThat(label.isPrinted()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should complete labels written before a write failed and fail over only the rest")
+    void shouldFailOverOnlyUnwrittenLabels() throws Exception {
+        // Given - a printer that stopped reading, and labels larger than the socket buffers
+        FakePrinterServer stalled = startPrinter();
+        FakePrinterServer sibling = startPrinter();
+        stalled.stall();
+        spooler = startSpooler(List.of(stalled.endpoint("P1", "line-1"), sibling.endpoint("P2", "line-1")));
+        ShippingLabel blocker = largeLabel("1ZF");
+        ShippingLabel small = label("1ZG", "^XA5^XZ");
+        ShippingLabel large = largeLabel("1ZH");
+
+        // When - the small and large label queue up behind the blocker and go out in one write
+        CompletableFuture<LabelPrinter.PrintReceipt> blockerReceipt = spooler.print("P1", blocker);
+        Thread.sleep(200);
+        CompletableFuture<LabelPrinter.PrintReceipt> smallReceipt = spooler.print("P1", small);
+        CompletableFuture<LabelPrinter.PrintReceipt> largeReceipt = spooler.print("P1", large);
+
+        // Then
+        assertThat(blockerReceipt.get(10, TimeUnit.SECONDS).printerId()).isEqualTo("P2");
+        assertThat(smallReceipt.get(10, TimeUnit.SECONDS).printerId()).isEqualTo("P1");
+        assertThat(largeReceipt.get(10, TimeUnit.SECONDS).printerId()).isEqualTo("P2");
+        assertThat(small.isPrinted()).isTrue();
+        assertThat(sibling.awaitReceived(2 * LARGE_LABEL_BYTES, 10_000)).hasSize(2 * LARGE_LABEL_BYTES);
+    }
+
+    @Test
+    @DisplayName("Should fail the job when no printer in the group can take it")
+    void shouldFailWithoutSibling() throws Exception {
+        // Given
+        FakePrinterServer down = startPrinter();
+        spooler = startSpooler(List.of(down.endpoint("P1", "line-1")));
+        down.close();
+        ShippingLabel label = label("1ZD", "^XA4^XZ");
+
+        // When
+        CompletableFuture<LabelPrinter.PrintReceipt> receipt = spooler.print("P1", label);
+
+        // Then
+        assertThatThrownBy(() -> receipt.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+        assertThat(label.isPrinted()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject unknown printers and labels without content")
+    void shouldRejectInvalidJobs() throws Exception {
+        // Given
+        FakePrinterServer printer = startPrinter();
+        spooler = startSpooler(List.of(printer.endpoint("P1", "line-1")));
+
+        // Then
+        assertThatThrownBy(() -> spooler.print("P404", label("1ZE", "^XA^XZ")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown printer");
+        assertThatThrownBy(() -> spooler.print("P1", new ShippingLabel()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("not loaded");
+    }
+
+    @Test
+    @DisplayName("Should parse printer endpoints with default port and group")
+    void shouldParseEndpoints() {
+        assertThat(PrinterEndpoint.parseAll("P1=zebra-1:9200@line-1, P2=zebra-2"))
+                .containsExactly(
+                        new PrinterEndpoint("P1", "zebra-1", 9200, "line-1"),
+                        new PrinterEndpoint("P2", "zebra-2", PrinterEndpoint.RAW_PORT, "P2"));
+        assertThat(PrinterEndpoint.parseAll("")).isEmpty();
+        assertThatThrownBy(() -> PrinterEndpoint.parseAll("zebra-1:9100"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private FakePrinterServer startPrinter() throws Exception {
+        FakePrinterServer server = new FakePrinterServer();
+        servers.add(server);
+        return server;
+    }
+
+    private static PrintSpooler startSpooler(List<PrinterEndpoint> endpoints) {
+        PrintSpooler spooler = new PrintSpooler(endpoints, 100, 10, 1000, 1000, false);
+        spooler.start();
+        return spooler;
+    }
+
+    private static ShippingLabel largeLabel(String trackingNumber) {
+        return label(trackingNumber, "^XA" + "0".repeat(LARGE_LABEL_BYTES - 6) + "^XZ");
+    }
+
+    private static ShippingLabel label(String trackingNumber, String zpl) {
+        return new ShippingLabel(trackingNumber, CarrierType.UPS, ShippingLabel.LabelFormat.ZPL,
+                zpl.getBytes(StandardCharsets.UTF_8), null);
+    }
+}